@@ -0,0 +1,105 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.exceptions.CurvePointServiceException;
+import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.services.CurvePointService;
+import com.poseidon.app.services.TradeService;
+
+/**
+ * Bulk writes of trades and curve points, one save per row against a single batched save.
+ * A JDBC batch size of 1 turns the Hibernate batching off, to compare with the configured size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchInsertBenchmark {
+
+	private static final int ROWS = 500;
+
+	@Param({ "1", "50" })
+	int jdbcBatchSize;
+
+	ConfigurableApplicationContext context;
+
+	TradeService tradeService;
+
+	CurvePointService curvePointService;
+
+	int curveId;
+
+	@Setup
+	public void setUp() {
+		context = EmbeddedApplication.start("--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize, //
+				"--poseidon.matching.enabled=false");
+		tradeService = context.getBean(TradeService.class);
+		curvePointService = context.getBean(CurvePointService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int createTradesOneByOne() throws TradeServiceException {
+		List<Trade> trades = trades();
+		for (Trade trade : trades) {
+			tradeService.createTrade(trade);
+		}
+		return trades.size();
+	}
+
+	@Benchmark
+	public int createTradesInBatch() throws TradeServiceException {
+		List<Trade> trades = trades();
+		tradeService.createTrades(trades);
+		return trades.size();
+	}
+
+	@Benchmark
+	public int createCurvePointsInBatch() throws CurvePointServiceException {
+		// A new curve each time, the curve engine rebuilds the curve of every created point
+		List<CurvePoint> curvePoints = new ArrayList<>(ROWS);
+		curveId++;
+		for (int i = 0; i < ROWS; i++) {
+			curvePoints.add(new CurvePoint(curveId, (double) i, 0.01 * i));
+		}
+		curvePointService.createCurvePoints(curvePoints);
+		return curvePoints.size();
+	}
+
+	private static List<Trade> trades() {
+		List<Trade> trades = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			Trade trade = new Trade("Account " + i % 10, "Type", (double) i);
+			trade.setSecurity("FR000012027" + i % 10);
+			trade.setBuyPrice(100d + i % 7);
+			trade.setBook("Book " + i % 3);
+			trades.add(trade);
+		}
+		return trades;
+	}
+}
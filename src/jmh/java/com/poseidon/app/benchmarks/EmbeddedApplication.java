@@ -0,0 +1,36 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.Arrays;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.poseidon.app.Application;
+
+/**
+ * Starts the application on an in-memory H2 database (MySQL mode) for the benchmarks that need the services
+ */
+final class EmbeddedApplication {
+
+	/**
+	 * Hiding the constructor, this class only has static methods
+	 */
+	private EmbeddedApplication() {
+		// Hiding the constructor
+	}
+
+	static ConfigurableApplicationContext start(String... extraArgs) {
+		// Given as command line arguments, so they take precedence over application.properties
+		String[] args = { "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1", //
+				"--spring.datasource.driver-class-name=org.h2.Driver", //
+				"--spring.datasource.username=sa", //
+				"--spring.datasource.password=benchmark", //
+				"--spring.jpa.hibernate.ddl-auto=create-drop", //
+				"--server.port=0", //
+				"--logging.level.com.poseidon=WARN", //
+				"--logging.file=target/benchmark.log" };
+		String[] allArgs = Arrays.copyOf(args, args.length + extraArgs.length);
+		System.arraycopy(extraArgs, 0, allArgs, args.length, extraArgs.length);
+		return new SpringApplicationBuilder(Application.class).run(allArgs);
+	}
+}
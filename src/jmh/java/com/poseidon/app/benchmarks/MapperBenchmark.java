@@ -0,0 +1,124 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.poseidon.app.config.AppConfig;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.CurvePointDto;
+import com.poseidon.app.domain.dto.RatingDto;
+import com.poseidon.app.domain.dto.RuleDto;
+import com.poseidon.app.domain.dto.TradeDto;
+import com.poseidon.app.domain.dto.UserDto;
+import com.poseidon.app.mapping.BidMapper;
+import com.poseidon.app.mapping.CurvePointMapper;
+import com.poseidon.app.mapping.EntityMapper;
+import com.poseidon.app.mapping.ModelMapperEntityMapper;
+import com.poseidon.app.mapping.RatingMapper;
+import com.poseidon.app.mapping.RuleMapper;
+import com.poseidon.app.mapping.TradeMapper;
+import com.poseidon.app.mapping.UserMapper;
+
+/**
+ * Compiled mappers against ModelMapper, for each entity / DTO pair and in both directions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+	@Param({ "Bid", "Trade", "CurvePoint", "Rating", "Rule", "User" })
+	String pair;
+
+	EntityMapper<Object, Object> compiled;
+
+	EntityMapper<Object, Object> reflective;
+
+	Object entity;
+
+	Object dto;
+
+	@Setup
+	public void setUp() {
+		ModelMapper modelMapper = new AppConfig().modelMapper();
+
+		switch (pair) {
+		case "Bid":
+			use(new BidMapper(), new ModelMapperEntityMapper<>(modelMapper, Bid.class, BidDto.class),
+					new Bid("Account", "Type", 10d));
+			break;
+		case "Trade":
+			use(new TradeMapper(), new ModelMapperEntityMapper<>(modelMapper, Trade.class, TradeDto.class),
+					new Trade("Account", "Type", 10d));
+			break;
+		case "CurvePoint":
+			use(new CurvePointMapper(),
+					new ModelMapperEntityMapper<>(modelMapper, CurvePoint.class, CurvePointDto.class),
+					new CurvePoint(1, 2.5d, 0.97d));
+			break;
+		case "Rating":
+			use(new RatingMapper(), new ModelMapperEntityMapper<>(modelMapper, Rating.class, RatingDto.class),
+					new Rating("Aaa", "AAA", "AAA", 1));
+			break;
+		case "Rule":
+			use(new RuleMapper(), new ModelMapperEntityMapper<>(modelMapper, Rule.class, RuleDto.class),
+					new Rule("Name", "Description", "{}", "Template", "SELECT 1", "WHERE 1 = 1"));
+			break;
+		case "User":
+			use(new UserMapper(), new ModelMapperEntityMapper<>(modelMapper, User.class, UserDto.class),
+					new User(1, "username", "password", "Full Name", "USER"));
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown pair : " + pair);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <E, D> void use(EntityMapper<E, D> compiledMapper, EntityMapper<E, D> reflectiveMapper, E sample) {
+		compiled = (EntityMapper<Object, Object>) compiledMapper;
+		reflective = (EntityMapper<Object, Object>) reflectiveMapper;
+		entity = sample;
+		dto = compiledMapper.toDto(sample);
+	}
+
+	@Benchmark
+	public Object compiledToEntity() {
+		return compiled.toEntity(dto);
+	}
+
+	@Benchmark
+	public Object modelMapperToEntity() {
+		return reflective.toEntity(dto);
+	}
+
+	@Benchmark
+	public Object compiledToDto() {
+		return compiled.toDto(entity);
+	}
+
+	@Benchmark
+	public Object modelMapperToDto() {
+		return reflective.toDto(entity);
+	}
+}
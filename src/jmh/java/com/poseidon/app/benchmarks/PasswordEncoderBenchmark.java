@@ -0,0 +1,46 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt with the default strength, as used by the UserService to store passwords and by the login to check them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PasswordEncoderBenchmark {
+
+	BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+	String encodedPassword;
+
+	@Setup
+	public void setUp() {
+		encodedPassword = passwordEncoder.encode("Passw0rd!");
+	}
+
+	@Benchmark
+	public String encode() {
+		return passwordEncoder.encode("Passw0rd!");
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return passwordEncoder.matches("Passw0rd!", encodedPassword);
+	}
+}
@@ -0,0 +1,76 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.repositories.BidRepository;
+
+/**
+ * Loading a large list of entities in a read-only transaction (MANUAL flush, read-only session, no snapshots)
+ * against a read-write transaction that keeps a snapshot of every entity and dirty checks them on commit.
+ * The gc profiler of the benchmark profile reports the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReadOnlyTransactionBenchmark {
+
+	private static final int BIDS = 10_000;
+
+	@Param({ "true", "false" })
+	boolean readOnly;
+
+	ConfigurableApplicationContext context;
+
+	BidRepository bidRepository;
+
+	TransactionTemplate transactionTemplate;
+
+	@Setup
+	public void setUp() {
+		context = EmbeddedApplication.start("--poseidon.matching.enabled=false");
+		bidRepository = context.getBean(BidRepository.class);
+		transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		transactionTemplate.setReadOnly(readOnly);
+
+		List<Object[]> rows = new ArrayList<>(BIDS);
+		for (int i = 0; i < BIDS; i++) {
+			rows.add(new Object[] { "Account " + i, "Type", (double) i });
+		}
+		context.getBean(JdbcTemplate.class)
+				.batchUpdate("INSERT INTO bid (account, type, bid_quantity) VALUES (?, ?, ?)", rows);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int findAllBids() {
+		List<Bid> bids = transactionTemplate.execute(status -> bidRepository.findAll());
+		return bids.size();
+	}
+}
@@ -0,0 +1,66 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.exceptions.RuleCompilationException;
+import com.poseidon.app.services.rules.RuleTarget;
+import com.poseidon.app.services.rules.RuleTemplate;
+
+/**
+ * An alert rendered from a compiled rule template, against compiling it for each alert and String.format
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RuleTemplateBenchmark {
+
+	private static final String TEMPLATE = "Trade {{id}} of book {{book}} on {{security}} buys {{buyQuantity}}"
+			+ " at {{buyPrice}} (trader {{trader}})";
+
+	RuleTemplate template;
+
+	Trade trade;
+
+	@Setup
+	public void setUp() throws RuleCompilationException {
+		template = RuleTemplate.compile(TEMPLATE, RuleTarget.TRADE);
+
+		trade = new Trade("Account", "Type", 1500000d);
+		trade.setId(42);
+		trade.setBook("Book");
+		trade.setSecurity("AAA");
+		trade.setBuyPrice(101.25);
+		trade.setTrader("Trader");
+	}
+
+	@Benchmark
+	public String render() {
+		return template.render(trade);
+	}
+
+	@Benchmark
+	public String compileAndRender() throws RuleCompilationException {
+		return RuleTemplate.compile(TEMPLATE, RuleTarget.TRADE).render(trade);
+	}
+
+	@Benchmark
+	public String format() {
+		return String.format("Trade %d of book %s on %s buys %.0f at %s (trader %s)", trade.getId(), trade.getBook(),
+				trade.getSecurity(), trade.getBuyQuantity(), trade.getBuyPrice(), trade.getTrader());
+	}
+}
@@ -0,0 +1,112 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.BidSummary;
+import com.poseidon.app.domain.dto.KeysetPage;
+import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.exceptions.UserServiceException;
+import com.poseidon.app.services.BidService;
+import com.poseidon.app.services.UserService;
+
+/**
+ * The service CRUD paths through the whole Spring / JPA stack, on an in-memory H2 database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceBenchmark {
+
+	private static final int BIDS = 1000;
+
+	ConfigurableApplicationContext context;
+
+	BidService bidService;
+
+	UserService userService;
+
+	Integer bidId;
+
+	int userCount;
+
+	@Setup
+	public void setUp() throws Exception {
+		context = EmbeddedApplication.start();
+		bidService = context.getBean(BidService.class);
+		userService = context.getBean(UserService.class);
+
+		for (int i = 0; i < BIDS; i++) {
+			bidService.createBid(new Bid("Account " + i, "Type", (double) i));
+		}
+		bidId = bidService.findBidPage(null, null, 1, Sort.Direction.DESC).getFirstId();
+
+		userService.createUser(new User(null, "benchmark", "Passw0rd!", "Benchmark User", "USER"));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Bid findBidById() throws BidServiceException {
+		return bidService.findBidById(bidId);
+	}
+
+	@Benchmark
+	public KeysetPage<Bid> findBidPage() {
+		return bidService.findBidPage(null, null, 20, Sort.Direction.ASC);
+	}
+
+	@Benchmark
+	public KeysetPage<BidSummary> findBidSummaryPage() {
+		return bidService.findBidSummaryPage(null, null, 20, Sort.Direction.ASC);
+	}
+
+	@Benchmark
+	public boolean createAndDeleteBid() throws BidServiceException {
+		Bid bid = new Bid("Benchmark", "Type", 10d);
+		bidService.createBid(bid);
+		return bidService.deleteBid(bid.getId());
+	}
+
+	@Benchmark
+	public boolean updateBid() throws BidServiceException {
+		return bidService.updateBid(bidId, new Bid("Updated", "Type", 20d));
+	}
+
+	@Benchmark
+	public UserDetails loadUserByUsername() {
+		return userService.loadUserByUsername("benchmark");
+	}
+
+	/**
+	 * Dominated by the BCrypt encoding of the password
+	 */
+	@Benchmark
+	public boolean createAndDeleteUser() throws UserServiceException {
+		User user = new User(null, "user" + userCount++, "Passw0rd!", "Benchmark User", "USER");
+		userService.createUser(user);
+		return userService.deleteUser(user.getId());
+	}
+}
@@ -0,0 +1,86 @@
+package com.poseidon.app.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.UserDto;
+import com.poseidon.app.validation.IsDecimalValidator;
+import com.poseidon.app.validation.IsIntegerValidator;
+import com.poseidon.app.validation.PasswordValidator;
+
+/**
+ * The custom constraint validators alone, then a whole form DTO through Bean Validation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidatorBenchmark {
+
+	IsDecimalValidator isDecimalValidator = new IsDecimalValidator();
+
+	IsIntegerValidator isIntegerValidator = new IsIntegerValidator();
+
+	PasswordValidator passwordValidator = new PasswordValidator();
+
+	Validator validator;
+
+	BidDto bidDto;
+
+	UserDto userDto;
+
+	@Setup
+	public void setUp() {
+		validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+		bidDto = new BidDto();
+		bidDto.setAccount("Account");
+		bidDto.setType("Type");
+		bidDto.setBidQuantity("1250.75");
+
+		userDto = new UserDto(null, "username", "Passw0rd!", "Full Name", "USER");
+	}
+
+	@Benchmark
+	public boolean isDecimal() {
+		return isDecimalValidator.isValid("1250.75", null);
+	}
+
+	@Benchmark
+	public boolean isInteger() {
+		return isIntegerValidator.isValid("1250", null);
+	}
+
+	@Benchmark
+	public boolean password() {
+		return passwordValidator.isValid("Passw0rd!", null);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<BidDto>> validateBidDto() {
+		return validator.validate(bidDto);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<UserDto>> validateUserDto() {
+		return validator.validate(userDto);
+	}
+}
@@ -1,14 +1,48 @@
 package com.poseidon.app.config;
 
+import java.util.concurrent.TimeUnit;
+
 import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poseidon.app.domain.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 @Configuration
 public class AppConfig {
 
+	/**
+	 * Fields are only matched when their names are the same : with the default matching strategy,
+	 * BidDto.bidQuantity would also be copied to Bid.bid (the bid price)
+	 */
 	@Bean
 	public ModelMapper modelMapper() {
-		return new ModelMapper();
+		ModelMapper modelMapper = new ModelMapper();
+		modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+		return modelMapper;
+	}
+
+	/**
+	 * Users loaded by the UserService for Spring Security, by username.
+	 * Its hits, misses and evictions are published as the "cache.*" metrics with the tag cache=userDetails.
+	 */
+	@Bean
+	public Cache<String, User> userDetailsCache(MeterRegistry meterRegistry,
+			@Value("${poseidon.security.user-cache.maximum-size:1000}") long maximumSize,
+			@Value("${poseidon.security.user-cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+
+		Cache<String, User> cache = Caffeine.newBuilder() //
+				.maximumSize(maximumSize) //
+				.expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS) //
+				.recordStats() //
+				.build();
+		return CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
 	}
 }
@@ -0,0 +1,65 @@
+package com.poseidon.app.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheDataDescription;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache regions stored in Caffeine caches, through JCache.
+ * The maximum number of entries of a region is read from the Hibernate property
+ * "poseidon.cache.maximum_size.[region]", a region without this property is not bounded
+ * (the update timestamps region must never lose its entries).
+ * Each session factory gets its own CacheManager, so two applications of the same JVM never share entries.
+ */
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+
+	public static final String MAXIMUM_SIZE_PREFIX = "poseidon.cache.maximum_size.";
+
+	private static final AtomicInteger CACHE_MANAGERS = new AtomicInteger();
+
+	@Override
+	protected CacheManager getCacheManager(Properties properties) {
+		CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		URI uri = URI.create("poseidon-second-level-cache-" + CACHE_MANAGERS.incrementAndGet());
+		return provider.getCacheManager(uri, provider.getDefaultClassLoader());
+	}
+
+	@Override
+	protected Cache<Object, Object> createCache(String regionName, Properties properties,
+			CacheDataDescription metadata) {
+
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		// Hibernate only puts immutable entries in its regions, they do not need to be copied on each read
+		configuration.setStoreByValue(false);
+		// Hits and misses of each region, published by the SecondLevelCacheMetrics
+		configuration.setStatisticsEnabled(true);
+
+		String maximumSize = properties.getProperty(MAXIMUM_SIZE_PREFIX + regionName);
+		if (maximumSize != null) {
+			configuration.setMaximumSize(OptionalLong.of(Long.parseLong(maximumSize.trim())));
+		}
+		return getCacheManager().createCache(regionName, configuration);
+	}
+
+	/**
+	 * Get the CacheManager holding the regions of this factory
+	 *
+	 * @return									CacheManager with a cache named after each region
+	 */
+	@Override
+	public CacheManager getCacheManager() {
+		return super.getCacheManager();
+	}
+}
@@ -0,0 +1,79 @@
+package com.poseidon.app.config;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.poseidon.app.config.constants.MapperType;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.CurvePointDto;
+import com.poseidon.app.domain.dto.RatingDto;
+import com.poseidon.app.domain.dto.RuleDto;
+import com.poseidon.app.domain.dto.TradeDto;
+import com.poseidon.app.domain.dto.UserDto;
+import com.poseidon.app.mapping.BidMapper;
+import com.poseidon.app.mapping.CurvePointMapper;
+import com.poseidon.app.mapping.EntityMapper;
+import com.poseidon.app.mapping.ModelMapperEntityMapper;
+import com.poseidon.app.mapping.RatingMapper;
+import com.poseidon.app.mapping.RuleMapper;
+import com.poseidon.app.mapping.TradeMapper;
+import com.poseidon.app.mapping.UserMapper;
+
+/**
+ * Entity / DTO mappers used by the services.
+ * COMPILED (the default) uses the hand written mappers, MODELMAPPER the reflective ModelMapper bean.
+ */
+@Configuration
+public class MappingConfig {
+
+	@Autowired
+	ModelMapper modelMapper;
+
+	@Value("${poseidon.mapping.mapper:COMPILED}")
+	MapperType mapperType;
+
+	@Bean
+	public EntityMapper<Bid, BidDto> bidMapper() {
+		return mapperType == MapperType.COMPILED ? new BidMapper()
+				: new ModelMapperEntityMapper<>(modelMapper, Bid.class, BidDto.class);
+	}
+
+	@Bean
+	public EntityMapper<Trade, TradeDto> tradeMapper() {
+		return mapperType == MapperType.COMPILED ? new TradeMapper()
+				: new ModelMapperEntityMapper<>(modelMapper, Trade.class, TradeDto.class);
+	}
+
+	@Bean
+	public EntityMapper<CurvePoint, CurvePointDto> curvePointMapper() {
+		return mapperType == MapperType.COMPILED ? new CurvePointMapper()
+				: new ModelMapperEntityMapper<>(modelMapper, CurvePoint.class, CurvePointDto.class);
+	}
+
+	@Bean
+	public EntityMapper<Rating, RatingDto> ratingMapper() {
+		return mapperType == MapperType.COMPILED ? new RatingMapper()
+				: new ModelMapperEntityMapper<>(modelMapper, Rating.class, RatingDto.class);
+	}
+
+	@Bean
+	public EntityMapper<Rule, RuleDto> ruleMapper() {
+		return mapperType == MapperType.COMPILED ? new RuleMapper()
+				: new ModelMapperEntityMapper<>(modelMapper, Rule.class, RuleDto.class);
+	}
+
+	@Bean
+	public EntityMapper<User, UserDto> userMapper() {
+		return mapperType == MapperType.COMPILED ? new UserMapper()
+				: new ModelMapperEntityMapper<>(modelMapper, User.class, UserDto.class);
+	}
+}
@@ -0,0 +1,34 @@
+package com.poseidon.app.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.poseidon.app.metrics.OperationMetricsAspect;
+import com.poseidon.app.metrics.ViewRenderingMetricsInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Timers of the services, the repositories and the views.
+ * Their percentiles and histograms are configured in application.properties
+ * and every meter is published in the Prometheus format on /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Bean
+	public OperationMetricsAspect operationMetricsAspect() {
+		return new OperationMetricsAspect(meterRegistry);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new ViewRenderingMetricsInterceptor(meterRegistry));
+	}
+}
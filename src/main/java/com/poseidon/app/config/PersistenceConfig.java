@@ -0,0 +1,25 @@
+package com.poseidon.app.config;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Replaces the JpaTransactionManager of Spring Boot, so read-only service methods also get read-only sessions
+ */
+@Configuration
+public class PersistenceConfig {
+
+	@Bean
+	public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+			ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+
+		ReadOnlyJpaTransactionManager transactionManager = new ReadOnlyJpaTransactionManager(entityManagerFactory);
+		transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+		return transactionManager;
+	}
+}
@@ -0,0 +1,36 @@
+package com.poseidon.app.config;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JpaTransactionManager that also marks the Hibernate session of a read-only transaction as read-only.
+ * Spring already sets the flush mode to MANUAL, with this the entities loaded by the transaction are not
+ * kept with a snapshot of their state and are never dirty checked.
+ * The hint is only given when the transaction opened its own EntityManager : a session shared with
+ * other transactions (open in view) could otherwise keep read-only entities that a later write expects to flush.
+ */
+@SuppressWarnings("serial")
+public class ReadOnlyJpaTransactionManager extends JpaTransactionManager {
+
+	public ReadOnlyJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+		super(entityManagerFactory);
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		boolean sharedEntityManager = TransactionSynchronizationManager.hasResource(obtainEntityManagerFactory());
+		super.doBegin(transaction, definition);
+
+		if (definition.isReadOnly() && !sharedEntityManager) {
+			EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+					.getResource(obtainEntityManagerFactory());
+			holder.getEntityManager().unwrap(Session.class).setDefaultReadOnly(true);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.poseidon.app.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read replicas, enabled with "poseidon.datasource.routing.enabled=true".
+ * The primary is still configured with "spring.datasource.*" and its pool with "spring.datasource.hikari.*",
+ * each replica with "poseidon.datasource.routing.replicas[n].url / username / password".
+ */
+@Configuration
+@ConditionalOnProperty(name = "poseidon.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+	/**
+	 * The DataSource used by JPA and JDBC, in place of the one of Spring Boot
+	 */
+	@Bean
+	public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+			ReplicaRoutingProperties routingProperties, Environment environment) {
+
+		HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+				.build();
+		// Bound like the pool that Spring Boot would have created, which this DataSource replaces
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		int index = 0;
+		for (ReplicaRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+			HikariDataSource dataSource = DataSourceBuilder.create() //
+					.type(HikariDataSource.class) //
+					.driverClassName(dataSourceProperties.determineDriverClassName()) //
+					.url(replica.getUrl()) //
+					.username(replica.getUsername()) //
+					.password(replica.getPassword()) //
+					.build();
+			dataSource.setPoolName("replica-" + index++);
+			// A replica that is down should not hold the reads for long before they go to the primary
+			dataSource.setConnectionTimeout(routingProperties.getConnectionTimeoutMillis());
+			dataSource.setReadOnly(true);
+			replicas.put(replica.getUrl(), dataSource);
+		}
+
+		return new ReplicaRoutingDataSource(primary, replicas, routingProperties.getLagQuery(),
+				routingProperties.getMaxLagSeconds(), routingProperties.getCheckIntervalMillis());
+	}
+}
@@ -0,0 +1,259 @@
+package com.poseidon.app.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSource that sends the connections of read-only transactions to the replicas, and everything else to the primary.
+ * The replicas are used in turn. A replica is skipped while it is down or lags behind the primary by more than
+ * "maxLagSeconds", in which case the read goes to the primary.
+ * The connections are lazy : the database is only chosen at the first statement, once the transaction
+ * and its read-only flag are known.
+ * A thread can send its reads to the primary with setPrimaryReads, when it must not read rows older
+ * than what it already knows of the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+	private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+	private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+	private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+	private final DataSource primary;
+
+	private final List<Replica> replicas = new ArrayList<>();
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	private final String lagQuery;
+
+	private final long maxLagSeconds;
+
+	private final long checkIntervalMillis;
+
+	private ScheduledExecutorService checker;
+
+	/**
+	 * @param primary							DataSource of the primary database, for the writes
+	 * @param replicas							DataSources of the replicas by name, in the order they are used
+	 * @param lagQuery							Query giving the lag of a replica in seconds, from its "Seconds_Behind_Master"
+	 * 											column or its first column. Blank to only check that the replica is up
+	 * @param maxLagSeconds						Replicas with a greater lag are not used
+	 * @param checkIntervalMillis				Delay between two checks of the replicas
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+			long maxLagSeconds, long checkIntervalMillis) {
+		this.primary = primary;
+		replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+		this.lagQuery = lagQuery;
+		this.maxLagSeconds = maxLagSeconds;
+		this.checkIntervalMillis = checkIntervalMillis;
+		setTargetDataSource(new Router());
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		checkReplicas();
+		if (replicas.isEmpty() || checkIntervalMillis <= 0) {
+			return;
+		}
+		checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "replica-checker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		checker.scheduleWithFixedDelay(this::checkReplicas, checkIntervalMillis, checkIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (checker != null) {
+			checker.shutdownNow();
+		}
+		for (Replica replica : replicas) {
+			close(replica.dataSource);
+		}
+		close(primary);
+	}
+
+	/**
+	 * Send the read-only transactions of the current thread to the primary, or to the replicas again
+	 *
+	 * @param primaryReads						True to read from the primary until it is set back to false
+	 */
+	public static void setPrimaryReads(boolean primaryReads) {
+		if (primaryReads) {
+			PRIMARY_READS.set(Boolean.TRUE);
+		} else {
+			PRIMARY_READS.remove();
+		}
+	}
+
+	/**
+	 * Run a read on the primary, then route the read-only transactions of the current thread as before
+	 *
+	 * @param read								The read, the transaction it runs in must not have a connection yet
+	 * @return									What the read returned
+	 */
+	public static <T> T readFromPrimary(Supplier<T> read) {
+		boolean primaryReads = PRIMARY_READS.get() != null;
+		PRIMARY_READS.set(Boolean.TRUE);
+		try {
+			return read.get();
+		} finally {
+			setPrimaryReads(primaryReads);
+		}
+	}
+
+	DataSource getPrimary() {
+		return primary;
+	}
+
+	/**
+	 * @return									Names of the replicas that are currently used for the reads
+	 */
+	public List<String> getAvailableReplicas() {
+		List<String> names = new ArrayList<>();
+		for (Replica replica : replicas) {
+			if (replica.available) {
+				names.add(replica.name);
+			}
+		}
+		return Collections.unmodifiableList(names);
+	}
+
+	/**
+	 * Check the state and the lag of every replica
+	 */
+	public void checkReplicas() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.dataSource.getConnection()) {
+				if (!StringUtils.hasText(lagQuery)) {
+					markAvailable(replica, connection.isValid(VALIDATION_TIMEOUT_SECONDS), "connection is not valid");
+					continue;
+				}
+				Long lag = readLag(connection);
+				if (lag == null) {
+					markAvailable(replica, false, "replication is not running");
+				} else {
+					markAvailable(replica, lag <= maxLagSeconds, "lag of " + lag + " s");
+				}
+			} catch (SQLException | RuntimeException error) {
+				markAvailable(replica, false, error.getMessage());
+			}
+		}
+	}
+
+	private Long readLag(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet result = statement.executeQuery(lagQuery)) {
+			if (!result.next()) {
+				return null;
+			}
+			int column = 1;
+			ResultSetMetaData metaData = result.getMetaData();
+			for (int i = 1; i <= metaData.getColumnCount(); i++) {
+				if (LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+					column = i;
+				}
+			}
+			long lag = result.getLong(column);
+			return result.wasNull() ? null : lag;
+		}
+	}
+
+	private void markAvailable(Replica replica, boolean available, String reason) {
+		if (replica.available != available) {
+			if (available) {
+				log.info("[REPLICA ROUTING] Replica '{}' is available again", replica.name);
+			} else {
+				log.warn("[REPLICA ROUTING] Replica '{}' is not used, reads go to the primary : {}", replica.name,
+						reason);
+			}
+		}
+		replica.available = available;
+	}
+
+	private Connection route(String username, String password) throws SQLException {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_READS.get() == null) {
+			for (int i = 0; i < replicas.size(); i++) {
+				Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+				if (!replica.available) {
+					continue;
+				}
+				try {
+					return connect(replica.dataSource, username, password);
+				} catch (SQLException error) {
+					markAvailable(replica, false, error.getMessage());
+				}
+			}
+		}
+		return connect(primary, username, password);
+	}
+
+	private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+		return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+	}
+
+	private static void close(DataSource dataSource) throws Exception {
+		if (dataSource instanceof AutoCloseable) {
+			((AutoCloseable) dataSource).close();
+		}
+	}
+
+	/**
+	 * Target of the lazy connections, called when a connection is really needed
+	 */
+	private final class Router extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return route(null, null);
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return route(username, password);
+		}
+	}
+
+	private static final class Replica {
+
+		private final String name;
+
+		private final DataSource dataSource;
+
+		private volatile boolean available;
+
+		private Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+	}
+}
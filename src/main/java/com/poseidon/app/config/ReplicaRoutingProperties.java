@@ -0,0 +1,38 @@
+package com.poseidon.app.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * The "poseidon.datasource.routing.*" properties : the read replicas and when to stop using them
+ */
+@Data
+@ConfigurationProperties("poseidon.datasource.routing")
+public class ReplicaRoutingProperties {
+
+	private boolean enabled;
+
+	private long maxLagSeconds = 5;
+
+	private long checkIntervalMillis = 5000;
+
+	private long connectionTimeoutMillis = 1000;
+
+	private String lagQuery = "SHOW SLAVE STATUS";
+
+	private List<Replica> replicas = new ArrayList<>();
+
+	@Data
+	public static class Replica {
+
+		private String url;
+
+		private String username;
+
+		private String password;
+	}
+}
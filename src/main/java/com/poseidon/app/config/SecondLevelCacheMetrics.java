@@ -0,0 +1,51 @@
+package com.poseidon.app.config;
+
+import javax.annotation.PostConstruct;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.poseidon.app.config.constants.CacheRegions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Publish the hits, misses, puts and evictions of every second-level cache region
+ * as the "cache.*" metrics, with the tag cache=[region] (the tag keys of the userDetails cache metrics)
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@PostConstruct
+	public void bindRegions() {
+		CacheImplementor cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+		RegionFactory regionFactory = cache.getRegionFactory();
+		if (!(regionFactory instanceof CaffeineRegionFactory)) {
+			return;
+		}
+
+		// A query region is only created by its first query : create them now, so they are all published
+		cache.getQueryCache(CacheRegions.RATING_QUERIES);
+		cache.getQueryCache(CacheRegions.RULE_QUERIES);
+
+		CacheManager cacheManager = ((CaffeineRegionFactory) regionFactory).getCacheManager();
+		for (String cacheName : cacheManager.getCacheNames()) {
+			Cache<Object, Object> region = cacheManager.getCache(cacheName);
+			new JCacheMetrics(region, Tags.empty()).bindTo(meterRegistry);
+		}
+	}
+}
@@ -3,6 +3,7 @@ package com.poseidon.app.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -34,10 +35,20 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers("/css/**").permitAll() // Allow CSS to be loaded by everyone
 				.antMatchers("/login").anonymous() // Permit anonymous users to access these pages
 				.antMatchers("/user/**").hasAuthority("ADMIN") // Only allow user modification for admins
+				.antMatchers("/api/v1/users/**").hasAuthority("ADMIN") // Same for the users of the JSON API
+				.antMatchers("/ruleName/add", "/ruleName/validate", "/ruleName/update/**", "/ruleName/delete/**",
+						"/ruleName/execute/**").hasAuthority("ADMIN") // Rules run SQL : only admins write and run them
+				.antMatchers(HttpMethod.POST, "/api/v1/rules/**").hasAuthority("ADMIN") // Same for the JSON API
+				.antMatchers(HttpMethod.PUT, "/api/v1/rules/**").hasAuthority("ADMIN") //
+				.antMatchers(HttpMethod.DELETE, "/api/v1/rules/**").hasAuthority("ADMIN") //
+				.antMatchers("/actuator/health").permitAll() // Health checks do not need credentials
+				.antMatchers("/actuator/**").hasAuthority("ADMIN") // Metrics are for admins (and scrapers)
 				.anyRequest().authenticated() // Every others pages must be accessed with valid credentials
 				.and() //
 				.formLogin().defaultSuccessUrl("/bidList/list", true) // Default homepage on the bid page
 				.and() //
+				.httpBasic() // Lets the Prometheus scraper send its credentials with each request
+				.and() //
 				.logout().logoutUrl("/app-logout").invalidateHttpSession(true) // Logout parameters
 				.deleteCookies("JSESSIONID") // Delete cookies on logout
 				.and().csrf().disable(); // Disabling CSRF Tokens
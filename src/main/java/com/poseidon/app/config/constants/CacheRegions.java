@@ -0,0 +1,21 @@
+package com.poseidon.app.config.constants;
+
+/**
+ * This final class inserts the names of the Hibernate second-level cache regions as constant.
+ * Entities are cached in the entity regions, the results of their list queries in the query regions.
+ */
+public final class CacheRegions {
+
+	/**
+	 * Hiding the constructor to get only string values
+	 */
+	private CacheRegions() {
+		// Hiding the constructor
+	}
+
+	public static final String RATING = "rating";
+	public static final String RATING_QUERIES = "rating-queries";
+	public static final String RULE = "rule";
+	public static final String RULE_QUERIES = "rule-queries";
+
+}
@@ -0,0 +1,15 @@
+package com.poseidon.app.config.constants;
+
+/**
+ * What an update does when the row was changed since the client read it (the version it sends is older).
+ * FAIL reports the conflict, MERGE applies the non null fields of the update on the current row, OVERWRITE keeps
+ * every field of the update. Both MERGE and OVERWRITE are written again from the current version, up to
+ * "poseidon.concurrency.update-attempts" times, and then fail like FAIL if the row keeps changing.
+ * An update without a version conflicts with any version : FAIL rejects it.
+ */
+public enum ConflictPolicy {
+
+	FAIL,
+	MERGE,
+	OVERWRITE
+}
@@ -0,0 +1,38 @@
+package com.poseidon.app.config.constants;
+
+import java.util.Optional;
+
+/**
+ * File formats accepted by the bulk import and produced by the exports.
+ * JSONL is "JSON lines" : one JSON object per line.
+ */
+public enum FileFormat {
+
+	CSV("text/csv"),
+	JSONL("application/x-ndjson");
+
+	private final String contentType;
+
+	FileFormat(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	/**
+	 * Find a format by its name, ignoring the case
+	 *
+	 * @param name								The format name, "csv" or "jsonl"
+	 * @return									The FileFormat if it exists
+	 */
+	public static Optional<FileFormat> fromName(String name) {
+		for (FileFormat format : values()) {
+			if (format.name().equalsIgnoreCase(name)) {
+				return Optional.of(format);
+			}
+		}
+		return Optional.empty();
+	}
+}
@@ -0,0 +1,13 @@
+package com.poseidon.app.config.constants;
+
+/**
+ * Implementation of the entity / DTO mappers, chosen with the "poseidon.mapping.mapper" property
+ */
+public enum MapperType {
+
+	/** Hand written mappers, plain getters and setters */
+	COMPILED,
+
+	/** The ModelMapper bean, fields are matched by reflection */
+	MODELMAPPER
+}
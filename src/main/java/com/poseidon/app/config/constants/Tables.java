@@ -0,0 +1,23 @@
+package com.poseidon.app.config.constants;
+
+/**
+ * This final class inserts the names of the tables served by the API as constant,
+ * each of them has its own change counter
+ */
+public final class Tables {
+
+	/**
+	 * Hiding the constructor to get only string values
+	 */
+	private Tables() {
+		// Hiding the constructor
+	}
+
+	public static final String BID = "bid";
+	public static final String TRADE = "trade";
+	public static final String CURVE_POINT = "curvepoint";
+	public static final String RATING = "rating";
+	public static final String RULE = "rule";
+	public static final String USER = "users";
+
+}
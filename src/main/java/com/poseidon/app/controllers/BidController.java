@@ -1,8 +1,16 @@
 package com.poseidon.app.controllers;
 
+import java.io.InputStream;
+import java.util.Optional;
+
 import javax.validation.Valid;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -10,13 +18,26 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.poseidon.app.config.constants.BootstrapAlerts;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.Bid;
 import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.BidImportReport;
+import com.poseidon.app.domain.dto.BidSummary;
+import com.poseidon.app.domain.dto.KeysetPage;
+import com.poseidon.app.exceptions.BidConflictException;
 import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.services.BidImportService;
 import com.poseidon.app.services.BidService;
+import com.poseidon.app.services.BlotterService;
+import com.poseidon.app.services.ExportService;
 
 @Controller
 public class BidController {
@@ -24,12 +45,33 @@ public class BidController {
 	@Autowired
 	BidService bidService;
 
+	@Autowired
+	ExportService exportService;
+
+	@Autowired
+	BlotterService blotterService;
+
+	@Autowired
+	BidImportService bidImportService;
+
 	/**
 	 * Show the Bids page
+	 *
+	 * @param after								Id of the last bid of the current page, to show the next page
+	 * @param before							Id of the first bid of the current page, to show the previous page
+	 * @param size								Number of bids on the page
+	 * @param sort								Sort direction of the ids ("asc" or "desc")
 	 */
 	@RequestMapping("/bidList/list")
-	public String home(Model model) {
-		model.addAttribute("bids", bidService.findAllBids());
+	public String home(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer before,
+			@RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "asc") String sort,
+			Model model) {
+
+		Sort.Direction direction = Sort.Direction.fromOptionalString(sort).orElse(Sort.Direction.ASC);
+		KeysetPage<BidSummary> page = bidService.findBidSummaryPage(after, before, size, direction);
+
+		model.addAttribute("bids", page.getContent());
+		model.addAttribute("page", page);
 		return "bidList/list";
 	}
 
@@ -53,7 +95,7 @@ public class BidController {
 	 * @throws BidServiceException			Thrown if there is an error while creating the bid
 	 */
 	@PostMapping("/bidList/validate")
-	public String validate(@Valid BidDto bidDto, BindingResult result, Model model,
+	public String validate(@Valid BidDto bidDto, BindingResult result,
 			RedirectAttributes redirectAttributes) throws BidServiceException {
 
 		// If the validation is successful
@@ -68,9 +110,6 @@ public class BidController {
 					String.format("Bid with id '%d' was successfully created", newBid.getId()));
 			redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-			// Adding the list of bids in the model
-			model.addAttribute("bids", bidService.findAllBids());
-
 			// Redirect to the bids page
 			return "redirect:/bidList/list";
 		}
@@ -120,15 +159,20 @@ public class BidController {
 
 		// Convert the Dto to Entity and call the bid service
 		Bid updatedBid = bidService.convertDtoToEntity(bidDto);
-		bidService.updateBid(id, updatedBid);
+		try {
+			bidService.updateBid(id, updatedBid);
+		} catch (BidConflictException error) {
+			// The bid was changed since the form was loaded : the form shows its current values and version
+			BeanUtils.copyProperties(bidService.convertEntityToDto(bidService.findBidById(id)), bidDto);
+			model.addAttribute("message", error.getMessage());
+			model.addAttribute("message_type", BootstrapAlerts.WARNING);
+			return "bidList/update";
+		}
 
 		// Setting the redirect message
 		redirectAttributes.addFlashAttribute("message", String.format("Bid with id '%d' was successfully updated", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		// Adding the list of bids in the model
-		model.addAttribute("bids", bidService.findAllBids());
-
 		// Redirect to the bids page
 		return "redirect:/bidList/list";
 	}
@@ -141,7 +185,7 @@ public class BidController {
 	 * @throws BidServiceException			Thrown if there was an error while deleting the bid
 	 */
 	@GetMapping("/bidList/delete/{id}")
-	public String deleteBid(@PathVariable("id") Integer id, Model model, RedirectAttributes redirectAttributes) {
+	public String deleteBid(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes) {
 
 		try {
 			bidService.deleteBid(id);
@@ -156,10 +200,61 @@ public class BidController {
 		redirectAttributes.addFlashAttribute("message", String.format("Bid with id '%d' was successfully deleted", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		// Adding the list of bids in the model
-		model.addAttribute("bids", bidService.findAllBids());
-
 		// Redirect to the bids page
 		return "redirect:/bidList/list";
 	}
+
+	/**
+	 * Bulk import of bids, the request body is read as a stream, row by row
+	 *
+	 * @param format							"csv" (the first line is the header) or "jsonl" (one JSON object per line)
+	 * @param input								The request body with the bids to import
+	 * @return									The import report, or a bad request if the format is unknown
+	 * @throws BidServiceException				Thrown if the request body could not be read
+	 */
+	@PostMapping("/bidList/import")
+	public ResponseEntity<BidImportReport> importBids(@RequestParam(defaultValue = "csv") String format,
+			InputStream input) throws BidServiceException {
+
+		Optional<FileFormat> fileFormat = FileFormat.fromName(format);
+		if (!fileFormat.isPresent()) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		return ResponseEntity.ok(bidImportService.importBids(input, fileFormat.get()));
+	}
+
+	/**
+	 * Export every bid, the rows are streamed from the database to the response
+	 *
+	 * @param format							"csv" (with a header line) or "jsonl" (one JSON object per line)
+	 * @return									The streamed export, or a bad request if the format is unknown
+	 */
+	@GetMapping("/bidList/export")
+	public ResponseEntity<StreamingResponseBody> exportBids(@RequestParam(defaultValue = "csv") String format) {
+
+		Optional<FileFormat> fileFormat = FileFormat.fromName(format);
+		if (!fileFormat.isPresent()) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		String fileName = String.format("bids.%s", fileFormat.get().name().toLowerCase());
+		StreamingResponseBody body = output -> exportService.exportBids(fileFormat.get(), output);
+
+		return ResponseEntity.ok() //
+				.contentType(MediaType.parseMediaType(fileFormat.get().getContentType())) //
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"") //
+				.body(body);
+	}
+
+	/**
+	 * Stream the changes of the bids to the list page, as Server-Sent Events
+	 *
+	 * @return									The stream, a "CREATED", "UPDATED" or "DELETED" event by change
+	 */
+	@GetMapping(value = "/bidList/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter streamBids() {
+		return blotterService.subscribe(Tables.BID);
+	}
 }
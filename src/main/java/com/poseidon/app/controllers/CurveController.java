@@ -29,7 +29,7 @@ public class CurveController {
 	 */
 	@RequestMapping("/curvePoint/list")
 	public String home(Model model) {
-		model.addAttribute("curvePoints", curvePointService.findAllCurvePoint());
+		model.addAttribute("curvePoints", curvePointService.findAllCurvePointSummaries());
 		return "curvePoint/list";
 	}
 
@@ -53,13 +53,12 @@ public class CurveController {
 	 * @throws CurvePointServiceException		Thrown if there is an error while creating the curve point
 	 */
 	@PostMapping("/curvePoint/validate")
-	public String validate(@Valid CurvePointDto curvePointDto, BindingResult result, Model model,
+	public String validate(@Valid CurvePointDto curvePointDto, BindingResult result,
 			RedirectAttributes redirectAttributes) throws CurvePointServiceException {
 
 		if (!result.hasErrors()) {
 			CurvePoint newCurvePoint = curvePointService.convertDtoToEntity(curvePointDto);
 			curvePointService.createCurvePoint(newCurvePoint);
-			model.addAttribute("curvePoints", curvePointService.findAllCurvePoint());
 			redirectAttributes.addFlashAttribute("message",
 					String.format("Curve Point with id '%d' was successfully created", newCurvePoint.getId()));
 			redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
@@ -103,7 +102,7 @@ public class CurveController {
 	 */
 	@PostMapping("/curvePoint/update/{id}")
 	public String updateCurvePoint(@PathVariable("id") Integer id, @Valid CurvePointDto curvePointDto,
-			BindingResult result, Model model, RedirectAttributes redirectAttributes)
+			BindingResult result, RedirectAttributes redirectAttributes)
 			throws CurvePointServiceException {
 
 		if (result.hasErrors()) {
@@ -112,7 +111,6 @@ public class CurveController {
 
 		CurvePoint updatedCurvePoint = curvePointService.convertDtoToEntity(curvePointDto);
 		curvePointService.updateCurvePoint(id, updatedCurvePoint);
-		model.addAttribute("curvePoints", curvePointService.findAllCurvePoint());
 		redirectAttributes.addFlashAttribute("message",
 				String.format("Curve Point with id '%d' was successfully updated", id));
 		redirectAttributes.addFlashAttribute("message_type", "alert-primary");
@@ -127,7 +125,7 @@ public class CurveController {
 	 * @throws CurvePointServiceException		Thrown if there was an error while deleting the curve point
 	 */
 	@GetMapping("/curvePoint/delete/{id}")
-	public String deleteCurvePoint(@PathVariable("id") Integer id, Model model, RedirectAttributes redirectAttributes)
+	public String deleteCurvePoint(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes)
 			throws CurvePointServiceException {
 		try {
 			curvePointService.deleteCurvePoint(id);
@@ -139,7 +137,6 @@ public class CurveController {
 		redirectAttributes.addFlashAttribute("message",
 				String.format("Curve Point with id '%d' was successfully deleted", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
-		model.addAttribute("curvePoints", curvePointService.findAllCurvePoint());
 		return "redirect:/curvePoint/list";
 	}
 }
@@ -0,0 +1,44 @@
+package com.poseidon.app.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.poseidon.app.domain.dto.BookPnl;
+import com.poseidon.app.services.pnl.PnlEngine;
+
+@Controller
+public class PnlController {
+
+	@Autowired
+	PnlEngine pnlEngine;
+
+	/**
+	 * Get the P&L of a book
+	 *
+	 * @param book								The book to get the P&L of
+	 * @return									The P&L of the book as JSON, not found if the book has no trade
+	 */
+	@GetMapping("/pnl")
+	public ResponseEntity<BookPnl> bookPnl(@RequestParam String book) {
+		BookPnl bookPnl = pnlEngine.findBookPnl(book);
+		if (bookPnl == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(bookPnl);
+	}
+
+	/**
+	 * Get the P&L of every book
+	 *
+	 * @return									The P&L of the books as JSON
+	 */
+	@GetMapping("/pnl/list")
+	public ResponseEntity<List<BookPnl>> allBookPnl() {
+		return ResponseEntity.ok(pnlEngine.findAllBookPnl());
+	}
+}
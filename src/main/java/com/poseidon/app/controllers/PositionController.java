@@ -0,0 +1,42 @@
+package com.poseidon.app.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.poseidon.app.domain.dto.Position;
+import com.poseidon.app.services.PositionService;
+
+@Controller
+public class PositionController {
+
+	@Autowired
+	PositionService positionService;
+
+	/**
+	 * Get the net position of an account on a security
+	 *
+	 * @param account							The account holding the position
+	 * @param security							The security of the position
+	 * @return									The position as JSON
+	 */
+	@GetMapping("/position")
+	public ResponseEntity<Position> position(@RequestParam String account, @RequestParam String security) {
+		return ResponseEntity.ok(positionService.findPosition(account, security));
+	}
+
+	/**
+	 * Get every position, or the positions of a single account
+	 *
+	 * @param account							The account to get the positions of (optional)
+	 * @return									The positions as JSON
+	 */
+	@GetMapping("/position/list")
+	public ResponseEntity<List<Position>> positions(@RequestParam(required = false) String account) {
+		return ResponseEntity.ok(positionService.findPositions(account));
+	}
+}
@@ -29,7 +29,7 @@ public class RatingController {
 	 */
 	@RequestMapping("/rating/list")
 	public String home(Model model) {
-		model.addAttribute("ratings", ratingService.findAllRatings());
+		model.addAttribute("ratings", ratingService.findAllRatingSummaries());
 		return "rating/list";
 	}
 
@@ -53,7 +53,7 @@ public class RatingController {
 	 * @throws RatingServiceException		Thrown if there is an error while creating the rating
 	 */
 	@PostMapping("/rating/validate")
-	public String validate(@Valid RatingDto ratingDto, BindingResult result, Model model,
+	public String validate(@Valid RatingDto ratingDto, BindingResult result,
 			RedirectAttributes redirectAttributes) throws RatingServiceException {
 		if (!result.hasErrors()) {
 			Rating newRating = ratingService.convertDtoToEntity(ratingDto);
@@ -63,8 +63,6 @@ public class RatingController {
 					String.format("Rating with id '%d' was successfully created", newRating.getId()));
 			redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-			model.addAttribute("ratings", ratingService.findAllRatings());
-
 			return "redirect:/rating/list";
 		}
 		return "rating/add";
@@ -103,7 +101,7 @@ public class RatingController {
 	 */
 	@PostMapping("/rating/update/{id}")
 	public String updateRating(@PathVariable("id") Integer id, @Valid RatingDto ratingDto, BindingResult result,
-			Model model, RedirectAttributes redirectAttributes) throws RatingServiceException {
+			RedirectAttributes redirectAttributes) throws RatingServiceException {
 
 		if (result.hasErrors()) {
 			return "rating/update";
@@ -115,8 +113,6 @@ public class RatingController {
 				String.format("Rating with id '%d' was successfully updated", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("ratings", ratingService.findAllRatings());
-
 		return "redirect:/rating/list";
 	}
 
@@ -128,7 +124,7 @@ public class RatingController {
 	 * @throws RatingServiceException			Thrown if there was an error while deleting the rating
 	 */
 	@GetMapping("/rating/delete/{id}")
-	public String deleteRating(@PathVariable("id") Integer id, Model model, RedirectAttributes redirectAttributes)
+	public String deleteRating(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes)
 			throws RatingServiceException {
 		try {
 			ratingService.deleteRating(id);
@@ -142,7 +138,6 @@ public class RatingController {
 				String.format("Rating with id '%d' was successfully deleted", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("ratings", ratingService.findAllRatings());
 		return "redirect:/rating/list";
 	}
 }
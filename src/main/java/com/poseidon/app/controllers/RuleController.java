@@ -29,7 +29,7 @@ public class RuleController {
 	 */
 	@RequestMapping("/ruleName/list")
 	public String home(Model model) {
-		model.addAttribute("rules", ruleService.findAllRules());
+		model.addAttribute("rules", ruleService.findAllRuleSummaries());
 		return "ruleName/list";
 	}
 
@@ -53,7 +53,7 @@ public class RuleController {
 	 * @throws RuleServiceException				Thrown if there is an error while creating the rule
 	 */
 	@PostMapping("/ruleName/validate")
-	public String validate(@Valid RuleDto ruleDto, BindingResult result, Model model,
+	public String validate(@Valid RuleDto ruleDto, BindingResult result,
 			RedirectAttributes redirectAttributes) throws RuleServiceException {
 		if (!result.hasErrors()) {
 
@@ -64,8 +64,6 @@ public class RuleController {
 					String.format("Rule with id '%d' was successfully created", newRule.getId()));
 			redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-			model.addAttribute("rules", ruleService.findAllRules());
-
 			return "redirect:/ruleName/list";
 		}
 		return "ruleName/add";
@@ -105,7 +103,7 @@ public class RuleController {
 	 */
 	@PostMapping("/ruleName/update/{id}")
 	public String updateRuleName(@PathVariable("id") Integer id, @Valid RuleDto ruleDto, BindingResult result,
-			Model model, RedirectAttributes redirectAttributes) throws RuleServiceException {
+			RedirectAttributes redirectAttributes) throws RuleServiceException {
 
 		if (result.hasErrors()) {
 			return "ruleName/update";
@@ -118,8 +116,6 @@ public class RuleController {
 				String.format("Rule with id '%d' was successfully updated", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("rules", ruleService.findAllRules());
-
 		return "redirect:/ruleName/list";
 	}
 
@@ -131,7 +127,7 @@ public class RuleController {
 	 * @throws RuleServiceException				Thrown if there was an error while deleting the given rule
 	 */
 	@GetMapping("/ruleName/delete/{id}")
-	public String deleteRuleName(@PathVariable("id") Integer id, Model model, RedirectAttributes redirectAttributes)
+	public String deleteRuleName(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes)
 			throws RuleServiceException {
 		try {
 			ruleService.deleteRule(id);
@@ -145,8 +141,6 @@ public class RuleController {
 				String.format("Rule with id '%d' was successfully deleted", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("rules", ruleService.findAllRules());
-
 		return "redirect:/ruleName/list";
 	}
 }
@@ -0,0 +1,101 @@
+package com.poseidon.app.controllers;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.domain.dto.RuleReport;
+import com.poseidon.app.exceptions.RuleCompilationException;
+import com.poseidon.app.exceptions.RuleServiceException;
+import com.poseidon.app.services.rules.RuleEngine;
+import com.poseidon.app.services.rules.RuleSqlExecutor;
+import com.poseidon.app.services.rules.RuleStatement;
+
+@Controller
+public class RuleEngineController {
+
+	@Autowired
+	RuleEngine ruleEngine;
+
+	@Autowired
+	RuleSqlExecutor ruleSqlExecutor;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	/**
+	 * Check every trade against the active trade rules
+	 *
+	 * @return									The report of each trade rule as JSON
+	 */
+	@GetMapping("/ruleName/check")
+	public ResponseEntity<List<RuleReport>> checkTrades() {
+		return ResponseEntity.ok(ruleEngine.checkTrades());
+	}
+
+	/**
+	 * Get the evaluations of every rule by the bid and trade changes
+	 *
+	 * @return									The report of each rule as JSON, with the error of the invalid ones
+	 */
+	@GetMapping("/ruleName/stats")
+	public ResponseEntity<List<RuleReport>> ruleStats() {
+		return ResponseEntity.ok(ruleEngine.findRuleStats());
+	}
+
+	/**
+	 * Run the query of a rule, its rows are streamed as JSON lines while they are read
+	 *
+	 * @param id								The Rule ID
+	 * @param parameters						Value of each named parameter of the query
+	 * @return									The rows, not found if the rule does not exist,
+	 * 											bad request if its query cannot be run or a parameter is missing
+	 */
+	@GetMapping("/ruleName/execute/{id}")
+	public ResponseEntity<StreamingResponseBody> executeRule(@PathVariable("id") Integer id,
+			@RequestParam Map<String, String> parameters) {
+
+		RuleStatement statement;
+		try {
+			statement = ruleSqlExecutor.findStatement(id);
+		} catch (RuleServiceException error) {
+			return ResponseEntity.notFound().build();
+		} catch (RuleCompilationException error) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		Object[] values;
+		try {
+			values = statement.bind(parameters);
+		} catch (RuleServiceException error) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		StreamingResponseBody body = output -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+			ruleSqlExecutor.execute(statement, values, row -> {
+				writer.write(objectMapper.writeValueAsString(row));
+				writer.write('\n');
+			});
+			writer.flush();
+		};
+
+		return ResponseEntity.ok() //
+				.contentType(MediaType.parseMediaType(FileFormat.JSONL.getContentType())) //
+				.body(body);
+	}
+}
@@ -1,8 +1,14 @@
 package com.poseidon.app.controllers;
 
+import java.util.Optional;
+
 import javax.validation.Valid;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -10,12 +16,21 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.poseidon.app.config.constants.BootstrapAlerts;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.Trade;
 import com.poseidon.app.domain.dto.TradeDto;
+import com.poseidon.app.exceptions.TradeConflictException;
 import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.services.BlotterService;
+import com.poseidon.app.services.ExportService;
 import com.poseidon.app.services.TradeService;
 
 @Controller
@@ -24,13 +39,19 @@ public class TradeController {
 	@Autowired
 	TradeService tradeService;
 
+	@Autowired
+	ExportService exportService;
+
+	@Autowired
+	BlotterService blotterService;
+
 	/**
 	 * Show the trades page
 	 */
 	@RequestMapping("/trade/list")
 	public String home(Model model) {
 
-		model.addAttribute("trades", tradeService.findAllTrades());
+		model.addAttribute("trades", tradeService.findAllTradeSummaries());
 
 		return "trade/list";
 	}
@@ -55,7 +76,7 @@ public class TradeController {
 	 * @throws TradeServiceException			Thrown if there is an error while creating the trade
 	 */
 	@PostMapping("/trade/validate")
-	public String validate(@Valid TradeDto tradeDto, BindingResult result, Model model,
+	public String validate(@Valid TradeDto tradeDto, BindingResult result,
 			RedirectAttributes redirectAttributes) throws TradeServiceException {
 
 		if (!result.hasErrors()) {
@@ -66,8 +87,6 @@ public class TradeController {
 					String.format("Trade with id '%d' was successfully created", newTrade.getId()));
 			redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-			model.addAttribute("trades", tradeService.findAllTrades());
-
 			return "redirect:/trade/list";
 		}
 
@@ -116,14 +135,20 @@ public class TradeController {
 		}
 
 		Trade updatedTrade = tradeService.convertDtoToEntity(tradeDto);
-		tradeService.updateTrade(id, updatedTrade);
+		try {
+			tradeService.updateTrade(id, updatedTrade);
+		} catch (TradeConflictException error) {
+			// The trade was changed since the form was loaded : the form shows its current values and version
+			BeanUtils.copyProperties(tradeService.convertEntityToDto(tradeService.findTradeById(id)), tradeDto);
+			model.addAttribute("message", error.getMessage());
+			model.addAttribute("message_type", BootstrapAlerts.WARNING);
+			return "trade/update";
+		}
 
 		redirectAttributes.addFlashAttribute("message",
 				String.format("Trade with id '%d' was successfully updated", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("trades", tradeService.findAllTrades());
-
 		return "redirect:/trade/list";
 	}
 
@@ -135,7 +160,7 @@ public class TradeController {
 	 * @throws TradeServiceException			Thrown if there was an error while deleting the given trade
 	 */
 	@GetMapping("/trade/delete/{id}")
-	public String deleteTrade(@PathVariable("id") Integer id, Model model, RedirectAttributes redirectAttributes)
+	public String deleteTrade(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes)
 			throws TradeServiceException {
 
 		try {
@@ -151,8 +176,40 @@ public class TradeController {
 				String.format("Trade with id '%d' was successfully deleted", id));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("trades", tradeService.findAllTrades());
-
 		return "redirect:/trade/list";
 	}
+
+	/**
+	 * Export every trade, the rows are streamed from the database to the response
+	 *
+	 * @param format							"csv" (with a header line) or "jsonl" (one JSON object per line)
+	 * @return									The streamed export, or a bad request if the format is unknown
+	 */
+	@GetMapping("/trade/export")
+	public ResponseEntity<StreamingResponseBody> exportTrades(@RequestParam(defaultValue = "csv") String format) {
+
+		Optional<FileFormat> fileFormat = FileFormat.fromName(format);
+		if (!fileFormat.isPresent()) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		String fileName = String.format("trades.%s", fileFormat.get().name().toLowerCase());
+		StreamingResponseBody body = output -> exportService.exportTrades(fileFormat.get(), output);
+
+		return ResponseEntity.ok() //
+				.contentType(MediaType.parseMediaType(fileFormat.get().getContentType())) //
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"") //
+				.body(body);
+	}
+
+	/**
+	 * Stream the changes of the trades to the list page, as Server-Sent Events
+	 *
+	 * @return									The stream, a "CREATED", "UPDATED" or "DELETED" event by change
+	 */
+	@GetMapping(value = "/trade/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter streamTrades() {
+		return blotterService.subscribe(Tables.TRADE);
+	}
 }
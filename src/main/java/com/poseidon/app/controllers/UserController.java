@@ -54,7 +54,7 @@ public class UserController {
 	 * @throws UserServiceException				Thrown if there is an error while creating the user
 	 */
 	@PostMapping("/user/validate")
-	public String validate(@Valid UserDto userDto, BindingResult result, Model model,
+	public String validate(@Valid UserDto userDto, BindingResult result,
 			RedirectAttributes redirectAttributes) throws UserServiceException {
 
 		if (!result.hasErrors()) {
@@ -74,8 +74,6 @@ public class UserController {
 							newUser.getUsername(), newUser.getRole()));
 			redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-			model.addAttribute("users", userService.findAllUsers());
-
 			return "redirect:/user/list";
 		}
 
@@ -116,7 +114,7 @@ public class UserController {
 	 * @throws UserServiceException				Thrown if there is an error while updating the user
 	 */
 	@PostMapping("/user/update/{id}")
-	public String updateUser(@PathVariable("id") Integer id, @Valid UserDto userDto, BindingResult result, Model model,
+	public String updateUser(@PathVariable("id") Integer id, @Valid UserDto userDto, BindingResult result,
 			RedirectAttributes redirectAttributes) throws UserServiceException {
 
 		if (result.hasErrors()) {
@@ -130,8 +128,6 @@ public class UserController {
 				String.format("User '%s' was successfully updated", newUser.getUsername()));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("users", userService.findAllUsers());
-
 		return "redirect:/user/list";
 	}
 
@@ -143,7 +139,7 @@ public class UserController {
 	 * @throws UserServiceException				Thrown if there was an error while deleting the users
 	 */
 	@GetMapping("/user/delete/{id}")
-	public String deleteUser(@PathVariable("id") Integer id, Model model, RedirectAttributes redirectAttributes)
+	public String deleteUser(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes)
 			throws UserServiceException {
 
 		String username = "";
@@ -160,8 +156,6 @@ public class UserController {
 		redirectAttributes.addFlashAttribute("message", String.format("User '%s' was successfully deleted", username));
 		redirectAttributes.addFlashAttribute("message_type", BootstrapAlerts.PRIMARY);
 
-		model.addAttribute("users", userService.findAllUsers());
-
 		return "redirect:/user/list";
 	}
 }
@@ -0,0 +1,74 @@
+package com.poseidon.app.controllers.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.poseidon.app.domain.dto.ApiError;
+import com.poseidon.app.exceptions.BidConflictException;
+import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.exceptions.CurvePointServiceException;
+import com.poseidon.app.exceptions.RatingServiceException;
+import com.poseidon.app.exceptions.RuleServiceException;
+import com.poseidon.app.exceptions.TradeConflictException;
+import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.exceptions.UserServiceException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Errors of the JSON API, answered as JSON instead of the error page of the views
+ */
+@Slf4j
+@RestControllerAdvice(basePackageClasses = ApiExceptionHandler.class)
+public class ApiExceptionHandler {
+
+	/**
+	 * The row was changed by someone else since the version given for update was read
+	 */
+	@ExceptionHandler({ BidConflictException.class, TradeConflictException.class,
+			DataIntegrityViolationException.class })
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public ApiError handleConflict(Exception error) {
+		log.info("[API] Conflict : {}", error.getMessage());
+		return new ApiError(HttpStatus.CONFLICT.value(), error.getMessage(), null);
+	}
+
+	/**
+	 * The services only throw their exception when the row is missing, once the body is validated
+	 */
+	@ExceptionHandler({ BidServiceException.class, TradeServiceException.class, CurvePointServiceException.class,
+			RatingServiceException.class, RuleServiceException.class, UserServiceException.class })
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	public ApiError handleNotFound(Exception error) {
+		return new ApiError(HttpStatus.NOT_FOUND.value(), error.getMessage(), null);
+	}
+
+	/**
+	 * The body does not pass the validation of its DTO, the same as the forms
+	 */
+	@ExceptionHandler(MethodArgumentNotValidException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ApiError handleInvalidBody(MethodArgumentNotValidException error) {
+		Map<String, String> errors = new LinkedHashMap<>();
+		for (FieldError fieldError : error.getBindingResult().getFieldErrors()) {
+			errors.putIfAbsent(fieldError.getField(), fieldError.getDefaultMessage());
+		}
+		return new ApiError(HttpStatus.BAD_REQUEST.value(), "Invalid body", errors);
+	}
+
+	@ExceptionHandler(ResponseStatusException.class)
+	public ResponseEntity<ApiError> handleStatus(ResponseStatusException error) {
+		return ResponseEntity.status(error.getStatus())
+				.body(new ApiError(error.getStatus().value(), error.getReason(), null));
+	}
+}
@@ -0,0 +1,126 @@
+package com.poseidon.app.controllers.api;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.ReplicaRoutingDataSource;
+import com.poseidon.app.domain.dto.ApiPage;
+import com.poseidon.app.domain.dto.KeysetPage;
+import com.poseidon.app.services.ChangeCounterService;
+
+/**
+ * Shared by the API controllers : conditional requests, field filtering and page links
+ */
+@Component
+public class ApiSupport {
+
+	private static final TypeReference<Map<String, Object>> FIELDS = new TypeReference<Map<String, Object>>() {
+	};
+
+	private static final String PRIMARY_READS = ApiSupport.class.getName() + ".primaryReads";
+
+	@Autowired
+	ChangeCounterService changeCounterService;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	/**
+	 * Check the "If-None-Match" header of a request against the change counter of a table.
+	 * The ETag is read before any row : when it matches, the response is a 304 and the database is not queried.
+	 * Otherwise the rows of the request are read from the primary : the counters change when the primary commits,
+	 * and a lagging replica could send the previous rows under the new ETag, the client would then keep them.
+	 *
+	 * @param request							The current request, its response gets the ETag header
+	 * @param table								The table the response is read from, one of the Tables
+	 * @return									True if the client copy is up to date and nothing should be read
+	 */
+	public boolean isNotModified(WebRequest request, String table) {
+		if (request.checkNotModified(changeCounterService.getEtag(table))) {
+			return true;
+		}
+
+		ReplicaRoutingDataSource.setPrimaryReads(true);
+		RequestContextHolder.currentRequestAttributes().registerDestructionCallback(PRIMARY_READS,
+				() -> ReplicaRoutingDataSource.setPrimaryReads(false), RequestAttributes.SCOPE_REQUEST);
+		return false;
+	}
+
+	/**
+	 * Keep only some fields of a DTO
+	 *
+	 * @param dto								The DTO to send
+	 * @param fields							Names of the fields to keep, every field is kept if empty
+	 * @return									The DTO itself, or a map with the kept fields
+	 */
+	public Object filterFields(Object dto, Set<String> fields) {
+		if (fields == null || fields.isEmpty()) {
+			return dto;
+		}
+
+		Map<String, Object> values = objectMapper.convertValue(dto, FIELDS);
+		values.keySet().retainAll(fields);
+		return values;
+	}
+
+	/**
+	 * Build the response of a page, with the links to the pages around it
+	 *
+	 * @param page								The page of entities read by a service
+	 * @param toDto								Conversion of an entity to the DTO sent
+	 * @param fields							Names of the fields to keep, every field is kept if empty
+	 * @return									ApiPage with the DTOs of the page
+	 */
+	public <T> ApiPage toPage(KeysetPage<T> page, Function<T, Object> toDto, Set<String> fields) {
+		String next = page.isHasNext() ? link("after", page.getLastId()) : null;
+		String previous = page.isHasPrevious() ? link("before", page.getFirstId()) : null;
+
+		return new ApiPage(page.getContent().stream() //
+				.map(row -> filterFields(toDto.apply(row), fields)) //
+				.collect(Collectors.toList()), page.getSize(), next, previous);
+	}
+
+	/**
+	 * Read the sort direction of the ids, ascending when it is missing or unknown
+	 *
+	 * @param sort								"asc" or "desc"
+	 * @return									The sort direction
+	 */
+	public Sort.Direction direction(String sort) {
+		return Sort.Direction.fromOptionalString(sort).orElse(Sort.Direction.ASC);
+	}
+
+	/**
+	 * Answer a created row with its location
+	 *
+	 * @param id								Id of the created row
+	 * @param body								The DTO of the created row
+	 * @return									A 201 response
+	 */
+	public ResponseEntity<Object> created(Integer id, Object body) {
+		URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(id).toUri();
+		return ResponseEntity.created(location).body(body);
+	}
+
+	private static String link(String cursor, Integer id) {
+		return ServletUriComponentsBuilder.fromCurrentRequest() //
+				.replaceQueryParam("after") //
+				.replaceQueryParam("before") //
+				.replaceQueryParam(cursor, id) //
+				.toUriString();
+	}
+}
@@ -0,0 +1,130 @@
+package com.poseidon.app.controllers.api;
+
+import java.util.Set;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.poseidon.app.config.constants.ConflictPolicy;
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.services.BidService;
+
+@RestController
+@RequestMapping("/api/v1/bids")
+public class BidApiController {
+
+	@Autowired
+	BidService bidService;
+
+	@Autowired
+	ApiSupport apiSupport;
+
+	/**
+	 * Get a page of bids
+	 *
+	 * @param after								Id of the last bid of the current page, to get the next page
+	 * @param before							Id of the first bid of the current page, to get the previous page
+	 * @param size								Number of bids on the page
+	 * @param sort								Sort direction of the ids ("asc" or "desc")
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The page, or nothing (304) if the bids did not change
+	 */
+	@GetMapping
+	public Object findBids(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer before, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "asc") String sort, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) {
+
+		if (apiSupport.isNotModified(request, Tables.BID)) {
+			return null;
+		}
+		return apiSupport.toPage(bidService.findBidPage(after, before, size, apiSupport.direction(sort)),
+				bidService::convertEntityToDto, fields);
+	}
+
+	/**
+	 * Get a bid
+	 *
+	 * @param id								The bid ID
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The bid, or nothing (304) if the bids did not change
+	 * @throws BidServiceException				Thrown if the bid was not found (404)
+	 */
+	@GetMapping("/{id}")
+	public Object findBid(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) throws BidServiceException {
+
+		if (apiSupport.isNotModified(request, Tables.BID)) {
+			return null;
+		}
+		return apiSupport.filterFields(bidService.convertEntityToDto(bidService.findBidById(id)), fields);
+	}
+
+	/**
+	 * Create a bid
+	 *
+	 * @param bidDto							The bid, validated as the "Add Bid" form. Its id is ignored
+	 * @return									The created bid (201) with its location
+	 * @throws BidServiceException				Thrown if there is an error while creating the bid
+	 */
+	@PostMapping
+	public ResponseEntity<Object> createBid(@Valid @RequestBody BidDto bidDto) throws BidServiceException {
+		bidDto.setId(null);
+		Bid newBid = bidService.convertDtoToEntity(bidDto);
+		bidService.createBid(newBid);
+		return apiSupport.created(newBid.getId(), bidService.convertEntityToDto(newBid));
+	}
+
+	/**
+	 * Update a bid, from the version given in the body
+	 *
+	 * @param id								The bid ID
+	 * @param bidDto							The new fields of the bid, validated as the "Update Bid" form.
+	 * 											Its version is required (428 without it)
+	 * @param policy							What to do if the bid changed since the given version
+	 * @return									The updated bid, with its new version
+	 * @throws BidServiceException				Thrown if the bid was not found (404) or changed meanwhile (409)
+	 */
+	@PutMapping("/{id}")
+	public BidDto updateBid(@PathVariable("id") Integer id, @Valid @RequestBody BidDto bidDto,
+			@RequestParam(defaultValue = "FAIL") ConflictPolicy policy) throws BidServiceException {
+
+		if (bidDto.getVersion() == null) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED,
+					"The version the bid was read at is required to update it");
+		}
+		Bid updatedBid = bidService.convertDtoToEntity(bidDto);
+		bidService.updateBid(id, updatedBid, policy);
+		return bidService.convertEntityToDto(updatedBid);
+	}
+
+	/**
+	 * Delete a bid
+	 *
+	 * @param id								The bid ID
+	 * @throws BidServiceException				Thrown if the bid was not found (404)
+	 */
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deleteBid(@PathVariable("id") Integer id) throws BidServiceException {
+		bidService.deleteBid(id);
+	}
+}
@@ -0,0 +1,124 @@
+package com.poseidon.app.controllers.api;
+
+import java.util.Set;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.dto.CurvePointDto;
+import com.poseidon.app.exceptions.CurvePointServiceException;
+import com.poseidon.app.services.CurvePointService;
+
+@RestController
+@RequestMapping("/api/v1/curvePoints")
+public class CurvePointApiController {
+
+	@Autowired
+	CurvePointService curvePointService;
+
+	@Autowired
+	ApiSupport apiSupport;
+
+	/**
+	 * Get a page of curve points
+	 *
+	 * @param after								Id of the last curve point of the current page, to get the next page
+	 * @param before							Id of the first curve point of the current page, to get the previous page
+	 * @param size								Number of curve points on the page
+	 * @param sort								Sort direction of the ids ("asc" or "desc")
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The page, or nothing (304) if the curve points did not change
+	 */
+	@GetMapping
+	public Object findCurvePoints(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer before, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "asc") String sort, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) {
+
+		if (apiSupport.isNotModified(request, Tables.CURVE_POINT)) {
+			return null;
+		}
+		return apiSupport.toPage(curvePointService.findCurvePointPage(after, before, size, apiSupport.direction(sort)),
+				curvePointService::convertEntityToDto, fields);
+	}
+
+	/**
+	 * Get a curve point
+	 *
+	 * @param id								The curve point ID
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The curve point, or nothing (304) if the curve points did not change
+	 * @throws CurvePointServiceException		Thrown if the curve point was not found (404)
+	 */
+	@GetMapping("/{id}")
+	public Object findCurvePoint(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) throws CurvePointServiceException {
+
+		if (apiSupport.isNotModified(request, Tables.CURVE_POINT)) {
+			return null;
+		}
+		CurvePoint curvePoint = curvePointService.findCurvePointById(id);
+		return apiSupport.filterFields(curvePointService.convertEntityToDto(curvePoint), fields);
+	}
+
+	/**
+	 * Create a curve point
+	 *
+	 * @param curvePointDto						The curve point, validated as the "Add" form. Its id is ignored
+	 * @return									The created curve point (201) with its location
+	 * @throws CurvePointServiceException		Thrown if there is an error while creating the curve point
+	 */
+	@PostMapping
+	public ResponseEntity<Object> createCurvePoint(@Valid @RequestBody CurvePointDto curvePointDto)
+			throws CurvePointServiceException {
+		curvePointDto.setId(null);
+		CurvePoint newCurvePoint = curvePointService.convertDtoToEntity(curvePointDto);
+		curvePointService.createCurvePoint(newCurvePoint);
+		return apiSupport.created(newCurvePoint.getId(), curvePointService.convertEntityToDto(newCurvePoint));
+	}
+
+	/**
+	 * Update a curve point
+	 *
+	 * @param id								The curve point ID
+	 * @param curvePointDto						The new fields of the curve point, validated as the "Update" form
+	 * @return									The updated curve point
+	 * @throws CurvePointServiceException		Thrown if the curve point was not found (404)
+	 */
+	@PutMapping("/{id}")
+	public CurvePointDto updateCurvePoint(@PathVariable("id") Integer id,
+			@Valid @RequestBody CurvePointDto curvePointDto) throws CurvePointServiceException {
+
+		CurvePoint updatedCurvePoint = curvePointService.convertDtoToEntity(curvePointDto);
+		curvePointService.updateCurvePoint(id, updatedCurvePoint);
+		return curvePointService.convertEntityToDto(updatedCurvePoint);
+	}
+
+	/**
+	 * Delete a curve point
+	 *
+	 * @param id								The curve point ID
+	 * @throws CurvePointServiceException		Thrown if the curve point was not found (404)
+	 */
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deleteCurvePoint(@PathVariable("id") Integer id) throws CurvePointServiceException {
+		curvePointService.deleteCurvePoint(id);
+	}
+}
@@ -0,0 +1,122 @@
+package com.poseidon.app.controllers.api;
+
+import java.util.Set;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.domain.dto.RatingDto;
+import com.poseidon.app.exceptions.RatingServiceException;
+import com.poseidon.app.services.RatingService;
+
+@RestController
+@RequestMapping("/api/v1/ratings")
+public class RatingApiController {
+
+	@Autowired
+	RatingService ratingService;
+
+	@Autowired
+	ApiSupport apiSupport;
+
+	/**
+	 * Get a page of ratings
+	 *
+	 * @param after								Id of the last rating of the current page, to get the next page
+	 * @param before							Id of the first rating of the current page, to get the previous page
+	 * @param size								Number of ratings on the page
+	 * @param sort								Sort direction of the ids ("asc" or "desc")
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The page, or nothing (304) if the ratings did not change
+	 */
+	@GetMapping
+	public Object findRatings(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer before, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "asc") String sort, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) {
+
+		if (apiSupport.isNotModified(request, Tables.RATING)) {
+			return null;
+		}
+		return apiSupport.toPage(ratingService.findRatingPage(after, before, size, apiSupport.direction(sort)),
+				ratingService::convertEntityToDto, fields);
+	}
+
+	/**
+	 * Get a rating
+	 *
+	 * @param id								The rating ID
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The rating, or nothing (304) if the ratings did not change
+	 * @throws RatingServiceException			Thrown if the rating was not found (404)
+	 */
+	@GetMapping("/{id}")
+	public Object findRating(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) throws RatingServiceException {
+
+		if (apiSupport.isNotModified(request, Tables.RATING)) {
+			return null;
+		}
+		return apiSupport.filterFields(ratingService.convertEntityToDto(ratingService.findRatingById(id)), fields);
+	}
+
+	/**
+	 * Create a rating
+	 *
+	 * @param ratingDto							The rating, validated as the "Add Rating" form. Its id is ignored
+	 * @return									The created rating (201) with its location
+	 * @throws RatingServiceException			Thrown if there is an error while creating the rating
+	 */
+	@PostMapping
+	public ResponseEntity<Object> createRating(@Valid @RequestBody RatingDto ratingDto) throws RatingServiceException {
+		ratingDto.setId(null);
+		Rating newRating = ratingService.convertDtoToEntity(ratingDto);
+		ratingService.createRating(newRating);
+		return apiSupport.created(newRating.getId(), ratingService.convertEntityToDto(newRating));
+	}
+
+	/**
+	 * Update a rating
+	 *
+	 * @param id								The rating ID
+	 * @param ratingDto							The new fields of the rating, validated as the "Update Rating" form
+	 * @return									The updated rating
+	 * @throws RatingServiceException			Thrown if the rating was not found (404)
+	 */
+	@PutMapping("/{id}")
+	public RatingDto updateRating(@PathVariable("id") Integer id, @Valid @RequestBody RatingDto ratingDto)
+			throws RatingServiceException {
+
+		Rating updatedRating = ratingService.convertDtoToEntity(ratingDto);
+		ratingService.updateRating(id, updatedRating);
+		return ratingService.convertEntityToDto(updatedRating);
+	}
+
+	/**
+	 * Delete a rating
+	 *
+	 * @param id								The rating ID
+	 * @throws RatingServiceException			Thrown if the rating was not found (404)
+	 */
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deleteRating(@PathVariable("id") Integer id) throws RatingServiceException {
+		ratingService.deleteRating(id);
+	}
+}
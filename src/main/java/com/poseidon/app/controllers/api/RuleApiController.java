@@ -0,0 +1,122 @@
+package com.poseidon.app.controllers.api;
+
+import java.util.Set;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.dto.RuleDto;
+import com.poseidon.app.exceptions.RuleServiceException;
+import com.poseidon.app.services.RuleService;
+
+@RestController
+@RequestMapping("/api/v1/rules")
+public class RuleApiController {
+
+	@Autowired
+	RuleService ruleService;
+
+	@Autowired
+	ApiSupport apiSupport;
+
+	/**
+	 * Get a page of rules
+	 *
+	 * @param after								Id of the last rule of the current page, to get the next page
+	 * @param before							Id of the first rule of the current page, to get the previous page
+	 * @param size								Number of rules on the page
+	 * @param sort								Sort direction of the ids ("asc" or "desc")
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The page, or nothing (304) if the rules did not change
+	 */
+	@GetMapping
+	public Object findRules(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer before, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "asc") String sort, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) {
+
+		if (apiSupport.isNotModified(request, Tables.RULE)) {
+			return null;
+		}
+		return apiSupport.toPage(ruleService.findRulePage(after, before, size, apiSupport.direction(sort)),
+				ruleService::convertEntityToDto, fields);
+	}
+
+	/**
+	 * Get a rule
+	 *
+	 * @param id								The rule ID
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The rule, or nothing (304) if the rules did not change
+	 * @throws RuleServiceException				Thrown if the rule was not found (404)
+	 */
+	@GetMapping("/{id}")
+	public Object findRule(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) throws RuleServiceException {
+
+		if (apiSupport.isNotModified(request, Tables.RULE)) {
+			return null;
+		}
+		return apiSupport.filterFields(ruleService.convertEntityToDto(ruleService.findRuleById(id)), fields);
+	}
+
+	/**
+	 * Create a rule
+	 *
+	 * @param ruleDto							The rule, validated as the "Add Rule" form. Its id is ignored
+	 * @return									The created rule (201) with its location
+	 * @throws RuleServiceException				Thrown if there is an error while creating the rule
+	 */
+	@PostMapping
+	public ResponseEntity<Object> createRule(@Valid @RequestBody RuleDto ruleDto) throws RuleServiceException {
+		ruleDto.setId(null);
+		Rule newRule = ruleService.convertDtoToEntity(ruleDto);
+		ruleService.createRule(newRule);
+		return apiSupport.created(newRule.getId(), ruleService.convertEntityToDto(newRule));
+	}
+
+	/**
+	 * Update a rule
+	 *
+	 * @param id								The rule ID
+	 * @param ruleDto							The new fields of the rule, validated as the "Update Rule" form
+	 * @return									The updated rule
+	 * @throws RuleServiceException				Thrown if the rule was not found (404)
+	 */
+	@PutMapping("/{id}")
+	public RuleDto updateRule(@PathVariable("id") Integer id, @Valid @RequestBody RuleDto ruleDto)
+			throws RuleServiceException {
+
+		Rule updatedRule = ruleService.convertDtoToEntity(ruleDto);
+		ruleService.updateRule(id, updatedRule);
+		return ruleService.convertEntityToDto(updatedRule);
+	}
+
+	/**
+	 * Delete a rule
+	 *
+	 * @param id								The rule ID
+	 * @throws RuleServiceException				Thrown if the rule was not found (404)
+	 */
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deleteRule(@PathVariable("id") Integer id) throws RuleServiceException {
+		ruleService.deleteRule(id);
+	}
+}
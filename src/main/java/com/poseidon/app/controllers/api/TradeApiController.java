@@ -0,0 +1,130 @@
+package com.poseidon.app.controllers.api;
+
+import java.util.Set;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.poseidon.app.config.constants.ConflictPolicy;
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.TradeDto;
+import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.services.TradeService;
+
+@RestController
+@RequestMapping("/api/v1/trades")
+public class TradeApiController {
+
+	@Autowired
+	TradeService tradeService;
+
+	@Autowired
+	ApiSupport apiSupport;
+
+	/**
+	 * Get a page of trades
+	 *
+	 * @param after								Id of the last trade of the current page, to get the next page
+	 * @param before							Id of the first trade of the current page, to get the previous page
+	 * @param size								Number of trades on the page
+	 * @param sort								Sort direction of the ids ("asc" or "desc")
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The page, or nothing (304) if the trades did not change
+	 */
+	@GetMapping
+	public Object findTrades(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer before, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "asc") String sort, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) {
+
+		if (apiSupport.isNotModified(request, Tables.TRADE)) {
+			return null;
+		}
+		return apiSupport.toPage(tradeService.findTradePage(after, before, size, apiSupport.direction(sort)),
+				tradeService::convertEntityToDto, fields);
+	}
+
+	/**
+	 * Get a trade
+	 *
+	 * @param id								The trade ID
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The trade, or nothing (304) if the trades did not change
+	 * @throws TradeServiceException			Thrown if the trade was not found (404)
+	 */
+	@GetMapping("/{id}")
+	public Object findTrade(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) throws TradeServiceException {
+
+		if (apiSupport.isNotModified(request, Tables.TRADE)) {
+			return null;
+		}
+		return apiSupport.filterFields(tradeService.convertEntityToDto(tradeService.findTradeById(id)), fields);
+	}
+
+	/**
+	 * Create a trade
+	 *
+	 * @param tradeDto							The trade, validated as the "Add Trade" form. Its id is ignored
+	 * @return									The created trade (201) with its location
+	 * @throws TradeServiceException			Thrown if there is an error while creating the trade
+	 */
+	@PostMapping
+	public ResponseEntity<Object> createTrade(@Valid @RequestBody TradeDto tradeDto) throws TradeServiceException {
+		tradeDto.setId(null);
+		Trade newTrade = tradeService.convertDtoToEntity(tradeDto);
+		tradeService.createTrade(newTrade);
+		return apiSupport.created(newTrade.getId(), tradeService.convertEntityToDto(newTrade));
+	}
+
+	/**
+	 * Update a trade, from the version given in the body
+	 *
+	 * @param id								The trade ID
+	 * @param tradeDto							The new fields of the trade, validated as the "Update Trade" form.
+	 * 											Its version is required (428 without it)
+	 * @param policy							What to do if the trade changed since the given version
+	 * @return									The updated trade, with its new version
+	 * @throws TradeServiceException			Thrown if the trade was not found (404) or changed meanwhile (409)
+	 */
+	@PutMapping("/{id}")
+	public TradeDto updateTrade(@PathVariable("id") Integer id, @Valid @RequestBody TradeDto tradeDto,
+			@RequestParam(defaultValue = "FAIL") ConflictPolicy policy) throws TradeServiceException {
+
+		if (tradeDto.getVersion() == null) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED,
+					"The version the trade was read at is required to update it");
+		}
+		Trade updatedTrade = tradeService.convertDtoToEntity(tradeDto);
+		tradeService.updateTrade(id, updatedTrade, policy);
+		return tradeService.convertEntityToDto(updatedTrade);
+	}
+
+	/**
+	 * Delete a trade
+	 *
+	 * @param id								The trade ID
+	 * @throws TradeServiceException			Thrown if the trade was not found (404)
+	 */
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deleteTrade(@PathVariable("id") Integer id) throws TradeServiceException {
+		tradeService.deleteTrade(id);
+	}
+}
@@ -0,0 +1,127 @@
+package com.poseidon.app.controllers.api;
+
+import java.util.Set;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.UserDto;
+import com.poseidon.app.exceptions.UserServiceException;
+import com.poseidon.app.services.UserService;
+
+@RestController
+@RequestMapping("/api/v1/users")
+public class UserApiController {
+
+	@Autowired
+	UserService userService;
+
+	@Autowired
+	ApiSupport apiSupport;
+
+	/**
+	 * Get a page of users
+	 *
+	 * @param after								Id of the last user of the current page, to get the next page
+	 * @param before							Id of the first user of the current page, to get the previous page
+	 * @param size								Number of users on the page
+	 * @param sort								Sort direction of the ids ("asc" or "desc")
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The page, or nothing (304) if the users did not change
+	 */
+	@GetMapping
+	public Object findUsers(@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer before, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "asc") String sort, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) {
+
+		if (apiSupport.isNotModified(request, Tables.USER)) {
+			return null;
+		}
+		return apiSupport.toPage(userService.findUserPage(after, before, size, apiSupport.direction(sort)),
+				userService::convertEntityToDto, fields);
+	}
+
+	/**
+	 * Get a user
+	 *
+	 * @param id								The user ID
+	 * @param fields							Names of the fields to send, every field if empty
+	 * @return									The user, or nothing (304) if the users did not change
+	 * @throws UserServiceException				Thrown if the user was not found (404)
+	 */
+	@GetMapping("/{id}")
+	public Object findUser(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> fields,
+			WebRequest request) throws UserServiceException {
+
+		if (apiSupport.isNotModified(request, Tables.USER)) {
+			return null;
+		}
+		return apiSupport.filterFields(userService.convertEntityToDto(userService.findUserById(id)), fields);
+	}
+
+	/**
+	 * Create a user
+	 *
+	 * @param userDto							The user, validated as the "Add User" form. Its id is ignored
+	 * @return									The created user (201) with its location, 409 if the username is taken
+	 */
+	@PostMapping
+	public ResponseEntity<Object> createUser(@Valid @RequestBody UserDto userDto) {
+		userDto.setId(null);
+		User newUser = userService.convertDtoToEntity(userDto);
+		try {
+			userService.createUser(newUser);
+		} catch (UserServiceException error) {
+			// The only error that can be thrown on creation is if username is already taken
+			throw new ResponseStatusException(HttpStatus.CONFLICT, error.getMessage(), error);
+		}
+		return apiSupport.created(newUser.getId(), userService.convertEntityToDto(newUser));
+	}
+
+	/**
+	 * Update a user
+	 *
+	 * @param id								The user ID
+	 * @param userDto							The new fields of the user, validated as the "Update User" form
+	 * @return									The updated user
+	 * @throws UserServiceException				Thrown if the user was not found (404)
+	 */
+	@PutMapping("/{id}")
+	public UserDto updateUser(@PathVariable("id") Integer id, @Valid @RequestBody UserDto userDto)
+			throws UserServiceException {
+
+		User updatedUser = userService.convertDtoToEntity(userDto);
+		userService.updateUser(id, updatedUser);
+		return userService.convertEntityToDto(updatedUser);
+	}
+
+	/**
+	 * Delete a user
+	 *
+	 * @param id								The user ID
+	 * @throws UserServiceException				Thrown if the user was not found (404)
+	 */
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deleteUser(@PathVariable("id") Integer id) throws UserServiceException {
+		userService.deleteUser(id);
+	}
+}
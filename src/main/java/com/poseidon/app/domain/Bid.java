@@ -7,13 +7,19 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "bid")
+@Table(name = "bid", indexes = { @Index(name = "idx_bid_account", columnList = "account"),
+		@Index(name = "idx_bid_security", columnList = "security"), @Index(name = "idx_bid_book", columnList = "book"),
+		@Index(name = "idx_bid_trader", columnList = "trader") })
 @NoArgsConstructor
 @Data
 public class Bid {
@@ -24,17 +30,28 @@ public class Bid {
 		this.bidQuantity = bidQuantity;
 	}
 
+	// Bids keep the auto increment column : the bulk import inserts them with plain JDBC batches, without an id
 	@Id
 	@Column
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Integer id;
 
+	// Optimistic locking : every write increments the version, an update made from an older version is a conflict.
+	// The bulk import does not set it, the column defaults to 0
+	@Version
+	@Column(nullable = false)
+	@ColumnDefault("0")
+	private Integer version;
+
 	@Column
 	private String account;
 
 	@Column
 	private String type;
 
+	@Column
+	private Double bid;
+
 	@Column
 	private Double bidQuantity;
 
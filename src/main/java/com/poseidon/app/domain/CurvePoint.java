@@ -7,13 +7,18 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "curvepoint")
+@Table(name = "curvepoint", indexes = @Index(name = "idx_curvepoint_curve_date_term",
+		columnList = "curve_id, asOfDate, term"))
 @NoArgsConstructor
 @Data
 public class CurvePoint {
@@ -26,7 +31,11 @@ public class CurvePoint {
 
 	@Id
 	@Column
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curvepoint_seq")
+	@GenericGenerator(name = "curvepoint_seq", strategy = "enhanced-sequence", parameters = {
+			@Parameter(name = "sequence_name", value = "curvepoint_seq"),
+			@Parameter(name = "increment_size", value = "50"),
+			@Parameter(name = "optimizer", value = "pooled-lo") })
 	private Integer id;
 
 	@Column(name = "curve_id")
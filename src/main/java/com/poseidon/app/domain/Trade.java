@@ -7,13 +7,22 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = { @Index(name = "idx_trade_account", columnList = "account"),
+		@Index(name = "idx_trade_security", columnList = "security"),
+		@Index(name = "idx_trade_book", columnList = "book"), @Index(name = "idx_trade_trader", columnList = "trader"),
+		@Index(name = "idx_trade_trade_date", columnList = "tradeDate") })
 @NoArgsConstructor
 @Data
 public class Trade {
@@ -26,9 +35,19 @@ public class Trade {
 
 	@Id
 	@Column
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+	@GenericGenerator(name = "trade_seq", strategy = "enhanced-sequence", parameters = {
+			@Parameter(name = "sequence_name", value = "trade_seq"),
+			@Parameter(name = "increment_size", value = "50"),
+			@Parameter(name = "optimizer", value = "pooled-lo") })
 	private Integer id;
 
+	// Optimistic locking : every write increments the version, an update made from an older version is a conflict
+	@Version
+	@Column(nullable = false)
+	@ColumnDefault("0")
+	private Integer version;
+
 	@Column
 	private String account;
 
@@ -0,0 +1,23 @@
+package com.poseidon.app.domain.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The body of an error answered by the JSON API, with the rejected fields of an invalid body
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApiError {
+
+	private int status;
+
+	private String message;
+
+	private Map<String, String> errors;
+}
@@ -0,0 +1,25 @@
+package com.poseidon.app.domain.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A page of the JSON API : the rows, and the links to the next and previous pages (absent on the last and first)
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApiPage {
+
+	private List<Object> content;
+
+	private int size;
+
+	private String next;
+
+	private String previous;
+}
@@ -13,6 +13,9 @@ public class BidDto {
 
 	private Integer id;
 
+	// Version of the bid when the form was loaded, sent back to detect concurrent updates
+	private Integer version;
+
 	@NotBlank(message = "Account is mandatory")
 	private String account;
 
@@ -0,0 +1,38 @@
+package com.poseidon.app.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a bulk bid import : row counts, throughput and the errors of the rejected rows
+ */
+@Data
+@NoArgsConstructor
+public class BidImportReport {
+
+	private long rowsRead;
+
+	private long rowsImported;
+
+	private long rowsRejected;
+
+	private long elapsedMillis;
+
+	private double rowsPerSecond;
+
+	private List<RowError> errors = new ArrayList<>();
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class RowError {
+
+		private long row;
+
+		private List<String> messages;
+	}
+}
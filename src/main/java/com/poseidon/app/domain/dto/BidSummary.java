@@ -0,0 +1,21 @@
+package com.poseidon.app.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A row of the bids page : the four columns it shows, instead of the whole Bid.
+ * Read with a JPQL constructor expression, so it is not a managed entity and Hibernate keeps no snapshot of it.
+ */
+@Data
+@AllArgsConstructor
+public class BidSummary {
+
+	private Integer id;
+
+	private String account;
+
+	private String type;
+
+	private Double bidQuantity;
+}
@@ -0,0 +1,22 @@
+package com.poseidon.app.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.poseidon.app.events.ChangeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A change pushed to the lists opened in the browsers : the row as the list shows it, none for a deleted row
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BlotterDelta {
+
+	private ChangeType type;
+
+	private Integer id;
+
+	private Object row;
+}
@@ -0,0 +1,28 @@
+package com.poseidon.app.domain.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * P&L of a book, with the P&L of each of its securities
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPnl {
+
+	private String book;
+
+	private double realized;
+
+	private double unrealized;
+
+	private List<PnlLine> lines;
+
+	public double getTotal() {
+		return realized + unrealized;
+	}
+}
@@ -0,0 +1,20 @@
+package com.poseidon.app.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A row of the curve points page : the four columns it shows, without the dates of the CurvePoint
+ */
+@Data
+@AllArgsConstructor
+public class CurvePointSummary {
+
+	private Integer id;
+
+	private Integer curveId;
+
+	private Double term;
+
+	private Double value;
+}
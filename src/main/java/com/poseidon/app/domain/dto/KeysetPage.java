@@ -0,0 +1,36 @@
+package com.poseidon.app.domain.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A page of rows read with keyset (seek) pagination.
+ * Instead of an offset, the next and previous pages are located with the
+ * first and last ids of this page, so reading any page costs the same.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+	private List<T> content;
+
+	private int size;
+
+	private Sort.Direction direction;
+
+	private Integer firstId;
+
+	private Integer lastId;
+
+	private boolean hasPrevious;
+
+	private boolean hasNext;
+
+	public boolean isEmpty() {
+		return content.isEmpty();
+	}
+}
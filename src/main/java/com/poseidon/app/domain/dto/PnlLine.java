@@ -0,0 +1,29 @@
+package com.poseidon.app.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * P&L of one security in a book.
+ * The unrealized P&L values the open position at the mark price, the last price the security traded at.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PnlLine {
+
+	private String book;
+
+	private String security;
+
+	private double position;
+
+	private Double averageCost;
+
+	private Double markPrice;
+
+	private double realized;
+
+	private double unrealized;
+}
@@ -0,0 +1,21 @@
+package com.poseidon.app.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Net quantity held on a security by an account : the sum of the bought quantities
+ * minus the sum of the sold quantities of its trades
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Position {
+
+	private String account;
+
+	private String security;
+
+	private double quantity;
+}
@@ -0,0 +1,23 @@
+package com.poseidon.app.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A row of the ratings page. Every column is shown, but as a plain object the rows are
+ * not tracked by the persistence context
+ */
+@Data
+@AllArgsConstructor
+public class RatingSummary {
+
+	private Integer id;
+
+	private String moodysRating;
+
+	private String sandPRating;
+
+	private String fitchRating;
+
+	private Integer orderNumber;
+}
@@ -0,0 +1,40 @@
+package com.poseidon.app.domain.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of the evaluation of a rule : the rows it was evaluated against, the ones violating it
+ * (only the first ids are listed, with their alert text when the rule has a template) and the time spent
+ * evaluating it.
+ * A rule whose json could not be compiled is reported with the error, and is never evaluated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RuleReport {
+
+	private Integer ruleId;
+
+	private String ruleName;
+
+	private String entity;
+
+	private long evaluated;
+
+	private long violations;
+
+	private List<Integer> violatingIds;
+
+	private List<String> alerts;
+
+	private double evaluationMillis;
+
+	private String error;
+}
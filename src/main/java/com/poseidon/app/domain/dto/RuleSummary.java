@@ -0,0 +1,27 @@
+package com.poseidon.app.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A row of the rules page. Every column is shown, but as a plain object the rows are
+ * not tracked by the persistence context
+ */
+@Data
+@AllArgsConstructor
+public class RuleSummary {
+
+	private Integer id;
+
+	private String name;
+
+	private String description;
+
+	private String json;
+
+	private String template;
+
+	private String sqlStr;
+
+	private String sqlPart;
+}
@@ -0,0 +1,20 @@
+package com.poseidon.app.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A row of the trades page : the four columns it shows, instead of the whole Trade
+ */
+@Data
+@AllArgsConstructor
+public class TradeSummary {
+
+	private Integer id;
+
+	private String account;
+
+	private String type;
+
+	private Double buyQuantity;
+}
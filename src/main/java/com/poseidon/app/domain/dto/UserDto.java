@@ -2,6 +2,7 @@ package com.poseidon.app.domain.dto;
 
 import javax.validation.constraints.NotBlank;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.poseidon.app.validation.Password;
 
 import lombok.AllArgsConstructor;
@@ -18,7 +19,9 @@ public class UserDto {
 	@NotBlank(message = "Username is mandatory")
 	private String username;
 
+	// Read from the API requests, never written in its responses
 	@Password
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private String password;
 
 	@NotBlank(message = "Full name is mandatory")
@@ -0,0 +1,21 @@
+package com.poseidon.app.events;
+
+import com.poseidon.app.domain.Bid;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the BidService after a bid was created, updated or deleted.
+ * The bid is null when the bid was deleted.
+ */
+@Data
+@AllArgsConstructor
+public class BidChangeEvent {
+
+	private ChangeType type;
+
+	private Integer id;
+
+	private Bid bid;
+}
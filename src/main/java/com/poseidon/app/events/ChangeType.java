@@ -0,0 +1,13 @@
+package com.poseidon.app.events;
+
+/**
+ * Kind of change made on an entity by its service
+ */
+public enum ChangeType {
+
+	CREATED,
+	UPDATED,
+	// Quantities left on a bid after the matching engine executed it
+	FILLED,
+	DELETED
+}
@@ -0,0 +1,21 @@
+package com.poseidon.app.events;
+
+import com.poseidon.app.domain.CurvePoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the CurvePointService after a curve point was created, updated or deleted.
+ * The curve point is null when the curve point was deleted.
+ */
+@Data
+@AllArgsConstructor
+public class CurvePointChangeEvent {
+
+	private ChangeType type;
+
+	private Integer id;
+
+	private CurvePoint curvePoint;
+}
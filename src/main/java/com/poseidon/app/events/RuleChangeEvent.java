@@ -0,0 +1,21 @@
+package com.poseidon.app.events;
+
+import com.poseidon.app.domain.Rule;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the RuleService after a rule was created, updated or deleted.
+ * The rule is null when the rule was deleted.
+ */
+@Data
+@AllArgsConstructor
+public class RuleChangeEvent {
+
+	private ChangeType type;
+
+	private Integer id;
+
+	private Rule rule;
+}
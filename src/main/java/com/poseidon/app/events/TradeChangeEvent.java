@@ -0,0 +1,21 @@
+package com.poseidon.app.events;
+
+import com.poseidon.app.domain.Trade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the TradeService after a trade was created, updated or deleted.
+ * The trade is null when the trade was deleted.
+ */
+@Data
+@AllArgsConstructor
+public class TradeChangeEvent {
+
+	private ChangeType type;
+
+	private Integer id;
+
+	private Trade trade;
+}
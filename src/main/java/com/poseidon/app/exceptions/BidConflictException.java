@@ -0,0 +1,11 @@
+package com.poseidon.app.exceptions;
+
+/**
+ * Thrown when a bid was changed by someone else since the version given for update was read
+ */
+public class BidConflictException extends BidServiceException {
+
+	public BidConflictException(String error) {
+		super(error);
+	}
+}
@@ -0,0 +1,9 @@
+package com.poseidon.app.exceptions;
+
+public class RuleCompilationException extends Exception {
+
+	public RuleCompilationException(String error) {
+		super(error);
+	}
+
+}
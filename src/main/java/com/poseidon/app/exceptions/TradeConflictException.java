@@ -0,0 +1,11 @@
+package com.poseidon.app.exceptions;
+
+/**
+ * Thrown when a trade was changed by someone else since the version given for update was read
+ */
+public class TradeConflictException extends TradeServiceException {
+
+	public TradeConflictException(String error) {
+		super(error);
+	}
+}
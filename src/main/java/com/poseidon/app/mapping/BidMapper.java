@@ -0,0 +1,29 @@
+package com.poseidon.app.mapping;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.dto.BidDto;
+
+public class BidMapper implements EntityMapper<Bid, BidDto> {
+
+	@Override
+	public Bid toEntity(BidDto dto) {
+		Bid bid = new Bid();
+		bid.setId(dto.getId());
+		bid.setVersion(dto.getVersion());
+		bid.setAccount(dto.getAccount());
+		bid.setType(dto.getType());
+		bid.setBidQuantity(Conversions.toDouble(dto.getBidQuantity()));
+		return bid;
+	}
+
+	@Override
+	public BidDto toDto(Bid entity) {
+		BidDto dto = new BidDto();
+		dto.setId(entity.getId());
+		dto.setVersion(entity.getVersion());
+		dto.setAccount(entity.getAccount());
+		dto.setType(entity.getType());
+		dto.setBidQuantity(Conversions.toText(entity.getBidQuantity()));
+		return dto;
+	}
+}
@@ -0,0 +1,42 @@
+package com.poseidon.app.mapping;
+
+/**
+ * Conversions between the String fields of the forms and the number fields of the entities
+ */
+final class Conversions {
+
+	/**
+	 * Hiding the constructor, this class only has static methods
+	 */
+	private Conversions() {
+		// Hiding the constructor
+	}
+
+	/**
+	 * @param value								A decimal number, a comma is read as the decimal separator
+	 * @return									The number, null if the value is null or blank
+	 * @throws NumberFormatException			Thrown if the value is not a number
+	 */
+	static Double toDouble(String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return null;
+		}
+		return Double.valueOf(value.trim().replace(',', '.'));
+	}
+
+	/**
+	 * @param value								An integer number
+	 * @return									The number, null if the value is null or blank
+	 * @throws NumberFormatException			Thrown if the value is not an integer
+	 */
+	static Integer toInteger(String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return null;
+		}
+		return Integer.valueOf(value.trim());
+	}
+
+	static String toText(Number value) {
+		return value != null ? value.toString() : null;
+	}
+}
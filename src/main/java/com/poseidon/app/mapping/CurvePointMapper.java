@@ -0,0 +1,27 @@
+package com.poseidon.app.mapping;
+
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.dto.CurvePointDto;
+
+public class CurvePointMapper implements EntityMapper<CurvePoint, CurvePointDto> {
+
+	@Override
+	public CurvePoint toEntity(CurvePointDto dto) {
+		CurvePoint curvePoint = new CurvePoint();
+		curvePoint.setId(dto.getId());
+		curvePoint.setCurveId(Conversions.toInteger(dto.getCurveId()));
+		curvePoint.setTerm(Conversions.toDouble(dto.getTerm()));
+		curvePoint.setValue(Conversions.toDouble(dto.getValue()));
+		return curvePoint;
+	}
+
+	@Override
+	public CurvePointDto toDto(CurvePoint entity) {
+		CurvePointDto dto = new CurvePointDto();
+		dto.setId(entity.getId());
+		dto.setCurveId(Conversions.toText(entity.getCurveId()));
+		dto.setTerm(Conversions.toText(entity.getTerm()));
+		dto.setValue(Conversions.toText(entity.getValue()));
+		return dto;
+	}
+}
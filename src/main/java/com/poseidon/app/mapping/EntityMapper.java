@@ -0,0 +1,22 @@
+package com.poseidon.app.mapping;
+
+/**
+ * Converts an entity to the DTO used by its forms, and back
+ *
+ * @param <E>									The entity type
+ * @param <D>									The DTO type
+ */
+public interface EntityMapper<E, D> {
+
+	/**
+	 * @param dto								The DTO filled by a form
+	 * @return									A new entity with the DTO fields
+	 */
+	E toEntity(D dto);
+
+	/**
+	 * @param entity							The entity to show in a form
+	 * @return									A new DTO with the entity fields
+	 */
+	D toDto(E entity);
+}
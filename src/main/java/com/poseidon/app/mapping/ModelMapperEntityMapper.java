@@ -0,0 +1,31 @@
+package com.poseidon.app.mapping;
+
+import org.modelmapper.ModelMapper;
+
+/**
+ * EntityMapper resolving the fields by reflection with ModelMapper
+ */
+public class ModelMapperEntityMapper<E, D> implements EntityMapper<E, D> {
+
+	private final ModelMapper modelMapper;
+
+	private final Class<E> entityClass;
+
+	private final Class<D> dtoClass;
+
+	public ModelMapperEntityMapper(ModelMapper modelMapper, Class<E> entityClass, Class<D> dtoClass) {
+		this.modelMapper = modelMapper;
+		this.entityClass = entityClass;
+		this.dtoClass = dtoClass;
+	}
+
+	@Override
+	public E toEntity(D dto) {
+		return modelMapper.map(dto, entityClass);
+	}
+
+	@Override
+	public D toDto(E entity) {
+		return modelMapper.map(entity, dtoClass);
+	}
+}
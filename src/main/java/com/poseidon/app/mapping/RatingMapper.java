@@ -0,0 +1,29 @@
+package com.poseidon.app.mapping;
+
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.domain.dto.RatingDto;
+
+public class RatingMapper implements EntityMapper<Rating, RatingDto> {
+
+	@Override
+	public Rating toEntity(RatingDto dto) {
+		Rating rating = new Rating();
+		rating.setId(dto.getId());
+		rating.setMoodysRating(dto.getMoodysRating());
+		rating.setSandPRating(dto.getSandPRating());
+		rating.setFitchRating(dto.getFitchRating());
+		rating.setOrderNumber(Conversions.toInteger(dto.getOrderNumber()));
+		return rating;
+	}
+
+	@Override
+	public RatingDto toDto(Rating entity) {
+		RatingDto dto = new RatingDto();
+		dto.setId(entity.getId());
+		dto.setMoodysRating(entity.getMoodysRating());
+		dto.setSandPRating(entity.getSandPRating());
+		dto.setFitchRating(entity.getFitchRating());
+		dto.setOrderNumber(Conversions.toText(entity.getOrderNumber()));
+		return dto;
+	}
+}
@@ -0,0 +1,33 @@
+package com.poseidon.app.mapping;
+
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.dto.RuleDto;
+
+public class RuleMapper implements EntityMapper<Rule, RuleDto> {
+
+	@Override
+	public Rule toEntity(RuleDto dto) {
+		Rule rule = new Rule();
+		rule.setId(dto.getId());
+		rule.setName(dto.getName());
+		rule.setDescription(dto.getDescription());
+		rule.setJson(dto.getJson());
+		rule.setTemplate(dto.getTemplate());
+		rule.setSqlStr(dto.getSqlStr());
+		rule.setSqlPart(dto.getSqlPart());
+		return rule;
+	}
+
+	@Override
+	public RuleDto toDto(Rule entity) {
+		RuleDto dto = new RuleDto();
+		dto.setId(entity.getId());
+		dto.setName(entity.getName());
+		dto.setDescription(entity.getDescription());
+		dto.setJson(entity.getJson());
+		dto.setTemplate(entity.getTemplate());
+		dto.setSqlStr(entity.getSqlStr());
+		dto.setSqlPart(entity.getSqlPart());
+		return dto;
+	}
+}
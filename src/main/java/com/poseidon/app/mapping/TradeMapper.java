@@ -0,0 +1,29 @@
+package com.poseidon.app.mapping;
+
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.TradeDto;
+
+public class TradeMapper implements EntityMapper<Trade, TradeDto> {
+
+	@Override
+	public Trade toEntity(TradeDto dto) {
+		Trade trade = new Trade();
+		trade.setId(dto.getId());
+		trade.setVersion(dto.getVersion());
+		trade.setAccount(dto.getAccount());
+		trade.setType(dto.getType());
+		trade.setBuyQuantity(Conversions.toDouble(dto.getBuyQuantity()));
+		return trade;
+	}
+
+	@Override
+	public TradeDto toDto(Trade entity) {
+		TradeDto dto = new TradeDto();
+		dto.setId(entity.getId());
+		dto.setVersion(entity.getVersion());
+		dto.setAccount(entity.getAccount());
+		dto.setType(entity.getType());
+		dto.setBuyQuantity(Conversions.toText(entity.getBuyQuantity()));
+		return dto;
+	}
+}
@@ -0,0 +1,18 @@
+package com.poseidon.app.mapping;
+
+import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.UserDto;
+
+public class UserMapper implements EntityMapper<User, UserDto> {
+
+	@Override
+	public User toEntity(UserDto dto) {
+		return new User(dto.getId(), dto.getUsername(), dto.getPassword(), dto.getFullname(), dto.getRole());
+	}
+
+	@Override
+	public UserDto toDto(User entity) {
+		return new UserDto(entity.getId(), entity.getUsername(), entity.getPassword(), entity.getFullname(),
+				entity.getRole());
+	}
+}
@@ -0,0 +1,73 @@
+package com.poseidon.app.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method of the services and of the repositories.
+ * The timers are tagged with the class, the method and the exception thrown ("none" on success),
+ * so each one also counts the calls and the errors of an operation.
+ */
+@Aspect
+public class OperationMetricsAspect {
+
+	public static final String SERVICE_TIMER = "poseidon.service";
+
+	public static final String REPOSITORY_TIMER = "poseidon.repository";
+
+	private final MeterRegistry meterRegistry;
+
+	// The repositories are proxies, the name of their interface is looked up once per proxy class
+	private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+	public OperationMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(public * com.poseidon.app.services..*(..))")
+	public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, SERVICE_TIMER, joinPoint.getSignature().getDeclaringType().getSimpleName());
+	}
+
+	@Around("execution(public * *(..)) && this(org.springframework.data.repository.Repository)")
+	public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		Object proxy = joinPoint.getThis();
+		return time(joinPoint, REPOSITORY_TIMER,
+				repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> repositoryName(proxy)));
+	}
+
+	private Object time(ProceedingJoinPoint joinPoint, String name, String className) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable error) {
+			exception = error.getClass().getSimpleName();
+			throw error;
+		} finally {
+			sample.stop(Timer.builder(name) //
+					.tag("class", className) //
+					.tag("method", joinPoint.getSignature().getName()) //
+					.tag("exception", exception) //
+					.register(meterRegistry));
+		}
+	}
+
+	private static String repositoryName(Object proxy) {
+		for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+			if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework")) {
+				return type.getSimpleName();
+			}
+		}
+		return proxy.getClass().getSimpleName();
+	}
+}
@@ -0,0 +1,54 @@
+package com.poseidon.app.metrics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the rendering of the Thymeleaf views : the view is rendered between postHandle and afterCompletion.
+ * Redirects are not rendered and are not timed.
+ */
+public class ViewRenderingMetricsInterceptor extends HandlerInterceptorAdapter {
+
+	public static final String VIEW_TIMER = "poseidon.view.render";
+
+	private static final String SAMPLE_ATTRIBUTE = ViewRenderingMetricsInterceptor.class.getName() + ".sample";
+
+	private static final String VIEW_ATTRIBUTE = ViewRenderingMetricsInterceptor.class.getName() + ".view";
+
+	private final MeterRegistry meterRegistry;
+
+	public ViewRenderingMetricsInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			ModelAndView modelAndView) {
+
+		if (modelAndView != null && modelAndView.getViewName() != null
+				&& !modelAndView.getViewName().startsWith("redirect:")) {
+			request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+			request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+		}
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception error) {
+
+		Object sample = request.getAttribute(SAMPLE_ATTRIBUTE);
+		if (sample instanceof Timer.Sample) {
+			request.removeAttribute(SAMPLE_ATTRIBUTE);
+			((Timer.Sample) sample).stop(Timer.builder(VIEW_TIMER) //
+					.tag("view", String.valueOf(request.getAttribute(VIEW_ATTRIBUTE))) //
+					.tag("exception", error != null ? error.getClass().getSimpleName() : "none") //
+					.register(meterRegistry));
+		}
+	}
+}
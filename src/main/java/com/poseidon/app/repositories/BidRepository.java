@@ -1,14 +1,75 @@
 package com.poseidon.app.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.dto.BidSummary;
 
 @Repository
 public interface BidRepository extends JpaRepository<Bid, Integer> {
 
 	Optional<Bid> findBidById(Integer id);
+
+	// Keyset pagination : a Slice only fetches one extra row to know if there is a next page
+	Slice<Bid> findAllBy(Pageable pageable);
+
+	Slice<Bid> findByIdGreaterThan(Integer id, Pageable pageable);
+
+	Slice<Bid> findByIdLessThan(Integer id, Pageable pageable);
+
+	List<Bid> findBySecurity(String security);
+
+	// The same pages for the bids list : only the columns it shows, the rows are not managed entities
+	@Query("SELECT new com.poseidon.app.domain.dto.BidSummary(b.id, b.account, b.type, b.bidQuantity) FROM Bid b")
+	Slice<BidSummary> findSummaries(Pageable pageable);
+
+	@Query("SELECT new com.poseidon.app.domain.dto.BidSummary(b.id, b.account, b.type, b.bidQuantity) FROM Bid b"
+			+ " WHERE b.id > :id")
+	Slice<BidSummary> findSummariesByIdGreaterThan(@Param("id") Integer id, Pageable pageable);
+
+	@Query("SELECT new com.poseidon.app.domain.dto.BidSummary(b.id, b.account, b.type, b.bidQuantity) FROM Bid b"
+			+ " WHERE b.id < :id")
+	Slice<BidSummary> findSummariesByIdLessThan(@Param("id") Integer id, Pageable pageable);
+
+	// Quantities left on a bid after it was matched by the matching engine, a form opened before is now out of date
+	@Transactional
+	@Modifying
+	@Query("UPDATE Bid b SET b.bidQuantity = :quantity, b.version = b.version + 1 WHERE b.id = :id")
+	int updateBidQuantity(@Param("id") Integer id, @Param("quantity") Double quantity);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE Bid b SET b.askQuantity = :quantity, b.version = b.version + 1 WHERE b.id = :id")
+	int updateAskQuantity(@Param("id") Integer id, @Param("quantity") Double quantity);
+
+	// Writes in a single statement : no row is changed if the bid is missing or if its version is not the given one.
+	// Without a version nothing is written : the update cannot tell which version it was read at.
+	// The persistence context is cleared after the update, a bid read next is loaded again from the database
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Bid b SET b.account = :#{#bid.account}, b.type = :#{#bid.type}, "
+			+ "b.bid = :#{#bid.bid}, b.bidQuantity = :#{#bid.bidQuantity}, "
+			+ "b.askQuantity = :#{#bid.askQuantity}, b.bidDate = :#{#bid.bidDate}, "
+			+ "b.ask = :#{#bid.ask}, b.bidListDate = :#{#bid.bidListDate}, "
+			+ "b.commentary = :#{#bid.commentary}, b.security = :#{#bid.security}, "
+			+ "b.status = :#{#bid.status}, b.trader = :#{#bid.trader}, b.book = :#{#bid.book}, "
+			+ "b.creationName = :#{#bid.creationName}, b.creationDate = :#{#bid.creationDate}, "
+			+ "b.revisionName = :#{#bid.revisionName}, b.revisionDate = :#{#bid.revisionDate}, "
+			+ "b.dealName = :#{#bid.dealName}, b.dealType = :#{#bid.dealType}, "
+			+ "b.sourceListId = :#{#bid.sourceListId}, b.side = :#{#bid.side}, b.version = b.version + 1 "
+			+ "WHERE b.id = :id AND b.version = :#{#bid.version}")
+	int updateBid(@Param("id") Integer id, @Param("bid") Bid bid);
+
+	@Modifying
+	@Query("DELETE FROM Bid b WHERE b.id = :id")
+	int deleteBidById(@Param("id") Integer id);
 }
@@ -1,14 +1,43 @@
 package com.poseidon.app.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.dto.CurvePointSummary;
 
 @Repository
 public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
 
 	Optional<CurvePoint> findCurvePointById(Integer id);
+
+	Slice<CurvePoint> findAllBy(Pageable pageable);
+
+	Slice<CurvePoint> findByIdGreaterThan(Integer id, Pageable pageable);
+
+	Slice<CurvePoint> findByIdLessThan(Integer id, Pageable pageable);
+
+	// Curve points list : only the columns it shows, the rows are not managed entities
+	@Query("SELECT new com.poseidon.app.domain.dto.CurvePointSummary(c.id, c.curveId, c.term, c.value)"
+			+ " FROM CurvePoint c")
+	List<CurvePointSummary> findSummaries();
+
+	// Writes in a single statement : the number of rows changed tells if the curve point existed
+	@Modifying
+	@Query("UPDATE CurvePoint c SET c.curveId = :#{#curvePoint.curveId}, "
+			+ "c.asOfDate = :#{#curvePoint.asOfDate}, c.term = :#{#curvePoint.term}, "
+			+ "c.value = :#{#curvePoint.value}, c.creationDate = :#{#curvePoint.creationDate} WHERE c.id = :id")
+	int updateCurvePoint(@Param("id") Integer id, @Param("curvePoint") CurvePoint curvePoint);
+
+	@Modifying
+	@Query("DELETE FROM CurvePoint c WHERE c.id = :id")
+	int deleteCurvePointById(@Param("id") Integer id);
 }
@@ -1,14 +1,45 @@
 package com.poseidon.app.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.poseidon.app.config.constants.CacheRegions;
 import com.poseidon.app.domain.Rating;
+import com.poseidon.app.domain.dto.RatingSummary;
 
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
 
+	// Reference data : the results of these queries are kept in the second-level cache until a rating is written
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.RATING_QUERIES) })
+	@Override
+	List<Rating> findAll();
+
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.RATING_QUERIES) })
 	Optional<Rating> findRatingById(Integer id);
+
+	// Ratings list : the rows are read as plain objects, not as managed entities
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.RATING_QUERIES) })
+	@Query("SELECT new com.poseidon.app.domain.dto.RatingSummary(r.id, r.moodysRating, r.sandPRating, r.fitchRating,"
+			+ " r.orderNumber) FROM Rating r")
+	List<RatingSummary> findSummaries();
+
+	// Keyset pagination of the API : the pages are not cached, they would be evicted by every write anyway
+	Slice<Rating> findAllBy(Pageable pageable);
+
+	Slice<Rating> findByIdGreaterThan(Integer id, Pageable pageable);
+
+	Slice<Rating> findByIdLessThan(Integer id, Pageable pageable);
 }
@@ -1,15 +1,45 @@
 package com.poseidon.app.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.poseidon.app.config.constants.CacheRegions;
 import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.dto.RuleSummary;
 
 @Repository
 public interface RuleRepository extends JpaRepository<Rule, Integer> {
 
+	// Reference data : the results of these queries are kept in the second-level cache until a rule is written
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.RULE_QUERIES) })
+	@Override
+	List<Rule> findAll();
+
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.RULE_QUERIES) })
 	Optional<Rule> findRuleById(Integer id);
 
+	// Rules list : the rows are read as plain objects, not as managed entities
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.RULE_QUERIES) })
+	@Query("SELECT new com.poseidon.app.domain.dto.RuleSummary(r.id, r.name, r.description, r.json, r.template,"
+			+ " r.sqlStr, r.sqlPart) FROM Rule r")
+	List<RuleSummary> findSummaries();
+
+	// Keyset pagination of the API : the pages are not cached, they would be evicted by every write anyway
+	Slice<Rule> findAllBy(Pageable pageable);
+
+	Slice<Rule> findByIdGreaterThan(Integer id, Pageable pageable);
+
+	Slice<Rule> findByIdLessThan(Integer id, Pageable pageable);
 }
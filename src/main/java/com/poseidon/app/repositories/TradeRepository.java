@@ -1,14 +1,52 @@
 package com.poseidon.app.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.TradeSummary;
 
 @Repository
 public interface TradeRepository extends JpaRepository<Trade, Integer> {
 
 	Optional<Trade> findTradeById(Integer id);
+
+	Slice<Trade> findAllBy(Pageable pageable);
+
+	Slice<Trade> findByIdGreaterThan(Integer id, Pageable pageable);
+
+	Slice<Trade> findByIdLessThan(Integer id, Pageable pageable);
+
+	// Trades list : only the columns it shows, the rows are not managed entities
+	@Query("SELECT new com.poseidon.app.domain.dto.TradeSummary(t.id, t.account, t.type, t.buyQuantity) FROM Trade t")
+	List<TradeSummary> findSummaries();
+
+	// Writes in a single statement : no row is changed if the trade is missing or if its version is not the given one.
+	// Without a version nothing is written : the update cannot tell which version it was read at.
+	// The persistence context is cleared after the update, a trade read next is loaded again from the database
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Trade t SET t.account = :#{#trade.account}, t.type = :#{#trade.type}, "
+			+ "t.buyQuantity = :#{#trade.buyQuantity}, t.sellQuantity = :#{#trade.sellQuantity}, "
+			+ "t.buyPrice = :#{#trade.buyPrice}, t.sellPrice = :#{#trade.sellPrice}, "
+			+ "t.tradeDate = :#{#trade.tradeDate}, t.security = :#{#trade.security}, "
+			+ "t.status = :#{#trade.status}, t.trader = :#{#trade.trader}, "
+			+ "t.benchmark = :#{#trade.benchmark}, t.book = :#{#trade.book}, "
+			+ "t.creationName = :#{#trade.creationName}, t.creationDate = :#{#trade.creationDate}, "
+			+ "t.revisionName = :#{#trade.revisionName}, t.revisionDate = :#{#trade.revisionDate}, "
+			+ "t.dealName = :#{#trade.dealName}, t.dealType = :#{#trade.dealType}, "
+			+ "t.sourceListId = :#{#trade.sourceListId}, t.side = :#{#trade.side}, t.version = t.version + 1 "
+			+ "WHERE t.id = :id AND t.version = :#{#trade.version}")
+	int updateTrade(@Param("id") Integer id, @Param("trade") Trade trade);
+
+	@Modifying
+	@Query("DELETE FROM Trade t WHERE t.id = :id")
+	int deleteTradeById(@Param("id") Integer id);
 }
@@ -2,8 +2,13 @@ package com.poseidon.app.repositories;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.poseidon.app.domain.User;
@@ -16,4 +21,19 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 	@Override
 	Optional<User> findById(Integer userId);
 
+	Slice<User> findAllBy(Pageable pageable);
+
+	Slice<User> findByIdGreaterThan(Integer id, Pageable pageable);
+
+	Slice<User> findByIdLessThan(Integer id, Pageable pageable);
+
+	// Writes in a single statement : the number of rows changed tells if the user existed
+	@Modifying
+	@Query("UPDATE User u SET u.username = :#{#user.username}, u.password = :#{#user.password}, "
+			+ "u.fullname = :#{#user.fullname}, u.role = :#{#user.role} WHERE u.id = :id")
+	int updateUser(@Param("id") Integer id, @Param("user") User user);
+
+	@Modifying
+	@Query("DELETE FROM User u WHERE u.id = :id")
+	int deleteUserById(@Param("id") Integer id);
 }
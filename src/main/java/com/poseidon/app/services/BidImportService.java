@@ -0,0 +1,268 @@
+package com.poseidon.app.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.BidImportReport;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.utilities.CsvUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class BidImportService {
+
+	private static final String INSERT_BID = "INSERT INTO bid (account, type, bid_quantity) VALUES (?, ?, ?)";
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	Validator validator;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	ChangeCounterService changeCounterService;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Value("${poseidon.import.batch-size:500}")
+	int batchSize;
+
+	@Value("${poseidon.import.max-reported-errors:1000}")
+	int maxReportedErrors;
+
+	/**
+	 * Import bids from a CSV or JSON lines stream.
+	 * The stream is read line by line, every row is validated with the BidDto constraints
+	 * and the valid rows are inserted with JDBC batches, one transaction per batch.
+	 * Each imported bid is published as created once its batch is committed, like a bid created by the BidService.
+	 *
+	 * @param input								The stream to read the bids from
+	 * @param format							CSV (the first line is the header) or JSONL (one JSON object per line)
+	 * @return									BidImportReport with the row counts, the throughput and the row errors
+	 * @throws BidServiceException				Thrown if the stream could not be read or if the CSV header is invalid
+	 */
+	public BidImportReport importBids(InputStream input, FileFormat format) throws BidServiceException {
+		BidImportReport report = new BidImportReport();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		int maxBatchSize = Math.max(1, batchSize);
+		List<Bid> batch = new ArrayList<>(maxBatchSize);
+		List<Long> batchRows = new ArrayList<>(maxBatchSize);
+		long start = System.nanoTime();
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+			int[] csvColumns = null;
+			long lineNumber = 0;
+			String line;
+
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+
+				// The first CSV line gives the position of the columns
+				if (format == FileFormat.CSV && csvColumns == null) {
+					csvColumns = readCsvHeader(line);
+					continue;
+				}
+
+				report.setRowsRead(report.getRowsRead() + 1);
+
+				BidDto bidDto;
+				try {
+					bidDto = format == FileFormat.CSV ? readCsvRow(line, csvColumns)
+							: objectMapper.readValue(line, BidDto.class);
+				} catch (IOException error) {
+					reject(report, lineNumber, "Malformed row : " + error.getMessage());
+					continue;
+				}
+
+				List<String> violations = validate(bidDto);
+				if (!violations.isEmpty()) {
+					reject(report, lineNumber, violations);
+					continue;
+				}
+
+				Double bidQuantity;
+				try {
+					bidQuantity = Double.valueOf(bidDto.getBidQuantity().replace(',', '.'));
+				} catch (NumberFormatException error) {
+					reject(report, lineNumber, "Please enter a valid number");
+					continue;
+				}
+
+				Bid bid = new Bid(bidDto.getAccount(), bidDto.getType(), bidQuantity);
+				bid.setVersion(0);
+				batch.add(bid);
+				batchRows.add(lineNumber);
+				if (batch.size() >= maxBatchSize) {
+					writeBatch(transactionTemplate, batch, batchRows, report);
+				}
+			}
+			writeBatch(transactionTemplate, batch, batchRows, report);
+
+		} catch (IOException error) {
+			throw new BidServiceException("There was an error while reading the import file : " + error.getMessage());
+		}
+
+		long elapsedNanos = System.nanoTime() - start;
+		report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+		report.setRowsPerSecond(elapsedNanos > 0 ? report.getRowsImported() * 1e9 / elapsedNanos : 0);
+
+		log.info("[BID IMPORT SERVICE] Imported {} bids out of {} rows in {} ms ({} rows/s)",
+				report.getRowsImported(), report.getRowsRead(), report.getElapsedMillis(),
+				Math.round(report.getRowsPerSecond()));
+		return report;
+	}
+
+	/**
+	 * Insert a batch of bids in its own transaction.
+	 * If the batch fails, it is rolled back and every row of the batch is reported as rejected.
+	 */
+	private void writeBatch(TransactionTemplate transactionTemplate, List<Bid> batch, List<Long> batchRows,
+			BidImportReport report) {
+
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		try {
+			transactionTemplate.execute(status -> {
+				jdbcTemplate.execute(connection -> connection.prepareStatement(INSERT_BID,
+						Statement.RETURN_GENERATED_KEYS), insertBids(batch));
+				// The listeners of the bids (matching engine, blotter, rules) get them once the batch is committed
+				for (Bid bid : batch) {
+					eventPublisher.publishEvent(new BidChangeEvent(ChangeType.CREATED, bid.getId(), bid));
+				}
+				return null;
+			});
+			report.setRowsImported(report.getRowsImported() + batch.size());
+			changeCounterService.markChanged(Tables.BID);
+		} catch (DataAccessException error) {
+			String message = "Batch was rolled back : " + error.getMostSpecificCause().getMessage();
+			for (Long row : batchRows) {
+				reject(report, row, message);
+			}
+		}
+
+		batch.clear();
+		batchRows.clear();
+	}
+
+	/**
+	 * Insert the bids in one JDBC batch and give each of them its generated id
+	 */
+	private static PreparedStatementCallback<int[]> insertBids(List<Bid> bids) {
+		return statement -> {
+			for (Bid bid : bids) {
+				statement.setString(1, bid.getAccount());
+				statement.setString(2, bid.getType());
+				statement.setDouble(3, bid.getBidQuantity());
+				statement.addBatch();
+			}
+			int[] rows = statement.executeBatch();
+
+			try (ResultSet keys = statement.getGeneratedKeys()) {
+				for (int i = 0; i < bids.size() && keys.next(); i++) {
+					bids.get(i).setId(keys.getInt(1));
+				}
+			}
+			return rows;
+		};
+	}
+
+	private int[] readCsvHeader(String line) throws BidServiceException {
+		int[] columns = { -1, -1, -1 };
+		List<String> header = CsvUtils.parseLine(line);
+
+		for (int i = 0; i < header.size(); i++) {
+			String column = header.get(i).replace("_", "");
+			if (column.equalsIgnoreCase("account")) {
+				columns[0] = i;
+			} else if (column.equalsIgnoreCase("type")) {
+				columns[1] = i;
+			} else if (column.equalsIgnoreCase("bidQuantity")) {
+				columns[2] = i;
+			}
+		}
+
+		for (int column : columns) {
+			if (column < 0) {
+				throw new BidServiceException("CSV header must contain the columns : account, type, bidQuantity");
+			}
+		}
+		return columns;
+	}
+
+	private BidDto readCsvRow(String line, int[] columns) throws IOException {
+		List<String> fields = CsvUtils.parseLine(line);
+		for (int column : columns) {
+			if (column >= fields.size()) {
+				throw new IOException("expected at least " + (column + 1) + " columns");
+			}
+		}
+
+		BidDto bidDto = new BidDto();
+		bidDto.setAccount(fields.get(columns[0]));
+		bidDto.setType(fields.get(columns[1]));
+		bidDto.setBidQuantity(fields.get(columns[2]));
+		return bidDto;
+	}
+
+	private List<String> validate(BidDto bidDto) {
+		List<String> messages = new ArrayList<>();
+		for (ConstraintViolation<BidDto> violation : validator.validate(bidDto)) {
+			messages.add(violation.getPropertyPath() + " : " + violation.getMessage());
+		}
+		return messages;
+	}
+
+	private void reject(BidImportReport report, long row, String message) {
+		reject(report, row, Collections.singletonList(message));
+	}
+
+	private void reject(BidImportReport report, long row, List<String> messages) {
+		report.setRowsRejected(report.getRowsRejected() + 1);
+		if (report.getErrors().size() < maxReportedErrors) {
+			report.getErrors().add(new BidImportReport.RowError(row, messages));
+		}
+	}
+}
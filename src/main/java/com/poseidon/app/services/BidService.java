@@ -1,16 +1,32 @@
 package com.poseidon.app.services;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.poseidon.app.config.constants.ConflictPolicy;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.Bid;
 import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.BidSummary;
+import com.poseidon.app.domain.dto.KeysetPage;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.exceptions.BidConflictException;
 import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.mapping.EntityMapper;
 import com.poseidon.app.repositories.BidRepository;
+import com.poseidon.app.utilities.BeanMergeUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,16 +38,60 @@ public class BidService {
 	BidRepository bidRepository;
 
 	@Autowired
-	ModelMapper modelMapper;
+	EntityMapper<Bid, BidDto> bidMapper;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	ChangeCounterService changeCounterService;
+
+	@Value("${poseidon.concurrency.update-attempts:3}")
+	int updateAttempts;
 
 	/**
 	 * Get a list of every Bid
 	 * @return									List<Bid> with existing Bid
 	 */
+	@Transactional(readOnly = true)
 	public List<Bid> findAllBids() {
 		return bidRepository.findAll();
 	}
 
+	/**
+	 * Get a page of Bids, using keyset pagination on the id.
+	 * Only one of "after" and "before" should be given, none of them returns the first page.
+	 *
+	 * @param after								Id of the last bid of the current page, to get the next page
+	 * @param before							Id of the first bid of the current page, to get the previous page
+	 * @param size								Number of bids on the page (between 1 and KeysetPaging.MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @return									KeysetPage<Bid> with the bids of the page
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<Bid> findBidPage(Integer after, Integer before, int size, Sort.Direction direction) {
+		return KeysetPaging.findPage(after, before, size, direction, bidRepository::findAllBy,
+				bidRepository::findByIdGreaterThan, bidRepository::findByIdLessThan, Bid::getId);
+	}
+
+	/**
+	 * Get a page of the bids list, with only the columns it shows.
+	 * Same keyset pagination as findBidPage, but the rows are not loaded as entities.
+	 *
+	 * @param after								Id of the last bid of the current page, to get the next page
+	 * @param before							Id of the first bid of the current page, to get the previous page
+	 * @param size								Number of bids on the page (between 1 and KeysetPaging.MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @return									KeysetPage<BidSummary> with the rows of the page
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<BidSummary> findBidSummaryPage(Integer after, Integer before, int size,
+			Sort.Direction direction) {
+		return KeysetPaging.findPage(after, before, size, direction, bidRepository::findSummaries,
+				bidRepository::findSummariesByIdGreaterThan, bidRepository::findSummariesByIdLessThan,
+				BidSummary::getId);
+	}
+
 	/**
 	 * Find a Bid by its ID
 	 *
@@ -40,6 +100,7 @@ public class BidService {
 	 * @throws BidServiceException				Thrown if the Bid was not found
 	 *
 	 */
+	@Transactional(readOnly = true)
 	public Bid findBidById(Integer id) throws BidServiceException {
 		Optional<Bid> bid = bidRepository.findBidById(id);
 		if (id != null && bid.isPresent()) {
@@ -56,9 +117,14 @@ public class BidService {
 	 * @throws BidServiceException				Thrown if there was an error while creating the Bid
 	 *
 	 */
+	@Transactional
 	public boolean createBid(Bid bidEntity) throws BidServiceException {
-		if (bidEntity != null && !bidRepository.findBidById(bidEntity.getId()).isPresent()) {
+		// A new bid has no id yet : its existence is only checked when an id is given
+		if (bidEntity != null
+				&& (bidEntity.getId() == null || !bidRepository.existsById(bidEntity.getId()))) {
 			bidRepository.save(bidEntity);
+			changeCounterService.markChanged(Tables.BID);
+			eventPublisher.publishEvent(new BidChangeEvent(ChangeType.CREATED, bidEntity.getId(), bidEntity));
 			log.info("[BID SERVICE] Created new bid for account : '{}', quantity : '{}'", bidEntity.getAccount(),
 					bidEntity.getBidQuantity());
 			return true;
@@ -67,24 +133,106 @@ public class BidService {
 	}
 
 	/**
-	 * Update an existing Bid
+	 * Update an existing Bid, the update fails if the Bid was changed since the given version was read
 	 *
 	 * @param id								The Bid ID to update
-	 * @param bidEntityUpdated					The new fields given for update
+	 * @param bidEntityUpdated					The new fields given for update, with the version they were read at,
+	 * 											without a version, it conflicts with any version
 	 * @return									True if the update was successful
 	 * @throws BidServiceException				Thrown if Bid with given ID is not found
+	 * @throws BidConflictException				Thrown if Bid with given ID has a newer version
 	 */
+	@Transactional
 	public boolean updateBid(Integer id, Bid bidEntityUpdated) throws BidServiceException {
-		Optional<Bid> bidList = bidRepository.findBidById(id);
-		if (id != null && bidList.isPresent()) {
+		return updateBid(id, bidEntityUpdated, ConflictPolicy.FAIL);
+	}
+
+	/**
+	 * Update an existing Bid, choosing what happens if it was changed since the given version was read.
+	 * Once updated, the given Bid holds the written fields and the new version.
+	 *
+	 * @param id								The Bid ID to update
+	 * @param bidEntityUpdated					The new fields given for update, with the version they were read at,
+	 * 											without a version, it conflicts with any version
+	 * @param policy							FAIL, MERGE or OVERWRITE, a merged or overwritten Bid is written
+	 * 											again from its current version, up to "updateAttempts" times
+	 * @return									True if the update was successful
+	 * @throws BidServiceException				Thrown if Bid with given ID is not found
+	 * @throws BidConflictException				Thrown if Bid with given ID has a newer version
+	 */
+	@Transactional
+	public boolean updateBid(Integer id, Bid bidEntityUpdated, ConflictPolicy policy) throws BidServiceException {
+		if (id == null) {
+			throw new BidServiceException("Could not find bid with id : " + id);
+		}
 
-			bidEntityUpdated.setId(id);
-			bidRepository.save(bidEntityUpdated);
+		Bid bidToWrite = bidEntityUpdated;
+		int attempt = 1;
+		while (bidRepository.updateBid(id, bidToWrite) == 0) {
+			Optional<Bid> currentBid = bidRepository.findBidById(id);
+			if (!currentBid.isPresent()) {
+				throw new BidServiceException("Could not find bid with id : " + id);
+			}
+			if (policy == ConflictPolicy.FAIL || attempt++ >= Math.max(1, updateAttempts)) {
+				log.info("[BID SERVICE] Update of bid '{}' at version '{}' conflicts with version '{}'", id,
+						bidToWrite.getVersion(), currentBid.get().getVersion());
+				throw new BidConflictException(String.format(
+						"Bid with id '%d' was changed by someone else, please review it and try again", id));
+			}
 
-			log.info("[BID SERVICE] Updated account '{}' with id '{}'", bidEntityUpdated.getAccount(), id);
-			return true;
+			if (policy == ConflictPolicy.MERGE) {
+				// Apply the update on the current bid, then write it again from its current version
+				bidToWrite = new Bid();
+				BeanUtils.copyProperties(currentBid.get(), bidToWrite);
+				BeanMergeUtils.copyNonNullProperties(bidEntityUpdated, bidToWrite, "id", "version");
+			} else {
+				bidToWrite.setVersion(currentBid.get().getVersion());
+			}
 		}
-		throw new BidServiceException("Could not find bid with id : " + id);
+		changeCounterService.markChanged(Tables.BID);
+
+		if (bidToWrite != bidEntityUpdated) {
+			BeanUtils.copyProperties(bidToWrite, bidEntityUpdated);
+		}
+		bidEntityUpdated.setId(id);
+		if (bidEntityUpdated.getVersion() != null) {
+			bidEntityUpdated.setVersion(bidEntityUpdated.getVersion() + 1);
+		}
+		eventPublisher.publishEvent(new BidChangeEvent(ChangeType.UPDATED, id, bidEntityUpdated));
+
+		log.info("[BID SERVICE] Updated account '{}' with id '{}'", bidEntityUpdated.getAccount(), id);
+		return true;
+	}
+
+	/**
+	 * Save the quantities left on bids matched by the matching engine.
+	 * Each filled bid is read again and published with ChangeType.FILLED, a bid deleted in the meantime is skipped.
+	 *
+	 * @param bidQuantities						Buy quantity left, by Bid ID
+	 * @param askQuantities						Sell quantity left, by Bid ID
+	 */
+	@Transactional
+	public void fillBids(Map<Integer, Double> bidQuantities, Map<Integer, Double> askQuantities) {
+		Set<Integer> filledIds = new TreeSet<>();
+		bidQuantities.forEach((id, quantity) -> {
+			if (bidRepository.updateBidQuantity(id, quantity) > 0) {
+				filledIds.add(id);
+			}
+		});
+		askQuantities.forEach((id, quantity) -> {
+			if (bidRepository.updateAskQuantity(id, quantity) > 0) {
+				filledIds.add(id);
+			}
+		});
+		if (filledIds.isEmpty()) {
+			return;
+		}
+
+		changeCounterService.markChanged(Tables.BID);
+		for (Bid bid : bidRepository.findAllById(filledIds)) {
+			eventPublisher.publishEvent(new BidChangeEvent(ChangeType.FILLED, bid.getId(), bid));
+		}
+		log.info("[BID SERVICE] Filled bids with ids '{}'", filledIds);
 	}
 
 	/**
@@ -94,10 +242,11 @@ public class BidService {
 	 * @return									True if the deletion was successful
 	 * @throws BidServiceException				Thrown if Bid with given ID is not found
 	 */
+	@Transactional
 	public boolean deleteBid(Integer id) throws BidServiceException {
-		Optional<Bid> bid = bidRepository.findBidById(id);
-		if (id != null && bid.isPresent()) {
-			bidRepository.delete(bid.get());
+		if (id != null && bidRepository.deleteBidById(id) > 0) {
+			changeCounterService.markChanged(Tables.BID);
+			eventPublisher.publishEvent(new BidChangeEvent(ChangeType.DELETED, id, null));
 			log.info("[BID SERVICE] Deleted bid with id '{}'", id);
 			return true;
 		}
@@ -105,11 +254,11 @@ public class BidService {
 	}
 
 	public Bid convertDtoToEntity(BidDto bidDto) {
-		return modelMapper.map(bidDto, Bid.class);
+		return bidMapper.toEntity(bidDto);
 	}
 
 	public BidDto convertEntityToDto(Bid bidEntity) {
-		return modelMapper.map(bidEntity, BidDto.class);
+		return bidMapper.toDto(bidEntity);
 	}
 
 }
@@ -0,0 +1,247 @@
+package com.poseidon.app.services;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.BidSummary;
+import com.poseidon.app.domain.dto.BlotterDelta;
+import com.poseidon.app.domain.dto.TradeSummary;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.TradeChangeEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live blotter of the bids and trades lists : the changes published by the services are pushed
+ * to the browsers as Server-Sent Events, so an open list does not have to be read again.
+ * A change is serialized once and queued for every viewer, it costs no query.
+ * Each viewer has its own bounded queue, drained by a pool of sender threads : a slow browser only holds up
+ * its own stream, and its stream is closed once its queue is full (the browser opens it again and reloads the list).
+ */
+@Slf4j
+@Service
+public class BlotterService {
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Value("${poseidon.blotter.timeout-millis:1800000}")
+	long timeoutMillis;
+
+	@Value("${poseidon.blotter.heartbeat-seconds:30}")
+	long heartbeatSeconds;
+
+	@Value("${poseidon.blotter.queue-size:256}")
+	int queueSize;
+
+	@Value("${poseidon.blotter.sender-threads:4}")
+	int senderThreads;
+
+	private final Map<String, Set<Viewer>> viewers = new ConcurrentHashMap<>();
+
+	private ExecutorService senders;
+
+	private ScheduledExecutorService heartbeat;
+
+	@PostConstruct
+	public void start() {
+		AtomicInteger senderCount = new AtomicInteger();
+		senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+			Thread thread = new Thread(runnable, "blotter-sender-" + senderCount.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "blotter-heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Proxies close idle connections, and a closed browser is only noticed when something is sent to it
+		heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		heartbeat.shutdownNow();
+		senders.shutdownNow();
+		viewers.values().forEach(table -> table.forEach(viewer -> viewer.emitter.complete()));
+	}
+
+	/**
+	 * Open a stream of the changes of a table, it is closed after "timeoutMillis" (the browser opens it again)
+	 *
+	 * @param table								Tables.BID or Tables.TRADE
+	 * @return									SseEmitter sending a "CREATED", "UPDATED", "FILLED" or "DELETED"
+	 * 											event by change
+	 */
+	public SseEmitter subscribe(String table) {
+		return subscribe(table, new SseEmitter(timeoutMillis));
+	}
+
+	SseEmitter subscribe(String table, SseEmitter emitter) {
+		Set<Viewer> tableViewers = viewers(table);
+		Viewer viewer = new Viewer(tableViewers, emitter, queueSize);
+		emitter.onCompletion(() -> tableViewers.remove(viewer));
+		emitter.onTimeout(() -> tableViewers.remove(viewer));
+		emitter.onError(error -> tableViewers.remove(viewer));
+		tableViewers.add(viewer);
+
+		log.debug("[BLOTTER SERVICE] New viewer of table '{}', {} viewers", table, tableViewers.size());
+		return emitter;
+	}
+
+	/**
+	 * Get the number of streams opened on a table
+	 *
+	 * @param table								Tables.BID or Tables.TRADE
+	 * @return									The number of viewers
+	 */
+	public int getViewerCount(String table) {
+		return viewers(table).size();
+	}
+
+	/**
+	 * Push a committed change of a bid. A rolled back change is never shown.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBidChange(BidChangeEvent event) {
+		Bid bid = event.getBid();
+		BidSummary row = bid == null ? null
+				: new BidSummary(bid.getId(), bid.getAccount(), bid.getType(), bid.getBidQuantity());
+		publish(Tables.BID, new BlotterDelta(event.getType(), event.getId(), row));
+	}
+
+	/**
+	 * Push a committed change of a trade. A rolled back change is never shown.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTradeChange(TradeChangeEvent event) {
+		Trade trade = event.getTrade();
+		TradeSummary row = trade == null ? null
+				: new TradeSummary(trade.getId(), trade.getAccount(), trade.getType(), trade.getBuyQuantity());
+		publish(Tables.TRADE, new BlotterDelta(event.getType(), event.getId(), row));
+	}
+
+	private void publish(String table, BlotterDelta delta) {
+		if (viewers(table).isEmpty()) {
+			return;
+		}
+
+		String data;
+		try {
+			data = objectMapper.writeValueAsString(delta);
+		} catch (JsonProcessingException error) {
+			log.error("[BLOTTER SERVICE] Could not serialize the change of '{}' with id '{}'", table, delta.getId(),
+					error);
+			return;
+		}
+
+		for (Viewer viewer : viewers(table)) {
+			viewer.offer(SseEmitter.event().name(delta.getType().name()).data(data));
+		}
+	}
+
+	private void sendHeartbeats() {
+		viewers.forEach((table, tableViewers) -> {
+			for (Viewer viewer : tableViewers) {
+				viewer.offer(SseEmitter.event().comment("heartbeat"));
+			}
+		});
+	}
+
+	private Set<Viewer> viewers(String table) {
+		return viewers.computeIfAbsent(table, name -> new CopyOnWriteArraySet<>());
+	}
+
+	/**
+	 * An open stream with the events not sent yet. At most one sender thread drains it at a time,
+	 * so its events are sent in order, and a thread publishing a change never waits for a browser.
+	 */
+	private final class Viewer {
+
+		private final Set<Viewer> tableViewers;
+
+		private final SseEmitter emitter;
+
+		private final Queue<SseEmitter.SseEventBuilder> pending;
+
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		private volatile boolean closed;
+
+		private Viewer(Set<Viewer> tableViewers, SseEmitter emitter, int queueSize) {
+			this.tableViewers = tableViewers;
+			this.emitter = emitter;
+			this.pending = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+		}
+
+		private void offer(SseEmitter.SseEventBuilder event) {
+			if (closed) {
+				return;
+			}
+			if (!pending.offer(event)) {
+				// The browser reads slower than the changes come : it reloads the list once its stream is closed
+				log.info("[BLOTTER SERVICE] Closing a stream {} events behind", pending.size());
+				close();
+			}
+			drain();
+		}
+
+		private void drain() {
+			if (draining.compareAndSet(false, true)) {
+				senders.execute(this::send);
+			}
+		}
+
+		private void send() {
+			try {
+				SseEmitter.SseEventBuilder event;
+				while (!closed && (event = pending.poll()) != null) {
+					emitter.send(event);
+				}
+				if (closed) {
+					// Completed from the sender thread, a closed stream may still be busy with its last event
+					emitter.complete();
+				}
+			} catch (Exception error) {
+				// The browser went away or the stream was closed : it is dropped, the other viewers are not held up
+				close();
+			} finally {
+				draining.set(false);
+			}
+			if (!closed && !pending.isEmpty()) {
+				drain();
+			}
+		}
+
+		private void close() {
+			closed = true;
+			pending.clear();
+			tableViewers.remove(this);
+		}
+	}
+}
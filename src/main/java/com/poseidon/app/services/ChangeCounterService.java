@@ -0,0 +1,67 @@
+package com.poseidon.app.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory change counters, one per table written by the services.
+ * The API builds its ETags from them : a client can be told that a page did not change without reading the table.
+ * The counters start again with the application, the ETags hold its start time so that the old ones never match.
+ */
+@Service
+public class ChangeCounterService {
+
+	private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+	private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Count a change of a table, once the current transaction is committed.
+	 * A rolled back write does not change the counter.
+	 *
+	 * @param table								The changed table, one of the Tables
+	 */
+	public void markChanged(String table) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			counter(table).incrementAndGet();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				counter(table).incrementAndGet();
+			}
+		});
+	}
+
+	/**
+	 * Get the number of changes of a table since the application started
+	 *
+	 * @param table								The table, one of the Tables
+	 * @return									The number of committed changes
+	 */
+	public long getCount(String table) {
+		return counter(table).get();
+	}
+
+	/**
+	 * Get the entity tag of the current content of a table.
+	 * Read it before the rows it describes : the tag can be older than the rows, never newer.
+	 *
+	 * @param table								The table, one of the Tables
+	 * @return									The quoted entity tag, changed by every committed write of the table
+	 */
+	public String getEtag(String table) {
+		return "\"" + table + "-" + epoch + "-" + getCount(table) + "\"";
+	}
+
+	private AtomicLong counter(String table) {
+		return counters.computeIfAbsent(table, name -> new AtomicLong());
+	}
+}
@@ -3,13 +3,21 @@ package com.poseidon.app.services;
 import java.util.List;
 import java.util.Optional;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.dto.KeysetPage;
 import com.poseidon.app.domain.dto.CurvePointDto;
+import com.poseidon.app.domain.dto.CurvePointSummary;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.CurvePointChangeEvent;
 import com.poseidon.app.exceptions.CurvePointServiceException;
+import com.poseidon.app.mapping.EntityMapper;
 import com.poseidon.app.repositories.CurvePointRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -22,16 +30,48 @@ public class CurvePointService {
 	CurvePointRepository curvePointRepository;
 
 	@Autowired
-	ModelMapper modelMapper;
+	EntityMapper<CurvePoint, CurvePointDto> curvePointMapper;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	ChangeCounterService changeCounterService;
 
 	/**
 	 * Get a list of every CurvePoint
 	 * @return									List<CurvePoint> with existing CurvePoints
 	 */
+	@Transactional(readOnly = true)
 	public List<CurvePoint> findAllCurvePoint() {
 		return curvePointRepository.findAll();
 	}
 
+	/**
+	 * Get the rows of the curve points list, with only the columns it shows
+	 * @return									List<CurvePointSummary> read without loading the entities
+	 */
+	@Transactional(readOnly = true)
+	public List<CurvePointSummary> findAllCurvePointSummaries() {
+		return curvePointRepository.findSummaries();
+	}
+
+	/**
+	 * Get a page of CurvePoints, using keyset pagination on the id.
+	 * Only one of "after" and "before" should be given, none of them returns the first page.
+	 *
+	 * @param after								Id of the last curve point of the current page, to get the next page
+	 * @param before							Id of the first curve point of the current page, to get the previous page
+	 * @param size								Number of curve points on the page (between 1 and KeysetPaging.MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @return									KeysetPage<CurvePoint> with the curve points of the page
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<CurvePoint> findCurvePointPage(Integer after, Integer before, int size, Sort.Direction direction) {
+		return KeysetPaging.findPage(after, before, size, direction, curvePointRepository::findAllBy,
+				curvePointRepository::findByIdGreaterThan, curvePointRepository::findByIdLessThan, CurvePoint::getId);
+	}
+
 	/**
 	 * Find a CurvePoint by its ID
 	 *
@@ -39,6 +79,7 @@ public class CurvePointService {
 	 * @return									CurvePoint if it exists, otherwise an error is thrown
 	 * @throws CurvePointServiceException	 	Thrown if the CurvePoint was not found
 	 */
+	@Transactional(readOnly = true)
 	public CurvePoint findCurvePointById(Integer id) throws CurvePointServiceException {
 		Optional<CurvePoint> curvePoint = curvePointRepository.findCurvePointById(id);
 		if (id != null && curvePoint.isPresent()) {
@@ -55,10 +96,15 @@ public class CurvePointService {
 	 * @throws CurvePointServiceException		Thrown if there was an error while creating the CurvePoint
 	 *
 	 */
+	@Transactional
 	public boolean createCurvePoint(CurvePoint curvePointEntity) throws CurvePointServiceException {
+		// A new curve point has no id yet : its existence is only checked when an id is given
 		if (curvePointEntity != null
-				&& !curvePointRepository.findCurvePointById(curvePointEntity.getId()).isPresent()) {
+				&& (curvePointEntity.getId() == null || !curvePointRepository.existsById(curvePointEntity.getId()))) {
 			curvePointRepository.save(curvePointEntity);
+			changeCounterService.markChanged(Tables.CURVE_POINT);
+			eventPublisher.publishEvent(
+					new CurvePointChangeEvent(ChangeType.CREATED, curvePointEntity.getId(), curvePointEntity));
 			log.info("[CURVEPOINT SERVICE] Created new Curve Point with id : '{}', term : '{}' and value : '{}'",
 					curvePointEntity.getCurveId(), curvePointEntity.getTerm(), curvePointEntity.getValue());
 			return true;
@@ -66,6 +112,30 @@ public class CurvePointService {
 		throw new CurvePointServiceException("There was an error while creating the Curve Point");
 	}
 
+	/**
+	 * Create several CurvePoints at once.
+	 * The ids come from a pooled generator, so the inserts are sent as JDBC batches when the transaction commits.
+	 *
+	 * @param curvePointEntities				The new CurvePoint Entities to create
+	 * @return									True if the creation was successful
+	 * @throws CurvePointServiceException		Thrown if the list is null or if one of the CurvePoints already has an id
+	 */
+	@Transactional
+	public boolean createCurvePoints(List<CurvePoint> curvePointEntities) throws CurvePointServiceException {
+		if (curvePointEntities == null
+				|| curvePointEntities.stream().anyMatch(curvePoint -> curvePoint == null || curvePoint.getId() != null)) {
+			throw new CurvePointServiceException("There was an error while creating the Curve Points");
+		}
+		curvePointRepository.saveAll(curvePointEntities);
+		changeCounterService.markChanged(Tables.CURVE_POINT);
+		for (CurvePoint curvePointEntity : curvePointEntities) {
+			eventPublisher.publishEvent(
+					new CurvePointChangeEvent(ChangeType.CREATED, curvePointEntity.getId(), curvePointEntity));
+		}
+		log.info("[CURVEPOINT SERVICE] Created {} new Curve Points", curvePointEntities.size());
+		return true;
+	}
+
 	/**
 	 * Update an existing CurvePoint
 	 *
@@ -74,11 +144,12 @@ public class CurvePointService {
 	 * @return									True if the update was successful
 	 * @throws CurvePointServiceException		Thrown if CurvePoint with given ID is not found
 	 */
+	@Transactional
 	public boolean updateCurvePoint(Integer id, CurvePoint curvePointEntityUpdated) throws CurvePointServiceException {
-		Optional<CurvePoint> curvePoint = curvePointRepository.findCurvePointById(id);
-		if (id != null && curvePoint.isPresent()) {
+		if (id != null && curvePointRepository.updateCurvePoint(id, curvePointEntityUpdated) > 0) {
+			changeCounterService.markChanged(Tables.CURVE_POINT);
 			curvePointEntityUpdated.setId(id);
-			curvePointRepository.save(curvePointEntityUpdated);
+			eventPublisher.publishEvent(new CurvePointChangeEvent(ChangeType.UPDATED, id, curvePointEntityUpdated));
 
 			log.info("[CURVEPOINT SERVICE] Updated Curve Point '{}' with term '{}' and value '{}'",
 					curvePointEntityUpdated.getCurveId(), curvePointEntityUpdated.getTerm(),
@@ -95,10 +166,11 @@ public class CurvePointService {
 	 * @return									True if the deletion was successful
 	 * @throws CurvePointServiceException		Thrown if CurvePoint with given ID is not found
 	 */
+	@Transactional
 	public boolean deleteCurvePoint(Integer id) throws CurvePointServiceException {
-		Optional<CurvePoint> curvePoint = curvePointRepository.findCurvePointById(id);
-		if (id != null && curvePoint.isPresent()) {
-			curvePointRepository.delete(curvePoint.get());
+		if (id != null && curvePointRepository.deleteCurvePointById(id) > 0) {
+			changeCounterService.markChanged(Tables.CURVE_POINT);
+			eventPublisher.publishEvent(new CurvePointChangeEvent(ChangeType.DELETED, id, null));
 			log.info("[CURVEPOINT SERVICE] Deleted Curve Point with id '{}'", id);
 			return true;
 		}
@@ -107,10 +179,10 @@ public class CurvePointService {
 	}
 
 	public CurvePoint convertDtoToEntity(CurvePointDto curvePointDto) {
-		return modelMapper.map(curvePointDto, CurvePoint.class);
+		return curvePointMapper.toEntity(curvePointDto);
 	}
 
 	public CurvePointDto convertEntityToDto(CurvePoint curvePointEntity) {
-		return modelMapper.map(curvePointEntity, CurvePointDto.class);
+		return curvePointMapper.toDto(curvePointEntity);
 	}
 }
@@ -0,0 +1,146 @@
+package com.poseidon.app.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.utilities.CsvUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ExportService {
+
+	private static final String[] BID_COLUMNS = { "id", "account", "type", "bid", "bidQuantity", "askQuantity",
+			"bidDate", "ask", "bidListDate", "commentary", "security", "status", "trader", "book", "creationName",
+			"creationDate", "revisionName", "revisionDate", "dealName", "dealType", "sourceListId", "side" };
+
+	private static final String[] TRADE_COLUMNS = { "id", "account", "type", "buyQuantity", "sellQuantity",
+			"buyPrice", "sellPrice", "tradeDate", "security", "status", "trader", "benchmark", "book", "creationName",
+			"creationDate", "revisionName", "revisionDate", "dealName", "dealType", "sourceListId", "side" };
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Value("${poseidon.export.fetch-size:1000}")
+	int fetchSize;
+
+	@Value("${poseidon.export.clear-interval:1000}")
+	int clearInterval;
+
+	/**
+	 * Write every Bid to the given stream
+	 *
+	 * @param format							CSV (with a header line) or JSONL (one JSON object per line)
+	 * @param output							The stream the bids are written to
+	 * @return									The number of exported bids
+	 * @throws IOException						Thrown if the stream could not be written
+	 */
+	public long exportBids(FileFormat format, OutputStream output) throws IOException {
+		return export(Bid.class, format, output, BID_COLUMNS,
+				bid -> new Object[] { bid.getId(), bid.getAccount(), bid.getType(), bid.getBid(),
+						bid.getBidQuantity(), bid.getAskQuantity(), bid.getBidDate(), bid.getAsk(),
+						bid.getBidListDate(), bid.getCommentary(), bid.getSecurity(), bid.getStatus(), bid.getTrader(),
+						bid.getBook(), bid.getCreationName(), bid.getCreationDate(), bid.getRevisionName(),
+						bid.getRevisionDate(), bid.getDealName(), bid.getDealType(), bid.getSourceListId(),
+						bid.getSide() });
+	}
+
+	/**
+	 * Write every Trade to the given stream
+	 *
+	 * @param format							CSV (with a header line) or JSONL (one JSON object per line)
+	 * @param output							The stream the trades are written to
+	 * @return									The number of exported trades
+	 * @throws IOException						Thrown if the stream could not be written
+	 */
+	public long exportTrades(FileFormat format, OutputStream output) throws IOException {
+		return export(Trade.class, format, output, TRADE_COLUMNS,
+				trade -> new Object[] { trade.getId(), trade.getAccount(), trade.getType(), trade.getBuyQuantity(),
+						trade.getSellQuantity(), trade.getBuyPrice(), trade.getSellPrice(), trade.getTradeDate(),
+						trade.getSecurity(), trade.getStatus(), trade.getTrader(), trade.getBenchmark(),
+						trade.getBook(), trade.getCreationName(), trade.getCreationDate(), trade.getRevisionName(),
+						trade.getRevisionDate(), trade.getDealName(), trade.getDealType(), trade.getSourceListId(),
+						trade.getSide() });
+	}
+
+	/**
+	 * Scroll over a whole table with a forward-only cursor and write each row as soon as it is read.
+	 * The session is read-only and is cleared every "clearInterval" rows, so the memory used
+	 * does not depend on the size of the table.
+	 */
+	private <T> long export(Class<T> entityClass, FileFormat format, OutputStream output, String[] csvColumns,
+			Function<T, Object[]> csvValues) throws IOException {
+
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		long count = 0;
+
+		try (Session session = sessionFactory.openSession()) {
+			session.setDefaultReadOnly(true);
+			session.setHibernateFlushMode(FlushMode.MANUAL);
+			session.beginTransaction();
+
+			ScrollableResults results = session
+					.createQuery("from " + entityClass.getSimpleName() + " order by id", entityClass)
+					.setFetchSize(fetchSize)
+					.setReadOnly(true)
+					.setCacheMode(CacheMode.IGNORE)
+					.scroll(ScrollMode.FORWARD_ONLY);
+
+			try {
+				if (format == FileFormat.CSV) {
+					writer.write(CsvUtils.formatLine((Object[]) csvColumns));
+					writer.write('\n');
+				}
+
+				while (results.next()) {
+					T row = entityClass.cast(results.get(0));
+					if (format == FileFormat.CSV) {
+						writer.write(CsvUtils.formatLine(csvValues.apply(row)));
+					} else {
+						writer.write(objectMapper.writeValueAsString(row));
+					}
+					writer.write('\n');
+
+					// Detach what was read so far, the persistence context never grows past the interval
+					if (++count % Math.max(1, clearInterval) == 0) {
+						writer.flush();
+						session.clear();
+					}
+				}
+				writer.flush();
+			} finally {
+				results.close();
+				session.getTransaction().rollback();
+			}
+		}
+
+		log.info("[EXPORT SERVICE] Exported {} rows of {}", count, entityClass.getSimpleName());
+		return count;
+	}
+}
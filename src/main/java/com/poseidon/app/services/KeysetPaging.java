@@ -0,0 +1,79 @@
+package com.poseidon.app.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.poseidon.app.domain.dto.KeysetPage;
+
+/**
+ * Keyset pagination on the id, shared by the services : a page is read from the id of the last (or first) row
+ * of the page before, with the repository queries given for the first page and for each side of the cursor
+ */
+public final class KeysetPaging {
+
+	public static final int MAX_PAGE_SIZE = 100;
+
+	/**
+	 * Hiding the constructor, this class only has static methods
+	 */
+	private KeysetPaging() {
+		// Hiding the constructor
+	}
+
+	/**
+	 * Read a page of rows from a cursor.
+	 * Only one of "after" and "before" should be given, none of them returns the first page.
+	 *
+	 * @param after								Id of the last row of the current page, to get the next page
+	 * @param before							Id of the first row of the current page, to get the previous page
+	 * @param size								Number of rows on the page (between 1 and MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @param first								Query of the first page
+	 * @param greaterThan						Query of the rows with a greater id than the cursor
+	 * @param lessThan							Query of the rows with a lower id than the cursor
+	 * @param id								Id of a row
+	 * @return									KeysetPage<T> with the rows of the page
+	 */
+	public static <T> KeysetPage<T> findPage(Integer after, Integer before, int size, Sort.Direction direction,
+			Function<Pageable, Slice<T>> first, BiFunction<Integer, Pageable, Slice<T>> greaterThan,
+			BiFunction<Integer, Pageable, Slice<T>> lessThan, Function<T, Integer> id) {
+
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		boolean ascending = direction.isAscending();
+
+		if (before != null) {
+			// Going backward : rows are read in the reverse order from the cursor, then flipped back
+			Pageable pageable = PageRequest.of(0, pageSize,
+					Sort.by(ascending ? Sort.Direction.DESC : Sort.Direction.ASC, "id"));
+			Slice<T> slice = ascending ? lessThan.apply(before, pageable) : greaterThan.apply(before, pageable);
+
+			List<T> rows = new ArrayList<>(slice.getContent());
+			Collections.reverse(rows);
+			return buildPage(rows, id, pageSize, direction, slice.hasNext(), true);
+		}
+
+		Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "id"));
+		Slice<T> slice;
+		if (after == null) {
+			slice = first.apply(pageable);
+		} else {
+			slice = ascending ? greaterThan.apply(after, pageable) : lessThan.apply(after, pageable);
+		}
+		return buildPage(slice.getContent(), id, pageSize, direction, after != null, slice.hasNext());
+	}
+
+	private static <T> KeysetPage<T> buildPage(List<T> rows, Function<T, Integer> id, int size, Sort.Direction direction,
+			boolean hasPrevious, boolean hasNext) {
+		Integer firstId = rows.isEmpty() ? null : id.apply(rows.get(0));
+		Integer lastId = rows.isEmpty() ? null : id.apply(rows.get(rows.size() - 1));
+		return new KeysetPage<>(rows, size, direction, firstId, lastId, hasPrevious, hasNext);
+	}
+}
@@ -0,0 +1,162 @@
+package com.poseidon.app.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.Position;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.repositories.TradeRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Net positions per account and security, computed once from the trade table
+ * and then kept up to date with the changes published by the TradeService.
+ * Each position is a DoubleAdder, so concurrent trades on the same position do not contend on a lock.
+ */
+@Slf4j
+@Service
+public class PositionService {
+
+	private static final int LOAD_PAGE_SIZE = 1000;
+
+	@Autowired
+	TradeRepository tradeRepository;
+
+	private final Map<PositionKey, DoubleAdder> positions = new ConcurrentHashMap<>();
+
+	// What each trade added to its position, so an update or a delete can take it back without reading the trade
+	private final Map<Integer, Contribution> contributions = new ConcurrentHashMap<>();
+
+	/**
+	 * Compute the positions from the trade table when the application is ready.
+	 * A trade changed while the table is read is already counted by its event and is skipped.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadPositions() {
+		long start = System.nanoTime();
+		Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+		Slice<Trade> slice = tradeRepository.findAllBy(pageable);
+		long loaded = 0;
+
+		while (true) {
+			for (Trade trade : slice.getContent()) {
+				Contribution contribution = Contribution.of(trade);
+				if (contributions.putIfAbsent(trade.getId(), contribution) == null) {
+					add(contribution.key, contribution.quantity);
+					loaded++;
+				}
+			}
+			if (!slice.hasNext() || slice.getContent().isEmpty()) {
+				break;
+			}
+			Integer lastId = slice.getContent().get(slice.getContent().size() - 1).getId();
+			slice = tradeRepository.findByIdGreaterThan(lastId, pageable);
+		}
+
+		log.info("[POSITION SERVICE] Loaded {} trades in {} positions in {} ms", loaded, positions.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Take back what the previous version of the trade added to its position, then add the new version.
+	 * Runs once the change is committed, so a rolled back change leaves memory untouched.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTradeChange(TradeChangeEvent event) {
+		if (event.getId() == null) {
+			return;
+		}
+
+		Contribution previous;
+		if (event.getType() == ChangeType.DELETED || event.getTrade() == null) {
+			previous = contributions.remove(event.getId());
+		} else {
+			Contribution contribution = Contribution.of(event.getTrade());
+			previous = contributions.put(event.getId(), contribution);
+			add(contribution.key, contribution.quantity);
+		}
+
+		if (previous != null) {
+			add(previous.key, -previous.quantity);
+		}
+	}
+
+	/**
+	 * Get the net position of an account on a security
+	 *
+	 * @param account							The account holding the position
+	 * @param security							The security of the position
+	 * @return									Position with the net quantity, 0 if the account never traded the security
+	 */
+	public Position findPosition(String account, String security) {
+		DoubleAdder quantity = positions.get(new PositionKey(account, security));
+		return new Position(account, security, quantity != null ? quantity.sum() : 0d);
+	}
+
+	/**
+	 * Get the positions of every account, or of a single account
+	 *
+	 * @param account							The account to get the positions of, null for every account
+	 * @return									List<Position> sorted by account then security
+	 */
+	public List<Position> findPositions(String account) {
+		List<Position> result = new ArrayList<>();
+		positions.forEach((key, quantity) -> {
+			if (account == null || account.equals(key.account)) {
+				result.add(new Position(key.account, key.security, quantity.sum()));
+			}
+		});
+		result.sort(Comparator.comparing(Position::getAccount, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparing(Position::getSecurity, Comparator.nullsFirst(Comparator.naturalOrder())));
+		return result;
+	}
+
+	private void add(PositionKey key, double quantity) {
+		if (quantity != 0) {
+			positions.computeIfAbsent(key, k -> new DoubleAdder()).add(quantity);
+		}
+	}
+
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static final class PositionKey {
+
+		private final String account;
+
+		private final String security;
+	}
+
+	@AllArgsConstructor
+	private static final class Contribution {
+
+		private final PositionKey key;
+
+		private final double quantity;
+
+		private static Contribution of(Trade trade) {
+			double bought = trade.getBuyQuantity() != null ? trade.getBuyQuantity() : 0;
+			double sold = trade.getSellQuantity() != null ? trade.getSellQuantity() : 0;
+			return new Contribution(new PositionKey(trade.getAccount(), trade.getSecurity()), bought - sold);
+		}
+	}
+}
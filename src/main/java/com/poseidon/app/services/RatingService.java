@@ -3,13 +3,20 @@ package com.poseidon.app.services;
 import java.util.List;
 import java.util.Optional;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.poseidon.app.config.ReplicaRoutingDataSource;
+import com.poseidon.app.config.constants.CacheRegions;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.Rating;
+import com.poseidon.app.domain.dto.KeysetPage;
 import com.poseidon.app.domain.dto.RatingDto;
+import com.poseidon.app.domain.dto.RatingSummary;
 import com.poseidon.app.exceptions.RatingServiceException;
+import com.poseidon.app.mapping.EntityMapper;
 import com.poseidon.app.repositories.RatingRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -22,14 +29,49 @@ public class RatingService {
 	RatingRepository ratingRepository;
 
 	@Autowired
-	ModelMapper modelMapper;
+	ChangeCounterService changeCounterService;
+
+	@Autowired
+	EntityMapper<Rating, RatingDto> ratingMapper;
+
+	@Autowired
+	ReferenceDataCacheService referenceDataCacheService;
 
 	/**
 	 * Get a list of every ratings
 	 * @return									List<Rating> with existing ratings
 	 */
+	@Transactional(readOnly = true)
 	public List<Rating> findAllRatings() {
-		return ratingRepository.findAll();
+		// Ratings are read from the primary : what is read is kept in the second-level cache until the next write,
+		// rows read from a lagging replica would stay there
+		return ReplicaRoutingDataSource.readFromPrimary(ratingRepository::findAll);
+	}
+
+	/**
+	 * Get the rows of the ratings list, with only the columns it shows
+	 * @return									List<RatingSummary> read without loading the entities
+	 */
+	@Transactional(readOnly = true)
+	public List<RatingSummary> findAllRatingSummaries() {
+		return ReplicaRoutingDataSource.readFromPrimary(ratingRepository::findSummaries);
+	}
+
+	/**
+	 * Get a page of Ratings, using keyset pagination on the id.
+	 * Only one of "after" and "before" should be given, none of them returns the first page.
+	 *
+	 * @param after								Id of the last rating of the current page, to get the next page
+	 * @param before							Id of the first rating of the current page, to get the previous page
+	 * @param size								Number of ratings on the page (between 1 and KeysetPaging.MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @return									KeysetPage<Rating> with the ratings of the page
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<Rating> findRatingPage(Integer after, Integer before, int size, Sort.Direction direction) {
+		return ReplicaRoutingDataSource.readFromPrimary(() -> KeysetPaging.findPage(after, before, size, direction,
+				ratingRepository::findAllBy, ratingRepository::findByIdGreaterThan, ratingRepository::findByIdLessThan,
+				Rating::getId));
 	}
 
 	/**
@@ -39,8 +81,9 @@ public class RatingService {
 	 * @return									Rating if it exists, otherwise an error is thrown
 	 * @throws RatingServiceException	 		Thrown if the Rating was not found
 	 */
+	@Transactional(readOnly = true)
 	public Rating findRatingById(Integer id) throws RatingServiceException {
-		Optional<Rating> rating = ratingRepository.findRatingById(id);
+		Optional<Rating> rating = ReplicaRoutingDataSource.readFromPrimary(() -> ratingRepository.findRatingById(id));
 		if (id != null && rating.isPresent()) {
 			return rating.get();
 		}
@@ -55,9 +98,14 @@ public class RatingService {
 	 * @throws RatingServiceException			Thrown if there was an error while creating the Rating
 	 *
 	 */
+	@Transactional
 	public boolean createRating(Rating ratingEntity) throws RatingServiceException {
-		if (ratingEntity != null && !ratingRepository.findRatingById(ratingEntity.getId()).isPresent()) {
+		// A new rating has no id yet : its existence is only checked when an id is given
+		if (ratingEntity != null
+				&& (ratingEntity.getId() == null || !ratingRepository.existsById(ratingEntity.getId()))) {
 			ratingRepository.save(ratingEntity);
+			changeCounterService.markChanged(Tables.RATING);
+			referenceDataCacheService.evictQueries(CacheRegions.RATING_QUERIES);
 			log.info("[RATING SERVICE] Created a new rating with id '{}' for order number '{}'", ratingEntity.getId(),
 					ratingEntity.getOrderNumber());
 			return true;
@@ -73,11 +121,15 @@ public class RatingService {
 	 * @return									True if the update was successful
 	 * @throws RatingServiceException			Thrown if Rating with given ID is not found
 	 */
+	@Transactional
 	public boolean updateRating(Integer id, Rating ratingEntityUpdated) throws RatingServiceException {
-		Optional<Rating> rating = ratingRepository.findRatingById(id);
-		if (id != null && rating.isPresent()) {
+		// Read from the second-level cache and merged : Hibernate updates the cached rating in place,
+		// where a JPQL update would drop every rating of the cache
+		if (id != null && ratingRepository.findById(id).isPresent()) {
 			ratingEntityUpdated.setId(id);
 			ratingRepository.save(ratingEntityUpdated);
+			changeCounterService.markChanged(Tables.RATING);
+			referenceDataCacheService.evictQueries(CacheRegions.RATING_QUERIES);
 
 			log.info("[RATING SERVICE] Updated rating's id '{}' for order number '{}'", ratingEntityUpdated.getId(),
 					ratingEntityUpdated.getOrderNumber());
@@ -93,23 +145,25 @@ public class RatingService {
 	 * @return									True if the deletion was successful
 	 * @throws RatingServiceException			Thrown if Rating with given ID is not found
 	 */
+	@Transactional
 	public boolean deleteRating(Integer id) throws RatingServiceException {
-		Optional<Rating> rating = ratingRepository.findRatingById(id);
-		if (id != null && rating.isPresent()) {
+		Optional<Rating> rating = id != null ? ratingRepository.findById(id) : Optional.empty();
+		if (rating.isPresent()) {
 			ratingRepository.delete(rating.get());
-			log.info("[RATING SERVICE] Deleted rating's id '{}' for order number '{}'", id,
-					rating.get().getOrderNumber());
+			changeCounterService.markChanged(Tables.RATING);
+			referenceDataCacheService.evictQueries(CacheRegions.RATING_QUERIES);
+			log.info("[RATING SERVICE] Deleted rating's id '{}'", id);
 			return true;
 		}
 		throw new RatingServiceException("Could not find rating with id : " + id);
 	}
 
 	public Rating convertDtoToEntity(RatingDto ratingDto) {
-		return modelMapper.map(ratingDto, Rating.class);
+		return ratingMapper.toEntity(ratingDto);
 	}
 
 	public RatingDto convertEntityToDto(Rating ratingEntity) {
-		return modelMapper.map(ratingEntity, RatingDto.class);
+		return ratingMapper.toDto(ratingEntity);
 	}
 
 }
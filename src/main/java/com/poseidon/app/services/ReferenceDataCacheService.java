@@ -0,0 +1,51 @@
+package com.poseidon.app.services;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidation of the reference data (ratings, rules) kept in the second-level cache.
+ * The services write ratings and rules through the entity manager (never with JPQL updates, which would drop
+ * the whole entity region), so Hibernate updates the cached entities itself. The cached list queries are
+ * dropped here by the services that write them.
+ */
+@Slf4j
+@Service
+public class ReferenceDataCacheService {
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Evict every cached result of a query region, once the current transaction is committed.
+	 * Hibernate already ignores the results read before the last write of their tables :
+	 * evicting them frees their entries at once, and a rolled back write keeps them.
+	 *
+	 * @param region							The query region to evict, one of the CacheRegions
+	 */
+	public void evictQueries(String region) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evictQueriesNow(region);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				evictQueriesNow(region);
+			}
+		});
+	}
+
+	private void evictQueriesNow(String region) {
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(region);
+		log.debug("[REFERENCE DATA CACHE SERVICE] Evicted the query region '{}'", region);
+	}
+}
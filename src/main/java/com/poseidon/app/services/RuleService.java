@@ -3,13 +3,23 @@ package com.poseidon.app.services;
 import java.util.List;
 import java.util.Optional;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.poseidon.app.config.ReplicaRoutingDataSource;
+import com.poseidon.app.config.constants.CacheRegions;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.dto.KeysetPage;
 import com.poseidon.app.domain.dto.RuleDto;
+import com.poseidon.app.domain.dto.RuleSummary;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.RuleChangeEvent;
 import com.poseidon.app.exceptions.RuleServiceException;
+import com.poseidon.app.mapping.EntityMapper;
 import com.poseidon.app.repositories.RuleRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -22,14 +32,51 @@ public class RuleService {
 	RuleRepository ruleNameRepository;
 
 	@Autowired
-	ModelMapper modelMapper;
+	ChangeCounterService changeCounterService;
+
+	@Autowired
+	EntityMapper<Rule, RuleDto> ruleMapper;
+
+	@Autowired
+	ReferenceDataCacheService referenceDataCacheService;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
 
 	/**
 	 * Get a list of every rules
 	 * @return									List<RuleName> with existing rules
 	 */
+	@Transactional(readOnly = true)
 	public List<Rule> findAllRules() {
-		return ruleNameRepository.findAll();
+		// Cached rules must not come from a lagging replica : every read of the rules goes to the primary
+		return ReplicaRoutingDataSource.readFromPrimary(ruleNameRepository::findAll);
+	}
+
+	/**
+	 * Get the rows of the rules list, with only the columns it shows
+	 * @return									List<RuleSummary> read without loading the entities
+	 */
+	@Transactional(readOnly = true)
+	public List<RuleSummary> findAllRuleSummaries() {
+		return ReplicaRoutingDataSource.readFromPrimary(ruleNameRepository::findSummaries);
+	}
+
+	/**
+	 * Get a page of Rules, using keyset pagination on the id.
+	 * Only one of "after" and "before" should be given, none of them returns the first page.
+	 *
+	 * @param after								Id of the last rule of the current page, to get the next page
+	 * @param before							Id of the first rule of the current page, to get the previous page
+	 * @param size								Number of rules on the page (between 1 and KeysetPaging.MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @return									KeysetPage<Rule> with the rules of the page
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<Rule> findRulePage(Integer after, Integer before, int size, Sort.Direction direction) {
+		return ReplicaRoutingDataSource.readFromPrimary(() -> KeysetPaging.findPage(after, before, size, direction,
+				ruleNameRepository::findAllBy, ruleNameRepository::findByIdGreaterThan,
+				ruleNameRepository::findByIdLessThan, Rule::getId));
 	}
 
 	/**
@@ -39,8 +86,9 @@ public class RuleService {
 	 * @return									Rule if it exists, otherwise an error is thrown
 	 * @throws RuleServiceException	 			Thrown if the Rule was not found
 	 */
+	@Transactional(readOnly = true)
 	public Rule findRuleById(Integer id) throws RuleServiceException {
-		Optional<Rule> ruleName = ruleNameRepository.findRuleById(id);
+		Optional<Rule> ruleName = ReplicaRoutingDataSource.readFromPrimary(() -> ruleNameRepository.findRuleById(id));
 		if (id != null && ruleName.isPresent()) {
 			return ruleName.get();
 		}
@@ -55,9 +103,15 @@ public class RuleService {
 	 * @throws RuleServiceException				Thrown if there was an error while creating the Rule
 	 *
 	 */
+	@Transactional
 	public boolean createRule(Rule ruleEntity) throws RuleServiceException {
-		if (ruleEntity != null && !ruleNameRepository.findRuleById(ruleEntity.getId()).isPresent()) {
+		// A new rule has no id yet : its existence is only checked when an id is given
+		if (ruleEntity != null
+				&& (ruleEntity.getId() == null || !ruleNameRepository.existsById(ruleEntity.getId()))) {
 			ruleNameRepository.save(ruleEntity);
+			changeCounterService.markChanged(Tables.RULE);
+			referenceDataCacheService.evictQueries(CacheRegions.RULE_QUERIES);
+			eventPublisher.publishEvent(new RuleChangeEvent(ChangeType.CREATED, ruleEntity.getId(), ruleEntity));
 			log.info("[RULE SERVICE] Created a new rule with id '{}' and name '{}'", ruleEntity.getId(),
 					ruleEntity.getName());
 			return true;
@@ -73,11 +127,15 @@ public class RuleService {
 	 * @return									True if the update was successful
 	 * @throws RuleServiceException				Thrown if Rule with given ID is not found
 	 */
+	@Transactional
 	public boolean updateRule(Integer id, Rule ruleEntityUpdated) throws RuleServiceException {
-		Optional<Rule> ruleName = ruleNameRepository.findRuleById(id);
-		if (id != null && ruleName.isPresent()) {
+		// Merged with the rule of the second-level cache, which stays cached with its new fields
+		if (id != null && ruleNameRepository.findById(id).isPresent()) {
 			ruleEntityUpdated.setId(id);
 			ruleNameRepository.save(ruleEntityUpdated);
+			changeCounterService.markChanged(Tables.RULE);
+			referenceDataCacheService.evictQueries(CacheRegions.RULE_QUERIES);
+			eventPublisher.publishEvent(new RuleChangeEvent(ChangeType.UPDATED, id, ruleEntityUpdated));
 
 			log.info("[RULE SERVICE] Updated rule id '{}' with name '{}'", ruleEntityUpdated.getId(),
 					ruleEntityUpdated.getName());
@@ -93,10 +151,14 @@ public class RuleService {
 	 * @return									True if the deletion was successful
 	 * @throws RuleServiceException				Thrown if Rule with given ID is not found
 	 */
+	@Transactional
 	public boolean deleteRule(Integer id) throws RuleServiceException {
-		Optional<Rule> ruleName = ruleNameRepository.findRuleById(id);
-		if (id != null && ruleName.isPresent()) {
-			ruleNameRepository.delete(ruleName.get());
+		Optional<Rule> rule = id != null ? ruleNameRepository.findById(id) : Optional.empty();
+		if (rule.isPresent()) {
+			ruleNameRepository.delete(rule.get());
+			changeCounterService.markChanged(Tables.RULE);
+			referenceDataCacheService.evictQueries(CacheRegions.RULE_QUERIES);
+			eventPublisher.publishEvent(new RuleChangeEvent(ChangeType.DELETED, id, null));
 			log.info("[RULE SERVICE] Deleted rule id '{}'", id);
 			return true;
 		}
@@ -104,11 +166,11 @@ public class RuleService {
 	}
 
 	public Rule convertDtoToEntity(RuleDto ruleDto) {
-		return modelMapper.map(ruleDto, Rule.class);
+		return ruleMapper.toEntity(ruleDto);
 	}
 
 	public RuleDto convertEntityToDto(Rule ruleEntity) {
-		return modelMapper.map(ruleEntity, RuleDto.class);
+		return ruleMapper.toDto(ruleEntity);
 	}
 
 }
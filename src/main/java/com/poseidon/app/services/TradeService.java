@@ -3,14 +3,27 @@ package com.poseidon.app.services;
 import java.util.List;
 import java.util.Optional;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.poseidon.app.config.constants.ConflictPolicy;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.KeysetPage;
 import com.poseidon.app.domain.dto.TradeDto;
+import com.poseidon.app.domain.dto.TradeSummary;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.exceptions.TradeConflictException;
 import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.mapping.EntityMapper;
 import com.poseidon.app.repositories.TradeRepository;
+import com.poseidon.app.utilities.BeanMergeUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,16 +35,51 @@ public class TradeService {
 	TradeRepository tradeRepository;
 
 	@Autowired
-	ModelMapper modelMapper;
+	EntityMapper<Trade, TradeDto> tradeMapper;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	ChangeCounterService changeCounterService;
+
+	@Value("${poseidon.concurrency.update-attempts:3}")
+	int updateAttempts;
 
 	/**
 	 * Get a list of every trades
 	 * @return									List<Trade> with existing trades
 	 */
+	@Transactional(readOnly = true)
 	public List<Trade> findAllTrades() {
 		return tradeRepository.findAll();
 	}
 
+	/**
+	 * Get the rows of the trades list, with only the columns it shows
+	 * @return									List<TradeSummary> read without loading the entities
+	 */
+	@Transactional(readOnly = true)
+	public List<TradeSummary> findAllTradeSummaries() {
+		return tradeRepository.findSummaries();
+	}
+
+	/**
+	 * Get a page of Trades, using keyset pagination on the id.
+	 * Only one of "after" and "before" should be given, none of them returns the first page.
+	 *
+	 * @param after								Id of the last trade of the current page, to get the next page
+	 * @param before							Id of the first trade of the current page, to get the previous page
+	 * @param size								Number of trades on the page (between 1 and KeysetPaging.MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @return									KeysetPage<Trade> with the trades of the page
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<Trade> findTradePage(Integer after, Integer before, int size, Sort.Direction direction) {
+		return KeysetPaging.findPage(after, before, size, direction, tradeRepository::findAllBy,
+				tradeRepository::findByIdGreaterThan, tradeRepository::findByIdLessThan, Trade::getId);
+	}
+
 	/**
 	 * Find a Trade by its ID
 	 *
@@ -39,6 +87,7 @@ public class TradeService {
 	 * @return									Trade if it exists, otherwise an error is thrown
 	 * @throws TradeServiceException	 		Thrown if the Trade was not found
 	 */
+	@Transactional(readOnly = true)
 	public Trade findTradeById(Integer id) throws TradeServiceException {
 		Optional<Trade> trade = tradeRepository.findTradeById(id);
 		if (id != null && trade.isPresent()) {
@@ -55,9 +104,14 @@ public class TradeService {
 	 * @throws TradeServiceException			Thrown if there was an error while creating the Trade
 	 *
 	 */
+	@Transactional
 	public boolean createTrade(Trade tradeEntity) throws TradeServiceException {
-		if (tradeEntity != null && !tradeRepository.findTradeById(tradeEntity.getId()).isPresent()) {
+		// A new trade has no id yet : its existence is only checked when an id is given
+		if (tradeEntity != null
+				&& (tradeEntity.getId() == null || !tradeRepository.existsById(tradeEntity.getId()))) {
 			tradeRepository.save(tradeEntity);
+			changeCounterService.markChanged(Tables.TRADE);
+			eventPublisher.publishEvent(new TradeChangeEvent(ChangeType.CREATED, tradeEntity.getId(), tradeEntity));
 			log.info("[TRADE SERVICE] Created a new trade with id '{}'", tradeEntity.getId());
 			return true;
 		}
@@ -65,22 +119,98 @@ public class TradeService {
 	}
 
 	/**
-	 * Update an existing Trade
+	 * Create several Trades at once.
+	 * The ids come from a pooled generator, so the inserts are sent as JDBC batches when the transaction commits.
+	 *
+	 * @param tradeEntities						The new Trade Entities to create
+	 * @return									True if the creation was successful
+	 * @throws TradeServiceException			Thrown if the list is null or if one of the Trades already has an id
+	 */
+	@Transactional
+	public boolean createTrades(List<Trade> tradeEntities) throws TradeServiceException {
+		if (tradeEntities == null || tradeEntities.stream().anyMatch(trade -> trade == null || trade.getId() != null)) {
+			throw new TradeServiceException("There was an error while creating the trades");
+		}
+		tradeRepository.saveAll(tradeEntities);
+		changeCounterService.markChanged(Tables.TRADE);
+		for (Trade tradeEntity : tradeEntities) {
+			eventPublisher.publishEvent(new TradeChangeEvent(ChangeType.CREATED, tradeEntity.getId(), tradeEntity));
+		}
+		log.info("[TRADE SERVICE] Created {} new trades", tradeEntities.size());
+		return true;
+	}
+
+	/**
+	 * Update an existing Trade, the update fails if the Trade was changed since the given version was read
 	 *
 	 * @param id								The Trade ID to update
-	 * @param tradeEntityUpdated				The new fields given for update
+	 * @param tradeEntityUpdated				The new fields given for update, with the version they were read at,
+	 * 											without a version, it conflicts with any version
 	 * @return									True if the update was successful
 	 * @throws TradeServiceException			Thrown if Trade with given ID is not found
+	 * @throws TradeConflictException			Thrown if Trade with given ID has a newer version
 	 */
+	@Transactional
 	public boolean updateTrade(Integer id, Trade tradeEntityUpdated) throws TradeServiceException {
-		Optional<Trade> trade = tradeRepository.findTradeById(id);
-		if (id != null && trade.isPresent()) {
-			tradeEntityUpdated.setId(id);
-			tradeRepository.save(tradeEntityUpdated);
-			log.info("[TRADE SERVICE] Updated trade id '{}'", tradeEntityUpdated.getId());
-			return true;
+		return updateTrade(id, tradeEntityUpdated, ConflictPolicy.FAIL);
+	}
+
+	/**
+	 * Update an existing Trade, choosing what happens if it was changed since the given version was read.
+	 * Once updated, the given Trade holds the written fields and the new version.
+	 *
+	 * @param id								The Trade ID to update
+	 * @param tradeEntityUpdated				The new fields given for update, with the version they were read at,
+	 * 											without a version, it conflicts with any version
+	 * @param policy							FAIL, MERGE or OVERWRITE, a merged or overwritten Trade is written
+	 * 											again from its current version, up to "updateAttempts" times
+	 * @return									True if the update was successful
+	 * @throws TradeServiceException			Thrown if Trade with given ID is not found
+	 * @throws TradeConflictException			Thrown if Trade with given ID has a newer version
+	 */
+	@Transactional
+	public boolean updateTrade(Integer id, Trade tradeEntityUpdated, ConflictPolicy policy)
+			throws TradeServiceException {
+		if (id == null) {
+			throw new TradeServiceException("Could not find trade with id : " + id);
 		}
-		throw new TradeServiceException("Could not find trade with id : " + id);
+
+		Trade tradeToWrite = tradeEntityUpdated;
+		int attempt = 1;
+		while (tradeRepository.updateTrade(id, tradeToWrite) == 0) {
+			Optional<Trade> currentTrade = tradeRepository.findTradeById(id);
+			if (!currentTrade.isPresent()) {
+				throw new TradeServiceException("Could not find trade with id : " + id);
+			}
+			if (policy == ConflictPolicy.FAIL || attempt++ >= Math.max(1, updateAttempts)) {
+				log.info("[TRADE SERVICE] Update of trade '{}' at version '{}' conflicts with version '{}'", id,
+						tradeToWrite.getVersion(), currentTrade.get().getVersion());
+				throw new TradeConflictException(String.format(
+						"Trade with id '%d' was changed by someone else, please review it and try again", id));
+			}
+
+			if (policy == ConflictPolicy.MERGE) {
+				// Apply the update on the current trade, then write it again from its current version
+				tradeToWrite = new Trade();
+				BeanUtils.copyProperties(currentTrade.get(), tradeToWrite);
+				BeanMergeUtils.copyNonNullProperties(tradeEntityUpdated, tradeToWrite, "id", "version");
+			} else {
+				tradeToWrite.setVersion(currentTrade.get().getVersion());
+			}
+		}
+		changeCounterService.markChanged(Tables.TRADE);
+
+		if (tradeToWrite != tradeEntityUpdated) {
+			BeanUtils.copyProperties(tradeToWrite, tradeEntityUpdated);
+		}
+		tradeEntityUpdated.setId(id);
+		if (tradeEntityUpdated.getVersion() != null) {
+			tradeEntityUpdated.setVersion(tradeEntityUpdated.getVersion() + 1);
+		}
+		eventPublisher.publishEvent(new TradeChangeEvent(ChangeType.UPDATED, id, tradeEntityUpdated));
+
+		log.info("[TRADE SERVICE] Updated trade id '{}'", id);
+		return true;
 	}
 
 	/**
@@ -90,10 +220,11 @@ public class TradeService {
 	 * @return									True if the deletion was successful
 	 * @throws TradeServiceException			Thrown if Trade with given ID is not found
 	 */
+	@Transactional
 	public boolean deleteTrade(Integer id) throws TradeServiceException {
-		Optional<Trade> trade = tradeRepository.findTradeById(id);
-		if (id != null && trade.isPresent()) {
-			tradeRepository.delete(trade.get());
+		if (id != null && tradeRepository.deleteTradeById(id) > 0) {
+			changeCounterService.markChanged(Tables.TRADE);
+			eventPublisher.publishEvent(new TradeChangeEvent(ChangeType.DELETED, id, null));
 			log.info("[TRADE SERVICE] Deleted trade id '{}'", id);
 			return true;
 		}
@@ -101,11 +232,11 @@ public class TradeService {
 	}
 
 	public Trade convertDtoToEntity(TradeDto tradeDto) {
-		return modelMapper.map(tradeDto, Trade.class);
+		return tradeMapper.toEntity(tradeDto);
 	}
 
 	public TradeDto convertEntityToDto(Trade tradeEntity) {
-		return modelMapper.map(tradeEntity, TradeDto.class);
+		return tradeMapper.toDto(tradeEntity);
 	}
 
 }
@@ -3,17 +3,25 @@ package com.poseidon.app.services;
 import java.util.List;
 import java.util.Optional;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.KeysetPage;
 import com.poseidon.app.domain.dto.UserDto;
 import com.poseidon.app.exceptions.UserServiceException;
+import com.poseidon.app.mapping.EntityMapper;
 import com.poseidon.app.repositories.UserRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -25,23 +33,33 @@ public class UserService implements UserDetailsService {
 	@Autowired
 	UserRepository userRepository;
 
+	@Autowired
+	ChangeCounterService changeCounterService;
+
 	BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
 	@Autowired
-	ModelMapper modelMapper;
+	EntityMapper<User, UserDto> userMapper;
+
+	@Autowired
+	Cache<String, User> userDetailsCache;
 
 	/**
 	 * Spring Security implemented method
 	 * Allows user connection by using the username provided
+	 * The users are cached by username, the cache is invalidated once the creation, update or deletion
+	 * of a user is committed.
+	 * A copy is returned so that erasing its credentials after the authentication does not change the cache.
 	 *
 	 * @param username							The username that tries to connect to the application
 	 * @throws UsernameNotFoundException		If the username doesn't exist in database
 	 */
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		Optional<User> user = userRepository.findByUsername(username);
-		if (user.isPresent()) {
-			return new User(user.get());
+		User user = userDetailsCache.get(username,
+				key -> userRepository.findByUsername(key).map(User::new).orElse(null));
+		if (user != null) {
+			return new User(user);
 		}
 		throw new UsernameNotFoundException("User not found : " + username);
 	}
@@ -51,10 +69,27 @@ public class UserService implements UserDetailsService {
 	 *
 	 * @return									List<User> : Existing users
 	 */
+	@Transactional(readOnly = true)
 	public List<User> findAllUsers() {
 		return userRepository.findAll();
 	}
 
+	/**
+	 * Get a page of Users, using keyset pagination on the id.
+	 * Only one of "after" and "before" should be given, none of them returns the first page.
+	 *
+	 * @param after								Id of the last user of the current page, to get the next page
+	 * @param before							Id of the first user of the current page, to get the previous page
+	 * @param size								Number of users on the page (between 1 and KeysetPaging.MAX_PAGE_SIZE)
+	 * @param direction							Sort direction of the ids
+	 * @return									KeysetPage<User> with the users of the page
+	 */
+	@Transactional(readOnly = true)
+	public KeysetPage<User> findUserPage(Integer after, Integer before, int size, Sort.Direction direction) {
+		return KeysetPaging.findPage(after, before, size, direction, userRepository::findAllBy,
+				userRepository::findByIdGreaterThan, userRepository::findByIdLessThan, User::getId);
+	}
+
 	/**
 	 * Find a user by its ID
 	 *
@@ -62,6 +97,7 @@ public class UserService implements UserDetailsService {
 	 * @return									The user if it exists in database
 	 * @throws UserServiceException				Thrown if user doesn't exist
 	 */
+	@Transactional(readOnly = true)
 	public User findUserById(Integer userId) throws UserServiceException {
 		Optional<User> user = userRepository.findById(userId);
 		if (userId != null && user.isPresent()) {
@@ -77,10 +113,18 @@ public class UserService implements UserDetailsService {
 	 * @return									True if the creation was successful
 	 * @throws UserServiceException				Thrown if username is already taken
 	 */
+	@Transactional(rollbackFor = UserServiceException.class)
 	public boolean createUser(User userEntity) throws UserServiceException {
-		if (userEntity != null && !userRepository.findByUsername(userEntity.getUsername()).isPresent()) {
+		if (userEntity != null) {
 			userEntity.setPassword(passwordEncoder.encode(userEntity.getPassword()));
-			userRepository.save(userEntity);
+			try {
+				// The unique index on the username rejects a taken username : it is not looked up first
+				userRepository.saveAndFlush(userEntity);
+				changeCounterService.markChanged(Tables.USER);
+			} catch (DataIntegrityViolationException error) {
+				throw new UserServiceException("Username is already taken");
+			}
+			invalidateAfterCommit(userEntity.getUsername());
 
 			log.info("[USER SERVICE] New user with username : '{}' and role '{}' has been created",
 					userEntity.getUsername(), userEntity.getRole());
@@ -97,13 +141,14 @@ public class UserService implements UserDetailsService {
 	 * @return									True if the update was successful
 	 * @throws UserServiceException				Thrown if ID is not found
 	 */
+	@Transactional
 	public boolean updateUser(Integer userId, User userEntityUpdated) throws UserServiceException {
-		Optional<User> user = userRepository.findById(userId);
-		if (userId != null && user.isPresent()) {
-
+		userEntityUpdated.setPassword(passwordEncoder.encode(userEntityUpdated.getPassword()));
+		if (userId != null && userRepository.updateUser(userId, userEntityUpdated) > 0) {
+			changeCounterService.markChanged(Tables.USER);
 			userEntityUpdated.setId(userId);
-			userEntityUpdated.setPassword(passwordEncoder.encode(userEntityUpdated.getPassword()));
-			userRepository.save(userEntityUpdated);
+			// The previous username is not read back : every cached user is dropped, users are rarely updated
+			invalidateAfterCommit(null);
 
 			log.info("[USER SERVICE] Updated user with username : '{}'", userEntityUpdated.getUsername());
 			return true;
@@ -118,21 +163,43 @@ public class UserService implements UserDetailsService {
 	 * @return									True if the deletion was successful
 	 * @throws UserServiceException				Thrown if ID is not found
 	 */
+	@Transactional
 	public boolean deleteUser(Integer userId) throws UserServiceException {
-		Optional<User> user = userRepository.findById(userId);
-		if (userId != null && user.isPresent()) {
-			userRepository.delete(user.get());
-			log.info("[USER SERVICE] Deleted user with username : '{}'", user.get().getUsername());
+		if (userId != null && userRepository.deleteUserById(userId) > 0) {
+			changeCounterService.markChanged(Tables.USER);
+			// The username of the deleted user is not read back : every cached user is dropped
+			invalidateAfterCommit(null);
+			log.info("[USER SERVICE] Deleted user with id : '{}'", userId);
 			return true;
 		}
 		throw new UserServiceException("Could not find user with id : " + userId);
 	}
 
+	/**
+	 * Drop a cached user once the transaction is committed, every cached user when the username is null.
+	 * Dropped before the commit, the previous version of the user could be read again and cached.
+	 */
+	private void invalidateAfterCommit(String username) {
+		Runnable invalidation = username != null ? () -> userDetailsCache.invalidate(username)
+				: userDetailsCache::invalidateAll;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidation.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				invalidation.run();
+			}
+		});
+	}
+
 	public User convertDtoToEntity(UserDto userDto) {
-		return modelMapper.map(userDto, User.class);
+		return userMapper.toEntity(userDto);
 	}
 
 	public UserDto convertEntityToDto(User userEntity) {
-		return modelMapper.map(userEntity, UserDto.class);
+		return userMapper.toDto(userEntity);
 	}
 }
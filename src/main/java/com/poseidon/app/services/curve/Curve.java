@@ -0,0 +1,132 @@
+package com.poseidon.app.services.curve;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * The points of one curve at one date, sorted by term in primitive arrays.
+ * A Curve is immutable : a change of one of its points builds a new Curve, so it can be read
+ * by any number of threads without locks. Looking up a value is a binary search and allocates nothing.
+ */
+public final class Curve {
+
+	private final int curveId;
+
+	private final Timestamp asOfDate;
+
+	private final double[] terms;
+
+	private final double[] values;
+
+	private final double[] logValues;
+
+	// Second derivatives of the natural cubic spline at each term
+	private final double[] secondDerivatives;
+
+	/**
+	 * @param terms								The terms, sorted and without duplicates
+	 * @param values							The value at each term
+	 */
+	Curve(int curveId, Timestamp asOfDate, double[] terms, double[] values) {
+		this.curveId = curveId;
+		this.asOfDate = asOfDate;
+		this.terms = terms;
+		this.values = values;
+		this.logValues = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			logValues[i] = Math.log(values[i]);
+		}
+		this.secondDerivatives = naturalSpline(terms, values);
+	}
+
+	public int getCurveId() {
+		return curveId;
+	}
+
+	public Timestamp getAsOfDate() {
+		return asOfDate;
+	}
+
+	public int size() {
+		return terms.length;
+	}
+
+	public double[] getTerms() {
+		return terms.clone();
+	}
+
+	public double[] getValues() {
+		return values.clone();
+	}
+
+	/**
+	 * Get the value of the curve at a term
+	 *
+	 * @param term								The term to get the value at
+	 * @param interpolation						How the value is computed between two terms
+	 * @return									The value at the term, NaN if the curve has no point
+	 */
+	public double valueAt(double term, Interpolation interpolation) {
+		int n = terms.length;
+		if (n == 0) {
+			return Double.NaN;
+		}
+		if (term <= terms[0]) {
+			return values[0];
+		}
+		if (term >= terms[n - 1]) {
+			return values[n - 1];
+		}
+
+		int index = Arrays.binarySearch(terms, term);
+		if (index >= 0) {
+			return values[index];
+		}
+
+		int high = -index - 1;
+		int low = high - 1;
+		double width = terms[high] - terms[low];
+		double a = (terms[high] - term) / width;
+		double b = 1 - a;
+
+		switch (interpolation) {
+		case LOG_LINEAR:
+			// A value that is zero or negative has no logarithm, its segment is interpolated linearly
+			if (values[low] > 0 && values[high] > 0) {
+				return Math.exp(a * logValues[low] + b * logValues[high]);
+			}
+			return a * values[low] + b * values[high];
+		case CUBIC_SPLINE:
+			return a * values[low] + b * values[high] + ((a * a * a - a) * secondDerivatives[low]
+					+ (b * b * b - b) * secondDerivatives[high]) * width * width / 6;
+		case LINEAR:
+		default:
+			return a * values[low] + b * values[high];
+		}
+	}
+
+	/**
+	 * Solve the tridiagonal system of a natural cubic spline (zero second derivative at both ends)
+	 */
+	private static double[] naturalSpline(double[] x, double[] y) {
+		int n = x.length;
+		double[] y2 = new double[n];
+		if (n < 3) {
+			return y2;
+		}
+
+		double[] u = new double[n - 1];
+		for (int i = 1; i < n - 1; i++) {
+			double sigma = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
+			double p = sigma * y2[i - 1] + 2;
+			y2[i] = (sigma - 1) / p;
+			double slopes = (y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+			u[i] = (6 * slopes / (x[i + 1] - x[i - 1]) - sigma * u[i - 1]) / p;
+		}
+		y2[n - 1] = 0;
+		for (int k = n - 2; k >= 0; k--) {
+			y2[k] = y2[k] * y2[k + 1] + u[k];
+		}
+		return y2;
+	}
+}
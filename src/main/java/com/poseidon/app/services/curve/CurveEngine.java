@@ -0,0 +1,228 @@
+package com.poseidon.app.services.curve;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.CurvePointChangeEvent;
+import com.poseidon.app.repositories.CurvePointRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Interpolated curves built from the curve points, one Curve per curve id and as of date.
+ * The curves are built once from the curvepoint table, then only the curve of a point changed
+ * through the CurvePointService is rebuilt. Curve points without a curve id, a term or a value are ignored.
+ */
+@Slf4j
+@Service
+public class CurveEngine {
+
+	private static final int LOAD_PAGE_SIZE = 1000;
+
+	// Curves without an as of date sort before every dated curve of the same id
+	private static final long UNDATED = Long.MIN_VALUE;
+
+	@Autowired
+	CurvePointRepository curvePointRepository;
+
+	// Curve id -> as of date (epoch millis) -> curve
+	private final Map<Integer, NavigableMap<Long, Curve>> curves = new ConcurrentHashMap<>();
+
+	// Points of each curve, by curve point id
+	private final Map<CurveKey, Map<Integer, Point>> curvePoints = new ConcurrentHashMap<>();
+
+	// Curve each point belongs to, so an update or a delete finds it without reading the point
+	private final Map<Integer, CurveKey> pointCurves = new ConcurrentHashMap<>();
+
+	/**
+	 * Build every curve from the curvepoint table when the application is ready
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadCurves() {
+		long start = System.nanoTime();
+		Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+		Slice<CurvePoint> slice = curvePointRepository.findAllBy(pageable);
+		long loaded = 0;
+
+		while (true) {
+			for (CurvePoint curvePoint : slice.getContent()) {
+				CurveKey key = CurveKey.of(curvePoint);
+				// A point already changed by an event while the table is read is skipped
+				if (key != null && pointCurves.putIfAbsent(curvePoint.getId(), key) == null) {
+					curvePoints.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(curvePoint.getId(),
+							new Point(curvePoint.getId(), curvePoint.getTerm(), curvePoint.getValue()));
+					loaded++;
+				}
+			}
+			if (!slice.hasNext() || slice.getContent().isEmpty()) {
+				break;
+			}
+			Integer lastId = slice.getContent().get(slice.getContent().size() - 1).getId();
+			slice = curvePointRepository.findByIdGreaterThan(lastId, pageable);
+		}
+
+		for (CurveKey key : curvePoints.keySet()) {
+			rebuild(key, null);
+		}
+
+		log.info("[CURVE ENGINE] Loaded {} curve points in {} curves in {} ms", loaded, curvePoints.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Rebuild the curve of the changed point, and its previous curve if the point moved to another curve.
+	 * Runs after the commit : the curves are never built from a point that was rolled back.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCurvePointChange(CurvePointChangeEvent event) {
+		Integer pointId = event.getId();
+		if (pointId == null) {
+			return;
+		}
+
+		CurvePoint curvePoint = event.getType() != ChangeType.DELETED ? event.getCurvePoint() : null;
+		CurveKey key = curvePoint != null ? CurveKey.of(curvePoint) : null;
+
+		CurveKey previous = key != null ? pointCurves.put(pointId, key) : pointCurves.remove(pointId);
+		if (previous != null && !previous.equals(key)) {
+			rebuild(previous, points -> points.remove(pointId));
+		}
+		if (key != null) {
+			Point point = new Point(pointId, curvePoint.getTerm(), curvePoint.getValue());
+			rebuild(key, points -> points.put(pointId, point));
+		}
+	}
+
+	/**
+	 * Find a curve
+	 *
+	 * @param curveId							The id of the curve
+	 * @param asOfDate							The date of the curve, null for the latest curve of this id
+	 * @return									The Curve, null if there is no such curve
+	 */
+	public Curve findCurve(Integer curveId, Timestamp asOfDate) {
+		NavigableMap<Long, Curve> dates = curveId != null ? curves.get(curveId) : null;
+		if (dates == null || dates.isEmpty()) {
+			return null;
+		}
+		if (asOfDate == null) {
+			Map.Entry<Long, Curve> latest = dates.lastEntry();
+			return latest != null ? latest.getValue() : null;
+		}
+		return dates.get(asOfDate.getTime());
+	}
+
+	/**
+	 * Get the value of a curve at a term
+	 *
+	 * @param curveId							The id of the curve
+	 * @param asOfDate							The date of the curve, null for the latest curve of this id
+	 * @param term								The term to get the value at
+	 * @param interpolation						How the value is computed between two terms
+	 * @return									The interpolated value, NaN if there is no such curve
+	 */
+	public double valueAt(Integer curveId, Timestamp asOfDate, double term, Interpolation interpolation) {
+		Curve curve = findCurve(curveId, asOfDate);
+		return curve != null ? curve.valueAt(term, interpolation) : Double.NaN;
+	}
+
+	/**
+	 * Apply a change to the points of a curve and publish the new Curve built from them.
+	 * The change and the build run while holding the map entry of the curve, so two changes of a curve
+	 * are applied one after the other and the last published Curve has both.
+	 */
+	private void rebuild(CurveKey key, Consumer<Map<Integer, Point>> change) {
+		curvePoints.compute(key, (k, points) -> {
+			Map<Integer, Point> updated = points != null ? points : new ConcurrentHashMap<>();
+			if (change != null) {
+				change.accept(updated);
+			}
+
+			NavigableMap<Long, Curve> dates = curves.computeIfAbsent(key.curveId,
+					id -> new ConcurrentSkipListMap<>());
+			if (updated.isEmpty()) {
+				dates.remove(key.asOfDate);
+				return null;
+			}
+			dates.put(key.asOfDate, build(key, updated.values()));
+			return updated;
+		});
+	}
+
+	/**
+	 * Sort the points by term into primitive arrays. When two points share a term, the last created one is kept.
+	 */
+	private static Curve build(CurveKey key, Iterable<Point> points) {
+		List<Point> sorted = new ArrayList<>();
+		points.forEach(sorted::add);
+		sorted.sort(Comparator.comparingDouble((Point point) -> point.term).thenComparingInt(point -> point.id));
+
+		double[] terms = new double[sorted.size()];
+		double[] values = new double[sorted.size()];
+		int size = 0;
+		for (Point point : sorted) {
+			if (size > 0 && terms[size - 1] == point.term) {
+				size--;
+			}
+			terms[size] = point.term;
+			values[size] = point.value;
+			size++;
+		}
+
+		Timestamp asOfDate = key.asOfDate != UNDATED ? new Timestamp(key.asOfDate) : null;
+		return new Curve(key.curveId, asOfDate, Arrays.copyOf(terms, size), Arrays.copyOf(values, size));
+	}
+
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static final class CurveKey {
+
+		private final int curveId;
+
+		private final long asOfDate;
+
+		/**
+		 * @return								The key of the curve of the point, null if the point can not be on a curve
+		 */
+		private static CurveKey of(CurvePoint curvePoint) {
+			if (curvePoint.getCurveId() == null || curvePoint.getTerm() == null || curvePoint.getValue() == null) {
+				return null;
+			}
+			long asOfDate = curvePoint.getAsOfDate() != null ? curvePoint.getAsOfDate().getTime() : UNDATED;
+			return new CurveKey(curvePoint.getCurveId(), asOfDate);
+		}
+	}
+
+	@AllArgsConstructor
+	private static final class Point {
+
+		private final int id;
+
+		private final double term;
+
+		private final double value;
+	}
+}
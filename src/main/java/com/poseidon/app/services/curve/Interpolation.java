@@ -0,0 +1,20 @@
+package com.poseidon.app.services.curve;
+
+/**
+ * How a curve value is computed between two terms.
+ * Outside of the first and last terms, every method extrapolates flat.
+ */
+public enum Interpolation {
+
+	/** Straight line between the two surrounding points */
+	LINEAR,
+
+	/**
+	 * Straight line between the logarithms of the values, for discount factors.
+	 * A segment with a value that is zero or negative is interpolated linearly
+	 */
+	LOG_LINEAR,
+
+	/** Natural cubic spline through every point of the curve */
+	CUBIC_SPLINE
+}
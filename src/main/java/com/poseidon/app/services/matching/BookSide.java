@@ -0,0 +1,92 @@
+package com.poseidon.app.services.matching;
+
+import java.util.Arrays;
+
+/**
+ * One side of an order book : its price levels sorted on a primitive long[] of keys.
+ * Keys are the prices for the bids and the negated prices for the asks, so on both sides
+ * the best level is the last one and consuming it never shifts the array.
+ */
+final class BookSide {
+
+	private final Side side;
+
+	private long[] keys = new long[16];
+
+	private PriceLevel[] levels = new PriceLevel[16];
+
+	private int count;
+
+	BookSide(Side side) {
+		this.side = side;
+	}
+
+	int levelCount() {
+		return count;
+	}
+
+	PriceLevel best() {
+		return count == 0 ? null : levels[count - 1];
+	}
+
+	/**
+	 * Check if an incoming order of the opposite side at the given price can trade with the best level
+	 */
+	boolean crosses(long price) {
+		if (count == 0) {
+			return false;
+		}
+		long bestPrice = levels[count - 1].getPrice();
+		return side == Side.BUY ? bestPrice >= price : bestPrice <= price;
+	}
+
+	void add(long price, int orderId, double quantity) {
+		long key = key(price);
+		int index = Arrays.binarySearch(keys, 0, count, key);
+		if (index < 0) {
+			index = -index - 1;
+			insertLevel(index, key, new PriceLevel(price));
+		}
+		levels[index].add(orderId, quantity);
+	}
+
+	boolean remove(long price, int orderId) {
+		int index = Arrays.binarySearch(keys, 0, count, key(price));
+		if (index < 0) {
+			return false;
+		}
+		boolean removed = levels[index].remove(orderId);
+		if (levels[index].isEmpty()) {
+			removeLevel(index);
+		}
+		return removed;
+	}
+
+	void removeBestIfEmpty() {
+		if (count > 0 && levels[count - 1].isEmpty()) {
+			levels[--count] = null;
+		}
+	}
+
+	private long key(long price) {
+		return side == Side.BUY ? price : -price;
+	}
+
+	private void insertLevel(int index, long key, PriceLevel level) {
+		if (count == keys.length) {
+			keys = Arrays.copyOf(keys, count * 2);
+			levels = Arrays.copyOf(levels, count * 2);
+		}
+		System.arraycopy(keys, index, keys, index + 1, count - index);
+		System.arraycopy(levels, index, levels, index + 1, count - index);
+		keys[index] = key;
+		levels[index] = level;
+		count++;
+	}
+
+	private void removeLevel(int index) {
+		System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+		System.arraycopy(levels, index + 1, levels, index, count - index - 1);
+		levels[--count] = null;
+	}
+}
@@ -0,0 +1,29 @@
+package com.poseidon.app.services.matching;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * An execution between a buy order and a sell order of the same security.
+ * The remaining quantities are what is left on each order after this execution.
+ */
+@Data
+@AllArgsConstructor
+public class Fill {
+
+	private String security;
+
+	private int buyOrderId;
+
+	private int sellOrderId;
+
+	private double price;
+
+	private double quantity;
+
+	private double buyRemaining;
+
+	private double sellRemaining;
+
+	private Side aggressor;
+}
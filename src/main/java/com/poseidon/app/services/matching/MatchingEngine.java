@@ -0,0 +1,437 @@
+package com.poseidon.app.services.matching;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.repositories.BidRepository;
+import com.poseidon.app.services.BidService;
+import com.poseidon.app.services.TradeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory order books built from the bid table, one per security.
+ * Each security is owned by a single writer thread, every change of its book runs on that thread,
+ * so the books need no locks. The executions are booked as trades through the TradeService,
+ * and the quantities left on the matched bids are saved through the BidService.
+ */
+@Slf4j
+@Service
+public class MatchingEngine {
+
+	private static final double TICKS_PER_UNIT = 1_000_000d;
+
+	private static final int LOAD_PAGE_SIZE = 1000;
+
+	private static final String ENGINE_NAME = "MATCHING ENGINE";
+
+	@Autowired
+	BidRepository bidRepository;
+
+	@Autowired
+	BidService bidService;
+
+	@Autowired
+	TradeService tradeService;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Value("${poseidon.matching.enabled:true}")
+	boolean enabled;
+
+	@Value("${poseidon.matching.writer-threads:4}")
+	int writerThreads;
+
+	private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+
+	final Map<Integer, OrderRef> orders = new ConcurrentHashMap<>();
+
+	private ExecutorService[] writers;
+
+	@PostConstruct
+	public void start() {
+		writers = new ExecutorService[Math.max(1, writerThreads)];
+		for (int i = 0; i < writers.length; i++) {
+			String threadName = "matching-writer-" + i;
+			writers[i] = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, threadName);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		for (ExecutorService writer : writers) {
+			writer.shutdown();
+		}
+	}
+
+	/**
+	 * Build the order books from the bid table when the application is ready.
+	 * Bids are read by pages of ids and rested in the books without matching.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadBooks() {
+		if (!enabled) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+		Slice<Bid> slice = bidRepository.findAllBy(pageable);
+		long loaded = 0;
+
+		while (true) {
+			for (Bid bid : slice.getContent()) {
+				if (isQuoted(bid)) {
+					submitToWriter(bid.getSecurity(), book -> {
+						rest(book, bid);
+						return null;
+					});
+					loaded++;
+				}
+			}
+			if (!slice.hasNext() || slice.getContent().isEmpty()) {
+				break;
+			}
+			Integer lastId = slice.getContent().get(slice.getContent().size() - 1).getId();
+			slice = bidRepository.findByIdGreaterThan(lastId, pageable);
+		}
+
+		// Writers run their tasks in order : once an empty task ran on each of them, the books are loaded
+		for (ExecutorService writer : writers) {
+			await(writer.submit(() -> null));
+		}
+
+		log.info("[MATCHING ENGINE] Loaded {} bids in {} order books in {} ms", loaded, books.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Keep the books up to date with the BidService : a created or updated bid is matched
+	 * against its book, a deleted bid is cancelled.
+	 * The books only see committed bids : a rolled back change never reaches them.
+	 * A filled bid comes from the engine itself, its book already holds the quantities left.
+	 * If the executions cannot be booked, the book of the security is built again from the bid table.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBidChange(BidChangeEvent event) {
+		if (!enabled || event.getId() == null || event.getType() == ChangeType.FILLED) {
+			return;
+		}
+
+		int orderId = event.getId();
+		Bid bid = event.getBid();
+		boolean quoted = event.getType() != ChangeType.DELETED && isQuoted(bid);
+
+		// The orders are only changed on the writer of their security, in order with the changes of its book
+		OrderRef previous = orders.get(orderId);
+		if (previous != null && (!quoted || !previous.security.equals(bid.getSecurity()))) {
+			onWriter(previous.security, book -> {
+				orders.remove(orderId);
+				book.cancel(orderId);
+				return null;
+			});
+		}
+		if (!quoted) {
+			return;
+		}
+
+		String security = bid.getSecurity();
+		Long bidPrice = bidPrice(bid);
+		Long askPrice = askPrice(bid);
+		double bidQuantity = bidPrice != null ? bid.getBidQuantity() : 0;
+		double askQuantity = askPrice != null ? bid.getAskQuantity() : 0;
+
+		long start = System.nanoTime();
+		List<Fill> fills = onWriter(security, book -> {
+			orders.put(orderId, new OrderRef(bid));
+			return book.submit(orderId, bidPrice, bidQuantity, askPrice, askQuantity);
+		});
+		log.debug("[MATCHING ENGINE] Bid '{}' matched in {} us", orderId,
+				TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+
+		if (fills.isEmpty()) {
+			return;
+		}
+		if (bookExecutions(fills)) {
+			onWriter(security, book -> {
+				forgetFilledOrders(fills);
+				return null;
+			});
+			log.info("[MATCHING ENGINE] Bid '{}' on '{}' was executed {} time(s)", orderId, security, fills.size());
+		} else {
+			// The book holds executions that were not saved : it goes back to what the bid table holds
+			int rested = onWriter(security, this::reload);
+			log.warn("[MATCHING ENGINE] Order book of '{}' was built again with {} bids", security, rested);
+		}
+	}
+
+	/**
+	 * Get the best buy price of a security
+	 *
+	 * @param security							The security of the order book
+	 * @return									The highest bid, null if there is no buy order
+	 */
+	public Double bestBid(String security) {
+		return onWriter(security, OrderBook::bestBid);
+	}
+
+	/**
+	 * Get the best sell price of a security
+	 *
+	 * @param security							The security of the order book
+	 * @return									The lowest ask, null if there is no sell order
+	 */
+	public Double bestAsk(String security) {
+		return onWriter(security, OrderBook::bestAsk);
+	}
+
+	static long toTicks(double price) {
+		return Math.round(price * TICKS_PER_UNIT);
+	}
+
+	static double toPrice(long ticks) {
+		return ticks / TICKS_PER_UNIT;
+	}
+
+	/**
+	 * Book both sides of each execution as trades, then save the quantities left on the matched bids.
+	 * The bid change that triggered the match is already committed, so the executions run in a new transaction :
+	 * the quantities are only saved with the trades, none of them is written if the booking fails.
+	 *
+	 * @return									True if the trades and the quantities were committed
+	 */
+	private boolean bookExecutions(List<Fill> fills) {
+		Map<Integer, Double> bidQuantities = new LinkedHashMap<>();
+		Map<Integer, Double> askQuantities = new LinkedHashMap<>();
+		List<Trade> trades = new ArrayList<>(fills.size() * 2);
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+
+		for (Fill fill : fills) {
+			trades.add(toTrade(fill, Side.BUY, now));
+			trades.add(toTrade(fill, Side.SELL, now));
+			bidQuantities.put(fill.getBuyOrderId(), fill.getBuyRemaining());
+			askQuantities.put(fill.getSellOrderId(), fill.getSellRemaining());
+		}
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		try {
+			return transactionTemplate.execute(status -> {
+				// Every trade of the match is inserted in a single JDBC batch
+				try {
+					tradeService.createTrades(trades);
+				} catch (TradeServiceException error) {
+					status.setRollbackOnly();
+					log.error("[MATCHING ENGINE] Could not book the {} execution(s) of bid '{}' : {}", fills.size(),
+							fills.get(0).getBuyOrderId(), error.getMessage());
+					return false;
+				}
+
+				bidService.fillBids(bidQuantities, askQuantities);
+				return true;
+			});
+		} catch (RuntimeException error) {
+			log.error("[MATCHING ENGINE] Could not save the {} execution(s) of bid '{}' : {}", fills.size(),
+					fills.get(0).getBuyOrderId(), error.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Replace the book of a security by the quoted bids of the bid table, rested without matching.
+	 * Runs on the writer of the security, so no other change of the book can happen meanwhile.
+	 *
+	 * @return									The number of bids in the new book
+	 */
+	private int reload(OrderBook previous) {
+		String security = previous.getSecurity();
+		OrderBook book = new OrderBook(security);
+		orders.values().removeIf(order -> order.security.equals(security));
+
+		int rested = 0;
+		for (Bid bid : bidRepository.findBySecurity(security)) {
+			if (isQuoted(bid)) {
+				rest(book, bid);
+				rested++;
+			}
+		}
+		books.put(security, book);
+		return rested;
+	}
+
+	/**
+	 * Add the quotes of a bid to a book without matching them
+	 */
+	private void rest(OrderBook book, Bid bid) {
+		int orderId = bid.getId();
+		Long bidPrice = bidPrice(bid);
+		Long askPrice = askPrice(bid);
+		orders.put(orderId, new OrderRef(bid));
+		if (bidPrice != null) {
+			book.rest(Side.BUY, orderId, bidPrice, bid.getBidQuantity());
+		}
+		if (askPrice != null) {
+			book.rest(Side.SELL, orderId, askPrice, bid.getAskQuantity());
+		}
+	}
+
+	/**
+	 * Forget the orders left without any quantity on both sides : they are no longer in their book
+	 */
+	private void forgetFilledOrders(List<Fill> fills) {
+		for (Fill fill : fills) {
+			orders.computeIfPresent(fill.getBuyOrderId(), (orderId, order) -> order.filled(Side.BUY,
+					fill.getBuyRemaining()));
+			orders.computeIfPresent(fill.getSellOrderId(), (orderId, order) -> order.filled(Side.SELL,
+					fill.getSellRemaining()));
+		}
+	}
+
+	private Trade toTrade(Fill fill, Side side, Timestamp now) {
+		int orderId = side == Side.BUY ? fill.getBuyOrderId() : fill.getSellOrderId();
+		OrderRef order = orders.get(orderId);
+
+		Trade trade = new Trade();
+		if (side == Side.BUY) {
+			trade.setBuyQuantity(fill.getQuantity());
+			trade.setBuyPrice(fill.getPrice());
+		} else {
+			trade.setSellQuantity(fill.getQuantity());
+			trade.setSellPrice(fill.getPrice());
+		}
+		if (order != null) {
+			trade.setAccount(order.account);
+			trade.setType(order.type);
+			trade.setBook(order.book);
+			trade.setTrader(order.trader);
+		}
+		trade.setSecurity(fill.getSecurity());
+		trade.setSide(side.name());
+		trade.setStatus("FILLED");
+		trade.setTradeDate(now);
+		trade.setCreationName(ENGINE_NAME);
+		trade.setCreationDate(now);
+		trade.setDealName(String.format("MATCH %d/%d", fill.getBuyOrderId(), fill.getSellOrderId()));
+		trade.setSourceListId(String.valueOf(orderId));
+		return trade;
+	}
+
+	private static boolean isQuoted(Bid bid) {
+		return bid != null && bid.getSecurity() != null && (bidPrice(bid) != null || askPrice(bid) != null);
+	}
+
+	private static Long bidPrice(Bid bid) {
+		boolean quoted = bid.getBid() != null && bid.getBidQuantity() != null && bid.getBidQuantity() > 0;
+		return quoted ? toTicks(bid.getBid()) : null;
+	}
+
+	private static Long askPrice(Bid bid) {
+		boolean quoted = bid.getAsk() != null && bid.getAskQuantity() != null && bid.getAskQuantity() > 0;
+		return quoted ? toTicks(bid.getAsk()) : null;
+	}
+
+	/**
+	 * Run a task on the book of a security, on the writer thread of that security, and wait for its result
+	 */
+	private <T> T onWriter(String security, Function<OrderBook, T> task) {
+		return await(submitToWriter(security, task));
+	}
+
+	private <T> Future<T> submitToWriter(String security, Function<OrderBook, T> task) {
+		ExecutorService writer = writers[Math.floorMod(security.hashCode(), writers.length)];
+		return writer.submit(() -> task.apply(books.computeIfAbsent(security, OrderBook::new)));
+	}
+
+	private static <T> T await(Future<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException error) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the matching engine", error);
+		} catch (ExecutionException error) {
+			throw new IllegalStateException("The matching engine failed", error.getCause());
+		}
+	}
+
+	/**
+	 * What the engine needs to know about a bid to book its executions, with the quantities left on each side
+	 */
+	private static final class OrderRef {
+
+		private final String security;
+
+		private final String account;
+
+		private final String type;
+
+		private final String book;
+
+		private final String trader;
+
+		private final double buyRemaining;
+
+		private final double sellRemaining;
+
+		private OrderRef(Bid bid) {
+			this(bid.getSecurity(), bid.getAccount(), bid.getType(), bid.getBook(), bid.getTrader(),
+					bidPrice(bid) != null ? bid.getBidQuantity() : 0, askPrice(bid) != null ? bid.getAskQuantity() : 0);
+		}
+
+		private OrderRef(String security, String account, String type, String book, String trader,
+				double buyRemaining, double sellRemaining) {
+			this.security = security;
+			this.account = account;
+			this.type = type;
+			this.book = book;
+			this.trader = trader;
+			this.buyRemaining = buyRemaining;
+			this.sellRemaining = sellRemaining;
+		}
+
+		/**
+		 * The same order with the quantity left on one side, null once nothing is left on both sides
+		 */
+		private OrderRef filled(Side side, double remaining) {
+			double buy = side == Side.BUY ? remaining : buyRemaining;
+			double sell = side == Side.SELL ? remaining : sellRemaining;
+			return buy > 0 || sell > 0 ? new OrderRef(security, account, type, book, trader, buy, sell) : null;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.poseidon.app.services.matching;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order book of one security, matching with price-time priority.
+ * An order book is not thread-safe : it must only be used by the writer thread of its security.
+ */
+final class OrderBook {
+
+	private final String security;
+
+	private final BookSide bids = new BookSide(Side.BUY);
+
+	private final BookSide asks = new BookSide(Side.SELL);
+
+	// Price of the resting orders, to find their level when they are cancelled
+	private final Map<Integer, Long> bidPrices = new HashMap<>();
+
+	private final Map<Integer, Long> askPrices = new HashMap<>();
+
+	OrderBook(String security) {
+		this.security = security;
+	}
+
+	String getSecurity() {
+		return security;
+	}
+
+	/**
+	 * Submit the quotes of a bid row : any previous quote of the row is cancelled,
+	 * the buy order then the sell order are matched against the book, and what is left rests in the book.
+	 * Prices are null when the row does not quote the side.
+	 *
+	 * @return									The executions, in the order they happened
+	 */
+	List<Fill> submit(int orderId, Long bidPrice, double bidQuantity, Long askPrice, double askQuantity) {
+		cancel(orderId);
+		List<Fill> fills = new ArrayList<>();
+
+		// Both sides are matched before resting, so a row never trades against itself
+		double bidLeft = bidPrice != null ? match(Side.BUY, orderId, bidPrice, bidQuantity, fills) : 0;
+		double askLeft = askPrice != null ? match(Side.SELL, orderId, askPrice, askQuantity, fills) : 0;
+
+		if (bidLeft > PriceLevel.EPSILON) {
+			rest(Side.BUY, orderId, bidPrice, bidLeft);
+		}
+		if (askLeft > PriceLevel.EPSILON) {
+			rest(Side.SELL, orderId, askPrice, askLeft);
+		}
+		return fills;
+	}
+
+	/**
+	 * Add an order to the book without matching it
+	 */
+	void rest(Side side, int orderId, long price, double quantity) {
+		if (side == Side.BUY) {
+			bids.add(price, orderId, quantity);
+			bidPrices.put(orderId, price);
+		} else {
+			asks.add(price, orderId, quantity);
+			askPrices.put(orderId, price);
+		}
+	}
+
+	/**
+	 * Remove both orders of a bid row from the book
+	 */
+	void cancel(int orderId) {
+		Long bidPrice = bidPrices.remove(orderId);
+		if (bidPrice != null) {
+			bids.remove(bidPrice, orderId);
+		}
+		Long askPrice = askPrices.remove(orderId);
+		if (askPrice != null) {
+			asks.remove(askPrice, orderId);
+		}
+	}
+
+	private double match(Side side, int orderId, long price, double quantity, List<Fill> fills) {
+		BookSide opposite = side == Side.BUY ? asks : bids;
+		Map<Integer, Long> oppositePrices = side == Side.BUY ? askPrices : bidPrices;
+		double left = quantity;
+
+		while (left > PriceLevel.EPSILON && opposite.crosses(price)) {
+			PriceLevel level = opposite.best();
+			int restingId = level.headOrderId();
+			double executed = Math.min(left, level.headQuantity());
+			double restingLeft = level.fillHead(executed);
+			left -= executed;
+			if (left <= PriceLevel.EPSILON) {
+				left = 0;
+			}
+
+			if (restingLeft == 0) {
+				oppositePrices.remove(restingId);
+			}
+			opposite.removeBestIfEmpty();
+
+			// The execution happens at the price of the resting order
+			double executionPrice = MatchingEngine.toPrice(level.getPrice());
+			if (side == Side.BUY) {
+				fills.add(new Fill(security, orderId, restingId, executionPrice, executed, left, restingLeft,
+						Side.BUY));
+			} else {
+				fills.add(new Fill(security, restingId, orderId, executionPrice, executed, restingLeft, left,
+						Side.SELL));
+			}
+		}
+		return left;
+	}
+
+	Double bestBid() {
+		PriceLevel level = bids.best();
+		return level == null ? null : MatchingEngine.toPrice(level.getPrice());
+	}
+
+	Double bestAsk() {
+		PriceLevel level = asks.best();
+		return level == null ? null : MatchingEngine.toPrice(level.getPrice());
+	}
+
+	int orderCount() {
+		return bidPrices.size() + askPrices.size();
+	}
+}
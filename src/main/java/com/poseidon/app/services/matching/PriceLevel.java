@@ -0,0 +1,115 @@
+package com.poseidon.app.services.matching;
+
+/**
+ * Orders resting at one price, in time priority (first in, first out).
+ * Order ids and quantities are kept in parallel primitive arrays used as a ring buffer,
+ * so adding and filling orders does not allocate.
+ */
+final class PriceLevel {
+
+	static final double EPSILON = 1e-9;
+
+	private final long price;
+
+	private int[] orderIds = new int[4];
+
+	private double[] quantities = new double[4];
+
+	private int head;
+
+	private int size;
+
+	PriceLevel(long price) {
+		this.price = price;
+	}
+
+	long getPrice() {
+		return price;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int headOrderId() {
+		return orderIds[head];
+	}
+
+	double headQuantity() {
+		return quantities[head];
+	}
+
+	void add(int orderId, double quantity) {
+		if (size == orderIds.length) {
+			grow();
+		}
+		int tail = (head + size) % orderIds.length;
+		orderIds[tail] = orderId;
+		quantities[tail] = quantity;
+		size++;
+	}
+
+	/**
+	 * Execute a quantity against the oldest order, which is removed once fully filled
+	 *
+	 * @param quantity							The executed quantity, at most the head quantity
+	 * @return									The quantity left on the oldest order
+	 */
+	double fillHead(double quantity) {
+		double remaining = quantities[head] - quantity;
+		if (remaining <= EPSILON) {
+			head = (head + 1) % orderIds.length;
+			size--;
+			return 0;
+		}
+		quantities[head] = remaining;
+		return remaining;
+	}
+
+	/**
+	 * Remove an order from the level, the orders behind it keep their priority
+	 *
+	 * @param orderId							The order to remove
+	 * @return									True if the order was in this level
+	 */
+	boolean remove(int orderId) {
+		int capacity = orderIds.length;
+		for (int i = 0; i < size; i++) {
+			if (orderIds[(head + i) % capacity] == orderId) {
+				for (int j = i; j < size - 1; j++) {
+					int to = (head + j) % capacity;
+					int from = (head + j + 1) % capacity;
+					orderIds[to] = orderIds[from];
+					quantities[to] = quantities[from];
+				}
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	double totalQuantity() {
+		double total = 0;
+		for (int i = 0; i < size; i++) {
+			total += quantities[(head + i) % orderIds.length];
+		}
+		return total;
+	}
+
+	private void grow() {
+		int[] newOrderIds = new int[orderIds.length * 2];
+		double[] newQuantities = new double[quantities.length * 2];
+		for (int i = 0; i < size; i++) {
+			newOrderIds[i] = orderIds[(head + i) % orderIds.length];
+			newQuantities[i] = quantities[(head + i) % quantities.length];
+		}
+		orderIds = newOrderIds;
+		quantities = newQuantities;
+		head = 0;
+	}
+}
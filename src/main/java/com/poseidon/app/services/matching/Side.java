@@ -0,0 +1,10 @@
+package com.poseidon.app.services.matching;
+
+/**
+ * Side of an order : a bid row quotes a buy order (bid / bidQuantity) and a sell order (ask / askQuantity)
+ */
+public enum Side {
+
+	BUY,
+	SELL
+}
@@ -0,0 +1,13 @@
+package com.poseidon.app.services.pnl;
+
+/**
+ * How the open lots of a position are closed when the position is reduced
+ */
+public enum CostMethod {
+
+	/** The oldest open lot is closed first */
+	FIFO,
+
+	/** Open lots are merged in a single lot at their average price */
+	AVERAGE
+}
@@ -0,0 +1,126 @@
+package com.poseidon.app.services.pnl;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.PnlLine;
+
+/**
+ * Trades of one security in one book, in id order, and the lots they build.
+ * A trade appended after the last one is applied to the lots right away; a trade changed or removed
+ * in the middle of the history marks the ledger dirty and the lots are rebuilt on the next read.
+ */
+final class Ledger {
+
+	private final String book;
+
+	private final String security;
+
+	private final CostMethod costMethod;
+
+	private final NavigableMap<Integer, Legs> trades = new TreeMap<>();
+
+	private Lots lots;
+
+	private boolean dirty;
+
+	Ledger(String book, String security, CostMethod costMethod) {
+		this.book = book;
+		this.security = security;
+		this.costMethod = costMethod;
+		this.lots = new Lots(costMethod);
+	}
+
+	String getSecurity() {
+		return security;
+	}
+
+	synchronized void put(int tradeId, Legs legs) {
+		boolean appended = trades.isEmpty() || tradeId > trades.lastKey();
+		trades.put(tradeId, legs);
+		if (appended && !dirty) {
+			legs.applyTo(lots);
+		} else {
+			dirty = true;
+		}
+	}
+
+	synchronized void remove(int tradeId) {
+		if (trades.remove(tradeId) != null) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Get the P&L of the ledger, rebuilding its lots from the trades first if needed
+	 *
+	 * @param markPrice							The price the open position is valued at, null if unknown
+	 * @return									PnlLine of the security
+	 */
+	synchronized PnlLine snapshot(Double markPrice) {
+		if (dirty) {
+			lots = new Lots(costMethod);
+			for (Legs legs : trades.values()) {
+				legs.applyTo(lots);
+			}
+			dirty = false;
+		}
+
+		double position = lots.position();
+		double cost = lots.cost();
+		Double averageCost = Math.abs(position) > Lots.EPSILON ? cost / position : null;
+		double unrealized = markPrice != null ? position * markPrice - cost : 0;
+		return new PnlLine(book, security, position, averageCost, markPrice, lots.realized(), unrealized);
+	}
+
+	/**
+	 * The buy and sell legs of a trade, a trade can fill both
+	 */
+	static final class Legs {
+
+		private final double buyQuantity;
+
+		private final double buyPrice;
+
+		private final double sellQuantity;
+
+		private final double sellPrice;
+
+		private Legs(double buyQuantity, double buyPrice, double sellQuantity, double sellPrice) {
+			this.buyQuantity = buyQuantity;
+			this.buyPrice = buyPrice;
+			this.sellQuantity = sellQuantity;
+			this.sellPrice = sellPrice;
+		}
+
+		/**
+		 * @return								The legs of the trade, null if it has no priced quantity
+		 */
+		static Legs of(Trade trade) {
+			boolean bought = trade.getBuyQuantity() != null && trade.getBuyPrice() != null;
+			boolean sold = trade.getSellQuantity() != null && trade.getSellPrice() != null;
+			if (!bought && !sold) {
+				return null;
+			}
+			return new Legs(bought ? trade.getBuyQuantity() : 0, bought ? trade.getBuyPrice() : 0,
+					sold ? trade.getSellQuantity() : 0, sold ? trade.getSellPrice() : 0);
+		}
+
+		/**
+		 * @return								The last price of the trade, the sell price if it was sold
+		 */
+		double lastPrice() {
+			return sellQuantity != 0 ? sellPrice : buyPrice;
+		}
+
+		void applyTo(Lots lots) {
+			if (buyQuantity != 0) {
+				lots.apply(buyQuantity, buyPrice);
+			}
+			if (sellQuantity != 0) {
+				lots.apply(-sellQuantity, sellPrice);
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.poseidon.app.services.pnl;
+
+/**
+ * Open lots of a position, oldest first, and the P&L realized by closing them.
+ * Quantities are signed (positive for a long lot, negative for a short lot) and kept with their prices
+ * in parallel primitive arrays used as a ring buffer, so applying a trade does not allocate.
+ */
+final class Lots {
+
+	static final double EPSILON = 1e-9;
+
+	private final CostMethod costMethod;
+
+	private double[] quantities = new double[4];
+
+	private double[] prices = new double[4];
+
+	private int head;
+
+	private int size;
+
+	private double realized;
+
+	Lots(CostMethod costMethod) {
+		this.costMethod = costMethod;
+	}
+
+	/**
+	 * Apply a trade to the position : the opposite lots are closed first, what is left opens a new lot
+	 *
+	 * @param quantity							The signed traded quantity, positive when bought
+	 * @param price								The traded price
+	 */
+	void apply(double quantity, double price) {
+		double remaining = quantity;
+
+		while (size > 0 && Math.abs(remaining) > EPSILON && Math.signum(remaining) != Math.signum(quantities[head])) {
+			double lot = quantities[head];
+			double closed = Math.min(Math.abs(lot), Math.abs(remaining));
+			realized += closed * (price - prices[head]) * Math.signum(lot);
+
+			if (Math.abs(lot) - closed <= EPSILON) {
+				head = (head + 1) % quantities.length;
+				size--;
+			} else {
+				quantities[head] = lot - Math.signum(lot) * closed;
+			}
+			remaining -= Math.signum(remaining) * closed;
+		}
+
+		if (Math.abs(remaining) <= EPSILON) {
+			return;
+		}
+		if (costMethod == CostMethod.AVERAGE && size == 1) {
+			double total = quantities[head] + remaining;
+			prices[head] = (quantities[head] * prices[head] + remaining * price) / total;
+			quantities[head] = total;
+			return;
+		}
+		if (size == quantities.length) {
+			grow();
+		}
+		int tail = (head + size) % quantities.length;
+		quantities[tail] = remaining;
+		prices[tail] = price;
+		size++;
+	}
+
+	double position() {
+		double position = 0;
+		for (int i = 0; i < size; i++) {
+			position += quantities[(head + i) % quantities.length];
+		}
+		return position;
+	}
+
+	/**
+	 * @return									The signed cost of the open lots, position times average cost
+	 */
+	double cost() {
+		double cost = 0;
+		for (int i = 0; i < size; i++) {
+			int index = (head + i) % quantities.length;
+			cost += quantities[index] * prices[index];
+		}
+		return cost;
+	}
+
+	double realized() {
+		return realized;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void grow() {
+		double[] newQuantities = new double[quantities.length * 2];
+		double[] newPrices = new double[prices.length * 2];
+		for (int i = 0; i < size; i++) {
+			newQuantities[i] = quantities[(head + i) % quantities.length];
+			newPrices[i] = prices[(head + i) % prices.length];
+		}
+		quantities = newQuantities;
+		prices = newPrices;
+		head = 0;
+	}
+}
@@ -0,0 +1,243 @@
+package com.poseidon.app.services.pnl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.BookPnl;
+import com.poseidon.app.domain.dto.PnlLine;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.repositories.TradeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Realized and unrealized P&L per book and security, from the lots built by the trades.
+ * The ledgers are loaded once from the trade table and then kept up to date with the changes
+ * published by the TradeService. The P&L of a book is computed by a fork/join pass over its securities.
+ * Trades without a book, a security or a price are ignored.
+ */
+@Slf4j
+@Service
+public class PnlEngine {
+
+	private static final int LOAD_PAGE_SIZE = 1000;
+
+	@Autowired
+	TradeRepository tradeRepository;
+
+	@Value("${poseidon.pnl.cost-method:FIFO}")
+	CostMethod costMethod;
+
+	// Book -> security -> ledger
+	private final Map<String, Map<String, Ledger>> books = new ConcurrentHashMap<>();
+
+	// Ledger each trade was put in, so an update or a delete finds it without reading the trade
+	private final Map<Integer, Ledger> tradeLedgers = new ConcurrentHashMap<>();
+
+	// Security -> last trade, its price is the mark price of the security
+	private final Map<String, Mark> marks = new ConcurrentHashMap<>();
+
+	/**
+	 * Load the ledgers from the trade table when the application is ready.
+	 * The trades are read in id order, so each of them is appended to the lots of its ledger.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadLedgers() {
+		long start = System.nanoTime();
+		Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+		Slice<Trade> slice = tradeRepository.findAllBy(pageable);
+		long loaded = 0;
+
+		while (true) {
+			for (Trade trade : slice.getContent()) {
+				Ledger.Legs legs = Ledger.Legs.of(trade);
+				if (legs == null || trade.getBook() == null || trade.getSecurity() == null) {
+					continue;
+				}
+				// A trade already changed by an event while the table is read is skipped
+				Ledger ledger = ledger(trade.getBook(), trade.getSecurity());
+				if (tradeLedgers.putIfAbsent(trade.getId(), ledger) == null) {
+					ledger.put(trade.getId(), legs);
+					mark(trade.getSecurity(), trade.getId(), legs.lastPrice());
+					loaded++;
+				}
+			}
+			if (!slice.hasNext() || slice.getContent().isEmpty()) {
+				break;
+			}
+			Integer lastId = slice.getContent().get(slice.getContent().size() - 1).getId();
+			slice = tradeRepository.findByIdGreaterThan(lastId, pageable);
+		}
+
+		log.info("[PNL ENGINE] Loaded {} trades in {} books in {} ms", loaded, books.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Move the trade out of its previous ledger, then put its new version in its ledger.
+	 * Only committed trades are applied, a rolled back trade never moves the ledgers.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTradeChange(TradeChangeEvent event) {
+		Integer tradeId = event.getId();
+		if (tradeId == null) {
+			return;
+		}
+
+		Trade trade = event.getType() != ChangeType.DELETED ? event.getTrade() : null;
+		Ledger.Legs legs = trade != null ? Ledger.Legs.of(trade) : null;
+		boolean tracked = legs != null && trade.getBook() != null && trade.getSecurity() != null;
+
+		Ledger ledger = tracked ? ledger(trade.getBook(), trade.getSecurity()) : null;
+		Ledger previous = tracked ? tradeLedgers.put(tradeId, ledger) : tradeLedgers.remove(tradeId);
+		if (previous != null && previous != ledger) {
+			previous.remove(tradeId);
+		}
+		if (tracked) {
+			ledger.put(tradeId, legs);
+			mark(trade.getSecurity(), tradeId, legs.lastPrice());
+		}
+	}
+
+	/**
+	 * Get the P&L of a book
+	 *
+	 * @param book								The book to get the P&L of
+	 * @return									BookPnl with the P&L of each security of the book, null if the book has no trade
+	 */
+	public BookPnl findBookPnl(String book) {
+		Map<String, Ledger> ledgers = book != null ? books.get(book) : null;
+		if (ledgers == null) {
+			return null;
+		}
+
+		long start = System.nanoTime();
+		List<PnlLine> lines = ForkJoinPool.commonPool()
+				.invoke(new SnapshotTask(new ArrayList<>(ledgers.values()), marks));
+		lines.sort(Comparator.comparing(PnlLine::getSecurity));
+
+		double realized = 0;
+		double unrealized = 0;
+		for (PnlLine line : lines) {
+			realized += line.getRealized();
+			unrealized += line.getUnrealized();
+		}
+
+		log.debug("[PNL ENGINE] Computed the P&L of book '{}' in {} us", book,
+				TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+		return new BookPnl(book, realized, unrealized, lines);
+	}
+
+	/**
+	 * Get the P&L of every book
+	 *
+	 * @return									List<BookPnl> sorted by book
+	 */
+	public List<BookPnl> findAllBookPnl() {
+		List<String> names = new ArrayList<>(books.keySet());
+		Collections.sort(names);
+
+		List<BookPnl> result = new ArrayList<>(names.size());
+		for (String book : names) {
+			result.add(findBookPnl(book));
+		}
+		return result;
+	}
+
+	private Ledger ledger(String book, String security) {
+		return books.computeIfAbsent(book, key -> new ConcurrentHashMap<>()) //
+				.computeIfAbsent(security, key -> new Ledger(book, security, costMethod));
+	}
+
+	private void mark(String security, int tradeId, double price) {
+		marks.merge(security, new Mark(tradeId, price),
+				(current, next) -> next.tradeId >= current.tradeId ? next : current);
+	}
+
+	/**
+	 * Last trade of a security
+	 */
+	private static final class Mark {
+
+		private final int tradeId;
+
+		private final double price;
+
+		private Mark(int tradeId, double price) {
+			this.tradeId = tradeId;
+			this.price = price;
+		}
+	}
+
+	/**
+	 * Snapshot a range of ledgers, split in two halves until a single ledger is left.
+	 * Rebuilding the lots of a dirty ledger is the expensive part, so each ledger can run on its own worker.
+	 */
+	private static final class SnapshotTask extends RecursiveTask<List<PnlLine>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<Ledger> ledgers;
+
+		private final transient Map<String, Mark> marks;
+
+		private final int from;
+
+		private final int to;
+
+		private SnapshotTask(List<Ledger> ledgers, Map<String, Mark> marks) {
+			this(ledgers, marks, 0, ledgers.size());
+		}
+
+		private SnapshotTask(List<Ledger> ledgers, Map<String, Mark> marks, int from, int to) {
+			this.ledgers = ledgers;
+			this.marks = marks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected List<PnlLine> compute() {
+			if (to - from <= 1) {
+				List<PnlLine> lines = new ArrayList<>(1);
+				for (int i = from; i < to; i++) {
+					Ledger ledger = ledgers.get(i);
+					lines.add(ledger.snapshot(markPrice(ledger)));
+				}
+				return lines;
+			}
+
+			int middle = (from + to) >>> 1;
+			SnapshotTask left = new SnapshotTask(ledgers, marks, from, middle);
+			left.fork();
+			List<PnlLine> lines = new SnapshotTask(ledgers, marks, middle, to).compute();
+			lines.addAll(left.join());
+			return lines;
+		}
+
+		private Double markPrice(Ledger ledger) {
+			Mark mark = marks.get(ledger.getSecurity());
+			return mark != null ? mark.price : null;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.poseidon.app.services.rules;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import com.poseidon.app.domain.Rule;
+
+/**
+ * A rule compiled from its json : the predicate is true when a row violates the rule.
+ * The json it was compiled from is kept as its revision, along with its template : an unchanged rule is not
+ * compiled again. A rule whose json could not be compiled has no predicate and is never evaluated,
+ * a rule without a valid template is evaluated but its violations have no alert text.
+ */
+final class CompiledRule {
+
+	private final Integer id;
+
+	private final String name;
+
+	private final String revision;
+
+	private final RuleTarget target;
+
+	private final boolean active;
+
+	private final Predicate<Object> predicate;
+
+	private final String error;
+
+	private final String templateSource;
+
+	private final RuleTemplate template;
+
+	private final String templateError;
+
+	private CompiledRule(Integer id, String name, String revision, RuleTarget target, boolean active,
+			Predicate<Object> predicate, String error, String templateSource, RuleTemplate template,
+			String templateError) {
+		this.id = id;
+		this.name = name;
+		this.revision = revision;
+		this.target = target;
+		this.active = active;
+		this.predicate = predicate;
+		this.error = error;
+		this.templateSource = templateSource;
+		this.template = template;
+		this.templateError = templateError;
+	}
+
+	static CompiledRule compiled(Integer id, String name, String revision, RuleTarget target, boolean active,
+			Predicate<Object> predicate) {
+		return new CompiledRule(id, name, revision, target, active, predicate, null, null, null, null);
+	}
+
+	static CompiledRule invalid(Integer id, String name, String revision, String error) {
+		return new CompiledRule(id, name, revision, null, false, null, error, null, null, null);
+	}
+
+	/**
+	 * Same compiled predicate under another name, for a rule renamed without changing its json
+	 */
+	CompiledRule named(String newName) {
+		return new CompiledRule(id, newName, revision, target, active, predicate, error, templateSource, template,
+				templateError);
+	}
+
+	/**
+	 * Same compiled predicate with the template of the rule, or the reason it could not be compiled
+	 */
+	CompiledRule withTemplate(String source, RuleTemplate compiledTemplate, String compileError) {
+		return new CompiledRule(id, name, revision, target, active, predicate, error, source, compiledTemplate,
+				compileError);
+	}
+
+	Integer getId() {
+		return id;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	String getRevision() {
+		return revision;
+	}
+
+	RuleTarget getTarget() {
+		return target;
+	}
+
+	String getError() {
+		return error;
+	}
+
+	String getTemplateError() {
+		return templateError;
+	}
+
+	/**
+	 * Tell if this was compiled from the json and the template of the rule
+	 */
+	boolean isRevisionOf(Rule rule) {
+		return Objects.equals(revision, rule.getJson()) && Objects.equals(templateSource, rule.getTemplate());
+	}
+
+	boolean appliesTo(RuleTarget rowTarget) {
+		return active && predicate != null && target == rowTarget;
+	}
+
+	boolean isViolatedBy(Object row) {
+		return predicate.test(row);
+	}
+
+	/**
+	 * Render the template of the rule for a row violating it
+	 *
+	 * @return									The alert text, null if the rule has no valid template
+	 */
+	String alert(Object row) {
+		return template != null ? template.render(row) : null;
+	}
+}
@@ -0,0 +1,240 @@
+package com.poseidon.app.services.rules;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.exceptions.RuleCompilationException;
+
+/**
+ * Compile the json of a rule into a predicate on a bid or a trade.
+ * The json is parsed once : the fields are resolved and the expected values are converted to the type of their
+ * field when the rule is compiled, the evaluation only calls getters and compares.
+ * <pre>
+ * {"entity": "trade", "active": true,
+ *  "condition": {"all": [{"field": "buyQuantity", "op": "gt", "value": 1000},
+ *                        {"not": {"field": "book", "op": "in", "value": ["A", "B"]}}]}}
+ * </pre>
+ * The condition describes the rows violating the rule. "all", "any" and "not" combine conditions,
+ * the operators are eq, ne, gt, gte, lt, lte, in, matches, null and notNull.
+ * A comparison with a null field is false ("ne" excepted).
+ * The template of the rule, if any, is compiled along with it (see RuleTemplate).
+ */
+final class RuleCompiler {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	/**
+	 * Compile a rule. A rule whose json is not valid is returned without predicate, with the reason.
+	 *
+	 * @param rule								The rule to compile
+	 * @return									CompiledRule, never evaluated if its json is not valid
+	 */
+	CompiledRule compile(Rule rule) {
+		String json = rule.getJson();
+		try {
+			if (json == null || json.trim().isEmpty()) {
+				throw new RuleCompilationException("the rule has no json");
+			}
+			JsonNode root = JSON.readTree(json);
+			if (root == null || !root.isObject()) {
+				throw new RuleCompilationException("the json is not an object");
+			}
+			RuleTarget target = target(root.get("entity"));
+			boolean active = !root.has("active") || root.get("active").asBoolean(true);
+			JsonNode condition = root.get("condition");
+			if (condition == null) {
+				throw new RuleCompilationException("the json has no \"condition\"");
+			}
+			Predicate<Object> predicate = condition(condition, target);
+			return template(CompiledRule.compiled(rule.getId(), rule.getName(), json, target, active, predicate),
+					rule.getTemplate(), target);
+		} catch (IOException | RuleCompilationException e) {
+			return CompiledRule.invalid(rule.getId(), rule.getName(), json, e.getMessage())
+					.withTemplate(rule.getTemplate(), null, null);
+		}
+	}
+
+	private static CompiledRule template(CompiledRule compiled, String template, RuleTarget target) {
+		if (template == null || template.trim().isEmpty()) {
+			return compiled.withTemplate(template, null, null);
+		}
+		try {
+			return compiled.withTemplate(template, RuleTemplate.compile(template, target), null);
+		} catch (RuleCompilationException e) {
+			return compiled.withTemplate(template, null, e.getMessage());
+		}
+	}
+
+	private static RuleTarget target(JsonNode entity) throws RuleCompilationException {
+		if (entity == null || !entity.isTextual()) {
+			throw new RuleCompilationException("the json has no \"entity\" (bid or trade)");
+		}
+		try {
+			return RuleTarget.valueOf(entity.asText().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new RuleCompilationException("unknown entity '" + entity.asText() + "'");
+		}
+	}
+
+	private static Predicate<Object> condition(JsonNode node, RuleTarget target) throws RuleCompilationException {
+		if (node == null || !node.isObject()) {
+			throw new RuleCompilationException("a condition is not an object : " + node);
+		}
+		if (node.has("all")) {
+			List<Predicate<Object>> operands = operands(node.get("all"), target);
+			return row -> {
+				for (Predicate<Object> operand : operands) {
+					if (!operand.test(row)) {
+						return false;
+					}
+				}
+				return true;
+			};
+		}
+		if (node.has("any")) {
+			List<Predicate<Object>> operands = operands(node.get("any"), target);
+			return row -> {
+				for (Predicate<Object> operand : operands) {
+					if (operand.test(row)) {
+						return true;
+					}
+				}
+				return false;
+			};
+		}
+		if (node.has("not")) {
+			return condition(node.get("not"), target).negate();
+		}
+		return comparison(node, target);
+	}
+
+	private static List<Predicate<Object>> operands(JsonNode node, RuleTarget target) throws RuleCompilationException {
+		if (!node.isArray() || node.size() == 0) {
+			throw new RuleCompilationException("\"all\" and \"any\" need a non empty array of conditions");
+		}
+		List<Predicate<Object>> operands = new ArrayList<>(node.size());
+		for (JsonNode operand : node) {
+			operands.add(condition(operand, target));
+		}
+		return operands;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Predicate<Object> comparison(JsonNode node, RuleTarget target) throws RuleCompilationException {
+		String name = node.path("field").asText(null);
+		RuleField field = target.field(name);
+		if (field == null) {
+			throw new RuleCompilationException("unknown field in condition : " + node);
+		}
+		Function<Object, Object> getter = field::read;
+		Class<?> type = field.getType();
+		String op = node.path("op").asText("");
+		JsonNode value = node.get("value");
+
+		switch (op) {
+		case "null":
+			return row -> getter.apply(row) == null;
+		case "notNull":
+			return row -> getter.apply(row) != null;
+		case "eq": {
+			Object expected = convert(value, type, name);
+			return row -> expected.equals(getter.apply(row));
+		}
+		case "ne": {
+			Object expected = convert(value, type, name);
+			return row -> !expected.equals(getter.apply(row));
+		}
+		case "gt":
+		case "gte":
+		case "lt":
+		case "lte": {
+			Comparable expected = (Comparable) convert(value, type, name);
+			IntPredicate accepted = accepted(op);
+			return row -> {
+				Object actual = getter.apply(row);
+				return actual != null && accepted.test(((Comparable) actual).compareTo(expected));
+			};
+		}
+		case "in": {
+			if (value == null || !value.isArray()) {
+				throw new RuleCompilationException("\"in\" needs an array of values for field '" + name + "'");
+			}
+			Set<Object> expected = new HashSet<>();
+			for (JsonNode item : value) {
+				expected.add(convert(item, type, name));
+			}
+			return row -> expected.contains(getter.apply(row));
+		}
+		case "matches": {
+			if (type != String.class || value == null || !value.isTextual()) {
+				throw new RuleCompilationException("\"matches\" needs a text field and a pattern for '" + name + "'");
+			}
+			Pattern pattern;
+			try {
+				pattern = Pattern.compile(value.asText());
+			} catch (PatternSyntaxException e) {
+				throw new RuleCompilationException("invalid pattern for field '" + name + "' : " + e.getMessage());
+			}
+			return row -> {
+				Object actual = getter.apply(row);
+				return actual != null && pattern.matcher((String) actual).matches();
+			};
+		}
+		default:
+			throw new RuleCompilationException("unknown operator '" + op + "' for field '" + name + "'");
+		}
+	}
+
+	private static IntPredicate accepted(String op) {
+		switch (op) {
+		case "gt":
+			return comparison -> comparison > 0;
+		case "gte":
+			return comparison -> comparison >= 0;
+		case "lt":
+			return comparison -> comparison < 0;
+		default:
+			return comparison -> comparison <= 0;
+		}
+	}
+
+	/**
+	 * Convert an expected value of the json to the type of its field, so the rows are compared without conversion
+	 */
+	private static Object convert(JsonNode value, Class<?> type, String name) throws RuleCompilationException {
+		if (value == null || value.isNull()) {
+			throw new RuleCompilationException("no value for field '" + name + "', use the null operator");
+		}
+		if (type == Double.class && value.isNumber()) {
+			return value.asDouble();
+		}
+		if (type == Integer.class && value.canConvertToInt() && value.isIntegralNumber()) {
+			return value.asInt();
+		}
+		if (type == String.class && value.isTextual()) {
+			return value.asText();
+		}
+		if (type == Timestamp.class && value.isTextual()) {
+			try {
+				return Timestamp.valueOf(value.asText());
+			} catch (IllegalArgumentException e) {
+				throw new RuleCompilationException(
+						"field '" + name + "' needs a date as yyyy-mm-dd hh:mm:ss, not " + value);
+			}
+		}
+		throw new RuleCompilationException("value " + value + " does not match the type of field '" + name + "'");
+	}
+}
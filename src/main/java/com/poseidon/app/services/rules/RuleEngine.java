@@ -0,0 +1,456 @@
+package com.poseidon.app.services.rules;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.RuleReport;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.RuleChangeEvent;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.repositories.RuleRepository;
+import com.poseidon.app.repositories.TradeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluate the rules against the bids and trades. The json of each rule is compiled once into a predicate, and its
+ * template into a render plan for the alerts of its violations. Both are kept by rule id and compiled again only
+ * when the json or the template changes, so the rules are never read on a write.
+ * Every committed creation or update of a bid or a trade is checked against the active rules of its entity,
+ * and the whole trade table can be checked at once, page by page, by a fork/join pass over each page.
+ */
+@Slf4j
+@Service
+public class RuleEngine {
+
+	private static final int LOAD_PAGE_SIZE = 1000;
+
+	// Rows evaluated by a single fork/join task, below that splitting costs more than it saves
+	private static final int TASK_ROWS = 128;
+
+	@Autowired
+	RuleRepository ruleRepository;
+
+	@Autowired
+	TradeRepository tradeRepository;
+
+	@Value("${poseidon.rules.enabled:true}")
+	boolean enabled;
+
+	@Value("${poseidon.rules.parallelism:0}")
+	int parallelism;
+
+	@Value("${poseidon.rules.max-reported-ids:100}")
+	int maxReportedIds;
+
+	private final RuleCompiler compiler = new RuleCompiler();
+
+	private final Map<Integer, CompiledRule> rules = new ConcurrentHashMap<>();
+
+	private final Map<Integer, RuleStats> stats = new ConcurrentHashMap<>();
+
+	private ForkJoinPool pool;
+
+	@PostConstruct
+	public void start() {
+		pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void stop() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Compile the rules of the rule table when the application is ready
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadRules() {
+		if (!enabled) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		for (Rule rule : ruleRepository.findAll()) {
+			// A rule already changed by an event while the table is read is skipped
+			rules.computeIfAbsent(rule.getId(), id -> compile(rule));
+		}
+
+		log.info("[RULE ENGINE] Compiled {} rules in {} ms", rules.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Compile a created or updated rule again if its json or its template changed, forget a deleted rule.
+	 * The evaluations of a rule are counted again when its json changed.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRuleChange(RuleChangeEvent event) {
+		Integer ruleId = event.getId();
+		if (!enabled || ruleId == null) {
+			return;
+		}
+
+		Rule rule = event.getRule();
+		if (event.getType() == ChangeType.DELETED || rule == null) {
+			rules.remove(ruleId);
+			stats.remove(ruleId);
+			return;
+		}
+
+		rules.compute(ruleId, (id, current) -> {
+			if (current == null || !current.isRevisionOf(rule)) {
+				if (current == null || !Objects.equals(current.getRevision(), rule.getJson())) {
+					stats.remove(id);
+				}
+				return compile(rule);
+			}
+			return Objects.equals(current.getName(), rule.getName()) ? current : current.named(rule.getName());
+		});
+	}
+
+	/**
+	 * Check a committed bid against the active bid rules
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBidChange(BidChangeEvent event) {
+		if (enabled && event.getType() != ChangeType.DELETED && event.getBid() != null) {
+			evaluate(RuleTarget.BID, event.getId(), event.getBid());
+		}
+	}
+
+	/**
+	 * Check a committed trade against the active trade rules
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTradeChange(TradeChangeEvent event) {
+		if (enabled && event.getType() != ChangeType.DELETED && event.getTrade() != null) {
+			evaluate(RuleTarget.TRADE, event.getId(), event.getTrade());
+		}
+	}
+
+	/**
+	 * Check every trade of the trade table against the active trade rules.
+	 * Each page is evaluated by the fork/join pool while the next one is read.
+	 *
+	 * @return									List<RuleReport> of the trade rules, sorted by rule id
+	 */
+	public List<RuleReport> checkTrades() {
+		List<CompiledRule> active = activeRules(RuleTarget.TRADE);
+		if (active.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		long start = System.nanoTime();
+		Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+		Slice<Trade> slice = tradeRepository.findAllBy(pageable);
+		Result total = new Result(active.size(), maxReportedIds);
+		long evaluated = 0;
+
+		while (!slice.getContent().isEmpty()) {
+			List<Trade> trades = slice.getContent();
+			ForkJoinTask<Result> running = pool.submit(new CheckTask(active, trades, maxReportedIds));
+			evaluated += trades.size();
+
+			Slice<Trade> next = null;
+			if (slice.hasNext()) {
+				next = tradeRepository.findByIdGreaterThan(trades.get(trades.size() - 1).getId(), pageable);
+			}
+			total.merge(running.join());
+			if (next == null) {
+				break;
+			}
+			slice = next;
+		}
+
+		List<RuleReport> reports = new ArrayList<>(active.size());
+		long violations = 0;
+		for (int i = 0; i < active.size(); i++) {
+			CompiledRule rule = active.get(i);
+			reports.add(new RuleReport(rule.getId(), rule.getName(), entityName(rule.getTarget()), evaluated,
+					total.violations[i], total.violatingIds.get(i), nullIfEmpty(total.alerts.get(i)),
+					total.nanos[i] / 1_000_000d, null));
+			violations += total.violations[i];
+		}
+
+		log.info("[RULE ENGINE] Checked {} trades against {} rules in {} ms, {} violations", evaluated,
+				active.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), violations);
+		return reports;
+	}
+
+	/**
+	 * Get the evaluations of every rule since it was compiled, the invalid rules with their error
+	 *
+	 * @return									List<RuleReport> of the rules, sorted by rule id
+	 */
+	public List<RuleReport> findRuleStats() {
+		List<CompiledRule> compiled = new ArrayList<>(rules.values());
+		compiled.sort(Comparator.comparing(CompiledRule::getId));
+
+		List<RuleReport> reports = new ArrayList<>(compiled.size());
+		for (CompiledRule rule : compiled) {
+			RuleStats ruleStats = stats.get(rule.getId());
+			RuleReport report = new RuleReport(rule.getId(), rule.getName(), entityName(rule.getTarget()), 0, 0,
+					Collections.emptyList(), null, 0d, rule.getError());
+			if (ruleStats != null) {
+				report.setEvaluated(ruleStats.evaluated.sum());
+				report.setViolations(ruleStats.violations.sum());
+				synchronized (ruleStats) {
+					report.setViolatingIds(new ArrayList<>(ruleStats.lastViolatingIds));
+					report.setAlerts(nullIfEmpty(new ArrayList<>(ruleStats.lastAlerts)));
+				}
+				report.setEvaluationMillis(ruleStats.nanos.sum() / 1_000_000d);
+			}
+			reports.add(report);
+		}
+		return reports;
+	}
+
+	/**
+	 * Evaluate the active rules of an entity against a row
+	 *
+	 * @return									The rules violated by the row
+	 */
+	List<CompiledRule> evaluate(RuleTarget target, Integer rowId, Object row) {
+		List<CompiledRule> violated = new ArrayList<>(0);
+		for (CompiledRule rule : rules.values()) {
+			if (!rule.appliesTo(target)) {
+				continue;
+			}
+			long start = System.nanoTime();
+			boolean violation = rule.isViolatedBy(row);
+			RuleStats ruleStats = stats.computeIfAbsent(rule.getId(), id -> new RuleStats(maxReportedIds));
+			ruleStats.nanos.add(System.nanoTime() - start);
+			ruleStats.evaluated.increment();
+
+			if (violation) {
+				String alert = rule.alert(row);
+				ruleStats.violation(rowId, alert);
+				violated.add(rule);
+				log.warn("[RULE ENGINE] {} id '{}' violates rule '{}' (id '{}'){}", entityName(target), rowId,
+						rule.getName(), rule.getId(), alert != null ? " : " + alert : "");
+			}
+		}
+		return violated;
+	}
+
+	private CompiledRule compile(Rule rule) {
+		CompiledRule compiled = compiler.compile(rule);
+		if (compiled.getError() != null) {
+			log.warn("[RULE ENGINE] Rule '{}' (id '{}') is not evaluated : {}", rule.getName(), rule.getId(),
+					compiled.getError());
+		} else if (compiled.getTemplateError() != null) {
+			log.warn("[RULE ENGINE] Template of rule '{}' (id '{}') is not rendered : {}", rule.getName(),
+					rule.getId(), compiled.getTemplateError());
+		}
+		return compiled;
+	}
+
+	private List<CompiledRule> activeRules(RuleTarget target) {
+		List<CompiledRule> active = new ArrayList<>();
+		for (CompiledRule rule : rules.values()) {
+			if (rule.appliesTo(target)) {
+				active.add(rule);
+			}
+		}
+		active.sort(Comparator.comparing(CompiledRule::getId));
+		return active;
+	}
+
+	private static <T> List<T> nullIfEmpty(List<T> list) {
+		return list.isEmpty() ? null : list;
+	}
+
+	private static String entityName(RuleTarget target) {
+		return target != null ? target.name().toLowerCase(Locale.ROOT) : null;
+	}
+
+	/**
+	 * Evaluations of a rule by the bid and trade changes, with the ids and alerts of the last rows violating it
+	 */
+	private static final class RuleStats {
+
+		private final LongAdder evaluated = new LongAdder();
+
+		private final LongAdder violations = new LongAdder();
+
+		private final LongAdder nanos = new LongAdder();
+
+		private final Deque<Integer> lastViolatingIds = new ArrayDeque<>();
+
+		private final Deque<String> lastAlerts = new ArrayDeque<>();
+
+		private final int maxIds;
+
+		private RuleStats(int maxIds) {
+			this.maxIds = maxIds;
+		}
+
+		private void violation(Integer rowId, String alert) {
+			violations.increment();
+			if (maxIds <= 0) {
+				return;
+			}
+			synchronized (this) {
+				if (lastViolatingIds.size() >= maxIds) {
+					lastViolatingIds.removeFirst();
+				}
+				lastViolatingIds.addLast(rowId);
+				if (alert != null) {
+					if (lastAlerts.size() >= maxIds) {
+						lastAlerts.removeFirst();
+					}
+					lastAlerts.addLast(alert);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Violations found for each rule over some trades, merged in id order
+	 */
+	private static final class Result {
+
+		private final long[] violations;
+
+		private final long[] nanos;
+
+		private final List<List<Integer>> violatingIds;
+
+		private final List<List<String>> alerts;
+
+		private final int maxIds;
+
+		private Result(int ruleCount, int maxIds) {
+			this.violations = new long[ruleCount];
+			this.nanos = new long[ruleCount];
+			this.violatingIds = new ArrayList<>(ruleCount);
+			this.alerts = new ArrayList<>(ruleCount);
+			for (int i = 0; i < ruleCount; i++) {
+				violatingIds.add(new ArrayList<>());
+				alerts.add(new ArrayList<>());
+			}
+			this.maxIds = maxIds;
+		}
+
+		/**
+		 * Count a violation, only the first ones are listed : the alert is rendered for them alone
+		 */
+		private void violation(int rule, CompiledRule compiled, Trade trade) {
+			violations[rule]++;
+			List<Integer> ids = violatingIds.get(rule);
+			if (ids.size() < maxIds) {
+				ids.add(trade.getId());
+				String alert = compiled.alert(trade);
+				if (alert != null) {
+					alerts.get(rule).add(alert);
+				}
+			}
+		}
+
+		private void merge(Result other) {
+			for (int i = 0; i < violations.length; i++) {
+				violations[i] += other.violations[i];
+				nanos[i] += other.nanos[i];
+				append(violatingIds.get(i), other.violatingIds.get(i));
+				append(alerts.get(i), other.alerts.get(i));
+			}
+		}
+
+		private <T> void append(List<T> list, List<T> other) {
+			for (T item : other) {
+				if (list.size() >= maxIds) {
+					break;
+				}
+				list.add(item);
+			}
+		}
+	}
+
+	/**
+	 * Evaluate the rules against a range of trades, split in two halves until few enough trades are left
+	 */
+	private static final class CheckTask extends RecursiveTask<Result> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<CompiledRule> rules;
+
+		private final transient List<Trade> trades;
+
+		private final int maxIds;
+
+		private final int from;
+
+		private final int to;
+
+		private CheckTask(List<CompiledRule> rules, List<Trade> trades, int maxIds) {
+			this(rules, trades, maxIds, 0, trades.size());
+		}
+
+		private CheckTask(List<CompiledRule> rules, List<Trade> trades, int maxIds, int from, int to) {
+			this.rules = rules;
+			this.trades = trades;
+			this.maxIds = maxIds;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Result compute() {
+			if (to - from <= TASK_ROWS) {
+				Result result = new Result(rules.size(), maxIds);
+				for (int i = 0; i < rules.size(); i++) {
+					CompiledRule rule = rules.get(i);
+					long start = System.nanoTime();
+					for (int row = from; row < to; row++) {
+						Trade trade = trades.get(row);
+						if (rule.isViolatedBy(trade)) {
+							result.violation(i, rule, trade);
+						}
+					}
+					result.nanos[i] += System.nanoTime() - start;
+				}
+				return result;
+			}
+
+			int middle = (from + to) >>> 1;
+			CheckTask left = new CheckTask(rules, trades, maxIds, from, middle);
+			left.fork();
+			Result right = new CheckTask(rules, trades, maxIds, middle, to).compute();
+			Result result = left.join();
+			result.merge(right);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.poseidon.app.services.rules;
+
+import java.util.function.Function;
+
+/**
+ * A field of a bid or a trade that rules and templates can read, with its type and its getter
+ */
+final class RuleField {
+
+	private final String name;
+
+	private final Class<?> type;
+
+	private final Function<Object, Object> getter;
+
+	RuleField(String name, Class<?> type, Function<Object, Object> getter) {
+		this.name = name;
+		this.type = type;
+		this.getter = getter;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	Class<?> getType() {
+		return type;
+	}
+
+	Object read(Object row) {
+		return getter.apply(row);
+	}
+}
@@ -0,0 +1,91 @@
+package com.poseidon.app.services.rules;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+
+/**
+ * The fields of the bids and trades read by the rules and their templates, with hand written getters :
+ * a compiled rule or template calls them directly, nothing is looked up by reflection.
+ */
+final class RuleFields {
+
+	static final Map<String, RuleField> BID = new Table<>(Bid.class) //
+			.add("id", Integer.class, Bid::getId) //
+			.add("version", Integer.class, Bid::getVersion) //
+			.add("account", String.class, Bid::getAccount) //
+			.add("type", String.class, Bid::getType) //
+			.add("bid", Double.class, Bid::getBid) //
+			.add("bidQuantity", Double.class, Bid::getBidQuantity) //
+			.add("askQuantity", Double.class, Bid::getAskQuantity) //
+			.add("bidDate", Double.class, Bid::getBidDate) //
+			.add("ask", Double.class, Bid::getAsk) //
+			.add("bidListDate", Timestamp.class, Bid::getBidListDate) //
+			.add("commentary", String.class, Bid::getCommentary) //
+			.add("security", String.class, Bid::getSecurity) //
+			.add("status", String.class, Bid::getStatus) //
+			.add("trader", String.class, Bid::getTrader) //
+			.add("book", String.class, Bid::getBook) //
+			.add("creationName", String.class, Bid::getCreationName) //
+			.add("creationDate", Timestamp.class, Bid::getCreationDate) //
+			.add("revisionName", String.class, Bid::getRevisionName) //
+			.add("revisionDate", Timestamp.class, Bid::getRevisionDate) //
+			.add("dealName", String.class, Bid::getDealName) //
+			.add("dealType", String.class, Bid::getDealType) //
+			.add("sourceListId", String.class, Bid::getSourceListId) //
+			.add("side", String.class, Bid::getSide) //
+			.build();
+
+	static final Map<String, RuleField> TRADE = new Table<>(Trade.class) //
+			.add("id", Integer.class, Trade::getId) //
+			.add("version", Integer.class, Trade::getVersion) //
+			.add("account", String.class, Trade::getAccount) //
+			.add("type", String.class, Trade::getType) //
+			.add("buyQuantity", Double.class, Trade::getBuyQuantity) //
+			.add("sellQuantity", Double.class, Trade::getSellQuantity) //
+			.add("buyPrice", Double.class, Trade::getBuyPrice) //
+			.add("sellPrice", Double.class, Trade::getSellPrice) //
+			.add("tradeDate", Timestamp.class, Trade::getTradeDate) //
+			.add("security", String.class, Trade::getSecurity) //
+			.add("status", String.class, Trade::getStatus) //
+			.add("trader", String.class, Trade::getTrader) //
+			.add("benchmark", String.class, Trade::getBenchmark) //
+			.add("book", String.class, Trade::getBook) //
+			.add("creationName", String.class, Trade::getCreationName) //
+			.add("creationDate", Timestamp.class, Trade::getCreationDate) //
+			.add("revisionName", String.class, Trade::getRevisionName) //
+			.add("revisionDate", Timestamp.class, Trade::getRevisionDate) //
+			.add("dealName", String.class, Trade::getDealName) //
+			.add("dealType", String.class, Trade::getDealType) //
+			.add("sourceListId", String.class, Trade::getSourceListId) //
+			.add("side", String.class, Trade::getSide) //
+			.build();
+
+	private RuleFields() {
+	}
+
+	private static final class Table<T> {
+
+		private final Class<T> entityClass;
+
+		private final Map<String, RuleField> fields = new LinkedHashMap<>();
+
+		private Table(Class<T> entityClass) {
+			this.entityClass = entityClass;
+		}
+
+		private Table<T> add(String name, Class<?> type, Function<T, ?> getter) {
+			fields.put(name, new RuleField(name, type, row -> getter.apply(entityClass.cast(row))));
+			return this;
+		}
+
+		private Map<String, RuleField> build() {
+			return Collections.unmodifiableMap(fields);
+		}
+	}
+}
@@ -0,0 +1,252 @@
+package com.poseidon.app.services.rules;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.RuleChangeEvent;
+import com.poseidon.app.exceptions.RuleCompilationException;
+import com.poseidon.app.exceptions.RuleServiceException;
+import com.poseidon.app.services.RuleService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Run the query of a rule (its sqlStr followed by its sqlPart) against the database.
+ * The query is parsed once per revision of the rule into a parameterized statement. Each execution runs in a
+ * read-only transaction with a timeout, returns at most "maxRows"
+ * rows and reads them with a cursor : every row is handed over as soon as it is read, none is kept.
+ * The queries run with their own database account, "poseidon.rules.sql.datasource.url / username / password",
+ * which should only be granted SELECT on the trade and bid tables. Without it they run with the account
+ * of the application, and only the checks of the RuleSqlParser keep them away from the other tables.
+ */
+@Slf4j
+@Service
+public class RuleSqlExecutor {
+
+	@Autowired
+	RuleService ruleService;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Value("${poseidon.rules.sql.timeout-seconds:30}")
+	int timeoutSeconds;
+
+	@Value("${poseidon.rules.sql.max-rows:10000}")
+	int maxRows;
+
+	@Value("${poseidon.rules.sql.fetch-size:1000}")
+	int fetchSize;
+
+	@Autowired
+	DataSourceProperties dataSourceProperties;
+
+	@Value("${poseidon.rules.sql.datasource.url:}")
+	String datasourceUrl;
+
+	@Value("${poseidon.rules.sql.datasource.username:}")
+	String datasourceUsername;
+
+	@Value("${poseidon.rules.sql.datasource.password:}")
+	String datasourcePassword;
+
+	@Value("${poseidon.rules.sql.datasource.pool-size:2}")
+	int datasourcePoolSize;
+
+	private final Map<Integer, RuleStatement> statements = new ConcurrentHashMap<>();
+
+	private HikariDataSource ruleDataSource;
+
+	/**
+	 * Handle a row returned by the query of a rule
+	 */
+	@FunctionalInterface
+	public interface RowHandler {
+
+		/**
+		 * @param row							Value of each column, by column label in the query order
+		 * @throws IOException					Thrown if the row could not be written, the query is stopped
+		 */
+		void handle(Map<String, Object> row) throws IOException;
+	}
+
+	/**
+	 * Open the pool of the read-only account of the rules, when one is configured
+	 */
+	@PostConstruct
+	public void start() {
+		if (datasourceUrl == null || datasourceUrl.isEmpty()) {
+			log.warn("[RULE SQL EXECUTOR] No poseidon.rules.sql.datasource configured : "
+					+ "the rule queries run with the account of the application");
+			return;
+		}
+
+		ruleDataSource = DataSourceBuilder.create() //
+				.type(HikariDataSource.class) //
+				.driverClassName(dataSourceProperties.determineDriverClassName()) //
+				.url(datasourceUrl) //
+				.username(datasourceUsername) //
+				.password(datasourcePassword) //
+				.build();
+		ruleDataSource.setPoolName("rules");
+		ruleDataSource.setReadOnly(true);
+		ruleDataSource.setMaximumPoolSize(Math.max(1, datasourcePoolSize));
+		jdbcTemplate = new JdbcTemplate(ruleDataSource);
+		transactionManager = new DataSourceTransactionManager(ruleDataSource);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (ruleDataSource != null) {
+			ruleDataSource.close();
+		}
+	}
+
+	/**
+	 * Get the parsed statement of a rule, it is parsed again only if its sqlStr or sqlPart changed
+	 *
+	 * @param ruleId							The Rule ID
+	 * @return									RuleStatement of the rule
+	 * @throws RuleServiceException				Thrown if the Rule was not found
+	 * @throws RuleCompilationException			Thrown if the query of the Rule is not a single SELECT
+	 */
+	public RuleStatement findStatement(Integer ruleId) throws RuleServiceException, RuleCompilationException {
+		Rule rule = ruleService.findRuleById(ruleId);
+		RuleStatement statement = statements.get(ruleId);
+		if (statement != null && Objects.equals(statement.getRevision(), RuleSqlParser.revision(rule))) {
+			return statement;
+		}
+
+		try {
+			statement = RuleSqlParser.parse(rule);
+		} catch (RuleCompilationException error) {
+			log.warn("[RULE SQL EXECUTOR] Query of rule id '{}' cannot be run : {}", ruleId, error.getMessage());
+			throw error;
+		}
+		statements.put(ruleId, statement);
+		return statement;
+	}
+
+	/**
+	 * Run the statement of a rule, each row is given to the handler as soon as it is read
+	 *
+	 * @param statement							The statement of the rule, from findStatement
+	 * @param parameters						Value of each named parameter of the statement, from RuleStatement.bind
+	 * @param handler							Receives the rows
+	 * @return									The number of rows read, at most "maxRows"
+	 * @throws IOException						Thrown if the handler could not write a row
+	 */
+	public long execute(RuleStatement statement, Object[] parameters, RowHandler handler) throws IOException {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+		// The time left in the transaction is given as query timeout to every statement
+		transactionTemplate.setTimeout(timeoutSeconds);
+
+		long start = System.nanoTime();
+		long[] count = { 0 };
+		try {
+			transactionTemplate.execute(status -> {
+				jdbcTemplate.query(connection -> {
+					PreparedStatement prepared = connection.prepareStatement(statement.getSql(),
+							ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+					prepared.setFetchSize(fetchSize);
+					prepared.setMaxRows(maxRows);
+					new ArgumentPreparedStatementSetter(parameters).setValues(prepared);
+					return prepared;
+				}, new RowStreamer(handler, count));
+				return null;
+			});
+		} catch (UncheckedIOException error) {
+			throw error.getCause();
+		}
+
+		if (count[0] >= maxRows) {
+			log.warn("[RULE SQL EXECUTOR] Query of rule id '{}' was stopped at {} rows", statement.getRuleId(),
+					maxRows);
+		}
+		log.info("[RULE SQL EXECUTOR] Query of rule id '{}' returned {} rows in {} ms", statement.getRuleId(),
+				count[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return count[0];
+	}
+
+	/**
+	 * Forget the statement of a deleted rule, an updated rule is parsed again on its next execution
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRuleChange(RuleChangeEvent event) {
+		if (event.getType() == ChangeType.DELETED && event.getId() != null) {
+			statements.remove(event.getId());
+		}
+	}
+
+	/**
+	 * Hand each row over as a map, the column labels are read once from the first row
+	 */
+	private static final class RowStreamer implements RowCallbackHandler {
+
+		private final RowHandler handler;
+
+		private final long[] count;
+
+		private String[] labels;
+
+		private RowStreamer(RowHandler handler, long[] count) {
+			this.handler = handler;
+			this.count = count;
+		}
+
+		@Override
+		public void processRow(ResultSet resultSet) throws SQLException {
+			if (labels == null) {
+				ResultSetMetaData metaData = resultSet.getMetaData();
+				labels = new String[metaData.getColumnCount()];
+				for (int i = 0; i < labels.length; i++) {
+					labels[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+				}
+			}
+
+			Map<String, Object> row = new LinkedHashMap<>(labels.length * 2);
+			for (int i = 0; i < labels.length; i++) {
+				row.put(labels[i], JdbcUtils.getResultSetValue(resultSet, i + 1));
+			}
+			try {
+				handler.handle(row);
+			} catch (IOException error) {
+				throw new UncheckedIOException(error);
+			}
+			count[0]++;
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package com.poseidon.app.services.rules;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.exceptions.RuleCompilationException;
+
+/**
+ * Parse the sqlStr of a rule, followed by its sqlPart, into a RuleStatement.
+ * Only a single SELECT (or WITH ... SELECT) is accepted : no second statement, no comment, no variable, no keyword
+ * writing, locking or reading files. Every table named after FROM, JOIN or a comma of a FROM clause must be
+ * one of TABLES (or a common table expression of the WITH clause, after its own body), without a schema.
+ * Values are given as named parameters (":book"), never written in the query.
+ * Quoted strings and identifiers are copied as they are.
+ */
+final class RuleSqlParser {
+
+	private static final Set<String> FIRST_WORDS = new HashSet<>(Arrays.asList("SELECT", "WITH"));
+
+	private static final Set<String> FORBIDDEN_WORDS = new HashSet<>(Arrays.asList("INSERT", "UPDATE", "DELETE",
+			"REPLACE", "MERGE", "INTO", "CREATE", "ALTER", "DROP", "TRUNCATE", "RENAME", "GRANT", "REVOKE", "LOCK",
+			"UNLOCK", "CALL", "LOAD", "HANDLER", "SHUTDOWN", "KILL", "SHARE", "OUTFILE", "DUMPFILE", "LOAD_FILE",
+			"TABLE"));
+
+	// The only tables a rule can read, the read-only account of the rules is only granted SELECT on them
+	private static final Set<String> TABLES = new HashSet<>(Arrays.asList("TRADE", "BID"));
+
+	private static final Set<String> TABLE_WORDS = new HashSet<>(Arrays.asList("FROM", "JOIN", "STRAIGHT_JOIN"));
+
+	// Words ending a FROM clause : a comma after them no longer separates tables
+	private static final Set<String> CLAUSE_WORDS = new HashSet<>(Arrays.asList("WHERE", "GROUP", "HAVING",
+			"ORDER", "LIMIT", "UNION", "WINDOW", "FOR"));
+
+	private RuleSqlParser() {
+	}
+
+	/**
+	 * Get the revision of the query of a rule : its statement is parsed again only when it changes
+	 */
+	static String revision(Rule rule) {
+		return rule.getSqlStr() + '\n' + rule.getSqlPart();
+	}
+
+	static RuleStatement parse(Rule rule) throws RuleCompilationException {
+		String source = join(rule.getSqlStr(), rule.getSqlPart());
+		if (source.endsWith(";")) {
+			source = source.substring(0, source.length() - 1).trim();
+		}
+		if (source.isEmpty()) {
+			throw new RuleCompilationException("the rule has no sqlStr");
+		}
+
+		StringBuilder sql = new StringBuilder(source.length());
+		List<String> parameterNames = new ArrayList<>();
+		Set<String> commonTables = new HashSet<>();
+		// Whether each parenthesis level is in a FROM clause, the head is the current level
+		Deque<Boolean> fromClauses = new ArrayDeque<>();
+		fromClauses.push(false);
+		boolean firstWord = true;
+		boolean withClause = false;
+		boolean recursive = false;
+		// The common table being defined : its name is only usable once its body is read, unless RECURSIVE
+		String commonTable = null;
+		boolean commonTableBody = false;
+		boolean tableExpected = false;
+		boolean subqueryExpected = false;
+		int i = 0;
+
+		while (i < source.length()) {
+			char c = source.charAt(i);
+
+			if (tableExpected && c == '`') {
+				int end = closingQuote(source, i);
+				checkTable(source, source.substring(i + 1, end), end + 1, commonTables);
+				tableExpected = false;
+				sql.append(source, i, end + 1);
+				i = end + 1;
+			} else if (c == '\'' || c == '"' || c == '`') {
+				if (tableExpected || subqueryExpected) {
+					throw new RuleCompilationException("only a table or a query can follow FROM or JOIN");
+				}
+				int end = closingQuote(source, i);
+				sql.append(source, i, end + 1);
+				i = end + 1;
+			} else if (c == '(') {
+				subqueryExpected |= tableExpected;
+				tableExpected = false;
+				fromClauses.push(false);
+				sql.append(c);
+				i++;
+			} else if (c == ')') {
+				if (fromClauses.size() > 1) {
+					fromClauses.pop();
+				}
+				if (withClause && commonTableBody && fromClauses.size() == 1) {
+					commonTables.add(commonTable);
+					commonTableBody = false;
+				}
+				sql.append(c);
+				i++;
+			} else if (c == ',') {
+				tableExpected = fromClauses.peek();
+				sql.append(c);
+				i++;
+			} else if (c == '@') {
+				throw new RuleCompilationException("variables are not allowed");
+			} else if (c == ';') {
+				throw new RuleCompilationException("only one statement can be run");
+			} else if (c == '#' || source.startsWith("--", i) || source.startsWith("/*", i)) {
+				throw new RuleCompilationException("comments are not allowed");
+			} else if (c == '?') {
+				throw new RuleCompilationException("use named parameters (:name) instead of '?'");
+			} else if (c == ':' && i + 1 < source.length() && Character.isJavaIdentifierStart(source.charAt(i + 1))) {
+				int end = wordEnd(source, i + 1);
+				parameterNames.add(source.substring(i + 1, end));
+				sql.append('?');
+				i = end;
+			} else if (Character.isJavaIdentifierStart(c)) {
+				int end = wordEnd(source, i);
+				String word = source.substring(i, end).toUpperCase(Locale.ROOT);
+				if (firstWord && !FIRST_WORDS.contains(word)) {
+					throw new RuleCompilationException("only SELECT queries can be run, not " + word);
+				}
+				if (FORBIDDEN_WORDS.contains(word)) {
+					throw new RuleCompilationException(word + " is not allowed in a rule query");
+				}
+				if (subqueryExpected && !FIRST_WORDS.contains(word)) {
+					throw new RuleCompilationException("only a query can be given in parentheses after FROM or JOIN");
+				}
+
+				if (tableExpected) {
+					checkTable(source, source.substring(i, end), end, commonTables);
+					tableExpected = false;
+				} else if (TABLE_WORDS.contains(word)) {
+					tableExpected = true;
+					if (word.equals("FROM")) {
+						fromClauses.pop();
+						fromClauses.push(true);
+					}
+				} else if (CLAUSE_WORDS.contains(word)) {
+					fromClauses.pop();
+					fromClauses.push(false);
+				} else if (withClause && fromClauses.size() == 1) {
+					// The names given to the common tables, up to the SELECT of the query
+					if (word.equals("SELECT")) {
+						withClause = false;
+					} else if (word.equals("RECURSIVE")) {
+						recursive = true;
+					} else if (word.equals("AS")) {
+						commonTableBody = true;
+					} else {
+						commonTable = word;
+						if (recursive) {
+							commonTables.add(word);
+						}
+					}
+				}
+				withClause |= firstWord && word.equals("WITH");
+				firstWord = false;
+				subqueryExpected = false;
+				sql.append(source, i, end);
+				i = end;
+			} else {
+				sql.append(c);
+				i++;
+			}
+		}
+
+		if (tableExpected || subqueryExpected) {
+			throw new RuleCompilationException("a table is missing after FROM or JOIN");
+		}
+		return new RuleStatement(rule.getId(), revision(rule), sql.toString(), parameterNames);
+	}
+
+	/**
+	 * Check a table read by the query, "end" is the index following its name
+	 */
+	private static void checkTable(String source, String name, int end, Set<String> commonTables)
+			throws RuleCompilationException {
+		String table = name.toUpperCase(Locale.ROOT);
+		if (end < source.length() && source.charAt(end) == '.') {
+			throw new RuleCompilationException("tables of another schema cannot be read");
+		}
+		if (!TABLES.contains(table) && !commonTables.contains(table)) {
+			throw new RuleCompilationException("only the trade and bid tables can be read, not " + name);
+		}
+	}
+
+	private static String join(String sqlStr, String sqlPart) {
+		String head = sqlStr != null ? sqlStr.trim() : "";
+		String tail = sqlPart != null ? sqlPart.trim() : "";
+		return tail.isEmpty() ? head : head + ' ' + tail;
+	}
+
+	/**
+	 * Index of the quote closing the one at "start", a doubled quote or a backslash escapes it
+	 */
+	private static int closingQuote(String source, int start) throws RuleCompilationException {
+		char quote = source.charAt(start);
+		int i = start + 1;
+		while (i < source.length()) {
+			char c = source.charAt(i);
+			if (c == '\\' && quote != '`') {
+				i += 2;
+			} else if (c == quote && i + 1 < source.length() && source.charAt(i + 1) == quote) {
+				i += 2;
+			} else if (c == quote) {
+				return i;
+			} else {
+				i++;
+			}
+		}
+		throw new RuleCompilationException("a quote is not closed");
+	}
+
+	private static int wordEnd(String source, int start) {
+		int i = start;
+		while (i < source.length() && Character.isJavaIdentifierPart(source.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+}
@@ -0,0 +1,65 @@
+package com.poseidon.app.services.rules;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.poseidon.app.exceptions.RuleServiceException;
+
+/**
+ * The sqlStr and sqlPart of a rule, parsed once into a parameterized query : each named parameter
+ * (":book") is replaced by a "?" and its name is kept in order. The same query text is sent for every execution
+ * of a revision, so the driver reuses its prepared statement.
+ */
+public final class RuleStatement {
+
+	private final Integer ruleId;
+
+	private final String revision;
+
+	private final String sql;
+
+	private final List<String> parameterNames;
+
+	public RuleStatement(Integer ruleId, String revision, String sql, List<String> parameterNames) {
+		this.ruleId = ruleId;
+		this.revision = revision;
+		this.sql = sql;
+		this.parameterNames = Collections.unmodifiableList(parameterNames);
+	}
+
+	public Integer getRuleId() {
+		return ruleId;
+	}
+
+	String getRevision() {
+		return revision;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public List<String> getParameterNames() {
+		return parameterNames;
+	}
+
+	/**
+	 * Get the values of the "?" of the query, in order
+	 *
+	 * @param parameters						Value of each named parameter
+	 * @return									The values to bind to the statement
+	 * @throws RuleServiceException				Thrown if a parameter of the query has no value
+	 */
+	public Object[] bind(Map<String, ?> parameters) throws RuleServiceException {
+		Object[] values = new Object[parameterNames.size()];
+		for (int i = 0; i < values.length; i++) {
+			String name = parameterNames.get(i);
+			if (parameters == null || !parameters.containsKey(name)) {
+				throw new RuleServiceException("Missing parameter '" + name + "' for rule with id : " + ruleId);
+			}
+			values[i] = parameters.get(name);
+		}
+		return values;
+	}
+}
@@ -0,0 +1,36 @@
+package com.poseidon.app.services.rules;
+
+import java.util.Map;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+
+/**
+ * Entity a rule is evaluated against, given by the "entity" field of its json
+ */
+public enum RuleTarget {
+	BID(Bid.class, RuleFields.BID), TRADE(Trade.class, RuleFields.TRADE);
+
+	private final Class<?> entityClass;
+
+	private final Map<String, RuleField> fields;
+
+	RuleTarget(Class<?> entityClass, Map<String, RuleField> fields) {
+		this.entityClass = entityClass;
+		this.fields = fields;
+	}
+
+	public Class<?> getEntityClass() {
+		return entityClass;
+	}
+
+	/**
+	 * Find a field of the entity by its name
+	 *
+	 * @param name								The field name, as in the entity ("buyQuantity")
+	 * @return									RuleField, null if the entity has no such field
+	 */
+	RuleField field(String name) {
+		return name != null ? fields.get(name) : null;
+	}
+}
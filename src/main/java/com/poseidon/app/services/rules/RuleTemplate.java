@@ -0,0 +1,111 @@
+package com.poseidon.app.services.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.poseidon.app.exceptions.RuleCompilationException;
+
+/**
+ * The template of a rule, compiled once into a render plan : the literal parts and the fields of the row
+ * (written "{{book}}") in order. Rendering only appends the literals and calls the getters of the fields,
+ * the template is never parsed again. A null field is rendered as an empty text.
+ */
+public final class RuleTemplate {
+
+	private static final String OPEN = "{{";
+
+	private static final String CLOSE = "}}";
+
+	// Literal text, or null when the part is a field
+	private final String[] literals;
+
+	private final RuleField[] fields;
+
+	private final int literalLength;
+
+	private RuleTemplate(String[] literals, RuleField[] fields, int literalLength) {
+		this.literals = literals;
+		this.fields = fields;
+		this.literalLength = literalLength;
+	}
+
+	/**
+	 * Compile a template for the rows of an entity
+	 *
+	 * @param template							The template, e.g. "Trade {{id}} of book {{book}} is too large"
+	 * @param target							The entity the rows belong to
+	 * @return									RuleTemplate ready to render
+	 * @throws RuleCompilationException			Thrown if a "{{" is not closed or a field does not exist
+	 */
+	public static RuleTemplate compile(String template, RuleTarget target) throws RuleCompilationException {
+		List<String> literals = new ArrayList<>();
+		List<RuleField> fields = new ArrayList<>();
+		int literalLength = 0;
+		int i = 0;
+
+		while (i < template.length()) {
+			int open = template.indexOf(OPEN, i);
+			if (open < 0) {
+				open = template.length();
+			}
+			if (open > i) {
+				literals.add(template.substring(i, open));
+				fields.add(null);
+				literalLength += open - i;
+			}
+			if (open == template.length()) {
+				break;
+			}
+
+			int close = template.indexOf(CLOSE, open + OPEN.length());
+			if (close < 0) {
+				throw new RuleCompilationException("a \"{{\" of the template is not closed");
+			}
+			String name = template.substring(open + OPEN.length(), close).trim();
+			RuleField field = target.field(name);
+			if (field == null) {
+				throw new RuleCompilationException("unknown field in template : " + name);
+			}
+			literals.add(null);
+			fields.add(field);
+			i = close + CLOSE.length();
+		}
+
+		return new RuleTemplate(literals.toArray(new String[0]), fields.toArray(new RuleField[0]), literalLength);
+	}
+
+	/**
+	 * Render the template with the fields of a row
+	 *
+	 * @param row								A bid or a trade, of the entity the template was compiled for
+	 * @return									The rendered text
+	 */
+	public String render(Object row) {
+		StringBuilder text = new StringBuilder(literalLength + 16 * fields.length);
+		for (int i = 0; i < literals.length; i++) {
+			if (literals[i] != null) {
+				text.append(literals[i]);
+			} else {
+				append(text, fields[i].read(row));
+			}
+		}
+		return text.toString();
+	}
+
+	private static void append(StringBuilder text, Object value) {
+		if (value == null) {
+			return;
+		}
+		if (value instanceof Double) {
+			// Quantities and prices are doubles : the whole ones are written without ".0"
+			double number = (Double) value;
+			if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+				text.append((long) number);
+			} else {
+				text.append(number);
+			}
+			return;
+		}
+		text.append(value);
+	}
+}
@@ -0,0 +1,44 @@
+package com.poseidon.app.utilities;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * Helpers to apply a partial update on a bean
+ */
+public final class BeanMergeUtils {
+
+	/**
+	 * Hiding the constructor, this class only has static methods
+	 */
+	private BeanMergeUtils() {
+		// Hiding the constructor
+	}
+
+	/**
+	 * Copy the properties of the source that are not null on the target, the others are left unchanged
+	 *
+	 * @param source							The bean with the changed properties
+	 * @param target							The bean the properties are copied to
+	 * @param ignoredProperties					Names of the properties that are never copied
+	 */
+	public static void copyNonNullProperties(Object source, Object target, String... ignoredProperties) {
+		BeanWrapper wrapper = new BeanWrapperImpl(source);
+		List<String> ignored = new ArrayList<>(Arrays.asList(ignoredProperties));
+
+		for (PropertyDescriptor property : wrapper.getPropertyDescriptors()) {
+			if (!wrapper.isReadableProperty(property.getName())
+					|| wrapper.getPropertyValue(property.getName()) == null) {
+				ignored.add(property.getName());
+			}
+		}
+
+		BeanUtils.copyProperties(source, target, ignored.toArray(new String[0]));
+	}
+}
@@ -0,0 +1,81 @@
+package com.poseidon.app.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal CSV helpers (RFC 4180 quoting, one record per line)
+ */
+public final class CsvUtils {
+
+	/**
+	 * Hiding the constructor, this class only has static methods
+	 */
+	private CsvUtils() {
+		// Hiding the constructor
+	}
+
+	/**
+	 * Split a CSV line into its fields.
+	 * Fields can be quoted with double quotes, a double quote inside a quoted field is escaped by doubling it.
+	 *
+	 * @param line								The CSV line
+	 * @return									List<String> with the fields of the line
+	 */
+	public static List<String> parseLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char ch = line.charAt(i);
+			if (quoted) {
+				if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (ch == '"') {
+					quoted = false;
+				} else {
+					field.append(ch);
+				}
+			} else if (ch == '"') {
+				quoted = true;
+			} else if (ch == ',') {
+				fields.add(field.toString().trim());
+				field.setLength(0);
+			} else {
+				field.append(ch);
+			}
+		}
+		fields.add(field.toString().trim());
+		return fields;
+	}
+
+	/**
+	 * Join values into a CSV line, quoting the values that contain a separator, a quote or a line break.
+	 * Null values are written as empty fields.
+	 *
+	 * @param values							The values of the line
+	 * @return									The CSV line, without line terminator
+	 */
+	public static String formatLine(Object... values) {
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				line.append(',');
+			}
+			if (values[i] == null) {
+				continue;
+			}
+
+			String value = values[i].toString();
+			if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+					|| value.indexOf('\r') >= 0) {
+				line.append('"').append(value.replace("\"", "\"\"")).append('"');
+			} else {
+				line.append(value);
+			}
+		}
+		return line.toString();
+	}
+}
@@ -5,6 +5,7 @@
 DROP TABLE IF EXISTS `bid`;
 CREATE TABLE `bid` (
   `id` int unsigned NOT NULL AUTO_INCREMENT,
+  `version` int NOT NULL DEFAULT 0,
   `account` varchar(30) NOT NULL,
   `type` varchar(30) NOT NULL,
   `bid` double DEFAULT NULL,
@@ -27,7 +28,11 @@ CREATE TABLE `bid` (
   `revision_name` varchar(255) DEFAULT NULL,
   `source_list_id` varchar(255) DEFAULT NULL,
   `bid_list_date` datetime DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_bid_account` (`account`),
+  KEY `idx_bid_security` (`security`),
+  KEY `idx_bid_book` (`book`),
+  KEY `idx_bid_trader` (`trader`)
 ) ENGINE=InnoDB AUTO_INCREMENT=0 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 --
@@ -42,7 +47,8 @@ CREATE TABLE `curvepoint` (
   `value` double DEFAULT NULL,
   `as_of_date` datetime DEFAULT NULL,
   `creation_date` datetime DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_curvepoint_curve_date_term` (`curve_id`, `as_of_date`, `term`)
 ) ENGINE=InnoDB AUTO_INCREMENT=0 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 --
@@ -82,6 +88,7 @@ CREATE TABLE `rule` (
 DROP TABLE IF EXISTS `trade`;
 CREATE TABLE `trade` (
   `id` int unsigned NOT NULL AUTO_INCREMENT,
+  `version` int NOT NULL DEFAULT 0,
   `account` varchar(30) NOT NULL,
   `type` varchar(30) NOT NULL,
   `buy_quantity` double DEFAULT NULL,
@@ -102,7 +109,12 @@ CREATE TABLE `trade` (
   `revision_name` varchar(255) DEFAULT NULL,
   `source_list_id` varchar(255) DEFAULT NULL,
   `trade_date` datetime DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_trade_account` (`account`),
+  KEY `idx_trade_security` (`security`),
+  KEY `idx_trade_book` (`book`),
+  KEY `idx_trade_trader` (`trader`),
+  KEY `idx_trade_trade_date` (`trade_date`)
 ) ENGINE=InnoDB AUTO_INCREMENT=0 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 --
@@ -116,7 +128,8 @@ CREATE TABLE `users` (
   `password` varchar(125) DEFAULT NULL,
   `fullname` varchar(125) DEFAULT NULL,
   `role` varchar(125) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `ux_users_username` (`username`)
 ) ENGINE=InnoDB AUTO_INCREMENT=0 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 -- Inserting two users
@@ -124,4 +137,39 @@ CREATE TABLE `users` (
 
 INSERT users (username, password, fullname, role) VALUES
 	 ('admin','$2a$10$ChL6CBbIlAIxCnSGmFOwWe1GdZgZpg.eGVOj7Wi23eJb.LOQFiN8C','Elizabeth Mary','ADMIN'),
-	 ('user','$2a$10$d2xA9mXir5IfOAY7i3XbOeHxw1vPmn1WVxF7Tnd.aO2JXsLG89onC','Charles George','USER');
\ No newline at end of file
+	 ('user','$2a$10$d2xA9mXir5IfOAY7i3XbOeHxw1vPmn1WVxF7Tnd.aO2JXsLG89onC','Charles George','USER');
+
+--
+-- Id generators
+-- Trade, CurvePoint, Rating, Rule and User take their ids from a pooled generator (blocks of 50 ids),
+-- emulated on MySQL with a one row table per entity. Each table starts after the highest existing id,
+-- so these statements can also be run on a database that already has rows.
+--
+
+DROP TABLE IF EXISTS `trade_seq`;
+CREATE TABLE `trade_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO trade_seq SELECT COALESCE(MAX(id), 0) + 1 FROM trade;
+
+DROP TABLE IF EXISTS `curvepoint_seq`;
+CREATE TABLE `curvepoint_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO curvepoint_seq SELECT COALESCE(MAX(id), 0) + 1 FROM curvepoint;
+
+DROP TABLE IF EXISTS `rating_seq`;
+CREATE TABLE `rating_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO rating_seq SELECT COALESCE(MAX(id), 0) + 1 FROM rating;
+
+DROP TABLE IF EXISTS `rule_seq`;
+CREATE TABLE `rule_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO rule_seq SELECT COALESCE(MAX(id), 0) + 1 FROM rule;
+
+DROP TABLE IF EXISTS `users_seq`;
+CREATE TABLE `users_seq` (`next_val` bigint DEFAULT NULL) ENGINE=InnoDB;
+INSERT INTO users_seq SELECT COALESCE(MAX(id), 0) + 1 FROM users;
+
+--
+-- Account of the rule queries (poseidon.rules.sql.datasource) : it can only read the trades and bids
+--
+
+CREATE USER IF NOT EXISTS 'poseidon_rules'@'localhost' IDENTIFIED BY 'Rul3s-Passw0rd';
+GRANT SELECT ON `trade` TO 'poseidon_rules'@'localhost';
+GRANT SELECT ON `bid` TO 'poseidon_rules'@'localhost';
@@ -0,0 +1,79 @@
+/*
+ * Live blotter : keeps the rows of a list up to date with the changes streamed by the server (Server-Sent Events).
+ * A table opts in with its attributes :
+ * - data-stream : url of the stream, data-url : url of the list pages (for the Edit and Delete links)
+ * - data-columns : fields of a row shown in the cells, in order
+ * - data-append : "true" if a created row belongs to this page, data-sort : "desc" to add it on top
+ * Each row gives its id in data-id.
+ */
+(function () {
+	'use strict';
+
+	function link(href, text) {
+		var a = document.createElement('a');
+		a.href = href;
+		a.textContent = text;
+		return a;
+	}
+
+	function fill(table, row, data) {
+		while (row.firstChild) {
+			row.removeChild(row.firstChild);
+		}
+		table.getAttribute('data-columns').split(',').forEach(function (column) {
+			var cell = document.createElement('td');
+			cell.textContent = data[column] == null ? '' : data[column];
+			row.appendChild(cell);
+		});
+
+		var url = table.getAttribute('data-url');
+		var actions = document.createElement('td');
+		actions.className = 'text-center';
+		actions.style.width = '15%';
+		actions.appendChild(link(url + '/update/' + data.id, 'Edit'));
+		actions.appendChild(document.createTextNode(' | '));
+		actions.appendChild(link(url + '/delete/' + data.id, 'Delete'));
+		row.appendChild(actions);
+	}
+
+	function connect(table) {
+		var body = table.tBodies[0];
+		var source = new EventSource(table.getAttribute('data-stream'));
+
+		function find(id) {
+			return body.querySelector('tr[data-id="' + id + '"]');
+		}
+
+		source.addEventListener('CREATED', function (event) {
+			var change = JSON.parse(event.data);
+			if (table.getAttribute('data-append') !== 'true' || find(change.id)) {
+				return;
+			}
+			var row = document.createElement('tr');
+			row.setAttribute('data-id', change.id);
+			fill(table, row, change.row);
+			body.insertBefore(row, table.getAttribute('data-sort') === 'desc' ? body.firstChild : null);
+		});
+
+		function update(event) {
+			var change = JSON.parse(event.data);
+			var row = find(change.id);
+			if (row) {
+				fill(table, row, change.row);
+			}
+		}
+
+		source.addEventListener('UPDATED', update);
+		// Quantities left on a bid by the matching engine
+		source.addEventListener('FILLED', update);
+
+		source.addEventListener('DELETED', function (event) {
+			var row = find(JSON.parse(event.data).id);
+			if (row) {
+				body.removeChild(row);
+			}
+		});
+	}
+
+	Array.prototype.forEach.call(document.querySelectorAll('table[data-stream]'), connect);
+})();
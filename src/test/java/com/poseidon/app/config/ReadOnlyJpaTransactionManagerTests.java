@@ -0,0 +1,83 @@
+package com.poseidon.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.repositories.RatingRepository;
+
+@DataJpaTest
+@Import(PersistenceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RunWith(SpringRunner.class)
+public class ReadOnlyJpaTransactionManagerTests {
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	RatingRepository ratingRepository;
+
+	Integer ratingId;
+
+	@Before
+	public void setUp() {
+		ratingRepository.deleteAll();
+		ratingId = ratingRepository.save(new Rating("Aaa", "AAA", "AAA", 1)).getId();
+	}
+
+	@Test
+	public void testReadOnlyTransaction_ShouldLoad_ReadOnlyEntities_AndNeverFlush() {
+
+		// ARRANGE
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+
+		// ACT
+		Boolean loadedReadOnly = readOnly.execute(status -> {
+			Rating rating = ratingRepository.findRatingById(ratingId).get();
+			rating.setMoodysRating("Changed");
+			return entityManager.unwrap(Session.class).isReadOnly(rating);
+		});
+
+		// ASSERT
+		assertThat(transactionManager).isInstanceOf(ReadOnlyJpaTransactionManager.class);
+		assertThat(loadedReadOnly).isTrue();
+		assertThat(ratingRepository.findRatingById(ratingId).get().getMoodysRating()).isEqualTo("Aaa");
+	}
+
+	@Test
+	public void testReadWriteTransaction_ShouldFlush_ChangedEntities() {
+
+		// ARRANGE
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+		// ACT
+		Boolean loadedReadOnly = readWrite.execute(status -> {
+			Rating rating = ratingRepository.findRatingById(ratingId).get();
+			rating.setMoodysRating("Changed");
+			return entityManager.unwrap(Session.class).isReadOnly(rating);
+		});
+
+		// ASSERT
+		assertThat(loadedReadOnly).isFalse();
+		assertThat(ratingRepository.findRatingById(ratingId).get().getMoodysRating()).isEqualTo("Changed");
+	}
+}
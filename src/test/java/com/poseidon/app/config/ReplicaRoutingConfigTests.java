@@ -0,0 +1,60 @@
+package com.poseidon.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.exceptions.RatingServiceException;
+import com.poseidon.app.services.RatingService;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The application with one replica, which is the primary database itself here (no lag query on H2)
+ */
+@SpringBootTest(properties = { "poseidon.datasource.routing.enabled=true",
+		"spring.datasource.hikari.pool-name=primary", "spring.datasource.hikari.maximum-pool-size=7",
+		"poseidon.datasource.routing.lag-query=",
+		"poseidon.datasource.routing.replicas[0].url=${spring.datasource.url}",
+		"poseidon.datasource.routing.replicas[0].username=${spring.datasource.username}",
+		"poseidon.datasource.routing.replicas[0].password=${spring.datasource.password}" })
+@RunWith(SpringRunner.class)
+public class ReplicaRoutingConfigTests {
+
+	@Autowired
+	DataSource dataSource;
+
+	@Autowired
+	RatingService ratingService;
+
+	@Test
+	public void testRouting_ShouldServe_ReadsAndWrites() throws RatingServiceException {
+
+		// ACT
+		ratingService.createRating(new Rating("Aaa", "AAA", "AAA", 1));
+
+		// ASSERT
+		assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+		assertThat(((ReplicaRoutingDataSource) dataSource).getAvailableReplicas()).hasSize(1);
+		assertThat(ratingService.findAllRatings()).extracting(Rating::getMoodysRating).contains("Aaa");
+	}
+
+	@Test
+	public void testPrimary_ShouldBind_HikariProperties() {
+
+		// ACT
+		DataSource primary = ((ReplicaRoutingDataSource) dataSource).getPrimary();
+
+		// ASSERT
+		assertThat(primary).isInstanceOf(HikariDataSource.class);
+		assertThat(((HikariDataSource) primary).getPoolName()).isEqualTo("primary");
+		assertThat(((HikariDataSource) primary).getMaximumPoolSize()).isEqualTo(7);
+	}
+}
@@ -0,0 +1,187 @@
+package com.poseidon.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routing between two (or three) embedded H2 databases, each one knows its own name
+ */
+public class ReplicaRoutingDataSourceTests {
+
+	private static final String WHICH_DATABASE = "SELECT name FROM node";
+
+	DataSource primary;
+
+	DataSource replica;
+
+	ReplicaRoutingDataSource routingDataSource;
+
+	@Before
+	public void setUp() {
+		primary = database("primary");
+		replica = database("replica");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (routingDataSource != null) {
+			routingDataSource.destroy();
+		}
+	}
+
+	private static DataSource database(String name) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(30))");
+		jdbcTemplate.execute("DELETE FROM node");
+		jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)");
+		jdbcTemplate.execute("DELETE FROM replica_lag");
+		jdbcTemplate.execute("INSERT INTO replica_lag VALUES (0)");
+		return dataSource;
+	}
+
+	private ReplicaRoutingDataSource routing(Map<String, DataSource> replicas) {
+		routingDataSource = new ReplicaRoutingDataSource(primary, replicas, "SELECT seconds FROM replica_lag", 5, 0);
+		routingDataSource.afterPropertiesSet();
+		return routingDataSource;
+	}
+
+	private static String query(DataSource dataSource, boolean readOnly) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transactionTemplate.setReadOnly(readOnly);
+		return transactionTemplate
+				.execute(status -> new JdbcTemplate(dataSource).queryForObject(WHICH_DATABASE, String.class));
+	}
+
+	@Test
+	public void testReadOnlyTransaction_ShouldUse_Replica_AndWrites_Primary() {
+
+		// ARRANGE
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica", replica);
+		DataSource dataSource = routing(replicas);
+
+		// ACT
+		String reads = query(dataSource, true);
+		String writes = query(dataSource, false);
+
+		// ASSERT
+		assertThat(reads).isEqualTo("replica");
+		assertThat(writes).isEqualTo("primary");
+	}
+
+	@Test
+	public void testPrimaryReads_ShouldSend_ReadOnlyTransactions_ToPrimary() {
+
+		// ARRANGE
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica", replica);
+		DataSource dataSource = routing(replicas);
+
+		// ACT
+		ReplicaRoutingDataSource.setPrimaryReads(true);
+		String primaryReads;
+		try {
+			primaryReads = query(dataSource, true);
+		} finally {
+			ReplicaRoutingDataSource.setPrimaryReads(false);
+		}
+		String replicaReads = query(dataSource, true);
+
+		// ASSERT
+		assertThat(primaryReads).isEqualTo("primary");
+		assertThat(replicaReads).isEqualTo("replica");
+	}
+
+	@Test
+	public void testReadFromPrimary_InReadOnlyTransaction_ShouldUse_Primary() {
+
+		// ARRANGE
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica", replica);
+		DataSource dataSource = routing(replicas);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transactionTemplate.setReadOnly(true);
+
+		// ACT
+		String primaryReads = transactionTemplate.execute(status -> ReplicaRoutingDataSource
+				.readFromPrimary(() -> new JdbcTemplate(dataSource).queryForObject(WHICH_DATABASE, String.class)));
+		String replicaReads = query(dataSource, true);
+
+		// ASSERT
+		assertThat(primaryReads).isEqualTo("primary");
+		assertThat(replicaReads).isEqualTo("replica");
+	}
+
+	@Test
+	public void testReplicaLag_AboveTolerance_ShouldFallBack_ToPrimary() {
+
+		// ARRANGE
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica", replica);
+		ReplicaRoutingDataSource dataSource = routing(replicas);
+
+		// ACT
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+		dataSource.checkReplicas();
+		String lagging = query(dataSource, true);
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 2");
+		dataSource.checkReplicas();
+		String caughtUp = query(dataSource, true);
+
+		// ASSERT
+		assertThat(lagging).isEqualTo("primary");
+		assertThat(caughtUp).isEqualTo("replica");
+	}
+
+	@Test
+	public void testReplicaDown_ShouldFallBack_ToPrimary() {
+
+		// ARRANGE
+		JdbcDataSource down = new JdbcDataSource();
+		down.setURL("jdbc:h2:tcp://localhost:1/nowhere");
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("down", down);
+		ReplicaRoutingDataSource dataSource = routing(replicas);
+
+		// ACT
+		String reads = query(dataSource, true);
+
+		// ASSERT
+		assertThat(reads).isEqualTo("primary");
+		assertThat(dataSource.getAvailableReplicas()).isEmpty();
+	}
+
+	@Test
+	public void testReads_ShouldUse_AvailableReplicasInTurn() {
+
+		// ARRANGE
+		DataSource secondReplica = database("second-replica");
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica", replica);
+		replicas.put("second-replica", secondReplica);
+		ReplicaRoutingDataSource dataSource = routing(replicas);
+
+		// ACT
+		String first = query(dataSource, true);
+		String second = query(dataSource, true);
+
+		// ASSERT
+		assertThat(dataSource.getAvailableReplicas()).containsExactly("replica", "second-replica");
+		assertThat(first).isNotEqualTo(second);
+	}
+}
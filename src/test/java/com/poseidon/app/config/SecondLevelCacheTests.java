@@ -0,0 +1,123 @@
+package com.poseidon.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.OptionalLong;
+
+import javax.cache.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.poseidon.app.config.constants.CacheRegions;
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.repositories.RatingRepository;
+import com.poseidon.app.services.RatingService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class SecondLevelCacheTests {
+
+	@Autowired
+	RatingService ratingService;
+
+	@Autowired
+	RatingRepository ratingRepository;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	CaffeineRegionFactory regionFactory;
+
+	Integer ratingId;
+
+	@Before
+	public void setUp() {
+		regionFactory = (CaffeineRegionFactory) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getCache().getRegionFactory();
+		ratingId = ratingRepository.save(new Rating("Aaa", "AAA", "AAA", 1)).getId();
+	}
+
+	@Test
+	public void testFindRatings_Twice_ShouldHit_QueryAndEntityRegions() throws Exception {
+
+		// ARRANGE
+		ratingService.findAllRatings();
+		double queryHits = hits(CacheRegions.RATING_QUERIES);
+		double entityHits = hits(CacheRegions.RATING);
+
+		// ACT
+		ratingService.findAllRatings();
+		ratingService.findRatingById(ratingId);
+
+		// ASSERT
+		assertThat(hits(CacheRegions.RATING_QUERIES)).isGreaterThan(queryHits);
+		assertThat(hits(CacheRegions.RATING)).isGreaterThan(entityHits);
+	}
+
+	@Test
+	public void testUpdateRating_ShouldEvict_QueryRegion() throws Exception {
+
+		// ARRANGE
+		ratingService.findAllRatings();
+		ratingService.findAllRatingSummaries();
+		assertThat(region(CacheRegions.RATING_QUERIES).iterator().hasNext()).isTrue();
+
+		// ACT
+		ratingService.updateRating(ratingId, new Rating("Baa1", "BBB+", "BBB+", 2));
+
+		// ASSERT
+		assertThat(region(CacheRegions.RATING_QUERIES).iterator().hasNext()).isFalse();
+		assertThat(ratingService.findAllRatings()).extracting(Rating::getMoodysRating).contains("Baa1");
+	}
+
+	@Test
+	public void testUpdateRating_ShouldKeep_OtherCachedRatings() throws Exception {
+
+		// ARRANGE
+		Integer otherId = ratingRepository.save(new Rating("Aa1", "AA+", "AA+", 3)).getId();
+		ratingService.findAllRatings();
+		double entityHits = hits(CacheRegions.RATING);
+
+		// ACT
+		ratingService.updateRating(ratingId, new Rating("Baa1", "BBB+", "BBB+", 2));
+		ratingRepository.findById(otherId);
+		Rating updated = ratingRepository.findById(ratingId).get();
+
+		// ASSERT
+		assertThat(hits(CacheRegions.RATING)).isGreaterThanOrEqualTo(entityHits + 3);
+		assertThat(updated.getMoodysRating()).isEqualTo("Baa1");
+	}
+
+	@Test
+	public void testRegions_ShouldBeBounded_ByConfiguredMaximumSize() {
+
+		// ACT
+		CaffeineConfiguration<?, ?> configuration = region(CacheRegions.RATING_QUERIES)
+				.getConfiguration(CaffeineConfiguration.class);
+
+		// ASSERT
+		assertThat(configuration.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+		assertThat(configuration.isStatisticsEnabled()).isTrue();
+	}
+
+	private Cache<Object, Object> region(String regionName) {
+		return regionFactory.getCacheManager().getCache(regionName);
+	}
+
+	private double hits(String regionName) {
+		return meterRegistry.get("cache.gets").tags("cache", regionName, "result", "hit").functionCounter().count();
+	}
+}
@@ -1,12 +1,22 @@
 package com.poseidon.app.controllers;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
@@ -24,16 +34,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import com.poseidon.app.domain.Bid;
 import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.BidSummary;
+import com.poseidon.app.domain.dto.KeysetPage;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.exceptions.BidConflictException;
 import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.domain.dto.BidImportReport;
+import com.poseidon.app.services.BidImportService;
+import com.poseidon.app.services.ExportService;
 import com.poseidon.app.services.BidService;
+import com.poseidon.app.services.BlotterService;
 
 @AutoConfigureMockMvc
 @SpringBootTest
@@ -49,6 +71,15 @@ public class BidControllerTests {
 	@MockBean
 	BidService bidServiceMock;
 
+	@MockBean
+	BidImportService bidImportServiceMock;
+
+	@MockBean
+	ExportService exportServiceMock;
+
+	@Autowired
+	BlotterService blotterService;
+
 	@Rule
 	public MockitoRule mockitoRule = MockitoJUnit.rule();
 
@@ -59,12 +90,16 @@ public class BidControllerTests {
 
 	static Bid mockFirstBid;
 	static List<Bid> bidListMock;
+	static List<BidSummary> bidSummaries;
 
 	@BeforeClass
 	public static void setUpBeforeClass() throws Exception {
 		bidListMock = new ArrayList<>();
 		mockFirstBid = new Bid("First Account", "Main", 10d);
+		mockFirstBid.setId(1);
 		bidListMock.add(mockFirstBid);
+		bidSummaries = new ArrayList<>();
+		bidSummaries.add(new BidSummary(1, "First Account", "Main", 10d));
 	}
 
 	@Test
@@ -72,12 +107,32 @@ public class BidControllerTests {
 	public void get_Bids_Successful() throws Exception {
 
 		// ARRANGE
-		when(bidServiceMock.findAllBids()).thenReturn(bidListMock);
+		KeysetPage<BidSummary> page = new KeysetPage<>(bidSummaries, 20, Sort.Direction.ASC, 1, 1, false, false);
+		when(bidServiceMock.findBidSummaryPage(isNull(), isNull(), eq(20), eq(Sort.Direction.ASC))).thenReturn(page);
 
 		// ACT AND ASSERT
 		mockMvc.perform(get("/bidList/list")) //
 				.andExpect(status().is2xxSuccessful()) //
-				.andExpect(model().attributeExists("bids")); //
+				.andExpect(model().attributeExists("bids")) //
+				.andExpect(model().attributeExists("page")); //
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_BidsNextPage_Successful() throws Exception {
+
+		// ARRANGE
+		KeysetPage<BidSummary> page = new KeysetPage<>(bidSummaries, 50, Sort.Direction.DESC, 1, 1, true, true);
+		when(bidServiceMock.findBidSummaryPage(eq(10), isNull(), eq(50), eq(Sort.Direction.DESC))).thenReturn(page);
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/bidList/list") //
+				.param("after", "10") //
+				.param("size", "50") //
+				.param("sort", "desc")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(model().attribute("page", page)) //
+				.andExpect(view().name("bidList/list"));
 	}
 
 	@Test
@@ -131,6 +186,38 @@ public class BidControllerTests {
 				.andExpect(view().name("redirect:/bidList/list"));
 	}
 
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void post_UpdateBid_Conflict() throws Exception {
+
+		// ARRANGE
+		Bid bidEntity = new Bid("Account", "type", 20d);
+		Bid currentBid = new Bid("Account Changed", "type", 5d);
+		BidDto currentBidDto = new BidDto();
+		currentBidDto.setId(1);
+		currentBidDto.setVersion(3);
+		currentBidDto.setAccount("Account Changed");
+		currentBidDto.setType("Type");
+		currentBidDto.setBidQuantity("5");
+		when(bidServiceMock.convertDtoToEntity(any(BidDto.class))).thenReturn(bidEntity);
+		when(bidServiceMock.updateBid(anyInt(), any(Bid.class)))
+				.thenThrow(new BidConflictException("Bid with id '1' was changed by someone else"));
+		when(bidServiceMock.findBidById(1)).thenReturn(currentBid);
+		when(bidServiceMock.convertEntityToDto(currentBid)).thenReturn(currentBidDto);
+
+		// ACT AND ASSERT
+		mockMvc.perform(post("/bidList/update/{id}", "1") //
+				.param("version", "2") //
+				.param("account", "Account") //
+				.param("type", "Type") //
+				.param("bidQuantity", "20")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(model().attribute("message", "Bid with id '1' was changed by someone else")) //
+				.andExpect(model().attribute("bidDto", currentBidDto)) //
+				.andExpect(content().string(containsString("value=\"3\""))) //
+				.andExpect(view().name("bidList/update"));
+	}
+
 	@Test
 	@WithMockUser(username = "user", roles = "USER")
 	public void get_UpdateBid_Successful() throws Exception {
@@ -194,4 +281,87 @@ public class BidControllerTests {
 				.andExpect(view().name("redirect:/bidList/list"));
 	}
 
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void post_ImportBids_Successful() throws Exception {
+
+		// ARRANGE
+		BidImportReport report = new BidImportReport();
+		report.setRowsRead(1);
+		report.setRowsImported(1);
+		when(bidImportServiceMock.importBids(any(), eq(FileFormat.CSV))).thenReturn(report);
+
+		// ACT AND ASSERT
+		mockMvc.perform(post("/bidList/import") //
+				.param("format", "csv") //
+				.contentType("text/csv") //
+				.content("account,type,bidQuantity\nAccount,Type,20\n")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(jsonPath("$.rowsImported").value(1));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void post_ImportBids_UnknownFormat() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(post("/bidList/import") //
+				.param("format", "xml") //
+				.content("<bids/>")) //
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_ExportBids_Successful() throws Exception {
+
+		// ACT AND ASSERT
+		MvcResult result = mockMvc.perform(get("/bidList/export").param("format", "csv")) //
+				.andExpect(request().asyncStarted()) //
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result)) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(content().contentType("text/csv")) //
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"bids.csv\""));
+		verify(exportServiceMock).exportBids(eq(FileFormat.CSV), any());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_ExportBids_UnknownFormat() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/bidList/export").param("format", "xml")) //
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_StreamBids_ShouldPush_BidChanges() throws Exception {
+
+		// ARRANGE
+		MvcResult result = mockMvc.perform(get("/bidList/stream")) //
+				.andExpect(request().asyncStarted()) //
+				.andReturn();
+		Bid bid = new Bid("Streamed Account", "Type", 15d);
+		bid.setId(42);
+
+		// ACT
+		blotterService.onBidChange(new BidChangeEvent(ChangeType.UPDATED, 42, bid));
+		blotterService.onBidChange(new BidChangeEvent(ChangeType.DELETED, 42, null));
+
+		// ASSERT
+		String expected = "event:DELETED\ndata:{\"type\":\"DELETED\",\"id\":42}";
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!result.getResponse().getContentAsString().contains(expected)
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(result.getResponse().getContentType()).startsWith("text/event-stream");
+		assertThat(result.getResponse().getContentAsString()) //
+				.contains("event:UPDATED\ndata:{\"type\":\"UPDATED\",\"id\":42,\"row\":{\"id\":42,"
+						+ "\"account\":\"Streamed Account\",\"type\":\"Type\",\"bidQuantity\":15.0}}") //
+				.contains(expected);
+	}
 }
@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -32,6 +33,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import com.poseidon.app.domain.CurvePoint;
 import com.poseidon.app.domain.dto.CurvePointDto;
+import com.poseidon.app.domain.dto.CurvePointSummary;
 import com.poseidon.app.exceptions.CurvePointServiceException;
 import com.poseidon.app.services.CurvePointService;
 
@@ -74,7 +76,8 @@ public class CurvePointControllerTests {
 	public void get_CurvePoints_Successful() throws Exception {
 
 		// ARRANGE
-		when(curvePointServiceMock.findAllCurvePoint()).thenReturn(curvePointListMock);
+		when(curvePointServiceMock.findAllCurvePointSummaries())
+				.thenReturn(Collections.singletonList(new CurvePointSummary(1, 10, 15d, 15d)));
 
 		// ACT AND ASSERT
 		mockMvc.perform(get("/curvePoint/list")) //
@@ -0,0 +1,237 @@
+package com.poseidon.app.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.poseidon.app.repositories.StatementRecorder;
+import com.poseidon.app.repositories.UserRepository;
+
+/**
+ * Counts the statements sent to the database by each create, update and delete request of the controllers.
+ * A write is followed by a redirect to the list page : nothing is read once the write is done.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@TestPropertySource(properties = { "poseidon.matching.enabled=false",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.poseidon.app.repositories.StatementRecorder" })
+@RunWith(SpringRunner.class)
+public class MutationQueryCountTests {
+
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).build();
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void testBidMutations_ShouldOnlyWrite() throws Exception {
+
+		// ACT
+		List<String> create = statementsOf(post("/bidList/validate") //
+				.param("account", "Query Count") //
+				.param("type", "Type") //
+				.param("bidQuantity", "10"), "/bidList/list");
+		Integer id = lastId("bid");
+		List<String> update = statementsOf(post("/bidList/update/{id}", id) //
+				.param("version", "0") //
+				.param("account", "Query Count") //
+				.param("type", "Type Updated") //
+				.param("bidQuantity", "20"), "/bidList/list");
+		List<String> delete = statementsOf(get("/bidList/delete/{id}", id), "/bidList/list");
+
+		// ASSERT
+		assertThat(create).containsExactly("insert");
+		assertThat(update).containsExactly("update");
+		assertThat(delete).containsExactly("delete");
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void testTradeMutations_ShouldOnlyWrite() throws Exception {
+
+		// ACT
+		statementsOf(post("/trade/validate") //
+				.param("account", "Warm Up") //
+				.param("type", "Type") //
+				.param("buyQuantity", "10"), "/trade/list");
+		List<String> create = statementsOf(post("/trade/validate") //
+				.param("account", "Query Count") //
+				.param("type", "Type") //
+				.param("buyQuantity", "10"), "/trade/list");
+		Integer id = lastId("trade");
+		List<String> update = statementsOf(post("/trade/update/{id}", id) //
+				.param("version", "0") //
+				.param("account", "Query Count") //
+				.param("type", "Type Updated") //
+				.param("buyQuantity", "20"), "/trade/list");
+		List<String> delete = statementsOf(get("/trade/delete/{id}", id), "/trade/list");
+
+		// ASSERT
+		assertThat(create).containsExactly("insert");
+		assertThat(update).containsExactly("update");
+		assertThat(delete).containsExactly("delete");
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void testCurvePointMutations_ShouldOnlyWrite() throws Exception {
+
+		// ACT
+		statementsOf(post("/curvePoint/validate") //
+				.param("curveId", "42") //
+				.param("term", "1") //
+				.param("value", "0.5"), "/curvePoint/list");
+		List<String> create = statementsOf(post("/curvePoint/validate") //
+				.param("curveId", "42") //
+				.param("term", "2") //
+				.param("value", "0.75"), "/curvePoint/list");
+		Integer id = lastId("curvepoint");
+		List<String> update = statementsOf(post("/curvePoint/update/{id}", id) //
+				.param("curveId", "42") //
+				.param("term", "2") //
+				.param("value", "0.8"), "/curvePoint/list");
+		List<String> delete = statementsOf(get("/curvePoint/delete/{id}", id), "/curvePoint/list");
+
+		// ASSERT
+		assertThat(create).containsExactly("insert");
+		assertThat(update).containsExactly("update");
+		assertThat(delete).containsExactly("delete");
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void testRatingMutations_ShouldOnlyWrite() throws Exception {
+
+		// ACT
+		statementsOf(post("/rating/validate") //
+				.param("moodysRating", "Aaa") //
+				.param("sandPRating", "AAA") //
+				.param("fitchRating", "AAA") //
+				.param("orderNumber", "1"), "/rating/list");
+		List<String> create = statementsOf(post("/rating/validate") //
+				.param("moodysRating", "Aa1") //
+				.param("sandPRating", "AA+") //
+				.param("fitchRating", "AA+") //
+				.param("orderNumber", "2"), "/rating/list");
+		Integer id = lastId("rating");
+		List<String> update = statementsOf(post("/rating/update/{id}", id) //
+				.param("moodysRating", "Aa2") //
+				.param("sandPRating", "AA") //
+				.param("fitchRating", "AA") //
+				.param("orderNumber", "3"), "/rating/list");
+		List<String> delete = statementsOf(get("/rating/delete/{id}", id), "/rating/list");
+
+		// ASSERT
+		assertThat(create).containsExactly("insert");
+		assertThat(update).containsExactly("update");
+		assertThat(delete).containsExactly("delete");
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void testRuleMutations_ShouldOnlyWrite() throws Exception {
+
+		// ACT
+		statementsOf(rule(post("/ruleName/validate"), "Warm Up"), "/ruleName/list");
+		List<String> create = statementsOf(rule(post("/ruleName/validate"), "Query Count"), "/ruleName/list");
+		Integer id = lastId("rule");
+		List<String> update = statementsOf(rule(post("/ruleName/update/{id}", id), "Query Count Updated"),
+				"/ruleName/list");
+		List<String> delete = statementsOf(get("/ruleName/delete/{id}", id), "/ruleName/list");
+
+		// ASSERT
+		assertThat(create).containsExactly("insert");
+		assertThat(update).containsExactly("update");
+		assertThat(delete).containsExactly("delete");
+	}
+
+	@Test
+	@WithMockUser(username = "admin", roles = "ADMIN")
+	public void testUserMutations_ShouldOnlyWrite_AfterTheirChecks() throws Exception {
+
+		// ACT
+		statementsOf(user(post("/user/validate"), "warm.up"), "/user/list");
+		List<String> create = statementsOf(user(post("/user/validate"), "query.count"), "/user/list");
+		Integer id = userRepository.findByUsername("query.count").get().getId();
+		List<String> update = statementsOf(user(post("/user/update/{id}", id), "query.count.updated"), "/user/list");
+		List<String> delete = statementsOf(get("/user/delete/{id}", id), "/user/list");
+
+		// ASSERT
+		assertThat(create).containsExactly("insert");
+		assertThat(update).containsExactly("update");
+		// The username shown in the message is read before the delete
+		assertThat(delete).containsExactly("select", "delete");
+	}
+
+	/**
+	 * Send a request that redirects to the list page, and get the kind of each statement it sent.
+	 * The sequence calls are left out, the first create of a pooled id generator is not counted.
+	 */
+	private List<String> statementsOf(RequestBuilder request, String listUrl) throws Exception {
+		StatementRecorder.clear();
+		mockMvc.perform(request) //
+				.andExpect(redirectedUrl(listUrl)) //
+				.andExpect(flash().attribute("message_type", "alert-primary"));
+		return StatementRecorder.statements().stream() //
+				.map(sql -> sql.trim().split("\\s+")[0].toLowerCase(Locale.ROOT)) //
+				.filter(kind -> !kind.equals("call")) //
+				.collect(Collectors.toList());
+	}
+
+	private Integer lastId(String table) {
+		return jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+	}
+
+	private static RequestBuilder rule(MockHttpServletRequestBuilder request, String name) {
+		return request //
+				.param("name", name) //
+				.param("description", "Description") //
+				.param("json", "{}") //
+				.param("template", "Template") //
+				.param("sqlStr", "SELECT 1") //
+				.param("sqlPart", "1");
+	}
+
+	private static RequestBuilder user(MockHttpServletRequestBuilder request, String username) {
+		return request //
+				.param("username", username) //
+				.param("password", "Password1!") //
+				.param("fullname", "Query Count") //
+				.param("role", "USER");
+	}
+}
@@ -0,0 +1,92 @@
+package com.poseidon.app.controllers;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.poseidon.app.domain.dto.BookPnl;
+import com.poseidon.app.domain.dto.PnlLine;
+import com.poseidon.app.services.pnl.PnlEngine;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class PnlControllerTests {
+
+	// **** Setting up IT fields ****
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@MockBean
+	PnlEngine pnlEngineMock;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).build();
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_BookPnl_Successful() throws Exception {
+
+		// ARRANGE
+		PnlLine line = new PnlLine("Book", "AAA", 5d, 110d, 120d, 250d, 50d);
+		when(pnlEngineMock.findBookPnl("Book"))
+				.thenReturn(new BookPnl("Book", 250d, 50d, Collections.singletonList(line)));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/pnl") //
+				.param("book", "Book")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(jsonPath("$.total").value(300d)) //
+				.andExpect(jsonPath("$.lines[0].security").value("AAA"));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_BookPnl_UnknownBook() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/pnl") //
+				.param("book", "Unknown")) //
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_AllBookPnl_Successful() throws Exception {
+
+		// ARRANGE
+		when(pnlEngineMock.findAllBookPnl())
+				.thenReturn(Collections.singletonList(new BookPnl("Book", 0d, 0d, Collections.emptyList())));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/pnl/list")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(jsonPath("$[0].book").value("Book"));
+	}
+}
@@ -0,0 +1,90 @@
+package com.poseidon.app.controllers;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.poseidon.app.domain.dto.Position;
+import com.poseidon.app.services.PositionService;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class PositionControllerTests {
+
+	// **** Setting up IT fields ****
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@MockBean
+	PositionService positionServiceMock;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).build();
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Position_Successful() throws Exception {
+
+		// ARRANGE
+		when(positionServiceMock.findPosition("Account", "AAA")).thenReturn(new Position("Account", "AAA", 6d));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/position") //
+				.param("account", "Account") //
+				.param("security", "AAA")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(jsonPath("$.quantity").value(6d));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Position_MissingSecurity() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/position") //
+				.param("account", "Account")) //
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Positions_Successful() throws Exception {
+
+		// ARRANGE
+		when(positionServiceMock.findPositions("Account")).thenReturn(
+				Arrays.asList(new Position("Account", "AAA", 6d), new Position("Account", "BBB", -2d)));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/position/list") //
+				.param("account", "Account")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(jsonPath("$[1].security").value("BBB"));
+	}
+}
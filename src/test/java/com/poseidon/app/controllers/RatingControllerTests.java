@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -32,6 +33,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import com.poseidon.app.domain.Rating;
 import com.poseidon.app.domain.dto.RatingDto;
+import com.poseidon.app.domain.dto.RatingSummary;
 import com.poseidon.app.exceptions.RatingServiceException;
 import com.poseidon.app.services.RatingService;
 
@@ -72,7 +74,8 @@ public class RatingControllerTests {
 	public void get_Ratings_Successful() throws Exception {
 
 		// ARRANGE
-		when(ratingServiceMock.findAllRatings()).thenReturn(ratingListMock);
+		when(ratingServiceMock.findAllRatingSummaries())
+				.thenReturn(Collections.singletonList(new RatingSummary(1, "Aaa", "AAA", "AAA", 1)));
 
 		// ACT AND ASSERT
 		mockMvc.perform(get("/rating/list")) //
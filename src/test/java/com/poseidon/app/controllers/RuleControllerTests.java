@@ -2,7 +2,10 @@ package com.poseidon.app.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
@@ -11,6 +14,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -31,6 +35,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import com.poseidon.app.domain.dto.RuleDto;
+import com.poseidon.app.domain.dto.RuleSummary;
 import com.poseidon.app.exceptions.RuleServiceException;
 import com.poseidon.app.services.RuleService;
 
@@ -76,7 +81,8 @@ public class RuleControllerTests {
 	public void get_Rules_Successful() throws Exception {
 
 		// ARRANGE
-		when(ruleServiceMock.findAllRules()).thenReturn(ruleNameListMock);
+		when(ruleServiceMock.findAllRuleSummaries()).thenReturn(
+				Collections.singletonList(new RuleSummary(1, "Name", "Description", "Json", "Template", "Sql", "Part")));
 
 		// ACT AND ASSERT
 		mockMvc.perform(get("/ruleName/list")) //
@@ -85,7 +91,7 @@ public class RuleControllerTests {
 	}
 
 	@Test
-	@WithMockUser(username = "user", roles = "USER")
+	@WithMockUser(username = "admin", authorities = "ADMIN")
 	public void get_CreateRule_Successful() throws Exception {
 
 		// ACT AND ASSERT
@@ -96,7 +102,7 @@ public class RuleControllerTests {
 	}
 
 	@Test
-	@WithMockUser(username = "user", roles = "USER")
+	@WithMockUser(username = "admin", authorities = "ADMIN")
 	public void post_CreateRule_Successful() throws Exception {
 
 		// ARRANGE
@@ -120,7 +126,7 @@ public class RuleControllerTests {
 	}
 
 	@Test
-	@WithMockUser(username = "user", roles = "USER")
+	@WithMockUser(username = "admin", authorities = "ADMIN")
 	public void post_UpdateRule_Successful() throws Exception {
 
 		// ARRANGE
@@ -144,7 +150,7 @@ public class RuleControllerTests {
 	}
 
 	@Test
-	@WithMockUser(username = "user", roles = "USER")
+	@WithMockUser(username = "admin", authorities = "ADMIN")
 	public void get_UpdateRule_Successful() throws Exception {
 
 		// ARRANGE
@@ -169,7 +175,7 @@ public class RuleControllerTests {
 	}
 
 	@Test
-	@WithMockUser(username = "user", roles = "USER")
+	@WithMockUser(username = "admin", authorities = "ADMIN")
 	public void get_UpdateRule_Error() throws Exception {
 
 		// ARRANGE
@@ -183,7 +189,7 @@ public class RuleControllerTests {
 	}
 
 	@Test
-	@WithMockUser(username = "user", roles = "USER")
+	@WithMockUser(username = "admin", authorities = "ADMIN")
 	public void get_DeleteRule_Successful() throws Exception {
 
 		// ARRANGE
@@ -198,7 +204,7 @@ public class RuleControllerTests {
 	}
 
 	@Test
-	@WithMockUser(username = "user", roles = "USER")
+	@WithMockUser(username = "admin", authorities = "ADMIN")
 	public void get_DeleteRule_Error() throws Exception {
 
 		// ARRANGE
@@ -210,4 +216,15 @@ public class RuleControllerTests {
 				.andExpect(view().name("redirect:/ruleName/list"));
 	}
 
+	@Test
+	@WithMockUser(username = "user", authorities = "USER")
+	public void get_DeleteRule_ShouldBe_ForbiddenToUsers() throws Exception {
+
+		// ARRANGE
+		MockMvc securedMockMvc = MockMvcBuilders.webAppContextSetup(webContext).apply(springSecurity()).build();
+
+		// ACT AND ASSERT
+		securedMockMvc.perform(get("/ruleName/delete/{id}", "1")).andExpect(status().isForbidden());
+		verify(ruleServiceMock, never()).deleteRule(anyInt());
+	}
 }
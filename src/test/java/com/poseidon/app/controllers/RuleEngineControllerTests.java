@@ -0,0 +1,156 @@
+package com.poseidon.app.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.poseidon.app.domain.dto.RuleReport;
+import com.poseidon.app.exceptions.RuleServiceException;
+import com.poseidon.app.services.rules.RuleEngine;
+import com.poseidon.app.services.rules.RuleSqlExecutor;
+import com.poseidon.app.services.rules.RuleStatement;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class RuleEngineControllerTests {
+
+	// **** Setting up IT fields ****
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@MockBean
+	RuleEngine ruleEngineMock;
+
+	@MockBean
+	RuleSqlExecutor ruleSqlExecutorMock;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).build();
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_CheckTrades_Successful() throws Exception {
+
+		// ARRANGE
+		when(ruleEngineMock.checkTrades()).thenReturn(Collections.singletonList(
+				new RuleReport(1, "Large trade", "trade", 10, 1, Collections.singletonList(7),
+						Collections.singletonList("Trade 7 is too large"), 0.5d, null)));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/ruleName/check")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(jsonPath("$[0].ruleName").value("Large trade")) //
+				.andExpect(jsonPath("$[0].violatingIds[0]").value(7)) //
+				.andExpect(jsonPath("$[0].alerts[0]").value("Trade 7 is too large")) //
+				.andExpect(jsonPath("$[0].error").doesNotExist());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_RuleStats_Successful() throws Exception {
+
+		// ARRANGE
+		when(ruleEngineMock.findRuleStats()).thenReturn(Collections.singletonList(
+				new RuleReport(2, "Invalid", null, 0, 0, Collections.emptyList(), null, 0d, "the rule has no json")));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/ruleName/stats")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(jsonPath("$[0].error").value("the rule has no json"));
+	}
+
+	@Test
+	@WithMockUser(username = "admin", authorities = "ADMIN")
+	public void get_ExecuteRule_ShouldStream_Rows() throws Exception {
+
+		// ARRANGE
+		RuleStatement statement = new RuleStatement(1, "Revision", "SELECT id FROM trade WHERE book = ?",
+				Collections.singletonList("book"));
+		when(ruleSqlExecutorMock.findStatement(1)).thenReturn(statement);
+		when(ruleSqlExecutorMock.execute(eq(statement), any(), any())).thenAnswer(invocation -> {
+			invocation.<RuleSqlExecutor.RowHandler>getArgument(2)
+					.handle(Collections.singletonMap("id", 7));
+			return 1L;
+		});
+
+		// ACT AND ASSERT
+		MvcResult result = mockMvc.perform(get("/ruleName/execute/1").param("book", "Book")) //
+				.andExpect(request().asyncStarted()) //
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result)) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(content().contentType("application/x-ndjson")) //
+				.andExpect(content().string("{\"id\":7}\n"));
+	}
+
+	@Test
+	@WithMockUser(username = "admin", authorities = "ADMIN")
+	public void get_ExecuteRule_MissingParameter() throws Exception {
+
+		// ARRANGE
+		when(ruleSqlExecutorMock.findStatement(1)).thenReturn(new RuleStatement(1, "Revision",
+				"SELECT id FROM trade WHERE book = ?", Collections.singletonList("book")));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/ruleName/execute/1")) //
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser(username = "admin", authorities = "ADMIN")
+	public void get_ExecuteRule_UnknownRule() throws Exception {
+
+		// ARRANGE
+		when(ruleSqlExecutorMock.findStatement(2)).thenThrow(new RuleServiceException("Could not find rule"));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/ruleName/execute/2")) //
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	@WithMockUser(username = "user", authorities = "USER")
+	public void get_ExecuteRule_ShouldBe_ForbiddenToUsers() throws Exception {
+
+		// ARRANGE
+		MockMvc securedMockMvc = MockMvcBuilders.webAppContextSetup(webContext).apply(springSecurity()).build();
+
+		// ACT AND ASSERT
+		securedMockMvc.perform(get("/ruleName/execute/1")).andExpect(status().isForbidden());
+	}
+}
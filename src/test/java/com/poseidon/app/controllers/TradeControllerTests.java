@@ -2,15 +2,22 @@ package com.poseidon.app.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -27,12 +34,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import com.poseidon.app.config.constants.FileFormat;
 import com.poseidon.app.domain.Trade;
 import com.poseidon.app.domain.dto.TradeDto;
+import com.poseidon.app.domain.dto.TradeSummary;
+import com.poseidon.app.exceptions.TradeConflictException;
 import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.services.ExportService;
 import com.poseidon.app.services.TradeService;
 
 @AutoConfigureMockMvc
@@ -49,6 +61,9 @@ public class TradeControllerTests {
 	@MockBean
 	TradeService tradeServiceMock;
 
+	@MockBean
+	ExportService exportServiceMock;
+
 	@Rule
 	public MockitoRule mockitoRule = MockitoJUnit.rule();
 
@@ -74,7 +89,8 @@ public class TradeControllerTests {
 	public void get_Trades_Successful() throws Exception {
 
 		// ARRANGE
-		when(tradeServiceMock.findAllTrades()).thenReturn(tradeListMock);
+		when(tradeServiceMock.findAllTradeSummaries())
+				.thenReturn(Collections.singletonList(new TradeSummary(1, "First Account", "First Type", 10d)));
 
 		// ACT AND ASSERT
 		mockMvc.perform(get("/trade/list")) //
@@ -134,6 +150,37 @@ public class TradeControllerTests {
 				.andExpect(view().name("redirect:/trade/list"));
 	}
 
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void post_UpdateTrade_Conflict() throws Exception {
+
+		// ARRANGE
+		Trade tradeEntity = new Trade("Account", "Type", 20d);
+		Trade currentTrade = new Trade("Account", "Type", 35d);
+		TradeDto currentTradeDto = new TradeDto();
+		currentTradeDto.setId(1);
+		currentTradeDto.setVersion(6);
+		currentTradeDto.setAccount("Account");
+		currentTradeDto.setType("Type");
+		currentTradeDto.setBuyQuantity("35");
+		when(tradeServiceMock.convertDtoToEntity(any(TradeDto.class))).thenReturn(tradeEntity);
+		when(tradeServiceMock.updateTrade(anyInt(), any(Trade.class)))
+				.thenThrow(new TradeConflictException("Trade with id '1' was changed by someone else"));
+		when(tradeServiceMock.findTradeById(1)).thenReturn(currentTrade);
+		when(tradeServiceMock.convertEntityToDto(currentTrade)).thenReturn(currentTradeDto);
+
+		// ACT AND ASSERT
+		mockMvc.perform(post("/trade/update/{id}", "1") //
+				.param("version", "5") //
+				.param("account", "Account") //
+				.param("type", "Type") //
+				.param("buyQuantity", "20")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(model().attribute("message", "Trade with id '1' was changed by someone else")) //
+				.andExpect(model().attribute("tradeDto", currentTradeDto)) //
+				.andExpect(view().name("trade/update"));
+	}
+
 	@Test
 	@WithMockUser(username = "user", roles = "USER")
 	public void get_UpdateTrade_Successful() throws Exception {
@@ -196,4 +243,30 @@ public class TradeControllerTests {
 				.andExpect(status().is3xxRedirection()) //
 				.andExpect(view().name("redirect:/trade/list"));
 	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_ExportTrades_Successful() throws Exception {
+
+		// ACT AND ASSERT
+		MvcResult result = mockMvc.perform(get("/trade/export").param("format", "csv")) //
+				.andExpect(request().asyncStarted()) //
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result)) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(content().contentType("text/csv")) //
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"trades.csv\""));
+		verify(exportServiceMock).exportTrades(eq(FileFormat.CSV), any());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_ExportTrades_UnknownFormat() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/trade/export").param("format", "xml")) //
+				.andExpect(status().isBadRequest());
+	}
+
 }
@@ -0,0 +1,296 @@
+package com.poseidon.app.controllers.api;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.poseidon.app.config.constants.ConflictPolicy;
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.KeysetPage;
+import com.poseidon.app.exceptions.BidConflictException;
+import com.poseidon.app.exceptions.BidServiceException;
+import com.poseidon.app.services.BidService;
+import com.poseidon.app.services.ChangeCounterService;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class BidApiControllerTests {
+
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@Autowired
+	ChangeCounterService changeCounterService;
+
+	@MockBean
+	BidService bidServiceMock;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).build();
+	}
+
+	private static Bid bid(Integer id, String account) {
+		Bid bid = new Bid(account, "Type", 10d);
+		bid.setId(id);
+		bid.setVersion(0);
+		return bid;
+	}
+
+	private static BidDto bidDto(Bid bid) {
+		BidDto bidDto = new BidDto();
+		bidDto.setId(bid.getId());
+		bidDto.setVersion(bid.getVersion());
+		bidDto.setAccount(bid.getAccount());
+		bidDto.setType(bid.getType());
+		bidDto.setBidQuantity(String.valueOf(bid.getBidQuantity()));
+		return bidDto;
+	}
+
+	private void mapBids() {
+		when(bidServiceMock.convertEntityToDto(any())).thenAnswer(invocation -> bidDto(invocation.getArgument(0)));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Bids_ShouldAnswer_PageWithLinks() throws Exception {
+
+		// ARRANGE
+		KeysetPage<Bid> page = new KeysetPage<>(Arrays.asList(bid(3, "First"), bid(4, "Second")), 2,
+				Sort.Direction.ASC, 3, 4, true, true);
+		when(bidServiceMock.findBidPage(eq(2), isNull(), eq(2), eq(Sort.Direction.ASC))).thenReturn(page);
+		mapBids();
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/api/v1/bids?size=2&after=2")) //
+				.andExpect(status().isOk()) //
+				.andExpect(header().string(HttpHeaders.ETAG, changeCounterService.getEtag(Tables.BID))) //
+				.andExpect(jsonPath("$.content", hasSize(2))) //
+				.andExpect(jsonPath("$.content[0].account").value("First")) //
+				.andExpect(jsonPath("$.next").value(endsWith("/api/v1/bids?size=2&after=4"))) //
+				.andExpect(jsonPath("$.previous").value(endsWith("/api/v1/bids?size=2&before=3")));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Bids_LastPage_ShouldNotLink_NextPage() throws Exception {
+
+		// ARRANGE
+		KeysetPage<Bid> page = new KeysetPage<>(Arrays.asList(bid(1, "First")), 20, Sort.Direction.DESC, 1, 1,
+				false, false);
+		when(bidServiceMock.findBidPage(isNull(), isNull(), eq(20), eq(Sort.Direction.DESC))).thenReturn(page);
+		mapBids();
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/api/v1/bids").param("sort", "desc")) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$.next").doesNotExist()) //
+				.andExpect(jsonPath("$.previous").doesNotExist());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Bid_WithFields_ShouldOnlyAnswer_TheseFields() throws Exception {
+
+		// ARRANGE
+		when(bidServiceMock.findBidById(1)).thenReturn(bid(1, "First"));
+		mapBids();
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/api/v1/bids/1").param("fields", "id,account")) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$.id").value(1)) //
+				.andExpect(jsonPath("$.account").value("First")) //
+				.andExpect(jsonPath("$.type").doesNotExist()) //
+				.andExpect(jsonPath("$.version").doesNotExist());
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Bids_Unchanged_ShouldAnswer_NotModified_WithoutReading() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/api/v1/bids").header(HttpHeaders.IF_NONE_MATCH,
+				changeCounterService.getEtag(Tables.BID))) //
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/v1/bids/1").header(HttpHeaders.IF_NONE_MATCH,
+				changeCounterService.getEtag(Tables.BID))) //
+				.andExpect(status().isNotModified());
+
+		verifyZeroInteractions(bidServiceMock);
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Bid_Changed_ShouldAnswer_NewContent() throws Exception {
+
+		// ARRANGE
+		String etag = changeCounterService.getEtag(Tables.BID);
+		changeCounterService.markChanged(Tables.BID);
+		when(bidServiceMock.findBidById(1)).thenReturn(bid(1, "First"));
+		mapBids();
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/api/v1/bids/1").header(HttpHeaders.IF_NONE_MATCH, etag)) //
+				.andExpect(status().isOk()) //
+				.andExpect(header().string(HttpHeaders.ETAG, changeCounterService.getEtag(Tables.BID))) //
+				.andExpect(jsonPath("$.account").value("First"));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_Bid_Missing_ShouldAnswer_NotFound() throws Exception {
+
+		// ARRANGE
+		when(bidServiceMock.findBidById(99)).thenThrow(new BidServiceException("Could not find bid with id : 99"));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/api/v1/bids/99")) //
+				.andExpect(status().isNotFound()) //
+				.andExpect(jsonPath("$.message").value("Could not find bid with id : 99"));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void post_Bid_ShouldAnswer_Created() throws Exception {
+
+		// ARRANGE
+		when(bidServiceMock.convertDtoToEntity(any())).thenReturn(bid(null, "Account"));
+		doAnswer(invocation -> {
+			invocation.<Bid>getArgument(0).setId(7);
+			return true;
+		}).when(bidServiceMock).createBid(any());
+		mapBids();
+
+		// ACT AND ASSERT
+		mockMvc.perform(post("/api/v1/bids") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"id\":3,\"account\":\"Account\",\"type\":\"Type\",\"bidQuantity\":\"10\"}")) //
+				.andExpect(status().isCreated()) //
+				.andExpect(header().string(HttpHeaders.LOCATION, endsWith("/api/v1/bids/7"))) //
+				.andExpect(jsonPath("$.id").value(7));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void post_Bid_Invalid_ShouldAnswer_BadRequest() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(post("/api/v1/bids") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"account\":\"\",\"type\":\"Type\",\"bidQuantity\":\"ten\"}")) //
+				.andExpect(status().isBadRequest()) //
+				.andExpect(jsonPath("$.errors.account").value("Account is mandatory")) //
+				.andExpect(jsonPath("$.errors.bidQuantity").exists());
+
+		verifyZeroInteractions(bidServiceMock);
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void put_Bid_Conflict_ShouldAnswer_Conflict() throws Exception {
+
+		// ARRANGE
+		when(bidServiceMock.convertDtoToEntity(any())).thenReturn(bid(1, "Account"));
+		when(bidServiceMock.updateBid(eq(1), any(), eq(ConflictPolicy.FAIL)))
+				.thenThrow(new BidConflictException("Bid with id '1' was changed by someone else"));
+
+		// ACT AND ASSERT
+		mockMvc.perform(put("/api/v1/bids/1") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"version\":0,\"account\":\"Account\",\"type\":\"Type\",\"bidQuantity\":\"10\"}")) //
+				.andExpect(status().isConflict()) //
+				.andExpect(jsonPath("$.message").value("Bid with id '1' was changed by someone else"));
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void put_Bid_WithoutVersion_ShouldAnswer_PreconditionRequired() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(put("/api/v1/bids/1").param("policy", "OVERWRITE") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"account\":\"Account\",\"type\":\"Type\",\"bidQuantity\":\"10\"}")) //
+				.andExpect(status().isPreconditionRequired()) //
+				.andExpect(jsonPath("$.message").value("The version the bid was read at is required to update it"));
+
+		verifyZeroInteractions(bidServiceMock);
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void put_Bid_WithMergePolicy_ShouldAnswer_UpdatedBid() throws Exception {
+
+		// ARRANGE
+		Bid updated = bid(1, "Account");
+		when(bidServiceMock.convertDtoToEntity(any())).thenReturn(updated);
+		when(bidServiceMock.updateBid(eq(1), any(), eq(ConflictPolicy.MERGE))).thenReturn(true);
+		mapBids();
+
+		// ACT AND ASSERT
+		mockMvc.perform(put("/api/v1/bids/1").param("policy", "MERGE") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"version\":0,\"account\":\"Account\",\"type\":\"Type\",\"bidQuantity\":\"10\"}")) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$.account").value("Account"));
+
+		verify(bidServiceMock).updateBid(1, updated, ConflictPolicy.MERGE);
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void delete_Bid_ShouldAnswer_NoContent() throws Exception {
+
+		// ARRANGE
+		when(bidServiceMock.deleteBid(anyInt())).thenReturn(true);
+
+		// ACT AND ASSERT
+		mockMvc.perform(delete("/api/v1/bids/1")) //
+				.andExpect(status().isNoContent());
+
+		verify(bidServiceMock).deleteBid(1);
+	}
+}
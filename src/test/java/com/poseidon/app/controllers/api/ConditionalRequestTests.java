@@ -0,0 +1,78 @@
+package com.poseidon.app.controllers.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Runs the conditional requests of the API on the real services : the ETag of a table changes with its committed writes
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class ConditionalRequestTests {
+
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).build();
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void testRatings_EtagChanges_OnlyWithWrites() throws Exception {
+
+		// ARRANGE
+		String location = mockMvc.perform(post("/api/v1/ratings") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"moodysRating\":\"Aaa\",\"sandPRating\":\"AAA\",\"fitchRating\":\"AAA\",\"orderNumber\":\"1\"}"))
+				.andExpect(status().isCreated()) //
+				.andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+		// ACT
+		MvcResult first = mockMvc.perform(get(location)) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$.moodysRating").value("Aaa")) //
+				.andReturn();
+		String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get(location).header(HttpHeaders.IF_NONE_MATCH, etag)) //
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/v1/ratings").header(HttpHeaders.IF_NONE_MATCH, etag)) //
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(put(location) //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"moodysRating\":\"Aa1\",\"sandPRating\":\"AA+\",\"fitchRating\":\"AA+\",\"orderNumber\":\"2\"}"))
+				.andExpect(status().isOk());
+		MvcResult changed = mockMvc.perform(get(location).header(HttpHeaders.IF_NONE_MATCH, etag)) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$.moodysRating").value("Aa1")) //
+				.andReturn();
+
+		// ASSERT
+		assertThat(etag).isNotBlank();
+		assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+	}
+}
@@ -0,0 +1,86 @@
+package com.poseidon.app.controllers.api;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.UserDto;
+import com.poseidon.app.exceptions.UserServiceException;
+import com.poseidon.app.services.UserService;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class UserApiControllerTests {
+
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@MockBean
+	UserService userServiceMock;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).build();
+	}
+
+	@Test
+	@WithMockUser(username = "admin", authorities = "ADMIN")
+	public void get_User_ShouldNotAnswer_Password() throws Exception {
+
+		// ARRANGE
+		User user = new User(1, "admin", "$2a$10$encoded", "Administrator", "ADMIN");
+		when(userServiceMock.findUserById(1)).thenReturn(user);
+		when(userServiceMock.convertEntityToDto(user))
+				.thenReturn(new UserDto(1, "admin", "$2a$10$encoded", "Administrator", "ADMIN"));
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/api/v1/users/1")) //
+				.andExpect(status().isOk()) //
+				.andExpect(jsonPath("$.username").value("admin")) //
+				.andExpect(jsonPath("$.password").doesNotExist());
+	}
+
+	@Test
+	@WithMockUser(username = "admin", authorities = "ADMIN")
+	public void post_User_TakenUsername_ShouldAnswer_Conflict() throws Exception {
+
+		// ARRANGE
+		when(userServiceMock.convertDtoToEntity(any())).thenReturn(new User());
+		when(userServiceMock.createUser(any())).thenThrow(new UserServiceException("Username is already taken"));
+
+		// ACT AND ASSERT
+		mockMvc.perform(post("/api/v1/users") //
+				.contentType(MediaType.APPLICATION_JSON) //
+				.content("{\"username\":\"admin\",\"password\":\"Passw0rd-\",\"fullname\":\"Administrator\","
+						+ "\"role\":\"ADMIN\"}")) //
+				.andExpect(status().isConflict()) //
+				.andExpect(jsonPath("$.message").value("Username is already taken"));
+	}
+}
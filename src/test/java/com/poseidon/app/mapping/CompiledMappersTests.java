@@ -0,0 +1,122 @@
+package com.poseidon.app.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+import com.poseidon.app.config.AppConfig;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.domain.Rating;
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.User;
+import com.poseidon.app.domain.dto.BidDto;
+import com.poseidon.app.domain.dto.CurvePointDto;
+import com.poseidon.app.domain.dto.RatingDto;
+import com.poseidon.app.domain.dto.RuleDto;
+import com.poseidon.app.domain.dto.TradeDto;
+import com.poseidon.app.domain.dto.UserDto;
+
+/**
+ * The compiled mappers must give the same result as the ModelMapper bean
+ */
+public class CompiledMappersTests {
+
+	ModelMapper modelMapper = new AppConfig().modelMapper();
+
+	@Test
+	public void testBidMapper_ShouldMatch_ModelMapper() {
+
+		// ARRANGE
+		Bid bid = new Bid("Account", "Type", 10d);
+		bid.setId(1);
+		bid.setBid(99.5d);
+		BidDto bidDto = modelMapper.map(bid, BidDto.class);
+
+		// ACT
+		BidDto dto = new BidMapper().toDto(bid);
+		Bid entity = new BidMapper().toEntity(bidDto);
+
+		// ASSERT
+		assertThat(dto).isEqualTo(bidDto);
+		assertThat(entity).isEqualTo(modelMapper.map(bidDto, Bid.class));
+		assertThat(entity.getBid()).isNull();
+	}
+
+	@Test
+	public void testTradeMapper_ShouldMatch_ModelMapper() {
+
+		// ARRANGE
+		Trade trade = new Trade("Account", "Type", 10d);
+		trade.setId(1);
+		trade.setSellQuantity(5d);
+		TradeDto tradeDto = modelMapper.map(trade, TradeDto.class);
+
+		// ACT AND ASSERT
+		assertThat(new TradeMapper().toDto(trade)).isEqualTo(tradeDto);
+		assertThat(new TradeMapper().toEntity(tradeDto)).isEqualTo(modelMapper.map(tradeDto, Trade.class));
+	}
+
+	@Test
+	public void testCurvePointMapper_ShouldMatch_ModelMapper() {
+
+		// ARRANGE
+		CurvePoint curvePoint = new CurvePoint(3, 2.5d, 0.97d);
+		curvePoint.setId(1);
+		CurvePointDto curvePointDto = modelMapper.map(curvePoint, CurvePointDto.class);
+
+		// ACT AND ASSERT
+		assertThat(new CurvePointMapper().toDto(curvePoint)).isEqualTo(curvePointDto);
+		assertThat(new CurvePointMapper().toEntity(curvePointDto))
+				.isEqualTo(modelMapper.map(curvePointDto, CurvePoint.class));
+	}
+
+	@Test
+	public void testRatingMapper_ShouldMatch_ModelMapper() {
+
+		// ARRANGE
+		Rating rating = new Rating("Aaa", "AAA", "AA+", 4);
+		rating.setId(1);
+		RatingDto ratingDto = modelMapper.map(rating, RatingDto.class);
+
+		// ACT AND ASSERT
+		assertThat(new RatingMapper().toDto(rating)).isEqualTo(ratingDto);
+		assertThat(new RatingMapper().toEntity(ratingDto)).isEqualTo(modelMapper.map(ratingDto, Rating.class));
+	}
+
+	@Test
+	public void testRuleMapper_ShouldMatch_ModelMapper() {
+
+		// ARRANGE
+		Rule rule = new Rule("Name", "Description", "{}", "Template", "SELECT 1", "WHERE 1 = 1");
+		rule.setId(1);
+		RuleDto ruleDto = modelMapper.map(rule, RuleDto.class);
+
+		// ACT AND ASSERT
+		assertThat(new RuleMapper().toDto(rule)).isEqualTo(ruleDto);
+		assertThat(new RuleMapper().toEntity(ruleDto)).isEqualTo(modelMapper.map(ruleDto, Rule.class));
+	}
+
+	@Test
+	public void testUserMapper_ShouldMatch_ModelMapper() {
+
+		// ARRANGE
+		User user = new User(1, "username", "password", "Full Name", "USER");
+		UserDto userDto = modelMapper.map(user, UserDto.class);
+
+		// ACT AND ASSERT
+		assertThat(new UserMapper().toDto(user)).isEqualTo(userDto);
+		assertThat(new UserMapper().toEntity(userDto)).isEqualTo(modelMapper.map(userDto, User.class));
+	}
+
+	@Test
+	public void testToDouble_ShouldAccept_CommaAndBlank() {
+
+		// ACT AND ASSERT
+		assertThat(Conversions.toDouble(" 10,5 ")).isEqualTo(10.5d);
+		assertThat(Conversions.toDouble("")).isNull();
+		assertThat(Conversions.toInteger("7")).isEqualTo(7);
+	}
+}
@@ -0,0 +1,96 @@
+package com.poseidon.app.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.poseidon.app.services.RatingService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class MetricsTests {
+
+	private MockMvc mockMvc;
+
+	@Autowired
+	private WebApplicationContext webContext;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Autowired
+	RatingService ratingService;
+
+	@Before
+	public void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webContext).apply(springSecurity()).build();
+	}
+
+	@Test
+	public void testServiceCall_ShouldRecord_ServiceAndRepositoryTimers() {
+
+		// ACT
+		ratingService.findAllRatings();
+
+		// ASSERT
+		Timer service = meterRegistry.find(OperationMetricsAspect.SERVICE_TIMER) //
+				.tags("class", "RatingService", "method", "findAllRatings", "exception", "none").timer();
+		Timer repository = meterRegistry.find(OperationMetricsAspect.REPOSITORY_TIMER) //
+				.tags("class", "RatingRepository", "method", "findAll").timer();
+		assertThat(service).isNotNull();
+		assertThat(service.count()).isGreaterThanOrEqualTo(1);
+		assertThat(repository).isNotNull();
+	}
+
+	@Test
+	@WithMockUser(username = "user", roles = "USER")
+	public void get_View_ShouldRecord_RenderingTimer() throws Exception {
+
+		// ACT
+		mockMvc.perform(get("/rating/list")).andExpect(status().is2xxSuccessful());
+
+		// ASSERT
+		assertThat(meterRegistry.find(ViewRenderingMetricsInterceptor.VIEW_TIMER).tags("view", "rating/list").timer())
+				.isNotNull();
+	}
+
+	@Test
+	@WithMockUser(username = "admin", authorities = "ADMIN")
+	public void get_Prometheus_ShouldPublish_Percentiles() throws Exception {
+
+		// ARRANGE
+		ratingService.findAllRatings();
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/actuator/prometheus")) //
+				.andExpect(status().is2xxSuccessful()) //
+				.andExpect(content().string(containsString("poseidon_service_seconds")));
+	}
+
+	@Test
+	@WithMockUser(username = "user", authorities = "USER")
+	public void get_Prometheus_ShouldBe_ForbiddenToUsers() throws Exception {
+
+		// ACT AND ASSERT
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+	}
+}
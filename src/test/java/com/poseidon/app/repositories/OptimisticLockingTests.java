@@ -0,0 +1,116 @@
+package com.poseidon.app.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+
+@DataJpaTest
+@RunWith(SpringRunner.class)
+public class OptimisticLockingTests {
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	BidRepository bidRepository;
+
+	@Autowired
+	TradeRepository tradeRepository;
+
+	@Test
+	public void testSave_ShouldStart_AtVersionZero() {
+
+		// ACT
+		Bid bid = bidRepository.saveAndFlush(new Bid("Account", "Type", 10d));
+		Trade trade = tradeRepository.saveAndFlush(new Trade("Account", "Type", 10d));
+
+		// ASSERT
+		assertThat(bid.getVersion()).isZero();
+		assertThat(trade.getVersion()).isZero();
+	}
+
+	@Test
+	public void testUpdateBid_CurrentVersion_ShouldWrite_AndIncrement_Version() {
+
+		// ARRANGE
+		Integer id = bidRepository.saveAndFlush(new Bid("Account", "Type", 10d)).getId();
+		Bid updated = new Bid("Account Updated", "Type", 20d);
+		updated.setVersion(0);
+
+		// ACT
+		int rows = bidRepository.updateBid(id, updated);
+
+		// ASSERT
+		assertThat(rows).isEqualTo(1);
+		Bid bid = bidRepository.findBidById(id).get();
+		assertThat(bid.getAccount()).isEqualTo("Account Updated");
+		assertThat(bid.getVersion()).isEqualTo(1);
+	}
+
+	@Test
+	public void testUpdateBid_StaleVersion_ShouldNotWrite() {
+
+		// ARRANGE
+		Integer id = bidRepository.saveAndFlush(new Bid("Account", "Type", 10d)).getId();
+		bidRepository.updateBidQuantity(id, 5d);
+		Bid updated = new Bid("Account Updated", "Type", 20d);
+		updated.setVersion(0);
+
+		// ACT
+		int rows = bidRepository.updateBid(id, updated);
+
+		// ASSERT
+		assertThat(rows).isZero();
+		Bid bid = bidRepository.findBidById(id).get();
+		assertThat(bid.getAccount()).isEqualTo("Account");
+		assertThat(bid.getBidQuantity()).isEqualTo(5d);
+		assertThat(bid.getVersion()).isEqualTo(1);
+	}
+
+	@Test
+	public void testUpdateTrade_WithoutVersion_ShouldNotWrite() {
+
+		// ARRANGE
+		Trade trade = tradeRepository.saveAndFlush(new Trade("Account", "Type", 10d));
+		entityManager.clear();
+		Trade updated = new Trade("Account", "Type Updated", 20d);
+
+		// ACT
+		int staleRows = tradeRepository.updateTrade(trade.getId(), withVersion(updated, 7));
+		int rows = tradeRepository.updateTrade(trade.getId(), withVersion(updated, null));
+
+		// ASSERT
+		assertThat(staleRows).isZero();
+		assertThat(rows).isZero();
+		assertThat(tradeRepository.findTradeById(trade.getId()).get().getVersion()).isZero();
+	}
+
+	@Test
+	public void testImportedBid_ShouldDefault_ToVersionZero() {
+
+		// ACT
+		jdbcTemplate.update("INSERT INTO bid (account, type, bid_quantity) VALUES (?, ?, ?)", "Imported", "Type", 1d);
+
+		// ASSERT
+		assertThat(jdbcTemplate.queryForObject("SELECT version FROM bid WHERE account = 'Imported'", Integer.class))
+				.isZero();
+	}
+
+	private static Trade withVersion(Trade trade, Integer version) {
+		trade.setVersion(version);
+		return trade;
+	}
+}
@@ -0,0 +1,170 @@
+package com.poseidon.app.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Query plan regression suite : the statements of the repository queries are recorded, then explained
+ * on the embedded database. A query that reads a whole table instead of an index fails its test.
+ * The list pages (findAll, findSummaries) read every row on purpose and are not checked.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.poseidon.app.repositories.StatementRecorder")
+@RunWith(SpringRunner.class)
+public class QueryPlanTests {
+
+	private static final String FULL_SCAN = "tableScan";
+
+	private static final String PRIMARY_KEY = "PRIMARY_KEY";
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	BidRepository bidRepository;
+
+	@Autowired
+	TradeRepository tradeRepository;
+
+	@Autowired
+	CurvePointRepository curvePointRepository;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Test
+	public void testFindByUsername_ShouldUse_UsernameIndex() {
+
+		// ACT
+		String plan = explain(() -> userRepository.findByUsername("admin"));
+
+		// ASSERT
+		assertThat(plan).doesNotContain(FULL_SCAN).containsIgnoringCase("ux_users_username");
+	}
+
+	@Test
+	public void testFindById_ShouldUse_PrimaryKey() {
+
+		// ACT
+		List<String> plans = new ArrayList<>();
+		plans.add(explain(() -> bidRepository.findBidById(1)));
+		plans.add(explain(() -> tradeRepository.findTradeById(1)));
+		plans.add(explain(() -> curvePointRepository.findCurvePointById(1)));
+		plans.add(explain(() -> userRepository.findById(1)));
+
+		// ASSERT
+		assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContain(FULL_SCAN).contains(PRIMARY_KEY));
+	}
+
+	@Test
+	public void testKeysetPages_ShouldUse_PrimaryKey() {
+
+		// ARRANGE
+		PageRequest ascending = PageRequest.of(0, 20, Sort.by("id"));
+		PageRequest descending = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+
+		// ACT
+		List<String> plans = new ArrayList<>();
+		plans.add(explain(() -> bidRepository.findByIdGreaterThan(100, ascending)));
+		plans.add(explain(() -> bidRepository.findByIdLessThan(100, descending)));
+		plans.add(explain(() -> bidRepository.findSummariesByIdGreaterThan(100, ascending)));
+		plans.add(explain(() -> bidRepository.findSummariesByIdLessThan(100, descending)));
+		plans.add(explain(() -> tradeRepository.findByIdGreaterThan(100, ascending)));
+		plans.add(explain(() -> curvePointRepository.findByIdGreaterThan(100, ascending)));
+
+		// ASSERT
+		assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContain(FULL_SCAN).contains(PRIMARY_KEY));
+	}
+
+	@Test
+	public void testMatchedQuantityUpdates_ShouldUse_PrimaryKey() {
+
+		// ACT
+		String bidPlan = explain(() -> bidRepository.updateBidQuantity(1, 10d));
+		String askPlan = explain(() -> bidRepository.updateAskQuantity(1, 10d));
+
+		// ASSERT
+		assertThat(bidPlan).doesNotContain(FULL_SCAN).contains(PRIMARY_KEY);
+		assertThat(askPlan).doesNotContain(FULL_SCAN).contains(PRIMARY_KEY);
+	}
+
+	@Test
+	public void testBidFilters_ShouldUse_SecondaryIndexes() {
+
+		// ASSERT
+		assertThat(explain("SELECT id FROM bid WHERE account = ?")).containsIgnoringCase("idx_bid_account");
+		assertThat(explain("SELECT id FROM bid WHERE security = ?")).containsIgnoringCase("idx_bid_security");
+		assertThat(explain("SELECT id FROM bid WHERE book = ?")).containsIgnoringCase("idx_bid_book");
+		assertThat(explain("SELECT id FROM bid WHERE trader = ?")).containsIgnoringCase("idx_bid_trader");
+	}
+
+	@Test
+	public void testTradeFilters_ShouldUse_SecondaryIndexes() {
+
+		// ASSERT
+		assertThat(explain("SELECT id FROM trade WHERE account = ?")).containsIgnoringCase("idx_trade_account");
+		assertThat(explain("SELECT id FROM trade WHERE security = ?")).containsIgnoringCase("idx_trade_security");
+		assertThat(explain("SELECT id FROM trade WHERE book = ?")).containsIgnoringCase("idx_trade_book");
+		assertThat(explain("SELECT id FROM trade WHERE trader = ?")).containsIgnoringCase("idx_trade_trader");
+		assertThat(explain("SELECT id FROM trade WHERE trade_date >= ? AND trade_date < ?"))
+				.containsIgnoringCase("idx_trade_trade_date");
+	}
+
+	@Test
+	public void testCurveFilters_ShouldUse_CurveIndex() {
+
+		// ACT
+		String curvePlan = explain("SELECT term, value FROM curvepoint WHERE curve_id = ?");
+		String datedCurvePlan = explain(
+				"SELECT term, value FROM curvepoint WHERE curve_id = ? AND as_of_date = ? ORDER BY term");
+
+		// ASSERT
+		assertThat(curvePlan).doesNotContain(FULL_SCAN).containsIgnoringCase("idx_curvepoint_curve_date_term");
+		assertThat(datedCurvePlan).doesNotContain(FULL_SCAN).containsIgnoringCase("idx_curvepoint_curve_date_term");
+	}
+
+	/**
+	 * Run a repository query, then explain the last statement it sent to the database
+	 */
+	private String explain(Runnable repositoryQuery) {
+		StatementRecorder.clear();
+		repositoryQuery.run();
+		List<String> statements = StatementRecorder.statements();
+		assertThat(statements).as("statements sent by the repository query").isNotEmpty();
+		return explain(statements.get(statements.size() - 1));
+	}
+
+	/**
+	 * Get the plan of a statement, its parameters are left unbound : the plan does not depend on their values
+	 */
+	private String explain(String sql) {
+		return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+			int parameters = statement.getParameterMetaData().getParameterCount();
+			for (int i = 1; i <= parameters; i++) {
+				statement.setObject(i, null);
+			}
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet rows = statement.executeQuery()) {
+				while (rows.next()) {
+					plan.append(rows.getString(1)).append('\n');
+				}
+			}
+			return plan.toString();
+		});
+	}
+}
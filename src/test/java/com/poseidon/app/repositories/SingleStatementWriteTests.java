@@ -0,0 +1,101 @@
+package com.poseidon.app.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.User;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RunWith(SpringRunner.class)
+public class SingleStatementWriteTests {
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	BidRepository bidRepository;
+
+	@Autowired
+	UserRepository userRepository;
+
+	Statistics statistics;
+
+	@Before
+	public void setUp() {
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	public void testUpdateBid_ShouldWrite_EveryColumn_InOneStatement() {
+
+		// ARRANGE
+		Integer id = bidRepository.save(new Bid("Account", "Type", 10d)).getId();
+		entityManager.flush();
+		entityManager.clear();
+		Bid updated = new Bid("Account Updated", "Type Updated", 20d);
+		updated.setSecurity("FR0000120271");
+		updated.setVersion(0);
+		statistics.clear();
+
+		// ACT
+		int rows = bidRepository.updateBid(id, updated);
+
+		// ASSERT
+		assertThat(rows).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		Bid bid = bidRepository.findBidById(id).get();
+		assertThat(bid.getAccount()).isEqualTo("Account Updated");
+		assertThat(bid.getBidQuantity()).isEqualTo(20d);
+		assertThat(bid.getSecurity()).isEqualTo("FR0000120271");
+	}
+
+	@Test
+	public void testUpdateAndDelete_MissingRow_ShouldReturn_Zero() {
+
+		// ACT
+		int updated = bidRepository.updateBid(Integer.MAX_VALUE, new Bid("Account", "Type", 10d));
+		int deleted = bidRepository.deleteBidById(Integer.MAX_VALUE);
+
+		// ASSERT
+		assertThat(updated).isZero();
+		assertThat(deleted).isZero();
+	}
+
+	@Test
+	public void testUpdateUser_ShouldWrite_NewUsername() {
+
+		// ARRANGE
+		User user = new User();
+		user.setUsername("tom.powell");
+		user.setPassword("encoded");
+		user.setRole("USER");
+		Integer id = userRepository.save(user).getId();
+		entityManager.flush();
+		entityManager.clear();
+		User updated = new User();
+		updated.setUsername("thomas.powell");
+		updated.setPassword("encoded again");
+		updated.setRole("ADMIN");
+
+		// ACT
+		int rows = userRepository.updateUser(id, updated);
+
+		// ASSERT
+		assertThat(rows).isEqualTo(1);
+		assertThat(userRepository.findByUsername("thomas.powell").get().getRole()).isEqualTo("ADMIN");
+		assertThat(userRepository.findByUsername("tom.powell")).isEmpty();
+	}
+}
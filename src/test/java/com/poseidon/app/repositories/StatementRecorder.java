@@ -0,0 +1,40 @@
+package com.poseidon.app.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Keeps the statements prepared by Hibernate, as they are sent to the database.
+ * A test registers it with "spring.jpa.properties.hibernate.session_factory.statement_inspector".
+ */
+public class StatementRecorder implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final List<String> STATEMENTS = new ArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		synchronized (STATEMENTS) {
+			STATEMENTS.add(sql);
+		}
+		return sql;
+	}
+
+	public static void clear() {
+		synchronized (STATEMENTS) {
+			STATEMENTS.clear();
+		}
+	}
+
+	/**
+	 * @return									The statements recorded since the last clear, in the order they were sent
+	 */
+	public static List<String> statements() {
+		synchronized (STATEMENTS) {
+			return new ArrayList<>(STATEMENTS);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.poseidon.app.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.BidSummary;
+import com.poseidon.app.domain.dto.RuleSummary;
+import com.poseidon.app.domain.dto.TradeSummary;
+
+@DataJpaTest
+@RunWith(SpringRunner.class)
+public class SummaryProjectionTests {
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	BidRepository bidRepository;
+
+	@Autowired
+	TradeRepository tradeRepository;
+
+	@Autowired
+	RuleRepository ruleRepository;
+
+	@Test
+	public void testFindBidSummaries_ShouldRead_PageWithoutManagedEntities() {
+
+		// ARRANGE
+		bidRepository.save(new Bid("First Account", "Main", 10d));
+		Bid second = bidRepository.save(new Bid("Second Account", "Main", 20d));
+		Bid third = bidRepository.save(new Bid("Third Account", "Main", 30d));
+		entityManager.flush();
+		entityManager.clear();
+
+		// ACT
+		Slice<BidSummary> slice = bidRepository.findSummariesByIdLessThan(third.getId(),
+				PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")));
+
+		// ASSERT
+		assertThat(slice.getContent()).containsExactly(new BidSummary(second.getId(), "Second Account", "Main", 20d));
+		assertThat(slice.hasNext()).isTrue();
+		assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	@Test
+	public void testFindTradeSummaries_ShouldRead_ShownColumns() {
+
+		// ARRANGE
+		Trade trade = new Trade("Account", "Type", 10d);
+		trade.setSecurity("FR0000120271");
+		tradeRepository.save(trade);
+		entityManager.flush();
+		entityManager.clear();
+
+		// ACT
+		List<TradeSummary> summaries = tradeRepository.findSummaries();
+
+		// ASSERT
+		assertThat(summaries).containsExactly(new TradeSummary(trade.getId(), "Account", "Type", 10d));
+	}
+
+	@Test
+	public void testFindRuleSummaries_ShouldRead_EveryColumn() {
+
+		// ARRANGE
+		Rule rule = ruleRepository.save(new Rule("Name", "Description", "Json", "Template", "Sql", "Part"));
+		entityManager.flush();
+		entityManager.clear();
+
+		// ACT
+		List<RuleSummary> summaries = ruleRepository.findSummaries();
+
+		// ASSERT
+		assertThat(summaries).containsExactly(
+				new RuleSummary(rule.getId(), "Name", "Description", "Json", "Template", "Sql", "Part"));
+	}
+}
@@ -0,0 +1,180 @@
+package com.poseidon.app.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.validation.Validation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.domain.dto.BidImportReport;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.exceptions.BidServiceException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BidImportServiceTests {
+
+	@InjectMocks
+	BidImportService bidImportService;
+
+	@Mock
+	JdbcTemplate jdbcTemplateMock;
+
+	@Mock
+	PlatformTransactionManager transactionManagerMock;
+
+	@Mock
+	ChangeCounterService changeCounterServiceMock;
+
+	@Mock
+	ApplicationEventPublisher eventPublisherMock;
+
+	@Before
+	public void setUp() {
+		bidImportService.validator = Validation.buildDefaultValidatorFactory().getValidator();
+		bidImportService.objectMapper = new ObjectMapper();
+		bidImportService.batchSize = 2;
+		bidImportService.maxReportedErrors = 10;
+	}
+
+	private static InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void verifyBatches(int count) {
+		verify(jdbcTemplateMock, times(count)).execute(any(PreparedStatementCreator.class),
+				any(PreparedStatementCallback.class));
+	}
+
+	@Test
+	public void testImportCsv_ShouldInsert_ValidRowsByBatch() throws BidServiceException {
+
+		// ARRANGE
+		String csv = "account,type,bidQuantity\n" //
+				+ "First Account,Main,10\n" //
+				+ "Second Account,Main,20.5\n" //
+				+ "\"Third, Account\",Secondary,3\n";
+
+		// ACT
+		BidImportReport report = bidImportService.importBids(stream(csv), FileFormat.CSV);
+
+		// ASSERT
+		assertThat(report.getRowsRead()).isEqualTo(3);
+		assertThat(report.getRowsImported()).isEqualTo(3);
+		assertThat(report.getRowsRejected()).isZero();
+		verifyBatches(2);
+	}
+
+	@Test
+	public void testImportCsv_ShouldReport_InvalidRows() throws BidServiceException {
+
+		// ARRANGE
+		String csv = "type,account,bid_quantity\n" //
+				+ "Main,First Account,abc\n" //
+				+ "Main,,4\n" //
+				+ "Main,Third Account,4\n";
+
+		// ACT
+		BidImportReport report = bidImportService.importBids(stream(csv), FileFormat.CSV);
+
+		// ASSERT
+		assertThat(report.getRowsImported()).isEqualTo(1);
+		assertThat(report.getRowsRejected()).isEqualTo(2);
+		assertThat(report.getErrors()).extracting(BidImportReport.RowError::getRow).containsExactly(2L, 3L);
+	}
+
+	@Test(expected = BidServiceException.class)
+	public void testImportCsv_ShouldThrow_WhenHeaderIsInvalid() throws BidServiceException {
+
+		// ACT
+		bidImportService.importBids(stream("account,quantity\nFirst Account,10\n"), FileFormat.CSV);
+	}
+
+	@Test
+	public void testImportJsonLines_ShouldInsert_ValidRows() throws BidServiceException {
+
+		// ARRANGE
+		String jsonLines = "{\"account\":\"First Account\",\"type\":\"Main\",\"bidQuantity\":10}\n" //
+				+ "{\"account\":\"Second Account\",\"type\":\"Main\"\n";
+
+		// ACT
+		BidImportReport report = bidImportService.importBids(stream(jsonLines), FileFormat.JSONL);
+
+		// ASSERT
+		assertThat(report.getRowsImported()).isEqualTo(1);
+		assertThat(report.getRowsRejected()).isEqualTo(1);
+		verifyBatches(1);
+	}
+
+	@Test
+	public void testImport_ShouldReject_RolledBackBatch() throws BidServiceException {
+
+		// ARRANGE
+		when(jdbcTemplateMock.execute(any(PreparedStatementCreator.class), any(PreparedStatementCallback.class)))
+				.thenThrow(new DataIntegrityViolationException("Data too long"));
+
+		// ACT
+		BidImportReport report = bidImportService
+				.importBids(stream("account,type,bidQuantity\nFirst Account,Main,10\n"), FileFormat.CSV);
+
+		// ASSERT
+		assertThat(report.getRowsImported()).isZero();
+		assertThat(report.getRowsRejected()).isEqualTo(1);
+		verify(transactionManagerMock, times(1)).rollback(null);
+		verify(eventPublisherMock, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	public void testImport_ShouldPublish_CreatedBids_WithTheirIds() throws BidServiceException, SQLException {
+
+		// ARRANGE
+		PreparedStatement statementMock = mock(PreparedStatement.class);
+		ResultSet keysMock = mock(ResultSet.class);
+		when(statementMock.getGeneratedKeys()).thenReturn(keysMock);
+		when(keysMock.next()).thenReturn(true, true, false);
+		when(keysMock.getInt(1)).thenReturn(7, 8);
+		when(jdbcTemplateMock.execute(any(PreparedStatementCreator.class), any(PreparedStatementCallback.class)))
+				.thenAnswer(invocation -> invocation.<PreparedStatementCallback<?>> getArgument(1)
+						.doInPreparedStatement(statementMock));
+
+		// ACT
+		bidImportService.importBids(stream("account,type,bidQuantity\nFirst Account,Main,10\nSecond Account,Main,20\n"),
+				FileFormat.CSV);
+
+		// ASSERT
+		ArgumentCaptor<BidChangeEvent> events = ArgumentCaptor.forClass(BidChangeEvent.class);
+		verify(eventPublisherMock, times(2)).publishEvent(events.capture());
+		assertThat(events.getAllValues()).extracting(BidChangeEvent::getType).containsOnly(ChangeType.CREATED);
+		assertThat(events.getAllValues()).extracting(BidChangeEvent::getId).containsExactly(7, 8);
+		assertThat(events.getAllValues()).extracting(event -> event.getBid().getAccount())
+				.containsExactly("First Account", "Second Account");
+		verify(statementMock, times(2)).addBatch();
+	}
+}
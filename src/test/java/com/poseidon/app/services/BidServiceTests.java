@@ -1,11 +1,17 @@
 package com.poseidon.app.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,11 +20,24 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.MethodSorters;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import com.poseidon.app.config.constants.ConflictPolicy;
+import com.poseidon.app.config.constants.Tables;
 import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.dto.BidSummary;
+import com.poseidon.app.domain.dto.KeysetPage;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.exceptions.BidConflictException;
 import com.poseidon.app.exceptions.BidServiceException;
 import com.poseidon.app.repositories.BidRepository;
 
@@ -32,6 +51,12 @@ public class BidServiceTests {
 	@Mock
 	BidRepository bidRepositoryMock;
 
+	@Mock
+	ChangeCounterService changeCounterServiceMock;
+
+	@Mock
+	ApplicationEventPublisher eventPublisherMock;
+
 	static Bid mockFirstBid;
 	static Bid mockSecondBid;
 	static List<Bid> bidListMock;
@@ -60,6 +85,68 @@ public class BidServiceTests {
 		assertThat(response).hasSize(2);
 	}
 
+	@Test
+	public void testFindBidPage_ShouldReturn_FirstPage() {
+
+		// ARRANGE
+		mockFirstBid.setId(1);
+		mockSecondBid.setId(2);
+		when(bidRepositoryMock.findAllBy(any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(bidListMock, PageRequest.of(0, 2), true));
+
+		// ACT
+		KeysetPage<Bid> response = bidService.findBidPage(null, null, 2, Sort.Direction.ASC);
+
+		// ASSERT
+		assertThat(response.getContent()).hasSize(2);
+		assertThat(response.getFirstId()).isEqualTo(1);
+		assertThat(response.getLastId()).isEqualTo(2);
+		assertThat(response.isHasPrevious()).isFalse();
+		assertThat(response.isHasNext()).isTrue();
+	}
+
+	@Test
+	public void testFindBidPage_Before_ShouldReturn_PreviousPageInOrder() {
+
+		// ARRANGE
+		mockFirstBid.setId(1);
+		mockSecondBid.setId(2);
+		List<Bid> reversed = new ArrayList<>();
+		reversed.add(mockSecondBid);
+		reversed.add(mockFirstBid);
+		when(bidRepositoryMock.findByIdLessThan(eq(3), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(reversed, PageRequest.of(0, 2), false));
+
+		// ACT
+		KeysetPage<Bid> response = bidService.findBidPage(null, 3, 2, Sort.Direction.ASC);
+
+		// ASSERT
+		assertThat(response.getFirstId()).isEqualTo(1);
+		assertThat(response.getLastId()).isEqualTo(2);
+		assertThat(response.isHasPrevious()).isFalse();
+		assertThat(response.isHasNext()).isTrue();
+	}
+
+	@Test
+	public void testFindBidSummaryPage_AfterDescending_ShouldRead_LowerIds() {
+
+		// ARRANGE
+		List<BidSummary> summaries = new ArrayList<>();
+		summaries.add(new BidSummary(9, "Account", "Type", 10d));
+		summaries.add(new BidSummary(8, "Account", "Type", 20d));
+		when(bidRepositoryMock.findSummariesByIdLessThan(eq(10), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(summaries, PageRequest.of(0, 2), true));
+
+		// ACT
+		KeysetPage<BidSummary> response = bidService.findBidSummaryPage(10, null, 2, Sort.Direction.DESC);
+
+		// ASSERT
+		assertThat(response.getFirstId()).isEqualTo(9);
+		assertThat(response.getLastId()).isEqualTo(8);
+		assertThat(response.isHasPrevious()).isTrue();
+		assertThat(response.isHasNext()).isTrue();
+	}
+
 	@Test
 	public void testFindBidListById_ShouldReturn_FirstBidList() throws BidServiceException {
 
@@ -90,7 +177,7 @@ public class BidServiceTests {
 	public void testUpdateBidList_ShouldReturn_True() throws BidServiceException {
 
 		// ARRANGE
-		when(bidRepositoryMock.findBidById(1)).thenReturn(Optional.of(mockFirstBid));
+		when(bidRepositoryMock.updateBid(1, mockFirstBid)).thenReturn(1);
 		mockFirstBid.setBidQuantity(4d);
 
 		// ACT
@@ -98,22 +185,157 @@ public class BidServiceTests {
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(bidRepositoryMock, times(1)).save(mockFirstBid);
+		verify(bidRepositoryMock, times(1)).updateBid(1, mockFirstBid);
+
+	}
+
+	@Test(expected = BidConflictException.class)
+	public void testUpdateBid_StaleVersion_ShouldThrow_BidConflictException() throws BidServiceException {
+
+		// ARRANGE
+		Bid update = new Bid("Account", "Type", 4d);
+		update.setVersion(1);
+		Bid current = new Bid("Account", "Type", 10d);
+		current.setVersion(2);
+		when(bidRepositoryMock.updateBid(3, update)).thenReturn(0);
+		when(bidRepositoryMock.findBidById(3)).thenReturn(Optional.of(current));
+
+		// ACT
+		bidService.updateBid(3, update);
+	}
+
+	@Test(expected = BidServiceException.class)
+	public void testUpdateBid_MissingBid_ShouldThrow_BidServiceException() throws BidServiceException {
+
+		// ARRANGE
+		Bid update = new Bid("Account", "Type", 4d);
+		update.setVersion(1);
+		when(bidRepositoryMock.updateBid(3, update)).thenReturn(0);
+		when(bidRepositoryMock.findBidById(3)).thenReturn(Optional.empty());
+
+		// ACT
+		bidService.updateBid(3, update, ConflictPolicy.MERGE);
+	}
+
+	@Test
+	public void testUpdateBid_Merge_ShouldApply_Update_OnCurrentBid() throws BidServiceException {
+
+		// ARRANGE
+		bidService.updateAttempts = 3;
+		Bid update = new Bid("Account Updated", "Type", null);
+		update.setVersion(1);
+		Bid current = new Bid("Account", "Type", 10d);
+		current.setId(3);
+		current.setVersion(2);
+		current.setSecurity("FR0000120271");
+		when(bidRepositoryMock.updateBid(eq(3), any(Bid.class))).thenReturn(0, 1);
+		when(bidRepositoryMock.findBidById(3)).thenReturn(Optional.of(current));
+
+		// ACT
+		boolean response = bidService.updateBid(3, update, ConflictPolicy.MERGE);
+
+		// ASSERT
+		ArgumentCaptor<Bid> written = ArgumentCaptor.forClass(Bid.class);
+		verify(bidRepositoryMock, times(2)).updateBid(eq(3), written.capture());
+		Bid merged = written.getAllValues().get(1);
+		assertThat(response).isTrue();
+		assertThat(merged.getAccount()).isEqualTo("Account Updated");
+		assertThat(merged.getBidQuantity()).isEqualTo(10d);
+		assertThat(merged.getSecurity()).isEqualTo("FR0000120271");
+		assertThat(merged.getVersion()).isEqualTo(2);
+		assertThat(update.getVersion()).isEqualTo(3);
+		assertThat(update.getSecurity()).isEqualTo("FR0000120271");
+		verify(eventPublisherMock, times(1)).publishEvent(new BidChangeEvent(ChangeType.UPDATED, 3, update));
+	}
+
+	@Test
+	public void testUpdateBid_Overwrite_ShouldWrite_FromCurrentVersion() throws BidServiceException {
+
+		// ARRANGE
+		bidService.updateAttempts = 3;
+		Bid update = new Bid("Account Updated", "Type", null);
+		update.setVersion(1);
+		Bid current = new Bid("Account", "Type", 10d);
+		current.setVersion(4);
+		when(bidRepositoryMock.updateBid(eq(3), any(Bid.class))).thenReturn(0, 1);
+		when(bidRepositoryMock.findBidById(3)).thenReturn(Optional.of(current));
+
+		// ACT
+		boolean response = bidService.updateBid(3, update, ConflictPolicy.OVERWRITE);
+
+		// ASSERT
+		assertThat(response).isTrue();
+		assertThat(update.getBidQuantity()).isNull();
+		assertThat(update.getVersion()).isEqualTo(5);
+	}
+
+	@Test
+	public void testUpdateBid_Merge_ShouldThrow_AfterLastAttempt() throws BidServiceException {
 
+		// ARRANGE
+		bidService.updateAttempts = 2;
+		Bid update = new Bid("Account Updated", "Type", 1d);
+		update.setVersion(1);
+		Bid current = new Bid("Account", "Type", 10d);
+		current.setVersion(2);
+		when(bidRepositoryMock.updateBid(eq(3), any(Bid.class))).thenReturn(0);
+		when(bidRepositoryMock.findBidById(3)).thenReturn(Optional.of(current));
+
+		// ACT
+		Throwable error = catchThrowable(() -> bidService.updateBid(3, update, ConflictPolicy.MERGE));
+
+		// ASSERT
+		assertThat(error).isInstanceOf(BidConflictException.class);
+		verify(bidRepositoryMock, times(2)).updateBid(eq(3), any(Bid.class));
+		verify(eventPublisherMock, times(0)).publishEvent(any());
+	}
+
+	@Test
+	public void testFillBids_ShouldSave_Quantities_AndPublish_FilledBids() {
+
+		// ARRANGE
+		Bid filledBid = new Bid("First Account", "Main", 0d);
+		filledBid.setId(2);
+		filledBid.setAskQuantity(6d);
+		when(bidRepositoryMock.updateBidQuantity(2, 0d)).thenReturn(1);
+		when(bidRepositoryMock.updateAskQuantity(2, 6d)).thenReturn(1);
+		when(bidRepositoryMock.findAllById(anyIterable())).thenReturn(Collections.singletonList(filledBid));
+
+		// ACT
+		bidService.fillBids(Collections.singletonMap(2, 0d), Collections.singletonMap(2, 6d));
+
+		// ASSERT
+		verify(changeCounterServiceMock, times(1)).markChanged(Tables.BID);
+		verify(eventPublisherMock, times(1)).publishEvent(new BidChangeEvent(ChangeType.FILLED, 2, filledBid));
+	}
+
+	@Test
+	public void testFillBids_DeletedBid_ShouldNotPublish_Anything() {
+
+		// ARRANGE
+		when(bidRepositoryMock.updateBidQuantity(5, 0d)).thenReturn(0);
+
+		// ACT
+		bidService.fillBids(Collections.singletonMap(5, 0d), Collections.emptyMap());
+
+		// ASSERT
+		verify(changeCounterServiceMock, never()).markChanged(Tables.BID);
+		verify(eventPublisherMock, never()).publishEvent(any());
 	}
 
 	@Test
 	public void testDeleteBidList_ShouldReturn_True() throws BidServiceException {
 
 		// ARRANGE
-		when(bidRepositoryMock.findBidById(2)).thenReturn(Optional.of(mockSecondBid));
+		when(bidRepositoryMock.deleteBidById(2)).thenReturn(1);
 
 		// ACT
 		boolean response = bidService.deleteBid(2);
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(bidRepositoryMock, times(1)).delete(mockSecondBid);
+		verify(bidRepositoryMock, times(1)).deleteBidById(2);
+		verify(eventPublisherMock, times(1)).publishEvent(new BidChangeEvent(ChangeType.DELETED, 2, null));
 	}
 
 }
@@ -0,0 +1,115 @@
+package com.poseidon.app.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.constants.Tables;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.TradeChangeEvent;
+
+public class BlotterServiceTests {
+
+	BlotterService blotterService = new BlotterService();
+
+	@Before
+	public void setUp() {
+		blotterService.objectMapper = new ObjectMapper();
+		blotterService.timeoutMillis = 60000;
+		blotterService.heartbeatSeconds = 30;
+		blotterService.queueSize = 2;
+		blotterService.senderThreads = 2;
+		blotterService.start();
+	}
+
+	@After
+	public void tearDown() {
+		blotterService.stop();
+	}
+
+	@Test
+	public void testSubscribe_ShouldCount_ViewersByTable() {
+
+		// ACT
+		blotterService.subscribe(Tables.BID);
+		blotterService.subscribe(Tables.BID);
+		blotterService.subscribe(Tables.TRADE);
+
+		// ASSERT
+		assertThat(blotterService.getViewerCount(Tables.BID)).isEqualTo(2);
+		assertThat(blotterService.getViewerCount(Tables.TRADE)).isEqualTo(1);
+	}
+
+	@Test
+	public void testOnTradeChange_ClosedStream_ShouldBeDropped() throws InterruptedException {
+
+		// ARRANGE
+		SseEmitter closed = blotterService.subscribe(Tables.TRADE);
+		blotterService.subscribe(Tables.TRADE);
+		closed.complete();
+		Trade trade = new Trade("Account", "Type", 10d);
+		trade.setId(1);
+
+		// ACT
+		blotterService.onTradeChange(new TradeChangeEvent(ChangeType.CREATED, 1, trade));
+
+		// ASSERT
+		long deadline = System.currentTimeMillis() + 5000;
+		while (blotterService.getViewerCount(Tables.TRADE) > 1 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(blotterService.getViewerCount(Tables.TRADE)).isEqualTo(1);
+	}
+
+	@Test
+	public void testOnTradeChange_SlowViewer_ShouldBeClosed_WithoutHoldingUpOthers() throws InterruptedException {
+
+		// ARRANGE
+		CountDownLatch slowBrowser = new CountDownLatch(1);
+		AtomicInteger slowSends = new AtomicInteger();
+		AtomicInteger fastSends = new AtomicInteger();
+		blotterService.subscribe(Tables.TRADE, new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				slowSends.incrementAndGet();
+				try {
+					slowBrowser.await();
+				} catch (InterruptedException error) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		blotterService.subscribe(Tables.TRADE, new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				fastSends.incrementAndGet();
+			}
+		});
+		Trade trade = new Trade("Account", "Type", 10d);
+		trade.setId(1);
+
+		// ACT
+		long deadline = System.currentTimeMillis() + 5000;
+		for (int i = 1; i <= 5; i++) {
+			blotterService.onTradeChange(new TradeChangeEvent(ChangeType.UPDATED, 1, trade));
+			while (fastSends.get() < i && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+		}
+
+		// ASSERT
+		assertThat(fastSends.get()).isEqualTo(5);
+		assertThat(blotterService.getViewerCount(Tables.TRADE)).isEqualTo(1);
+		slowBrowser.countDown();
+		assertThat(slowSends.get()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,69 @@
+package com.poseidon.app.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.poseidon.app.config.constants.Tables;
+
+public class ChangeCounterServiceTests {
+
+	ChangeCounterService changeCounterService = new ChangeCounterService();
+
+	@After
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void testMarkChanged_WithoutTransaction_ShouldCount_AtOnce() {
+
+		// ARRANGE
+		String etag = changeCounterService.getEtag(Tables.BID);
+
+		// ACT
+		changeCounterService.markChanged(Tables.BID);
+
+		// ASSERT
+		assertThat(changeCounterService.getCount(Tables.BID)).isEqualTo(1);
+		assertThat(changeCounterService.getEtag(Tables.BID)).isNotEqualTo(etag);
+		assertThat(changeCounterService.getCount(Tables.TRADE)).isZero();
+	}
+
+	@Test
+	public void testMarkChanged_ShouldCount_OnceCommitted() {
+
+		// ARRANGE
+		TransactionSynchronizationManager.initSynchronization();
+
+		// ACT
+		changeCounterService.markChanged(Tables.RATING);
+		long beforeCommit = changeCounterService.getCount(Tables.RATING);
+		TransactionSynchronizationUtils.triggerAfterCommit();
+
+		// ASSERT
+		assertThat(beforeCommit).isZero();
+		assertThat(changeCounterService.getCount(Tables.RATING)).isEqualTo(1);
+	}
+
+	@Test
+	public void testMarkChanged_RolledBack_ShouldNotCount() {
+
+		// ARRANGE
+		TransactionSynchronizationManager.initSynchronization();
+
+		// ACT
+		changeCounterService.markChanged(Tables.RULE);
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		// ASSERT
+		assertThat(changeCounterService.getCount(Tables.RULE)).isZero();
+		assertThat(changeCounterService.getEtag(Tables.RULE)).startsWith("\"rule-").endsWith("-0\"");
+	}
+}
@@ -1,6 +1,7 @@
 package com.poseidon.app.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -8,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +19,11 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.CurvePointChangeEvent;
 import com.poseidon.app.exceptions.CurvePointServiceException;
 import com.poseidon.app.repositories.CurvePointRepository;
 
@@ -31,6 +36,12 @@ public class CurvePointServiceTests {
 	@Mock
 	CurvePointRepository curvePointRepositoryMock;
 
+	@Mock
+	ChangeCounterService changeCounterServiceMock;
+
+	@Mock
+	ApplicationEventPublisher eventPublisherMock;
+
 	static CurvePoint mockFirstCurvePoint;
 	static CurvePoint mockSecondCurvePoint;
 	static List<CurvePoint> curvePointListMock;
@@ -97,11 +108,34 @@ public class CurvePointServiceTests {
 		verify(curvePointRepositoryMock, never()).save(mockSecondCurvePoint);
 	}
 
+	@Test
+	public void testCreateCurvePoints_ShouldSaveAll_AndPublishEachCurvePoint() throws CurvePointServiceException {
+
+		// ARRANGE
+		List<CurvePoint> curvePoints = Arrays.asList(new CurvePoint(1, 1d, 0.5d), new CurvePoint(1, 2d, 0.7d));
+
+		// ACT
+		boolean response = curvePointService.createCurvePoints(curvePoints);
+
+		// ASSERT
+		assertThat(response).isTrue();
+		verify(curvePointRepositoryMock, times(1)).saveAll(curvePoints);
+		verify(eventPublisherMock, times(2)).publishEvent(any(CurvePointChangeEvent.class));
+	}
+
+	@Test(expected = CurvePointServiceException.class)
+	public void testCreateCurvePoints_WithNullList_ShouldThrow_CurvePointServiceException()
+			throws CurvePointServiceException {
+
+		// ACT
+		curvePointService.createCurvePoints(null);
+	}
+
 	@Test
 	public void testUpdateCurvePoint_ShouldReturn_True() throws CurvePointServiceException {
 
 		// ARRANGE
-		when(curvePointRepositoryMock.findCurvePointById(1)).thenReturn(Optional.of(mockFirstCurvePoint));
+		when(curvePointRepositoryMock.updateCurvePoint(1, mockFirstCurvePoint)).thenReturn(1);
 		mockFirstCurvePoint.setValue(30d);
 
 		// ACT
@@ -109,15 +143,15 @@ public class CurvePointServiceTests {
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(curvePointRepositoryMock, times(1)).save(mockFirstCurvePoint);
+		verify(curvePointRepositoryMock, times(1)).updateCurvePoint(1, mockFirstCurvePoint);
 	}
 
 	@Test(expected = CurvePointServiceException.class)
 	public void testUpdateCurvePoint_ShouldReturn_CurvePointException() throws CurvePointServiceException {
 
 		// ARRANGE
-		when(curvePointRepositoryMock.findCurvePointById(3)).thenReturn(Optional.empty());
 		CurvePoint newCurvePoint = new CurvePoint();
+		when(curvePointRepositoryMock.updateCurvePoint(3, newCurvePoint)).thenReturn(0);
 
 		// ACT
 		curvePointService.updateCurvePoint(3, newCurvePoint);
@@ -130,14 +164,15 @@ public class CurvePointServiceTests {
 	public void testDeleteCurvePoint_ShouldReturn_True() throws CurvePointServiceException {
 
 		// ARRANGE
-		when(curvePointRepositoryMock.findCurvePointById(2)).thenReturn(Optional.of(mockSecondCurvePoint));
+		when(curvePointRepositoryMock.deleteCurvePointById(2)).thenReturn(1);
 
 		// ACT
 		boolean response = curvePointService.deleteCurvePoint(2);
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(curvePointRepositoryMock, times(1)).delete(mockSecondCurvePoint);
+		verify(curvePointRepositoryMock, times(1)).deleteCurvePointById(2);
+		verify(eventPublisherMock, times(1)).publishEvent(new CurvePointChangeEvent(ChangeType.DELETED, 2, null));
 	}
 
 }
@@ -0,0 +1,122 @@
+package com.poseidon.app.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidon.app.config.constants.FileFormat;
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExportServiceTests {
+
+	@InjectMocks
+	ExportService exportService;
+
+	// A Hibernate SessionFactory is also the JPA EntityManagerFactory
+	@Mock
+	SessionFactory sessionFactoryMock;
+
+	@Mock
+	Session sessionMock;
+
+	@Mock
+	Transaction transactionMock;
+
+	@Mock
+	ScrollableResults resultsMock;
+
+	@Before
+	public void setUp() {
+		exportService.objectMapper = new ObjectMapper();
+		exportService.fetchSize = 100;
+		exportService.clearInterval = 2;
+
+		when(sessionFactoryMock.unwrap(SessionFactory.class)).thenReturn(sessionFactoryMock);
+		when(sessionFactoryMock.openSession()).thenReturn(sessionMock);
+		when(sessionMock.getTransaction()).thenReturn(transactionMock);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> void mockScroll(Class<T> entityClass) {
+		Query<T> queryMock = mock(Query.class, Answers.RETURNS_SELF);
+		when(sessionMock.createQuery(anyString(), eq(entityClass))).thenReturn(queryMock);
+		when(queryMock.scroll(ScrollMode.FORWARD_ONLY)).thenReturn(resultsMock);
+	}
+
+	@Test
+	public void testExportBids_Csv_ShouldWrite_HeaderAndRows() throws IOException {
+
+		// ARRANGE
+		Bid firstBid = new Bid("First Account", "Main", 10d);
+		firstBid.setId(1);
+		Bid secondBid = new Bid("Second, Account", "Main", 2d);
+		secondBid.setId(2);
+		Bid thirdBid = new Bid("Third Account", "Main", 3d);
+		thirdBid.setId(3);
+
+		mockScroll(Bid.class);
+		when(resultsMock.next()).thenReturn(true, true, true, false);
+		when(resultsMock.get(0)).thenReturn(firstBid, secondBid, thirdBid);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// ACT
+		long count = exportService.exportBids(FileFormat.CSV, output);
+
+		// ASSERT
+		String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertThat(count).isEqualTo(3);
+		assertThat(lines).hasSize(4);
+		assertThat(lines[0]).startsWith("id,account,type,bid,bidQuantity");
+		assertThat(lines[2]).startsWith("2,\"Second, Account\",Main,,2.0");
+		verify(sessionMock, times(1)).clear();
+		verify(sessionMock).setDefaultReadOnly(true);
+		verify(resultsMock).close();
+		verify(transactionMock).rollback();
+	}
+
+	@Test
+	public void testExportTrades_JsonLines_ShouldWrite_OneObjectPerLine() throws IOException {
+
+		// ARRANGE
+		Trade trade = new Trade("First Account", "First Type", 10d);
+		trade.setId(1);
+
+		mockScroll(Trade.class);
+		when(resultsMock.next()).thenReturn(true, false);
+		when(resultsMock.get(0)).thenReturn(trade);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// ACT
+		long count = exportService.exportTrades(FileFormat.JSONL, output);
+
+		// ASSERT
+		String content = new String(output.toByteArray(), StandardCharsets.UTF_8);
+		assertThat(count).isEqualTo(1);
+		assertThat(content).startsWith("{\"id\":1,\"version\":null,\"account\":\"First Account\"").endsWith("}\n");
+	}
+}
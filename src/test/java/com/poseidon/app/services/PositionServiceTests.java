@@ -0,0 +1,111 @@
+package com.poseidon.app.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.Position;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.repositories.TradeRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PositionServiceTests {
+
+	@InjectMocks
+	PositionService positionService;
+
+	@Mock
+	TradeRepository tradeRepositoryMock;
+
+	private static Trade trade(int id, String account, String security, Double buyQuantity, Double sellQuantity) {
+		Trade trade = new Trade(account, "Type", buyQuantity);
+		trade.setId(id);
+		trade.setSecurity(security);
+		trade.setSellQuantity(sellQuantity);
+		return trade;
+	}
+
+	@Test
+	public void testLoadPositions_ShouldSum_EveryPage() {
+
+		// ARRANGE
+		when(tradeRepositoryMock.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(
+				Arrays.asList(trade(1, "Account", "AAA", 10d, null), trade(2, "Account", "AAA", null, 4d)),
+				Pageable.unpaged(), true));
+		when(tradeRepositoryMock.findByIdGreaterThan(eq(2), any(Pageable.class))).thenReturn(new SliceImpl<>(
+				Arrays.asList(trade(3, "Account", "BBB", 5d, null))));
+
+		// ACT
+		positionService.loadPositions();
+
+		// ASSERT
+		assertThat(positionService.findPosition("Account", "AAA").getQuantity()).isEqualTo(6d);
+		assertThat(positionService.findPosition("Account", "BBB").getQuantity()).isEqualTo(5d);
+		assertThat(positionService.findPosition("Other", "AAA").getQuantity()).isZero();
+	}
+
+	@Test
+	public void testOnTradeChange_Updated_ShouldReplace_PreviousQuantity() {
+
+		// ARRANGE
+		positionService.onTradeChange(
+				new TradeChangeEvent(ChangeType.CREATED, 1, trade(1, "Account", "AAA", 10d, null)));
+
+		// ACT
+		positionService.onTradeChange(
+				new TradeChangeEvent(ChangeType.UPDATED, 1, trade(1, "Account", "BBB", 3d, null)));
+
+		// ASSERT
+		assertThat(positionService.findPosition("Account", "AAA").getQuantity()).isZero();
+		assertThat(positionService.findPosition("Account", "BBB").getQuantity()).isEqualTo(3d);
+	}
+
+	@Test
+	public void testOnTradeChange_Deleted_ShouldTakeBack_Quantity() {
+
+		// ARRANGE
+		positionService.onTradeChange(
+				new TradeChangeEvent(ChangeType.CREATED, 1, trade(1, "Account", "AAA", 10d, null)));
+		positionService.onTradeChange(
+				new TradeChangeEvent(ChangeType.CREATED, 2, trade(2, "Account", "AAA", null, 4d)));
+
+		// ACT
+		positionService.onTradeChange(new TradeChangeEvent(ChangeType.DELETED, 1, null));
+
+		// ASSERT
+		assertThat(positionService.findPosition("Account", "AAA").getQuantity()).isEqualTo(-4d);
+	}
+
+	@Test
+	public void testFindPositions_ShouldFilter_ByAccount() {
+
+		// ARRANGE
+		positionService.onTradeChange(
+				new TradeChangeEvent(ChangeType.CREATED, 1, trade(1, "First", "BBB", 1d, null)));
+		positionService.onTradeChange(
+				new TradeChangeEvent(ChangeType.CREATED, 2, trade(2, "First", "AAA", 2d, null)));
+		positionService.onTradeChange(
+				new TradeChangeEvent(ChangeType.CREATED, 3, trade(3, "Second", "AAA", 3d, null)));
+
+		// ACT
+		List<Position> response = positionService.findPositions("First");
+
+		// ASSERT
+		assertThat(response).extracting(Position::getSecurity).containsExactly("AAA", "BBB");
+		assertThat(positionService.findPositions(null)).hasSize(3);
+	}
+}
@@ -17,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.poseidon.app.config.constants.CacheRegions;
 import com.poseidon.app.domain.Rating;
 import com.poseidon.app.exceptions.RatingServiceException;
 import com.poseidon.app.repositories.RatingRepository;
@@ -30,6 +31,12 @@ public class RatingServiceTests {
 	@Mock
 	RatingRepository ratingRepositoryMock;
 
+	@Mock
+	ChangeCounterService changeCounterServiceMock;
+
+	@Mock
+	ReferenceDataCacheService referenceDataCacheServiceMock;
+
 	static Rating mockFirstRating;
 	static Rating mockSecondRating;
 	static List<Rating> ratingListMock;
@@ -81,6 +88,7 @@ public class RatingServiceTests {
 		// ASSERT
 		assertThat(response).isTrue();
 		verify(ratingRepositoryMock, times(1)).save(mockFirstRating);
+		verify(referenceDataCacheServiceMock, times(1)).evictQueries(CacheRegions.RATING_QUERIES);
 
 	}
 
@@ -88,7 +96,7 @@ public class RatingServiceTests {
 	public void testUpdateRating_ShouldReturn_True() throws RatingServiceException {
 
 		// ARRANGE
-		when(ratingRepositoryMock.findRatingById(2)).thenReturn(Optional.of(mockSecondRating));
+		when(ratingRepositoryMock.findById(2)).thenReturn(Optional.of(mockSecondRating));
 		mockSecondRating.setOrderNumber(30);
 
 		// ACT
@@ -96,6 +104,7 @@ public class RatingServiceTests {
 
 		assertThat(response).isTrue();
 		verify(ratingRepositoryMock, times(1)).save(mockSecondRating);
+		verify(referenceDataCacheServiceMock, times(1)).evictQueries(CacheRegions.RATING_QUERIES);
 
 	}
 
@@ -103,8 +112,8 @@ public class RatingServiceTests {
 	public void testUpdateRating_ShouldReturn_RatingServiceException() throws RatingServiceException {
 
 		// ARRANGE
-		when(ratingRepositoryMock.findRatingById(3)).thenReturn(Optional.empty());
 		Rating newRating = new Rating();
+		when(ratingRepositoryMock.findById(3)).thenReturn(Optional.empty());
 
 		// ACT
 		ratingService.updateRating(3, newRating);
@@ -117,7 +126,7 @@ public class RatingServiceTests {
 	public void testDeleteRating_ShouldReturn_True() throws RatingServiceException {
 
 		// ARRANGE
-		when(ratingRepositoryMock.findRatingById(2)).thenReturn(Optional.of(mockSecondRating));
+		when(ratingRepositoryMock.findById(2)).thenReturn(Optional.of(mockSecondRating));
 
 		// ACT
 		boolean response = ratingService.deleteRating(2);
@@ -125,6 +134,7 @@ public class RatingServiceTests {
 		// ASSERT
 		assertThat(response).isTrue();
 		verify(ratingRepositoryMock, times(1)).delete(mockSecondRating);
+		verify(referenceDataCacheServiceMock, times(1)).evictQueries(CacheRegions.RATING_QUERIES);
 	}
 
 }
@@ -0,0 +1,74 @@
+package com.poseidon.app.services;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.poseidon.app.config.constants.CacheRegions;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReferenceDataCacheServiceTests {
+
+	@InjectMocks
+	ReferenceDataCacheService referenceDataCacheService;
+
+	// The SessionFactory of Hibernate is also the EntityManagerFactory
+	@Mock
+	SessionFactory sessionFactoryMock;
+
+	@Mock
+	Cache cacheMock;
+
+	@Before
+	public void setUp() {
+		when(sessionFactoryMock.unwrap(SessionFactory.class)).thenReturn(sessionFactoryMock);
+		when(sessionFactoryMock.getCache()).thenReturn(cacheMock);
+	}
+
+	@After
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void testEvictQueries_WithoutTransaction_ShouldEvict_Now() {
+
+		// ACT
+		referenceDataCacheService.evictQueries(CacheRegions.RATING_QUERIES);
+
+		// ASSERT
+		verify(cacheMock, times(1)).evictQueryRegion(CacheRegions.RATING_QUERIES);
+	}
+
+	@Test
+	public void testEvictQueries_InTransaction_ShouldEvict_AfterCommit() {
+
+		// ARRANGE
+		TransactionSynchronizationManager.initSynchronization();
+
+		// ACT
+		referenceDataCacheService.evictQueries(CacheRegions.RULE_QUERIES);
+		verify(cacheMock, never()).evictQueryRegion(CacheRegions.RULE_QUERIES);
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+
+		// ASSERT
+		verify(cacheMock, times(1)).evictQueryRegion(CacheRegions.RULE_QUERIES);
+	}
+}
@@ -1,6 +1,7 @@
 package com.poseidon.app.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,8 +16,11 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.poseidon.app.config.constants.CacheRegions;
 import com.poseidon.app.domain.Rule;
+import com.poseidon.app.events.RuleChangeEvent;
 import com.poseidon.app.exceptions.RuleServiceException;
 import com.poseidon.app.repositories.RuleRepository;
 
@@ -29,6 +33,15 @@ public class RuleServiceTests {
 	@Mock
 	RuleRepository ruleNameRepositoryMock;
 
+	@Mock
+	ChangeCounterService changeCounterServiceMock;
+
+	@Mock
+	ReferenceDataCacheService referenceDataCacheServiceMock;
+
+	@Mock
+	ApplicationEventPublisher eventPublisherMock;
+
 	static Rule mockFirstRuleName;
 	static List<Rule> ruleNameListMock;
 
@@ -77,13 +90,15 @@ public class RuleServiceTests {
 		// ASSERT
 		assertThat(response).isTrue();
 		verify(ruleNameRepositoryMock, times(1)).save(mockFirstRuleName);
+		verify(referenceDataCacheServiceMock, times(1)).evictQueries(CacheRegions.RULE_QUERIES);
+		verify(eventPublisherMock, times(1)).publishEvent(any(RuleChangeEvent.class));
 	}
 
 	@Test
 	public void testUpdateRuleName_ShouldReturn_True() throws RuleServiceException {
 
 		// ARRANGE
-		when(ruleNameRepositoryMock.findRuleById(1)).thenReturn(Optional.of(mockFirstRuleName));
+		when(ruleNameRepositoryMock.findById(1)).thenReturn(Optional.of(mockFirstRuleName));
 		mockFirstRuleName.setTemplate("Template 2");
 
 		// ACT
@@ -91,6 +106,8 @@ public class RuleServiceTests {
 
 		assertThat(response).isTrue();
 		verify(ruleNameRepositoryMock, times(1)).save(mockFirstRuleName);
+		verify(referenceDataCacheServiceMock, times(1)).evictQueries(CacheRegions.RULE_QUERIES);
+		verify(eventPublisherMock, times(1)).publishEvent(any(RuleChangeEvent.class));
 
 	}
 
@@ -98,13 +115,15 @@ public class RuleServiceTests {
 	public void testDeleteRuleName_ShouldReturn_True() throws RuleServiceException {
 
 		// ARRANGE
-		when(ruleNameRepositoryMock.findRuleById(1)).thenReturn(Optional.of(mockFirstRuleName));
+		when(ruleNameRepositoryMock.findById(1)).thenReturn(Optional.of(mockFirstRuleName));
 
 		// ACT
 		boolean response = ruleNameService.deleteRule(1);
 
 		assertThat(response).isTrue();
 		verify(ruleNameRepositoryMock, times(1)).delete(mockFirstRuleName);
+		verify(referenceDataCacheServiceMock, times(1)).evictQueries(CacheRegions.RULE_QUERIES);
+		verify(eventPublisherMock, times(1)).publishEvent(any(RuleChangeEvent.class));
 	}
 
 }
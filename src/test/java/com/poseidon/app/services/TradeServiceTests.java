@@ -1,11 +1,14 @@
 package com.poseidon.app.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +18,13 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.poseidon.app.config.constants.ConflictPolicy;
 import com.poseidon.app.domain.Trade;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.exceptions.TradeConflictException;
 import com.poseidon.app.exceptions.TradeServiceException;
 import com.poseidon.app.repositories.TradeRepository;
 
@@ -29,6 +37,12 @@ public class TradeServiceTests {
 	@Mock
 	TradeRepository tradeRepositoryMock;
 
+	@Mock
+	ChangeCounterService changeCounterServiceMock;
+
+	@Mock
+	ApplicationEventPublisher eventPublisherMock;
+
 	static Trade mockFirstTrade;
 	static Trade mockSecondTrade;
 	static List<Trade> tradeListMock;
@@ -80,11 +94,37 @@ public class TradeServiceTests {
 		verify(tradeRepositoryMock, times(1)).save(mockFirstTrade);
 	}
 
+	@Test
+	public void testCreateTrades_ShouldSaveAll_AndPublishEachTrade() throws TradeServiceException {
+
+		// ARRANGE
+		List<Trade> trades = Arrays.asList(new Trade("Account", "Type", 1d), new Trade("Account", "Type", 2d));
+
+		// ACT
+		boolean response = tradeService.createTrades(trades);
+
+		// ASSERT
+		assertThat(response).isTrue();
+		verify(tradeRepositoryMock, times(1)).saveAll(trades);
+		verify(eventPublisherMock, times(2)).publishEvent(any(TradeChangeEvent.class));
+	}
+
+	@Test(expected = TradeServiceException.class)
+	public void testCreateTrades_WithExistingId_ShouldThrow_TradeServiceException() throws TradeServiceException {
+
+		// ARRANGE
+		Trade existing = new Trade("Account", "Type", 1d);
+		existing.setId(1);
+
+		// ACT
+		tradeService.createTrades(Arrays.asList(new Trade("Account", "Type", 2d), existing));
+	}
+
 	@Test
 	public void testUpdateTrade_ShouldReturn_True() throws TradeServiceException {
 
 		// ARRANGE
-		when(tradeRepositoryMock.findTradeById(2)).thenReturn(Optional.of(mockSecondTrade));
+		when(tradeRepositoryMock.updateTrade(2, mockSecondTrade)).thenReturn(1);
 		mockSecondTrade.setType("Second Type Updated");
 
 		// ACT
@@ -92,21 +132,62 @@ public class TradeServiceTests {
 
 		// ASSER
 		assertThat(response).isTrue();
-		verify(tradeRepositoryMock, times(1)).save(mockSecondTrade);
+		verify(tradeRepositoryMock, times(1)).updateTrade(2, mockSecondTrade);
+	}
+
+	@Test(expected = TradeConflictException.class)
+	public void testUpdateTrade_StaleVersion_ShouldThrow_TradeConflictException() throws TradeServiceException {
+
+		// ARRANGE
+		Trade update = new Trade("Account", "Type", 4d);
+		update.setVersion(1);
+		Trade current = new Trade("Account", "Type", 10d);
+		current.setVersion(2);
+		when(tradeRepositoryMock.updateTrade(3, update)).thenReturn(0);
+		when(tradeRepositoryMock.findTradeById(3)).thenReturn(Optional.of(current));
+
+		// ACT
+		tradeService.updateTrade(3, update);
+	}
+
+	@Test
+	public void testUpdateTrade_Merge_ShouldApply_Update_OnCurrentTrade() throws TradeServiceException {
+
+		// ARRANGE
+		tradeService.updateAttempts = 3;
+		Trade update = new Trade("Account", "Type Updated", null);
+		update.setVersion(1);
+		Trade current = new Trade("Account", "Type", 10d);
+		current.setVersion(2);
+		current.setBook("Book");
+		when(tradeRepositoryMock.updateTrade(eq(3), any(Trade.class))).thenReturn(0, 1);
+		when(tradeRepositoryMock.findTradeById(3)).thenReturn(Optional.of(current));
+
+		// ACT
+		boolean response = tradeService.updateTrade(3, update, ConflictPolicy.MERGE);
+
+		// ASSERT
+		assertThat(response).isTrue();
+		assertThat(update.getType()).isEqualTo("Type Updated");
+		assertThat(update.getBuyQuantity()).isEqualTo(10d);
+		assertThat(update.getBook()).isEqualTo("Book");
+		assertThat(update.getVersion()).isEqualTo(3);
+		verify(tradeRepositoryMock, times(2)).updateTrade(eq(3), any(Trade.class));
 	}
 
 	@Test
 	public void testDeleteTrade_ShouldReturn_True() throws TradeServiceException {
 
 		// ARRANGE
-		when(tradeRepositoryMock.findTradeById(2)).thenReturn(Optional.of(mockSecondTrade));
+		when(tradeRepositoryMock.deleteTradeById(2)).thenReturn(1);
 
 		// ACT
 		boolean response = tradeService.deleteTrade(2);
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(tradeRepositoryMock, times(1)).delete(mockSecondTrade);
+		verify(tradeRepositoryMock, times(1)).deleteTradeById(2);
+		verify(eventPublisherMock, times(1)).publishEvent(new TradeChangeEvent(ChangeType.DELETED, 2, null));
 	}
 
 }
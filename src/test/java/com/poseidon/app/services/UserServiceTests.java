@@ -1,6 +1,7 @@
 package com.poseidon.app.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
@@ -12,14 +13,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.poseidon.app.domain.User;
 import com.poseidon.app.exceptions.UserServiceException;
 import com.poseidon.app.repositories.UserRepository;
@@ -33,6 +40,9 @@ public class UserServiceTests {
 	@Mock
 	UserRepository userRepositoryMock;
 
+	@Mock
+	ChangeCounterService changeCounterServiceMock;
+
 	static User mockFirstUser;
 	static User mockSecondUser;
 	static List<User> userMockList;
@@ -47,6 +57,18 @@ public class UserServiceTests {
 		userMockList.add(mockSecondUser);
 	}
 
+	@Before
+	public void setUp() {
+		userService.userDetailsCache = Caffeine.newBuilder().build();
+	}
+
+	@After
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
 	@Test
 	public void testLoadUserByUserName_ShouldReturn_User() {
 
@@ -61,6 +83,57 @@ public class UserServiceTests {
 
 	}
 
+	@Test
+	public void testLoadUserByUserName_Twice_ShouldRead_DatabaseOnce() {
+
+		// ARRANGE
+		when(userRepositoryMock.findByUsername("tom.powell")).thenReturn(Optional.of(mockFirstUser));
+
+		// ACT
+		UserDetails first = userService.loadUserByUsername("tom.powell");
+		UserDetails second = userService.loadUserByUsername("tom.powell");
+
+		// ASSERT
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getUsername()).isEqualTo("tom.powell");
+		verify(userRepositoryMock, times(1)).findByUsername("tom.powell");
+	}
+
+	@Test
+	public void testDeleteUser_ShouldInvalidate_CachedUser() throws UserServiceException {
+
+		// ARRANGE
+		when(userRepositoryMock.findByUsername("david.waters")).thenReturn(Optional.of(mockSecondUser));
+		when(userRepositoryMock.deleteUserById(2)).thenReturn(1);
+		userService.loadUserByUsername("david.waters");
+
+		// ACT
+		userService.deleteUser(2);
+
+		// ASSERT
+		assertThat(userService.userDetailsCache.getIfPresent("david.waters")).isNull();
+	}
+
+	@Test
+	public void testUpdateUser_InTransaction_ShouldInvalidate_CachedUser_AfterCommit() throws UserServiceException {
+
+		// ARRANGE
+		when(userRepositoryMock.findByUsername("tom.powell")).thenReturn(Optional.of(mockFirstUser));
+		when(userRepositoryMock.updateUser(anyInt(), any(User.class))).thenReturn(1);
+		userService.loadUserByUsername("tom.powell");
+		TransactionSynchronizationManager.initSynchronization();
+
+		// ACT
+		userService.updateUser(1, new User(1, "tom.powell", "password", "Tom Powell", "ADMIN"));
+		assertThat(userService.userDetailsCache.getIfPresent("tom.powell")).isNotNull();
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+
+		// ASSERT
+		assertThat(userService.userDetailsCache.getIfPresent("tom.powell")).isNull();
+	}
+
 	@Test
 	public void testFindAllUsers_ShouldReturn_TwoUsers() {
 
@@ -103,35 +176,31 @@ public class UserServiceTests {
 	@Test
 	public void testCreateUser_ShouldReturn_True() throws UserServiceException {
 
-		// ARRANGE
-		when(userRepositoryMock.findByUsername(anyString())).thenReturn(Optional.empty());
-
 		// ACT
 		boolean response = userService.createUser(mockSecondUser);
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(userRepositoryMock, times(1)).save(mockSecondUser);
+		verify(userRepositoryMock, times(1)).saveAndFlush(mockSecondUser);
+		verify(userRepositoryMock, never()).findByUsername(anyString());
 	}
 
 	@Test(expected = UserServiceException.class)
 	public void testCreateUser_ShouldReturn_UsernameTaken() throws UserServiceException {
 
 		// ARRANGE
-		when(userRepositoryMock.findByUsername(anyString())).thenReturn(Optional.of(mockSecondUser));
+		when(userRepositoryMock.saveAndFlush(mockSecondUser))
+				.thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'ux_users_username'"));
 
 		// ACT
 		userService.createUser(mockSecondUser);
-
-		// ASSERT
-		verify(userRepositoryMock, never()).save(mockSecondUser);
 	}
 
 	@Test
 	public void testUpdateUser_ShouldReturn_True() throws UserServiceException {
 
 		// ARRANGE
-		when(userRepositoryMock.findById(1)).thenReturn(Optional.of(mockFirstUser));
+		when(userRepositoryMock.updateUser(1, mockFirstUser)).thenReturn(1);
 		mockFirstUser.setRole("ADMIN");
 
 		// ACT
@@ -139,47 +208,43 @@ public class UserServiceTests {
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(userRepositoryMock, times(1)).save(mockFirstUser);
+		verify(userRepositoryMock, times(1)).updateUser(1, mockFirstUser);
 	}
 
 	@Test(expected = UserServiceException.class)
 	public void testUpdateUser_ShouldThrow_Exception() throws UserServiceException {
 
 		// ARRANGE
-		when(userRepositoryMock.findById(3)).thenReturn(Optional.empty());
+		User newUser = new User();
+		newUser.setPassword("Passw0rd-");
+		when(userRepositoryMock.updateUser(3, newUser)).thenReturn(0);
 
 		// ACT
-		userService.updateUser(3, new User());
-
-		// ASSERT
-		verify(userRepositoryMock, never()).save(new User());
+		userService.updateUser(3, newUser);
 	}
 
 	@Test
 	public void testDeleteUser_ShouldReturn_True() throws UserServiceException {
 
 		// ARRANGE
-		when(userRepositoryMock.findById(2)).thenReturn(Optional.of(mockSecondUser));
+		when(userRepositoryMock.deleteUserById(2)).thenReturn(1);
 
 		// ACT
 		boolean response = userService.deleteUser(2);
 
 		// ASSERT
 		assertThat(response).isTrue();
-		verify(userRepositoryMock, times(1)).delete(mockSecondUser);
+		verify(userRepositoryMock, times(1)).deleteUserById(2);
 	}
 
 	@Test(expected = UserServiceException.class)
 	public void testDeleteUser_ShouldThrow_Exception() throws UserServiceException {
 
 		// ARRANGE
-		when(userRepositoryMock.findById(3)).thenReturn(Optional.empty());
+		when(userRepositoryMock.deleteUserById(3)).thenReturn(0);
 
 		// ACT
 		userService.deleteUser(3);
-
-		// ASSERT
-		verify(userRepositoryMock, never()).delete(new User());
 	}
 
 }
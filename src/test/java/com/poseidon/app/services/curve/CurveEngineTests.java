@@ -0,0 +1,104 @@
+package com.poseidon.app.services.curve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import com.poseidon.app.domain.CurvePoint;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.CurvePointChangeEvent;
+import com.poseidon.app.repositories.CurvePointRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CurveEngineTests {
+
+	@InjectMocks
+	CurveEngine curveEngine;
+
+	@Mock
+	CurvePointRepository curvePointRepositoryMock;
+
+	private static final Timestamp FIRST_DATE = Timestamp.valueOf("2024-01-02 00:00:00");
+
+	private static final Timestamp SECOND_DATE = Timestamp.valueOf("2024-01-03 00:00:00");
+
+	private static CurvePoint point(int id, int curveId, Timestamp asOfDate, double term, double value) {
+		CurvePoint curvePoint = new CurvePoint(curveId, term, value);
+		curvePoint.setId(id);
+		curvePoint.setAsOfDate(asOfDate);
+		return curvePoint;
+	}
+
+	@Test
+	public void testLoadCurves_ShouldGroup_ByCurveAndDate() {
+
+		// ARRANGE
+		when(curvePointRepositoryMock.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(Arrays.asList(
+				point(1, 1, FIRST_DATE, 2, 20), point(2, 1, FIRST_DATE, 1, 10), point(3, 1, SECOND_DATE, 1, 11),
+				point(4, 2, FIRST_DATE, 1, 5))));
+
+		// ACT
+		curveEngine.loadCurves();
+
+		// ASSERT
+		Curve first = curveEngine.findCurve(1, FIRST_DATE);
+		assertThat(first.getTerms()).containsExactly(1, 2);
+		assertThat(first.getValues()).containsExactly(10, 20);
+		assertThat(curveEngine.findCurve(1, null).getAsOfDate()).isEqualTo(SECOND_DATE);
+		assertThat(curveEngine.valueAt(1, FIRST_DATE, 1.5, Interpolation.LINEAR)).isCloseTo(15, within(1e-12));
+		assertThat(curveEngine.valueAt(3, null, 1, Interpolation.LINEAR)).isNaN();
+	}
+
+	@Test
+	public void testOnCurvePointChange_ShouldRebuild_ChangedCurve() {
+
+		// ARRANGE
+		curveEngine.onCurvePointChange(
+				new CurvePointChangeEvent(ChangeType.CREATED, 1, point(1, 1, FIRST_DATE, 1, 10)));
+		curveEngine.onCurvePointChange(
+				new CurvePointChangeEvent(ChangeType.CREATED, 2, point(2, 1, FIRST_DATE, 3, 30)));
+		Curve before = curveEngine.findCurve(1, FIRST_DATE);
+
+		// ACT
+		curveEngine.onCurvePointChange(
+				new CurvePointChangeEvent(ChangeType.UPDATED, 2, point(2, 1, FIRST_DATE, 2, 30)));
+
+		// ASSERT
+		assertThat(before.getTerms()).containsExactly(1, 3);
+		assertThat(curveEngine.findCurve(1, FIRST_DATE).getTerms()).containsExactly(1, 2);
+	}
+
+	@Test
+	public void testOnCurvePointChange_MovedAndDeleted_ShouldRemove_EmptyCurves() {
+
+		// ARRANGE
+		curveEngine.onCurvePointChange(
+				new CurvePointChangeEvent(ChangeType.CREATED, 1, point(1, 1, FIRST_DATE, 1, 10)));
+
+		// ACT
+		curveEngine.onCurvePointChange(
+				new CurvePointChangeEvent(ChangeType.UPDATED, 1, point(1, 2, FIRST_DATE, 1, 10)));
+
+		// ASSERT
+		assertThat(curveEngine.findCurve(1, FIRST_DATE)).isNull();
+		assertThat(curveEngine.findCurve(2, FIRST_DATE).size()).isEqualTo(1);
+
+		// ACT
+		curveEngine.onCurvePointChange(new CurvePointChangeEvent(ChangeType.DELETED, 1, null));
+
+		// ASSERT
+		assertThat(curveEngine.findCurve(2, null)).isNull();
+	}
+}
@@ -0,0 +1,77 @@
+package com.poseidon.app.services.curve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class CurveTests {
+
+	private static final Curve CURVE = new Curve(1, null, new double[] { 1, 2, 4, 8 },
+			new double[] { 0.98, 0.95, 0.90, 0.80 });
+
+	@Test
+	public void testValueAt_Linear_ShouldInterpolate_BetweenTerms() {
+
+		// ACT
+		double response = CURVE.valueAt(3, Interpolation.LINEAR);
+
+		// ASSERT
+		assertThat(response).isCloseTo(0.925, within(1e-12));
+	}
+
+	@Test
+	public void testValueAt_LogLinear_ShouldInterpolate_Logarithms() {
+
+		// ACT
+		double response = CURVE.valueAt(3, Interpolation.LOG_LINEAR);
+
+		// ASSERT
+		assertThat(response).isCloseTo(Math.sqrt(0.95 * 0.90), within(1e-12));
+	}
+
+	@Test
+	public void testValueAt_LogLinear_ShouldBe_Linear_WhenValueIsNotPositive() {
+
+		// ARRANGE
+		Curve rates = new Curve(1, null, new double[] { 1, 2, 4 }, new double[] { -0.01, 0, 0.02 });
+
+		// ACT
+		double negative = rates.valueAt(1.5, Interpolation.LOG_LINEAR);
+		double zero = rates.valueAt(3, Interpolation.LOG_LINEAR);
+
+		// ASSERT
+		assertThat(negative).isCloseTo(-0.005, within(1e-12));
+		assertThat(zero).isCloseTo(0.01, within(1e-12));
+	}
+
+	@Test
+	public void testValueAt_CubicSpline_ShouldBe_ExactOnLines() {
+
+		// ARRANGE
+		Curve line = new Curve(1, null, new double[] { 0, 1, 3, 6 }, new double[] { 1, 3, 7, 13 });
+
+		// ACT
+		double response = line.valueAt(2, Interpolation.CUBIC_SPLINE);
+
+		// ASSERT
+		assertThat(response).isCloseTo(5, within(1e-12));
+	}
+
+	@Test
+	public void testValueAt_CubicSpline_ShouldPass_ThroughPoints() {
+
+		// ACT AND ASSERT
+		assertThat(CURVE.valueAt(4, Interpolation.CUBIC_SPLINE)).isEqualTo(0.90);
+		assertThat(CURVE.valueAt(4 - 1e-9, Interpolation.CUBIC_SPLINE)).isCloseTo(0.90, within(1e-6));
+		assertThat(CURVE.valueAt(4 + 1e-9, Interpolation.CUBIC_SPLINE)).isCloseTo(0.90, within(1e-6));
+	}
+
+	@Test
+	public void testValueAt_OutsideTerms_ShouldExtrapolate_Flat() {
+
+		// ACT AND ASSERT
+		assertThat(CURVE.valueAt(0.5, Interpolation.CUBIC_SPLINE)).isEqualTo(0.98);
+		assertThat(CURVE.valueAt(30, Interpolation.LINEAR)).isEqualTo(0.80);
+	}
+}
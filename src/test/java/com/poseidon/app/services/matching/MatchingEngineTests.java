@@ -0,0 +1,186 @@
+package com.poseidon.app.services.matching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.events.BidChangeEvent;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.exceptions.TradeServiceException;
+import com.poseidon.app.repositories.BidRepository;
+import com.poseidon.app.services.BidService;
+import com.poseidon.app.services.TradeService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MatchingEngineTests {
+
+	@InjectMocks
+	MatchingEngine matchingEngine;
+
+	@Mock
+	BidRepository bidRepositoryMock;
+
+	@Mock
+	BidService bidServiceMock;
+
+	@Mock
+	TradeService tradeServiceMock;
+
+	@Mock
+	PlatformTransactionManager transactionManagerMock;
+
+	@Before
+	public void setUp() {
+		matchingEngine.enabled = true;
+		matchingEngine.writerThreads = 2;
+		matchingEngine.start();
+	}
+
+	@After
+	public void tearDown() {
+		matchingEngine.stop();
+	}
+
+	private static Bid quote(int id, String account, Double bid, Double bidQuantity, Double ask, Double askQuantity) {
+		Bid quote = new Bid(account, "Main", bidQuantity);
+		quote.setId(id);
+		quote.setSecurity("FR0000120271");
+		quote.setBid(bid);
+		quote.setAsk(ask);
+		quote.setAskQuantity(askQuantity);
+		return quote;
+	}
+
+	@Test
+	public void testOnBidChange_Crossing_ShouldBook_BothSidesAsTrades() throws TradeServiceException {
+
+		// ARRANGE
+		matchingEngine.onBidChange(
+				new BidChangeEvent(ChangeType.CREATED, 1, quote(1, "Seller", null, null, 100d, 10d)));
+
+		// ACT
+		matchingEngine.onBidChange(new BidChangeEvent(ChangeType.CREATED, 2, quote(2, "Buyer", 101d, 4d, null, null)));
+
+		// ASSERT
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Trade>> trades = ArgumentCaptor.forClass(List.class);
+		verify(tradeServiceMock).createTrades(trades.capture());
+		List<Trade> booked = trades.getValue();
+		assertThat(booked).hasSize(2);
+		assertThat(booked.get(0).getAccount()).isEqualTo("Buyer");
+		assertThat(booked.get(0).getBuyQuantity()).isEqualTo(4d);
+		assertThat(booked.get(0).getBuyPrice()).isEqualTo(100d);
+		assertThat(booked.get(1).getAccount()).isEqualTo("Seller");
+		assertThat(booked.get(1).getSellQuantity()).isEqualTo(4d);
+		verify(transactionManagerMock).getTransaction(argThat(
+				definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+		verify(bidServiceMock).fillBids(Collections.singletonMap(2, 0d), Collections.singletonMap(1, 6d));
+		assertThat(matchingEngine.bestAsk("FR0000120271")).isEqualTo(100d);
+		assertThat(matchingEngine.orders).containsOnlyKeys(1);
+	}
+
+	@Test
+	public void testOnBidChange_BookingFailed_ShouldNotSave_Quantities() throws TradeServiceException {
+
+		// ARRANGE
+		SimpleTransactionStatus status = new SimpleTransactionStatus();
+		when(transactionManagerMock.getTransaction(any())).thenReturn(status);
+		doThrow(new TradeServiceException("Could not book")).when(tradeServiceMock).createTrades(anyList());
+		when(bidRepositoryMock.findBySecurity("FR0000120271"))
+				.thenReturn(Arrays.asList(quote(1, "Seller", null, null, 100d, 10d)));
+		matchingEngine.onBidChange(
+				new BidChangeEvent(ChangeType.CREATED, 1, quote(1, "Seller", null, null, 100d, 10d)));
+
+		// ACT
+		matchingEngine.onBidChange(new BidChangeEvent(ChangeType.CREATED, 2, quote(2, "Buyer", 101d, 4d, null, null)));
+
+		// ASSERT
+		verify(bidServiceMock, never()).fillBids(anyMap(), anyMap());
+		assertThat(status.isRollbackOnly()).isTrue();
+		assertThat(matchingEngine.bestAsk("FR0000120271")).isEqualTo(100d);
+		assertThat(matchingEngine.bestBid("FR0000120271")).isNull();
+		assertThat(matchingEngine.orders).containsOnlyKeys(1);
+	}
+
+	@Test
+	public void testOnBidChange_SavingFailed_ShouldReload_Book() throws TradeServiceException {
+
+		// ARRANGE
+		doThrow(new IllegalStateException("Could not save")).when(bidServiceMock).fillBids(anyMap(), anyMap());
+		when(bidRepositoryMock.findBySecurity("FR0000120271")).thenReturn(Arrays.asList(
+				quote(1, "Seller", null, null, 100d, 10d), quote(2, "Buyer", 99d, 4d, null, null)));
+		matchingEngine.onBidChange(
+				new BidChangeEvent(ChangeType.CREATED, 1, quote(1, "Seller", null, null, 100d, 10d)));
+
+		// ACT
+		matchingEngine.onBidChange(new BidChangeEvent(ChangeType.CREATED, 2, quote(2, "Buyer", 101d, 4d, null, null)));
+
+		// ASSERT
+		assertThat(matchingEngine.bestAsk("FR0000120271")).isEqualTo(100d);
+		assertThat(matchingEngine.bestBid("FR0000120271")).isEqualTo(99d);
+		assertThat(matchingEngine.orders).containsOnlyKeys(1, 2);
+	}
+
+	@Test
+	public void testOnBidChange_Filled_ShouldBe_Ignored() throws TradeServiceException {
+
+		// ACT
+		matchingEngine.onBidChange(new BidChangeEvent(ChangeType.FILLED, 1, quote(1, "Seller", null, null, 100d, 6d)));
+
+		// ASSERT
+		assertThat(matchingEngine.bestAsk("FR0000120271")).isNull();
+		assertThat(matchingEngine.orders).isEmpty();
+	}
+
+	@Test
+	public void testOnBidChange_Deleted_ShouldCancel_Order() throws TradeServiceException {
+
+		// ARRANGE
+		matchingEngine.onBidChange(
+				new BidChangeEvent(ChangeType.CREATED, 1, quote(1, "Seller", null, null, 100d, 10d)));
+
+		// ACT
+		matchingEngine.onBidChange(new BidChangeEvent(ChangeType.DELETED, 1, null));
+		matchingEngine.onBidChange(new BidChangeEvent(ChangeType.CREATED, 2, quote(2, "Buyer", 101d, 4d, null, null)));
+
+		// ASSERT
+		verify(tradeServiceMock, never()).createTrades(anyList());
+		assertThat(matchingEngine.bestAsk("FR0000120271")).isNull();
+		assertThat(matchingEngine.bestBid("FR0000120271")).isEqualTo(101d);
+	}
+
+	@Test
+	public void testOnBidChange_WithoutPrice_ShouldBe_Ignored() throws TradeServiceException {
+
+		// ACT
+		matchingEngine.onBidChange(new BidChangeEvent(ChangeType.CREATED, 1, new Bid("Account", "Main", 10d)));
+
+		// ASSERT
+		verify(tradeServiceMock, never()).createTrades(anyList());
+		assertThat(matchingEngine.bestBid("FR0000120271")).isNull();
+	}
+}
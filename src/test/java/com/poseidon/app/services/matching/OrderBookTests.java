@@ -0,0 +1,139 @@
+package com.poseidon.app.services.matching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrderBookTests {
+
+	OrderBook orderBook;
+
+	@Before
+	public void setUp() {
+		orderBook = new OrderBook("FR0000120271");
+	}
+
+	private static Long ticks(double price) {
+		return MatchingEngine.toTicks(price);
+	}
+
+	@Test
+	public void testSubmit_NotCrossing_ShouldRest() {
+
+		// ACT
+		List<Fill> bidFills = orderBook.submit(1, ticks(99.5), 10, null, 0);
+		List<Fill> askFills = orderBook.submit(2, null, 0, ticks(100.5), 10);
+
+		// ASSERT
+		assertThat(bidFills).isEmpty();
+		assertThat(askFills).isEmpty();
+		assertThat(orderBook.bestBid()).isEqualTo(99.5);
+		assertThat(orderBook.bestAsk()).isEqualTo(100.5);
+		assertThat(orderBook.orderCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testSubmit_Crossing_ShouldMatch_BestPriceFirst() {
+
+		// ARRANGE
+		orderBook.submit(1, null, 0, ticks(101), 5);
+		orderBook.submit(2, null, 0, ticks(100), 5);
+
+		// ACT
+		List<Fill> fills = orderBook.submit(3, ticks(101), 8, null, 0);
+
+		// ASSERT
+		assertThat(fills).hasSize(2);
+		assertThat(fills.get(0).getSellOrderId()).isEqualTo(2);
+		assertThat(fills.get(0).getPrice()).isEqualTo(100d);
+		assertThat(fills.get(0).getQuantity()).isEqualTo(5d);
+		assertThat(fills.get(1).getSellOrderId()).isEqualTo(1);
+		assertThat(fills.get(1).getPrice()).isEqualTo(101d);
+		assertThat(fills.get(1).getQuantity()).isEqualTo(3d);
+		assertThat(fills.get(1).getBuyRemaining()).isEqualTo(0d);
+		assertThat(fills.get(1).getSellRemaining()).isEqualTo(2d);
+		assertThat(orderBook.bestAsk()).isEqualTo(101d);
+		assertThat(orderBook.bestBid()).isNull();
+	}
+
+	@Test
+	public void testSubmit_SamePrice_ShouldMatch_OldestOrderFirst() {
+
+		// ARRANGE
+		orderBook.submit(1, ticks(50), 4, null, 0);
+		orderBook.submit(2, ticks(50), 4, null, 0);
+
+		// ACT
+		List<Fill> fills = orderBook.submit(3, null, 0, ticks(49), 6);
+
+		// ASSERT
+		assertThat(fills).extracting(Fill::getBuyOrderId).containsExactly(1, 2);
+		assertThat(fills).extracting(Fill::getPrice).containsExactly(50d, 50d);
+		assertThat(fills.get(1).getBuyRemaining()).isEqualTo(2d);
+		assertThat(fills.get(1).getAggressor()).isEqualTo(Side.SELL);
+	}
+
+	@Test
+	public void testSubmit_Resubmitted_ShouldLose_TimePriority() {
+
+		// ARRANGE
+		orderBook.submit(1, ticks(50), 4, null, 0);
+		orderBook.submit(2, ticks(50), 4, null, 0);
+		orderBook.submit(1, ticks(50), 4, null, 0);
+
+		// ACT
+		List<Fill> fills = orderBook.submit(3, null, 0, ticks(50), 4);
+
+		// ASSERT
+		assertThat(fills).extracting(Fill::getBuyOrderId).containsExactly(2);
+	}
+
+	@Test
+	public void testSubmit_BothSides_ShouldNotTrade_WithItself() {
+
+		// ACT
+		List<Fill> fills = orderBook.submit(1, ticks(101), 5, ticks(100), 5);
+
+		// ASSERT
+		assertThat(fills).isEmpty();
+		assertThat(orderBook.orderCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testCancel_ShouldRemove_BothSides() {
+
+		// ARRANGE
+		orderBook.submit(1, ticks(99), 5, ticks(101), 5);
+
+		// ACT
+		orderBook.cancel(1);
+
+		// ASSERT
+		assertThat(orderBook.bestBid()).isNull();
+		assertThat(orderBook.bestAsk()).isNull();
+		assertThat(orderBook.orderCount()).isZero();
+	}
+
+	@Test
+	public void testPriceLevel_ShouldKeepOrder_WhenGrowingAndRemoving() {
+
+		// ARRANGE
+		PriceLevel level = new PriceLevel(ticks(10));
+		for (int i = 1; i <= 10; i++) {
+			level.add(i, i);
+		}
+		level.fillHead(1);
+
+		// ACT
+		boolean removed = level.remove(5);
+
+		// ASSERT
+		assertThat(removed).isTrue();
+		assertThat(level.size()).isEqualTo(8);
+		assertThat(level.headOrderId()).isEqualTo(2);
+		assertThat(level.totalQuantity()).isEqualTo(55d - 1 - 5);
+	}
+}
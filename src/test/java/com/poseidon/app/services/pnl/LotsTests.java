@@ -0,0 +1,77 @@
+package com.poseidon.app.services.pnl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class LotsTests {
+
+	@Test
+	public void testApply_Fifo_ShouldClose_OldestLotFirst() {
+
+		// ARRANGE
+		Lots lots = new Lots(CostMethod.FIFO);
+		lots.apply(10, 100);
+		lots.apply(10, 110);
+
+		// ACT
+		lots.apply(-15, 120);
+
+		// ASSERT
+		assertThat(lots.realized()).isCloseTo(250d, within(1e-9));
+		assertThat(lots.position()).isCloseTo(5d, within(1e-9));
+		assertThat(lots.cost()).isCloseTo(550d, within(1e-9));
+		assertThat(lots.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void testApply_Average_ShouldClose_AtAverageCost() {
+
+		// ARRANGE
+		Lots lots = new Lots(CostMethod.AVERAGE);
+		lots.apply(10, 100);
+		lots.apply(10, 110);
+
+		// ACT
+		lots.apply(-15, 120);
+
+		// ASSERT
+		assertThat(lots.realized()).isCloseTo(225d, within(1e-9));
+		assertThat(lots.cost()).isCloseTo(525d, within(1e-9));
+		assertThat(lots.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void testApply_PastFlat_ShouldOpen_OppositeLot() {
+
+		// ARRANGE
+		Lots lots = new Lots(CostMethod.FIFO);
+		lots.apply(-5, 100);
+
+		// ACT
+		lots.apply(8, 90);
+
+		// ASSERT
+		assertThat(lots.realized()).isCloseTo(50d, within(1e-9));
+		assertThat(lots.position()).isCloseTo(3d, within(1e-9));
+		assertThat(lots.cost()).isCloseTo(270d, within(1e-9));
+	}
+
+	@Test
+	public void testApply_ManyLots_ShouldKeep_Order() {
+
+		// ARRANGE
+		Lots lots = new Lots(CostMethod.FIFO);
+		for (int i = 1; i <= 10; i++) {
+			lots.apply(1, i);
+		}
+
+		// ACT
+		lots.apply(-3, 10);
+
+		// ASSERT
+		assertThat(lots.realized()).isCloseTo(9d + 8d + 7d, within(1e-9));
+		assertThat(lots.size()).isEqualTo(7);
+	}
+}
@@ -0,0 +1,134 @@
+package com.poseidon.app.services.pnl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.BookPnl;
+import com.poseidon.app.domain.dto.PnlLine;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.repositories.TradeRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PnlEngineTests {
+
+	@InjectMocks
+	PnlEngine pnlEngine;
+
+	@Mock
+	TradeRepository tradeRepositoryMock;
+
+	@Before
+	public void setUp() {
+		pnlEngine.costMethod = CostMethod.FIFO;
+	}
+
+	private static Trade buy(int id, String book, String security, double quantity, double price) {
+		Trade trade = new Trade("Account", "Type", quantity);
+		trade.setId(id);
+		trade.setBook(book);
+		trade.setSecurity(security);
+		trade.setBuyPrice(price);
+		return trade;
+	}
+
+	private static Trade sell(int id, String book, String security, double quantity, double price) {
+		Trade trade = new Trade("Account", "Type", null);
+		trade.setId(id);
+		trade.setBook(book);
+		trade.setSecurity(security);
+		trade.setSellQuantity(quantity);
+		trade.setSellPrice(price);
+		return trade;
+	}
+
+	private void created(Trade trade) {
+		pnlEngine.onTradeChange(new TradeChangeEvent(ChangeType.CREATED, trade.getId(), trade));
+	}
+
+	@Test
+	public void testLoadLedgers_ShouldCompute_BookPnl() {
+
+		// ARRANGE
+		when(tradeRepositoryMock.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(Arrays.asList(
+				buy(1, "Book", "AAA", 10, 100), buy(2, "Book", "AAA", 10, 110), sell(3, "Book", "AAA", 15, 120),
+				buy(4, "Book", "BBB", 2, 50), new Trade("Account", "Type", 5d))));
+
+		// ACT
+		pnlEngine.loadLedgers();
+		BookPnl response = pnlEngine.findBookPnl("Book");
+
+		// ASSERT
+		assertThat(response.getLines()).extracting(PnlLine::getSecurity).containsExactly("AAA", "BBB");
+		PnlLine aaa = response.getLines().get(0);
+		assertThat(aaa.getRealized()).isCloseTo(250d, within(1e-9));
+		assertThat(aaa.getPosition()).isCloseTo(5d, within(1e-9));
+		assertThat(aaa.getAverageCost()).isCloseTo(110d, within(1e-9));
+		assertThat(aaa.getMarkPrice()).isEqualTo(120d);
+		assertThat(aaa.getUnrealized()).isCloseTo(50d, within(1e-9));
+		assertThat(response.getUnrealized()).isCloseTo(50d, within(1e-9));
+		assertThat(response.getTotal()).isCloseTo(300d, within(1e-9));
+	}
+
+	@Test
+	public void testOnTradeChange_UpdatedInHistory_ShouldRebuild_Lots() {
+
+		// ARRANGE
+		created(buy(1, "Book", "AAA", 10, 100));
+		created(buy(2, "Book", "AAA", 10, 110));
+		created(sell(3, "Book", "AAA", 15, 120));
+
+		// ACT
+		pnlEngine.onTradeChange(new TradeChangeEvent(ChangeType.UPDATED, 1, buy(1, "Book", "AAA", 10, 90)));
+		PnlLine response = pnlEngine.findBookPnl("Book").getLines().get(0);
+
+		// ASSERT
+		assertThat(response.getRealized()).isCloseTo(350d, within(1e-9));
+	}
+
+	@Test
+	public void testOnTradeChange_MovedAndDeleted_ShouldLeave_PreviousLedger() {
+
+		// ARRANGE
+		created(buy(1, "Book", "AAA", 10, 100));
+		created(buy(2, "Book", "AAA", 5, 100));
+
+		// ACT
+		pnlEngine.onTradeChange(new TradeChangeEvent(ChangeType.UPDATED, 1, buy(1, "Other", "AAA", 10, 100)));
+		pnlEngine.onTradeChange(new TradeChangeEvent(ChangeType.DELETED, 2, null));
+
+		// ASSERT
+		assertThat(pnlEngine.findBookPnl("Book").getLines().get(0).getPosition()).isZero();
+		assertThat(pnlEngine.findBookPnl("Other").getLines().get(0).getPosition()).isCloseTo(10d, within(1e-9));
+	}
+
+	@Test
+	public void testFindAllBookPnl_ShouldReturn_SortedBooks() {
+
+		// ARRANGE
+		created(buy(1, "Second", "AAA", 1, 10));
+		created(buy(2, "First", "AAA", 1, 10));
+
+		// ACT
+		List<BookPnl> response = pnlEngine.findAllBookPnl();
+
+		// ASSERT
+		assertThat(response).extracting(BookPnl::getBook).containsExactly("First", "Second");
+		assertThat(pnlEngine.findBookPnl("Unknown")).isNull();
+	}
+}
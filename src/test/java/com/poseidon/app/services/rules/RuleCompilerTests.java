@@ -0,0 +1,106 @@
+package com.poseidon.app.services.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+
+import org.junit.Test;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.Trade;
+
+public class RuleCompilerTests {
+
+	RuleCompiler ruleCompiler = new RuleCompiler();
+
+	private static Rule rule(String json) {
+		Rule rule = new Rule("Name", "Description", json, "Template", "SQL", "SQL Part");
+		rule.setId(1);
+		return rule;
+	}
+
+	private static Trade trade(String book, Double buyQuantity) {
+		Trade trade = new Trade("Account", "Type", buyQuantity);
+		trade.setBook(book);
+		return trade;
+	}
+
+	@Test
+	public void testCompile_Comparison_ShouldMatch_ViolatingRows() {
+
+		// ACT
+		CompiledRule compiled = ruleCompiler.compile(rule("{\"entity\":\"trade\",\"condition\":"
+				+ "{\"field\":\"buyQuantity\",\"op\":\"gt\",\"value\":100}}"));
+
+		// ASSERT
+		assertThat(compiled.getError()).isNull();
+		assertThat(compiled.appliesTo(RuleTarget.TRADE)).isTrue();
+		assertThat(compiled.appliesTo(RuleTarget.BID)).isFalse();
+		assertThat(compiled.isViolatedBy(trade("Book", 150d))).isTrue();
+		assertThat(compiled.isViolatedBy(trade("Book", 100d))).isFalse();
+		assertThat(compiled.isViolatedBy(trade("Book", null))).isFalse();
+	}
+
+	@Test
+	public void testCompile_Combinators_ShouldMatch_ViolatingRows() {
+
+		// ACT
+		CompiledRule compiled = ruleCompiler.compile(rule("{\"entity\":\"trade\",\"condition\":{\"all\":["
+				+ "{\"field\":\"buyQuantity\",\"op\":\"lte\",\"value\":10},"
+				+ "{\"not\":{\"field\":\"book\",\"op\":\"in\",\"value\":[\"A\",\"B\"]}},"
+				+ "{\"any\":[{\"field\":\"book\",\"op\":\"matches\",\"value\":\"X.*\"},"
+				+ "{\"field\":\"book\",\"op\":\"null\"}]}]}}"));
+
+		// ASSERT
+		assertThat(compiled.getError()).isNull();
+		assertThat(compiled.isViolatedBy(trade("XYZ", 5d))).isTrue();
+		assertThat(compiled.isViolatedBy(trade(null, 5d))).isTrue();
+		assertThat(compiled.isViolatedBy(trade("A", 5d))).isFalse();
+		assertThat(compiled.isViolatedBy(trade("XYZ", 50d))).isFalse();
+		assertThat(compiled.isViolatedBy(trade("YYY", 5d))).isFalse();
+	}
+
+	@Test
+	public void testCompile_Timestamp_ShouldCompare_Dates() {
+
+		// ARRANGE
+		Bid bid = new Bid("Account", "Type", 10d);
+		bid.setBidListDate(Timestamp.valueOf("2020-01-02 00:00:00"));
+
+		// ACT
+		CompiledRule compiled = ruleCompiler.compile(rule("{\"entity\":\"bid\",\"condition\":"
+				+ "{\"field\":\"bidListDate\",\"op\":\"lt\",\"value\":\"2021-01-01 00:00:00\"}}"));
+
+		// ASSERT
+		assertThat(compiled.appliesTo(RuleTarget.BID)).isTrue();
+		assertThat(compiled.isViolatedBy(bid)).isTrue();
+	}
+
+	@Test
+	public void testCompile_InactiveRule_ShouldNotApply() {
+
+		// ACT
+		CompiledRule compiled = ruleCompiler.compile(rule("{\"entity\":\"trade\",\"active\":false,"
+				+ "\"condition\":{\"field\":\"book\",\"op\":\"notNull\"}}"));
+
+		// ASSERT
+		assertThat(compiled.getError()).isNull();
+		assertThat(compiled.appliesTo(RuleTarget.TRADE)).isFalse();
+	}
+
+	@Test
+	public void testCompile_InvalidJson_ShouldReturn_Error() {
+
+		// ASSERT
+		assertThat(ruleCompiler.compile(rule("Json")).getError()).isNotNull();
+		assertThat(ruleCompiler.compile(rule(null)).getError()).isNotNull();
+		assertThat(ruleCompiler.compile(rule("{\"entity\":\"rating\",\"condition\":{}}")).getError())
+				.contains("rating");
+		assertThat(ruleCompiler.compile(rule("{\"entity\":\"trade\",\"condition\":"
+				+ "{\"field\":\"unknown\",\"op\":\"eq\",\"value\":1}}")).getError()).contains("unknown");
+		assertThat(ruleCompiler.compile(rule("{\"entity\":\"trade\",\"condition\":"
+				+ "{\"field\":\"book\",\"op\":\"gt\",\"value\":1}}")).getError()).contains("book");
+		assertThat(ruleCompiler.compile(rule("Json")).appliesTo(RuleTarget.TRADE)).isFalse();
+	}
+}
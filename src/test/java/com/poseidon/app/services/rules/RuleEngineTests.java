@@ -0,0 +1,153 @@
+package com.poseidon.app.services.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.domain.dto.RuleReport;
+import com.poseidon.app.events.ChangeType;
+import com.poseidon.app.events.RuleChangeEvent;
+import com.poseidon.app.events.TradeChangeEvent;
+import com.poseidon.app.repositories.RuleRepository;
+import com.poseidon.app.repositories.TradeRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RuleEngineTests {
+
+	private static final String LARGE_TRADE = "{\"entity\":\"trade\",\"condition\":"
+			+ "{\"field\":\"buyQuantity\",\"op\":\"gt\",\"value\":1000}}";
+
+	@InjectMocks
+	RuleEngine ruleEngine;
+
+	@Mock
+	RuleRepository ruleRepositoryMock;
+
+	@Mock
+	TradeRepository tradeRepositoryMock;
+
+	@Before
+	public void setUp() {
+		ruleEngine.enabled = true;
+		ruleEngine.parallelism = 2;
+		ruleEngine.maxReportedIds = 2;
+		ruleEngine.start();
+	}
+
+	@After
+	public void tearDown() {
+		ruleEngine.stop();
+	}
+
+	private static Rule rule(int id, String name, String json) {
+		Rule rule = new Rule(name, "Description", json, "Trade {{id}} buys {{buyQuantity}}", "SQL", "SQL Part");
+		rule.setId(id);
+		return rule;
+	}
+
+	private static Trade trade(int id, double buyQuantity) {
+		Trade trade = new Trade("Account", "Type", buyQuantity);
+		trade.setId(id);
+		return trade;
+	}
+
+	@Test
+	public void testOnTradeChange_ShouldReport_Violations() {
+
+		// ARRANGE
+		when(ruleRepositoryMock.findAll())
+				.thenReturn(Arrays.asList(rule(1, "Large trade", LARGE_TRADE), rule(2, "Invalid", "Json")));
+		ruleEngine.loadRules();
+
+		// ACT
+		ruleEngine.onTradeChange(new TradeChangeEvent(ChangeType.CREATED, 10, trade(10, 5000)));
+		ruleEngine.onTradeChange(new TradeChangeEvent(ChangeType.UPDATED, 11, trade(11, 10)));
+		ruleEngine.onTradeChange(new TradeChangeEvent(ChangeType.DELETED, 12, null));
+
+		// ASSERT
+		List<RuleReport> stats = ruleEngine.findRuleStats();
+		assertThat(stats).hasSize(2);
+		assertThat(stats.get(0).getEvaluated()).isEqualTo(2);
+		assertThat(stats.get(0).getViolations()).isEqualTo(1);
+		assertThat(stats.get(0).getViolatingIds()).containsExactly(10);
+		assertThat(stats.get(0).getAlerts()).containsExactly("Trade 10 buys 5000");
+		assertThat(stats.get(1).getEvaluated()).isZero();
+		assertThat(stats.get(1).getError()).isNotNull();
+	}
+
+	@Test
+	public void testOnRuleChange_ShouldRecompile_OnlyChangedRules() {
+
+		// ARRANGE
+		when(ruleRepositoryMock.findAll()).thenReturn(new ArrayList<>());
+		ruleEngine.loadRules();
+		Rule rule = rule(1, "Large trade", LARGE_TRADE);
+		ruleEngine.onRuleChange(new RuleChangeEvent(ChangeType.CREATED, 1, rule));
+		CompiledRule compiled = ruleEngine.evaluate(RuleTarget.TRADE, 10, trade(10, 5000)).get(0);
+
+		// ACT
+		ruleEngine.onRuleChange(new RuleChangeEvent(ChangeType.UPDATED, 1, rule(1, "Renamed", LARGE_TRADE)));
+		CompiledRule renamed = ruleEngine.evaluate(RuleTarget.TRADE, 10, trade(10, 5000)).get(0);
+		ruleEngine.onRuleChange(new RuleChangeEvent(ChangeType.UPDATED, 1,
+				rule(1, "Renamed", LARGE_TRADE.replace("1000", "10000"))));
+		List<CompiledRule> recompiled = ruleEngine.evaluate(RuleTarget.TRADE, 10, trade(10, 5000));
+		Rule template = rule(1, "Renamed", LARGE_TRADE);
+		template.setTemplate("Large trade {{id}}");
+		ruleEngine.onRuleChange(new RuleChangeEvent(ChangeType.UPDATED, 1, template));
+		String alert = ruleEngine.evaluate(RuleTarget.TRADE, 10, trade(10, 5000)).get(0).alert(trade(10, 5000));
+		ruleEngine.onRuleChange(new RuleChangeEvent(ChangeType.DELETED, 1, null));
+
+		// ASSERT
+		assertThat(renamed.getName()).isEqualTo("Renamed");
+		assertThat(renamed.getRevision()).isSameAs(compiled.getRevision());
+		assertThat(recompiled).isEmpty();
+		assertThat(alert).isEqualTo("Large trade 10");
+		assertThat(ruleEngine.findRuleStats()).isEmpty();
+	}
+
+	@Test
+	public void testCheckTrades_ShouldEvaluate_EveryPage() {
+
+		// ARRANGE
+		when(ruleRepositoryMock.findAll()).thenReturn(Arrays.asList(rule(1, "Large trade", LARGE_TRADE)));
+		ruleEngine.loadRules();
+		List<Trade> firstPage = new ArrayList<>();
+		for (int id = 1; id <= 1000; id++) {
+			firstPage.add(trade(id, id % 100 == 0 ? 2000 : 10));
+		}
+		Pageable pageable = PageRequest.of(0, 1000);
+		when(tradeRepositoryMock.findAllBy(any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(firstPage, pageable, true));
+		when(tradeRepositoryMock.findByIdGreaterThan(eq(1000), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(Arrays.asList(trade(1001, 5000), trade(1002, 1))));
+
+		// ACT
+		List<RuleReport> reports = ruleEngine.checkTrades();
+
+		// ASSERT
+		assertThat(reports).hasSize(1);
+		assertThat(reports.get(0).getEvaluated()).isEqualTo(1002);
+		assertThat(reports.get(0).getViolations()).isEqualTo(11);
+		assertThat(reports.get(0).getViolatingIds()).containsExactly(100, 200);
+		assertThat(reports.get(0).getAlerts()).containsExactly("Trade 100 buys 2000", "Trade 200 buys 2000");
+		assertThat(reports.get(0).getEntity()).isEqualTo("trade");
+	}
+}
@@ -0,0 +1,196 @@
+package com.poseidon.app.services.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.exceptions.RuleCompilationException;
+import com.poseidon.app.exceptions.RuleServiceException;
+import com.poseidon.app.services.RuleService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RuleSqlExecutorTests {
+
+	private static final String URL = "jdbc:h2:mem:rule-sql;DB_CLOSE_DELAY=-1";
+
+	@InjectMocks
+	RuleSqlExecutor ruleSqlExecutor;
+
+	@Mock
+	RuleService ruleServiceMock;
+
+	JdbcTemplate adminJdbcTemplate;
+
+	@Before
+	public void setUp() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL(URL);
+		adminJdbcTemplate = new JdbcTemplate(dataSource);
+		ruleSqlExecutor.jdbcTemplate = adminJdbcTemplate;
+		ruleSqlExecutor.transactionManager = new DataSourceTransactionManager(dataSource);
+		ruleSqlExecutor.timeoutSeconds = 5;
+		ruleSqlExecutor.maxRows = 3;
+		ruleSqlExecutor.fetchSize = 2;
+
+		ruleSqlExecutor.jdbcTemplate.execute("CREATE TABLE trade (id INT PRIMARY KEY, book VARCHAR(10))");
+		for (int id = 1; id <= 5; id++) {
+			ruleSqlExecutor.jdbcTemplate.update("INSERT INTO trade VALUES (?, ?)", id, id % 2 == 0 ? "A" : "B");
+		}
+	}
+
+	@After
+	public void tearDown() {
+		ruleSqlExecutor.stop();
+		adminJdbcTemplate.execute("DROP TABLE trade");
+	}
+
+	private static Rule rule(String sqlStr, String sqlPart) {
+		Rule rule = new Rule("Name", "Description", "Json", "Template", sqlStr, sqlPart);
+		rule.setId(1);
+		return rule;
+	}
+
+	@Test
+	public void testExecute_ShouldStream_BoundRows() throws Exception {
+
+		// ARRANGE
+		when(ruleServiceMock.findRuleById(1)).thenReturn(rule("SELECT id, book FROM trade", "WHERE book = :book"));
+		RuleStatement statement = ruleSqlExecutor.findStatement(1);
+		List<Map<String, Object>> rows = new ArrayList<>();
+
+		// ACT
+		long count = ruleSqlExecutor.execute(statement, statement.bind(Collections.singletonMap("book", "A")),
+				rows::add);
+
+		// ASSERT
+		assertThat(count).isEqualTo(2);
+		assertThat(rows).extracting(row -> row.get("ID")).containsExactly(2, 4);
+		assertThat(ruleSqlExecutor.findStatement(1)).isSameAs(statement);
+	}
+
+	@Test
+	public void testExecute_ShouldStop_AtRowCap() throws Exception {
+
+		// ARRANGE
+		when(ruleServiceMock.findRuleById(1)).thenReturn(rule("SELECT id FROM trade ORDER BY id", null));
+		RuleStatement statement = ruleSqlExecutor.findStatement(1);
+		List<Map<String, Object>> rows = new ArrayList<>();
+
+		// ACT
+		long count = ruleSqlExecutor.execute(statement, new Object[0], rows::add);
+
+		// ASSERT
+		assertThat(count).isEqualTo(3);
+		assertThat(rows).hasSize(3);
+	}
+
+	@Test
+	public void testExecute_ShouldRun_InReadOnlyTransaction() throws Exception {
+
+		// ARRANGE
+		when(ruleServiceMock.findRuleById(1)).thenReturn(rule("SELECT id FROM trade", null));
+		RuleStatement statement = ruleSqlExecutor.findStatement(1);
+		List<Boolean> readOnly = new ArrayList<>();
+
+		// ACT
+		ruleSqlExecutor.execute(statement, new Object[0],
+				row -> readOnly.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly()));
+
+		// ASSERT
+		assertThat(readOnly).containsOnly(true);
+	}
+
+	@Test
+	public void testExecute_HandlerError_ShouldStop_Query() throws Exception {
+
+		// ARRANGE
+		when(ruleServiceMock.findRuleById(1)).thenReturn(rule("SELECT id FROM trade", null));
+		RuleStatement statement = ruleSqlExecutor.findStatement(1);
+
+		// ACT AND ASSERT
+		assertThatThrownBy(() -> ruleSqlExecutor.execute(statement, new Object[0], row -> {
+			throw new IOException("Closed");
+		})).isInstanceOf(IOException.class).hasMessage("Closed");
+	}
+
+	@Test
+	public void testFindStatement_ChangedQuery_ShouldBe_ParsedAgain() throws Exception {
+
+		// ARRANGE
+		when(ruleServiceMock.findRuleById(1)).thenReturn(rule("SELECT id FROM trade", null),
+				rule("SELECT book FROM trade", null), rule("UPDATE trade SET book = 'C'", null));
+		RuleStatement first = ruleSqlExecutor.findStatement(1);
+
+		// ACT
+		RuleStatement second = ruleSqlExecutor.findStatement(1);
+
+		// ASSERT
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getSql()).isEqualTo("SELECT book FROM trade");
+		assertThatThrownBy(() -> ruleSqlExecutor.findStatement(1)).isInstanceOf(RuleCompilationException.class);
+	}
+
+	@Test
+	public void testBind_MissingParameter_ShouldThrow() throws Exception {
+
+		// ARRANGE
+		when(ruleServiceMock.findRuleById(1)).thenReturn(rule("SELECT id FROM trade WHERE book = :book", null));
+		RuleStatement statement = ruleSqlExecutor.findStatement(1);
+
+		// ACT AND ASSERT
+		assertThatThrownBy(() -> statement.bind(Collections.emptyMap())).isInstanceOf(RuleServiceException.class)
+				.hasMessageContaining("book");
+	}
+
+	@Test
+	public void testStart_Datasource_ShouldRun_Queries_WithItsOwnAccount() throws Exception {
+
+		// ARRANGE
+		adminJdbcTemplate.execute("CREATE USER IF NOT EXISTS rules PASSWORD 'rules'");
+		adminJdbcTemplate.execute("GRANT SELECT ON trade TO rules");
+		adminJdbcTemplate.execute("CREATE TABLE secret (id INT PRIMARY KEY)");
+		ruleSqlExecutor.dataSourceProperties = new DataSourceProperties();
+		ruleSqlExecutor.dataSourceProperties.setDriverClassName("org.h2.Driver");
+		ruleSqlExecutor.datasourceUrl = "jdbc:h2:mem:rule-sql";
+		ruleSqlExecutor.datasourceUsername = "rules";
+		ruleSqlExecutor.datasourcePassword = "rules";
+		ruleSqlExecutor.datasourcePoolSize = 1;
+		List<Map<String, Object>> rows = new ArrayList<>();
+
+		// ACT
+		ruleSqlExecutor.start();
+		long count = ruleSqlExecutor.execute(new RuleStatement(1, "Trades", "SELECT id FROM trade",
+				Collections.emptyList()), new Object[0], rows::add);
+
+		// ASSERT
+		try {
+			assertThat(count).isEqualTo(3);
+			assertThatThrownBy(() -> ruleSqlExecutor.execute(new RuleStatement(2, "Secret", "SELECT id FROM secret",
+					Collections.emptyList()), new Object[0], rows::add)).isInstanceOf(DataAccessException.class);
+		} finally {
+			adminJdbcTemplate.execute("DROP TABLE secret");
+			adminJdbcTemplate.execute("DROP USER rules");
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.poseidon.app.services.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import com.poseidon.app.domain.Rule;
+import com.poseidon.app.exceptions.RuleCompilationException;
+
+public class RuleSqlParserTests {
+
+	private static Rule rule(String sqlStr, String sqlPart) {
+		Rule rule = new Rule("Name", "Description", "Json", "Template", sqlStr, sqlPart);
+		rule.setId(1);
+		return rule;
+	}
+
+	@Test
+	public void testParse_NamedParameters_ShouldBecome_Placeholders() throws RuleCompilationException {
+
+		// ACT
+		RuleStatement statement = RuleSqlParser.parse(rule("SELECT id, book FROM trade WHERE book = :book",
+				"AND buy_quantity > :quantity AND account <> ':quoted' OR book = :book;"));
+
+		// ASSERT
+		assertThat(statement.getSql()).isEqualTo(
+				"SELECT id, book FROM trade WHERE book = ? AND buy_quantity > ? AND account <> ':quoted' OR book = ?");
+		assertThat(statement.getParameterNames()).containsExactly("book", "quantity", "book");
+		assertThat(statement.getRuleId()).isEqualTo(1);
+	}
+
+	@Test
+	public void testParse_WritingQueries_ShouldBe_Rejected() {
+
+		// ASSERT
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("DELETE FROM trade", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("SELECT");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade", "FOR UPDATE")))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("UPDATE");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade; DROP TABLE trade", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("one statement");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade -- comment", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("comments");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade WHERE id = ?", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("named parameters");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade WHERE book = 'A", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("quote");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule(null, null)))
+				.isInstanceOf(RuleCompilationException.class);
+	}
+
+	@Test
+	public void testParse_QuotedKeywords_ShouldBe_Accepted() throws RuleCompilationException {
+
+		// ACT
+		RuleStatement statement = RuleSqlParser
+				.parse(rule("SELECT `update`, revision_date FROM trade WHERE status = 'DELETE; --'", ""));
+
+		// ASSERT
+		assertThat(statement.getSql())
+				.isEqualTo("SELECT `update`, revision_date FROM trade WHERE status = 'DELETE; --'");
+		assertThat(statement.getParameterNames()).isEmpty();
+	}
+
+	@Test
+	public void testParse_OtherTables_ShouldBe_Rejected() {
+
+		// ASSERT
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT username, password, role FROM users", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("users");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT t.id FROM trade t, `users` u", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("users");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade t JOIN bid b ON t.id = b.id, users",
+				null))).isInstanceOf(RuleCompilationException.class).hasMessageContaining("users");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade WHERE id IN (SELECT id FROM users)",
+				null))).isInstanceOf(RuleCompilationException.class).hasMessageContaining("users");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM ((users))", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("query");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM information_schema.tables", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("schema");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM poseidonAPI.trade", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("schema");
+	}
+
+	@Test
+	public void testParse_FilesLocksAndVariables_ShouldBe_Rejected() {
+
+		// ASSERT
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT LOAD_FILE('/etc/passwd') FROM trade", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("LOAD_FILE");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade", "FOR SHARE")))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("SHARE");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT * FROM trade", "LOCK IN SHARE MODE")))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("LOCK");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("SELECT @@datadir FROM trade", null)))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("variables");
+	}
+
+	@Test
+	public void testParse_TradesBidsAndCommonTables_ShouldBe_Accepted() throws RuleCompilationException {
+
+		// ACT
+		RuleStatement joined = RuleSqlParser.parse(rule("SELECT t.id, b.id FROM `trade` t, bid b",
+				"WHERE t.book = b.book AND t.id IN (SELECT id FROM trade) ORDER BY t.id, b.id LIMIT 10, 20"));
+		RuleStatement common = RuleSqlParser.parse(rule(
+				"WITH recent (id, book) AS (SELECT id, book FROM trade WHERE trade_date > :since)",
+				"SELECT r.id FROM recent r JOIN BID b ON r.book = b.book"));
+		RuleStatement chained = RuleSqlParser.parse(rule("WITH a AS (SELECT * FROM trade), b AS (SELECT * FROM a)",
+				"SELECT * FROM b"));
+		RuleStatement recursive = RuleSqlParser.parse(rule("WITH RECURSIVE n (i) AS (SELECT 1 UNION ALL "
+				+ "SELECT i + 1 FROM n WHERE i < 10)", "SELECT t.id FROM trade t, n WHERE t.id = n.i"));
+
+		// ASSERT
+		assertThat(joined.getParameterNames()).isEmpty();
+		assertThat(common.getParameterNames()).containsExactly("since");
+		assertThat(chained.getParameterNames()).isEmpty();
+		assertThat(recursive.getParameterNames()).isEmpty();
+	}
+
+	@Test
+	public void testParse_CommonTableNamedAfterTable_ShouldNotRead_ThatTable() {
+
+		// ASSERT
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("WITH users AS (SELECT * FROM users)",
+				"SELECT * FROM users"))).isInstanceOf(RuleCompilationException.class).hasMessageContaining("users");
+		assertThatThrownBy(() -> RuleSqlParser.parse(rule("WITH a AS (SELECT * FROM b), b AS (SELECT * FROM trade)",
+				"SELECT * FROM a"))).isInstanceOf(RuleCompilationException.class).hasMessageContaining("not b");
+	}
+}
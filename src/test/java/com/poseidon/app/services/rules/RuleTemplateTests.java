@@ -0,0 +1,53 @@
+package com.poseidon.app.services.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import com.poseidon.app.domain.Bid;
+import com.poseidon.app.domain.Trade;
+import com.poseidon.app.exceptions.RuleCompilationException;
+
+public class RuleTemplateTests {
+
+	@Test
+	public void testRender_ShouldWrite_RowFields() throws RuleCompilationException {
+
+		// ARRANGE
+		Trade trade = new Trade("Account", "Type", 1500d);
+		trade.setId(7);
+		trade.setBuyPrice(10.25);
+		RuleTemplate template = RuleTemplate
+				.compile("Trade {{id}} of book '{{ book }}' buys {{buyQuantity}} at {{buyPrice}}", RuleTarget.TRADE);
+
+		// ACT
+		String text = template.render(trade);
+
+		// ASSERT
+		assertThat(text).isEqualTo("Trade 7 of book '' buys 1500 at 10.25");
+	}
+
+	@Test
+	public void testRender_ShouldReuse_CompiledTemplate() throws RuleCompilationException {
+
+		// ARRANGE
+		RuleTemplate template = RuleTemplate.compile("{{account}}/{{bidQuantity}}", RuleTarget.BID);
+
+		// ACT AND ASSERT
+		assertThat(template.render(new Bid("A", "Type", 1d))).isEqualTo("A/1");
+		assertThat(template.render(new Bid("B", "Type", 2.5d))).isEqualTo("B/2.5");
+		assertThat(RuleTemplate.compile("No field", RuleTarget.BID).render(new Bid("A", "Type", 1d)))
+				.isEqualTo("No field");
+	}
+
+	@Test
+	public void testCompile_InvalidTemplate_ShouldThrow() {
+
+		// ACT AND ASSERT
+		assertThatThrownBy(() -> RuleTemplate.compile("Trade {{id", RuleTarget.TRADE))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("not closed");
+		assertThatThrownBy(() -> RuleTemplate.compile("Bid {{buyQuantity}}", RuleTarget.BID))
+				.isInstanceOf(RuleCompilationException.class).hasMessageContaining("buyQuantity");
+	}
+}